@@ -168,7 +168,7 @@ public abstract class AbstractBuildWrapperDescriptor extends BuildWrapperDescrip
     private List<ResolutionRepository> refreshResolutionRepositories(ArtifactoryServer artifactoryServer,
                                                                      CredentialsConfig credentialsConfig) throws IOException {
         List<ResolutionRepository> resolutionRepositories = RepositoriesUtils.getResolutionRepositoryKeys(artifactoryServer.getArtifactoryUrl(),
-                credentialsConfig, artifactoryServer, item);
+                credentialsConfig, artifactoryServer, item, true);
         Collections.sort(resolutionRepositories);
         return resolutionRepositories;
     }
@@ -176,7 +176,7 @@ public abstract class AbstractBuildWrapperDescriptor extends BuildWrapperDescrip
     private List<Repository> refreshRepositories(ArtifactoryServer artifactoryServer, CredentialsConfig credentialsConfig)
             throws IOException {
         List<Repository> releaseRepositoryKeysFirst = RepositoriesUtils.getDeploymentRepositories(artifactoryServer.getArtifactoryUrl(),
-                credentialsConfig, artifactoryServer, item);
+                credentialsConfig, artifactoryServer, item, true);
         Collections.sort(releaseRepositoryKeysFirst);
         return releaseRepositoryKeysFirst;
     }
@@ -46,6 +46,8 @@ import org.jfrog.hudson.jfpipelines.JFrogPipelinesHttpClient;
 import org.jfrog.hudson.jfpipelines.JFrogPipelinesServer;
 import org.jfrog.hudson.util.Credentials;
 import org.jfrog.hudson.util.RepositoriesUtils;
+import org.jfrog.hudson.util.RepositoryKeysCache;
+import org.jfrog.hudson.util.UserPluginInfoCache;
 import org.jfrog.hudson.util.converters.ArtifactoryBuilderConverter;
 import org.jfrog.hudson.util.plugins.PluginsUtils;
 import org.kohsuke.stapler.AncestorInPath;
@@ -84,6 +86,8 @@ public class ArtifactoryBuilder extends GlobalConfiguration {
         @Deprecated
         private List<ArtifactoryServer> artifactoryServers;
         private JFrogPipelinesServer jfrogPipelinesServer = new JFrogPipelinesServer();
+        // The secret of the Artifactory webhook events. The webhook is disabled when it's not set.
+        private Secret webhookSecret;
 
         public DescriptorImpl() {
             super(ArtifactoryBuilder.class);
@@ -282,12 +286,16 @@ public class ArtifactoryBuilder extends GlobalConfiguration {
                 boolean useCredentialsPlugin = BooleanUtils.isTrue((Boolean) o.get("useCredentialsPlugin"));
                 configureJFrogInstances(req, o);
                 configureJFrogPipelinesServer(o);
+                String webhookSecret = o.optString("webhookSecret");
+                this.webhookSecret = StringUtils.isBlank(webhookSecret) ? null : Secret.fromString(webhookSecret);
                 if (useCredentialsPlugin && !this.useCredentialsPlugin) {
                     resetJobsCredentials();
                     resetServersCredentials();
                 }
                 this.useCredentialsPlugin = useCredentialsPlugin;
                 save();
+                RepositoryKeysCache.get().clear();
+                UserPluginInfoCache.get().clear();
                 return super.configure(req, o);
             }
             throw new FormException("User doesn't have permissions to save", "Server ID");
@@ -369,6 +377,14 @@ public class ArtifactoryBuilder extends GlobalConfiguration {
             return jfrogPipelinesServer;
         }
 
+        public Secret getWebhookSecret() {
+            return webhookSecret;
+        }
+
+        public void setWebhookSecret(Secret webhookSecret) {
+            this.webhookSecret = webhookSecret;
+        }
+
         public boolean getUseCredentialsPlugin() {
             return useCredentialsPlugin;
         }
@@ -0,0 +1,61 @@
+package org.jfrog.hudson;
+
+import hudson.Extension;
+import hudson.model.ManagementLink;
+import org.jfrog.hudson.pipeline.declarative.utils.BuildDataDirsJanitor;
+import org.jfrog.hudson.trigger.TriggerPollingCoordinator;
+import org.jfrog.hudson.util.ArtifactoryManagerPool;
+
+/**
+ * Shows the runtime counters of the plugin on the Manage Jenkins page: the pooled Artifactory managers, the polling of
+ * the Artifactory triggers and the cleanup of the pipeline build data.
+ * Only visible to administrators.
+ */
+@Extension
+public class ArtifactoryDiagnostics extends ManagementLink {
+
+    @Override
+    public String getIconFileName() {
+        return "/plugin/artifactory/images/artifactory-icon.png";
+    }
+
+    @Override
+    public String getDisplayName() {
+        return "Artifactory Diagnostics";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Artifactory connections, trigger polling and build data cleanup counters.";
+    }
+
+    @Override
+    public String getUrlName() {
+        return "artifactory-diagnostics";
+    }
+
+    @Override
+    public Category getCategory() {
+        return Category.TROUBLESHOOTING;
+    }
+
+    public ArtifactoryManagerPool.Stats getManagerPoolStats() {
+        return ArtifactoryManagerPool.get().getStats();
+    }
+
+    public TriggerPollingCoordinator getTriggerPollingCoordinator() {
+        return TriggerPollingCoordinator.get();
+    }
+
+    public long getLastSweepDurationMillis() {
+        return BuildDataDirsJanitor.getLastSweepDurationMillis();
+    }
+
+    public long getLastReclaimedBytes() {
+        return BuildDataDirsJanitor.getLastReclaimedBytes();
+    }
+
+    public long getTotalReclaimedBytes() {
+        return BuildDataDirsJanitor.getTotalReclaimedBytes();
+    }
+}
@@ -349,10 +349,11 @@ public class ArtifactoryRedeployPublisher extends Recorder implements DeployerOv
 
         ArtifactoryServer server = getArtifactoryServer();
         CredentialsConfig preferredDeployer = CredentialManager.getPreferredDeployer(this, server);
-        try (ArtifactoryManager artifactoryManager = server.createArtifactoryManager(preferredDeployer.provideCredentials(((MavenModuleSetBuild) build).getProject()), ProxyUtils.createProxyConfiguration())) {
+        Credentials deployerCredentials = preferredDeployer.provideCredentials(((MavenModuleSetBuild) build).getProject());
+        try (ArtifactoryManager artifactoryManager = server.createArtifactoryManager(deployerCredentials, ProxyUtils.createProxyConfiguration())) {
             server.setLog(listener, artifactoryManager);
             if (deployArtifacts) {
-                new ArtifactsDeployer(this, artifactoryManager, mavenBuild, listener).deploy();
+                new ArtifactsDeployer(this, deployerCredentials, mavenBuild, listener).deploy();
             }
             if (deployBuildInfo) {
                 new MavenBuildInfoDeployer(this, artifactoryManager, mavenBuild, listener).deploy();
@@ -447,7 +448,7 @@ public class ArtifactoryRedeployPublisher extends Recorder implements DeployerOv
         private List<Repository> refreshRepositories(ArtifactoryServer artifactoryServer, CredentialsConfig credentialsConfig)
                 throws IOException {
             List<Repository> repositoriesKeys = RepositoriesUtils.getDeploymentRepositories(artifactoryServer.getArtifactoryUrl(),
-                    credentialsConfig, artifactoryServer, item);
+                    credentialsConfig, artifactoryServer, item, true);
             Collections.sort(repositoriesKeys);
             return repositoriesKeys;
         }
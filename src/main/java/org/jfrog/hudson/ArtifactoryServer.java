@@ -19,6 +19,7 @@ package org.jfrog.hudson;
 import hudson.model.Item;
 import hudson.model.TaskListener;
 import hudson.util.XStream2;
+import jenkins.model.Jenkins;
 import org.apache.commons.lang3.StringUtils;
 import org.jenkinsci.plugins.workflow.job.WorkflowRun;
 import org.jfrog.build.api.util.Log;
@@ -29,10 +30,12 @@ import org.jfrog.build.extractor.clientConfiguration.client.artifactory.Artifact
 import org.jfrog.build.extractor.usageReport.UsageReporter;
 import org.jfrog.hudson.action.ActionableHelper;
 import org.jfrog.hudson.pipeline.common.Utils;
+import org.jfrog.hudson.util.ArtifactoryManagerPool;
 import org.jfrog.hudson.util.CredentialManager;
 import org.jfrog.hudson.util.Credentials;
 import org.jfrog.hudson.util.JenkinsBuildInfoLog;
 import org.jfrog.hudson.util.RepositoriesUtils;
+import org.jfrog.hudson.util.UserPluginInfoCache;
 import org.jfrog.hudson.util.converters.ArtifactoryServerConverter;
 
 import java.io.IOException;
@@ -44,6 +47,7 @@ import java.util.stream.Collectors;
 
 import static org.jfrog.hudson.JFrogPlatformInstance.DEFAULT_CONNECTION_TIMEOUT;
 import static org.jfrog.hudson.JFrogPlatformInstance.DEFAULT_DEPLOYMENT_THREADS_NUMBER;
+import static org.jfrog.hudson.JFrogPlatformInstance.DEFAULT_DOWNLOAD_THREADS_NUMBER;
 import static org.jfrog.hudson.util.ProxyUtils.createProxyConfiguration;
 
 /**
@@ -66,6 +70,7 @@ public class ArtifactoryServer implements Serializable {
     // setting to 3 that is the default.
     private Integer connectionRetry;
     private Integer deploymentThreads;
+    private Integer downloadThreads;
     /**
      * List of repository keys, last time we checked. Copy on write semantics.
      */
@@ -148,6 +153,14 @@ public class ArtifactoryServer implements Serializable {
         return deploymentThreads == null ? DEFAULT_DEPLOYMENT_THREADS_NUMBER : deploymentThreads;
     }
 
+    public int getDownloadThreads() {
+        return downloadThreads == null ? DEFAULT_DOWNLOAD_THREADS_NUMBER : downloadThreads;
+    }
+
+    public void setDownloadThreads(Integer downloadThreads) {
+        this.downloadThreads = downloadThreads != null && downloadThreads > 0 ? downloadThreads : DEFAULT_DOWNLOAD_THREADS_NUMBER;
+    }
+
     public List<String> getLocalRepositoryKeys(CredentialsConfig credentialsConfig, Item item) throws IOException {
         try {
             List<Repository> deploymentRepos = RepositoriesUtils.getDeploymentRepositories(url, credentialsConfig, this, item);
@@ -195,9 +208,9 @@ public class ArtifactoryServer implements Serializable {
 
     public List<ResolutionRepository> getVirtualRepositoryKeys(ResolverOverrider resolverOverrider, Item item) {
         CredentialsConfig preferredResolver = CredentialManager.getPreferredResolver(resolverOverrider, this);
-        try (ArtifactoryManager artifactoryManager = createArtifactoryManager(preferredResolver.provideCredentials(item),
-                createProxyConfiguration())) {
-            resolutionRepositories = RepositoriesUtils.generateResolutionRepos(artifactoryManager);
+        try {
+            resolutionRepositories = RepositoriesUtils.generateResolutionRepos(
+                    RepositoriesUtils.getResolutionRepositoryKeys(url, preferredResolver.provideCredentials(item), this));
         } catch (IOException e) {
             if (log.isLoggable(Level.FINE)) {
                 log.log(Level.WARNING, "Could not obtain virtual repositories list from '" + url + "'", e);
@@ -249,7 +262,14 @@ public class ArtifactoryServer implements Serializable {
         return createArtifactoryManager(credentials, proxyConfiguration, new NullLog());
     }
 
+    /**
+     * On the controller, the manager is leased from the {@link ArtifactoryManagerPool} and must be closed to return it.
+     */
     public ArtifactoryManager createArtifactoryManager(Credentials credentials, ProxyConfiguration proxyConfiguration, Log logger) {
+        if (Jenkins.getInstanceOrNull() != null) {
+            return ArtifactoryManagerPool.get().acquire(url, credentials, bypassProxy ? null : proxyConfiguration,
+                    timeout, getConnectionRetry(), logger);
+        }
         ArtifactoryManagerBuilder artifactoryManagerBuilder = createArtifactoryManagerBuilder(credentials, proxyConfiguration, logger);
         return artifactoryManagerBuilder.build();
     }
@@ -279,6 +299,9 @@ public class ArtifactoryServer implements Serializable {
      * This method might run on slaves, this is why we provide it with a proxy from the master config
      */
     public ArtifactoryManager createArtifactoryManager(Credentials credentials, ProxyConfiguration proxyConfiguration, TaskListener listener) {
+        if (Jenkins.getInstanceOrNull() != null) {
+            return createArtifactoryManager(credentials, proxyConfiguration, new JenkinsBuildInfoLog(listener));
+        }
         ArtifactoryManager artifactoryManager = new ArtifactoryManager(url, credentials.getUsername(),
                 credentials.getPassword(), credentials.getAccessToken(), new JenkinsBuildInfoLog(listener));
         artifactoryManager.setConnectionTimeout(timeout);
@@ -309,9 +332,13 @@ public class ArtifactoryServer implements Serializable {
 
     private void gatherUserPluginInfo(List<UserPluginInfo> infosToReturn, String pluginKey, DeployerOverrider deployerOverrider, Item item) {
         CredentialsConfig credentialsConfig = CredentialManager.getPreferredDeployer(deployerOverrider, this);
-        try (ArtifactoryManager artifactoryManager = createArtifactoryManager(credentialsConfig.provideCredentials(item),
-                createProxyConfiguration())) {
-            Map<String, List<Map>> userPluginInfo = artifactoryManager.getUserPluginInfo();
+        Credentials credentials = credentialsConfig.provideCredentials(item);
+        try {
+            Map<String, List<Map>> userPluginInfo = UserPluginInfoCache.get().getUserPluginInfo(this, credentials, () -> {
+                try (ArtifactoryManager artifactoryManager = createArtifactoryManager(credentials, createProxyConfiguration())) {
+                    return artifactoryManager.getUserPluginInfo();
+                }
+            });
             if (userPluginInfo != null && userPluginInfo.containsKey(pluginKey)) {
                 List<Map> stagingUserPluginInfo = userPluginInfo.get(pluginKey);
                 if (stagingUserPluginInfo != null) {
@@ -2,6 +2,7 @@ package org.jfrog.hudson;
 
 import org.apache.commons.lang3.StringUtils;
 import org.kohsuke.stapler.DataBoundConstructor;
+import org.kohsuke.stapler.DataBoundSetter;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -13,6 +14,8 @@ import java.util.List;
 public class JFrogPlatformInstance {
     public static final int DEFAULT_CONNECTION_TIMEOUT = 300;    // 5 Minutes
     public static final int DEFAULT_DEPLOYMENT_THREADS_NUMBER = 3;
+    // A single thread keeps the spec download of build-info, with its flat, explode and validation handling
+    public static final int DEFAULT_DOWNLOAD_THREADS_NUMBER = 1;
 
     private String url;
     private String distributionUrl;
@@ -24,6 +27,7 @@ public class JFrogPlatformInstance {
     private int timeout;
     private Integer connectionRetry;
     private Integer deploymentThreads;
+    private Integer downloadThreads;
 
     @DataBoundConstructor
     public JFrogPlatformInstance(String instanceId, String platformUrl, String artifactoryUrl, String distributionUrl, CredentialsConfig deployerCredentialsConfig,
@@ -42,10 +46,12 @@ public class JFrogPlatformInstance {
 
     public JFrogPlatformInstance(ArtifactoryServer artifactoryServer) {
         this(artifactoryServer.getServerId(), null, artifactoryServer.getArtifactoryUrl(), null, artifactoryServer.getDeployerCredentialsConfig(), artifactoryServer.getResolverCredentialsConfig(), artifactoryServer.getTimeout(), artifactoryServer.isBypassProxy(), artifactoryServer.getConnectionRetry(), artifactoryServer.getDeploymentThreads());
+        setDownloadThreads(artifactoryServer.getDownloadThreads());
     }
 
     public JFrogPlatformInstance(org.jfrog.hudson.pipeline.common.types.ArtifactoryServer artifactoryServer) {
         this(null, null, artifactoryServer.getUrl(), null, artifactoryServer.createCredentialsConfig(), artifactoryServer.createCredentialsConfig(), artifactoryServer.getConnection().getTimeout(), artifactoryServer.isBypassProxy(), artifactoryServer.getConnection().getRetry(), artifactoryServer.getDeploymentThreads());
+        setDownloadThreads(artifactoryServer.getDownloadThreads());
     }
 
     public String getId() {
@@ -142,6 +148,20 @@ public class JFrogPlatformInstance {
         return items;
     }
 
+    /**
+     * Return number of download threads.
+     * To populate the dropdown list from the jelly:
+     * <j:forEach var="r" items="${instance.downloadsThreads}">
+     */
+    @SuppressWarnings("unused")
+    public List<Integer> getDownloadsThreads() {
+        List<Integer> items = new ArrayList<>();
+        for (int i = 1; i <= 10; i++) {
+            items.add(i);
+        }
+        return items;
+    }
+
     // Required by external plugins (JCasC).
     public int getTimeout() {
         return timeout;
@@ -201,6 +221,27 @@ public class JFrogPlatformInstance {
         this.deploymentThreads = deploymentThreads;
     }
 
+    // Required by external plugins (JCasC).
+    @SuppressWarnings("unused")
+    public Integer getDownloadThreads() {
+        return downloadThreads;
+    }
+
+    /**
+     * Set the number of download threads.
+     * Jelly uses reflection here and 'getDownloadThreads()' to get the data by the method and variable (matching) names
+     * <f:option selected="${r==server.downloadThreads}"
+     *
+     * @param downloadThreads - Download threads number
+     */
+    @DataBoundSetter
+    public void setDownloadThreads(Integer downloadThreads) {
+        this.downloadThreads = downloadThreads != null && downloadThreads > 0 ? downloadThreads : DEFAULT_DOWNLOAD_THREADS_NUMBER;
+        if (artifactoryServer != null) {
+            artifactoryServer.setDownloadThreads(this.downloadThreads);
+        }
+    }
+
     // Required by external plugins (JCasC).
     public String getDistributionUrl() {
         return distributionUrl;
@@ -3,6 +3,7 @@ package org.jfrog.hudson.generic;
 import hudson.Extension;
 import hudson.FilePath;
 import hudson.Launcher;
+import hudson.Util;
 import hudson.matrix.MatrixConfiguration;
 import hudson.model.*;
 import hudson.tasks.BuildWrapper;
@@ -385,7 +386,15 @@ public class ArtifactoryGenericConfigurator extends BuildWrapper implements Depl
                     build.getExecutor().getCurrentWorkspace(), listener.getLogger());
             FilePath workspace = build.getExecutor().getCurrentWorkspace();
             publishedDependencies = workspace.act(new FilesResolverCallable(new JenkinsBuildInfoLog(listener),
-                    resolverCredentials, resolverServer.getArtifactoryUrl(), spec, proxyConfiguration));
+                    resolverCredentials, resolverServer.getArtifactoryUrl(), spec, proxyConfiguration, resolverServer.getDownloadThreads(), resolverServer.getTimeout()));
+        } else if (PatternsResolverCallable.isAgentNative()) {
+            // Resolve on the agent, so that the downloaded files are handled without a remoting round trip per file
+            String pattern = Util.replaceMacro(resolvePattern, build.getEnvironment(listener));
+            FilePath workspace = build.getExecutor().getCurrentWorkspace();
+            PatternsResolverCallable.Result result = workspace.act(new PatternsResolverCallable(new JenkinsBuildInfoLog(listener),
+                    resolverServer, resolverCredentials, proxyConfiguration, pattern));
+            publishedDependencies = result.getPublishedDependencies();
+            buildDependencies = result.getBuildDependencies();
         } else {
             try (ArtifactoryManager artifactoryManager = resolverServer.createArtifactoryManager(resolverCredentials, proxyConfiguration, listener)) {
                 GenericArtifactsResolver artifactsResolver = new GenericArtifactsResolver(build, listener, artifactoryManager);
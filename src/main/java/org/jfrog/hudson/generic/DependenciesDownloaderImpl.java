@@ -6,11 +6,11 @@ import jenkins.MasterToSlaveFileCallable;
 import org.apache.commons.lang3.StringUtils;
 import org.jfrog.build.extractor.ci.Dependency;
 import org.jfrog.build.api.dependency.DownloadableArtifact;
-import org.jfrog.build.api.util.FileChecksumCalculator;
 import org.jfrog.build.api.util.Log;
 import org.jfrog.build.extractor.clientConfiguration.client.artifactory.ArtifactoryManager;
 import org.jfrog.build.extractor.clientConfiguration.util.DependenciesDownloader;
 import org.jfrog.build.extractor.clientConfiguration.util.DependenciesDownloaderHelper;
+import org.jfrog.hudson.util.ExtractorUtils;
 
 import java.io.File;
 import java.io.IOException;
@@ -32,6 +32,7 @@ public class DependenciesDownloaderImpl implements DependenciesDownloader {
     private FilePath workspace;
     private Log log;
     private boolean flatDownload = false;
+    private String checksumCacheDir;
 
     public DependenciesDownloaderImpl(ArtifactoryManager artifactoryManager, FilePath workspace, Log log) {
         this.artifactoryManager = artifactoryManager;
@@ -46,7 +47,32 @@ public class DependenciesDownloaderImpl implements DependenciesDownloader {
 
     public List<Dependency> download(Set<DownloadableArtifact> downloadableArtifacts) throws IOException {
         DependenciesDownloaderHelper helper = new DependenciesDownloaderHelper(this, log);
-        return helper.downloadDependencies(downloadableArtifacts);
+        try {
+            return helper.downloadDependencies(downloadableArtifacts);
+        } finally {
+            flushChecksumCache();
+        }
+    }
+
+    /**
+     * The checksums of the downloaded files are cached on the agent, in the workspace temp directory.
+     */
+    private String getChecksumCacheDir() throws IOException, InterruptedException {
+        if (checksumCacheDir == null) {
+            checksumCacheDir = ExtractorUtils.createAndGetTempDir(workspace).getRemote();
+        }
+        return checksumCacheDir;
+    }
+
+    void flushChecksumCache() throws IOException {
+        if (checksumCacheDir == null) {
+            return;
+        }
+        try {
+            workspace.act(new FlushChecksumCacheCallable(checksumCacheDir));
+        } catch (InterruptedException e) {
+            log.warn("Caught interrupted exception: " + e.getLocalizedMessage());
+        }
     }
 
     public String getTargetDir(String targetDir, String relativeDir) throws IOException {
@@ -66,7 +92,7 @@ public class DependenciesDownloaderImpl implements DependenciesDownloader {
         try {
             FilePath child = workspace.child(filePath);
             child.copyFrom(is);
-            return child.act(new DownloadFileCallable(log));
+            return child.act(new DownloadFileCallable(log, getChecksumCacheDir(), true));
         } catch (InterruptedException e) {
             log.warn("Caught interrupted exception: " + e.getLocalizedMessage());
         }
@@ -74,6 +100,20 @@ public class DependenciesDownloaderImpl implements DependenciesDownloader {
         return null;
     }
 
+    /**
+     * Cache the checksums of a file, which were calculated while downloading it.
+     *
+     * @param filePath  - The file path.
+     * @param checksums - Map of "md5" and "sha1" to the checksums of the file.
+     */
+    void putChecksums(String filePath, Map<String, String> checksums) throws IOException {
+        try {
+            workspace.child(filePath).act(new PutChecksumsCallable(getChecksumCacheDir(), checksums));
+        } catch (InterruptedException e) {
+            log.warn("Caught interrupted exception: " + e.getLocalizedMessage());
+        }
+    }
+
     public boolean isFileExistsLocally(String filePath, String md5, String sha1) throws IOException {
         try {
             FilePath child = workspace.child(filePath);
@@ -85,7 +125,7 @@ public class DependenciesDownloaderImpl implements DependenciesDownloader {
                 return false;
             }
 
-            Map<String, String> checksumsMap = child.act(new DownloadFileCallable(log));
+            Map<String, String> checksumsMap = child.act(new DownloadFileCallable(log, getChecksumCacheDir(), false));
             boolean isExists = checksumsMap != null &&
                     StringUtils.isNotBlank(md5) && StringUtils.equals(md5, checksumsMap.get("md5")) &&
                     StringUtils.isNotBlank(sha1) && StringUtils.equals(sha1, checksumsMap.get("sha1"));
@@ -139,14 +179,24 @@ public class DependenciesDownloaderImpl implements DependenciesDownloader {
 
     private static class DownloadFileCallable extends MasterToSlaveFileCallable<Map<String, String>> {
         private Log log;
-
-        public DownloadFileCallable(Log log) {
+        private String checksumCacheDir;
+        private boolean modified;
+
+        /**
+         * @param log              - The logger.
+         * @param checksumCacheDir - The directory of the checksums cache on the agent.
+         * @param modified         - True if the file was just downloaded, and its cached checksums are therefore stale.
+         */
+        public DownloadFileCallable(Log log, String checksumCacheDir, boolean modified) {
             this.log = log;
+            this.checksumCacheDir = checksumCacheDir;
+            this.modified = modified;
         }
 
         public Map<String, String> invoke(File f, VirtualChannel channel) throws IOException {
             try {
-                return FileChecksumCalculator.calculateChecksums(f, "md5", "sha1");
+                LocalChecksumCache checksumCache = LocalChecksumCache.get(checksumCacheDir);
+                return modified ? checksumCache.put(f) : checksumCache.getChecksums(f);
             } catch (NoSuchAlgorithmException e) {
                 log.warn("Could not find checksum algorithm: " + e.getLocalizedMessage());
             }
@@ -154,4 +204,32 @@ public class DependenciesDownloaderImpl implements DependenciesDownloader {
             return null;
         }
     }
+
+    private static class PutChecksumsCallable extends MasterToSlaveFileCallable<Void> {
+        private String checksumCacheDir;
+        private Map<String, String> checksums;
+
+        public PutChecksumsCallable(String checksumCacheDir, Map<String, String> checksums) {
+            this.checksumCacheDir = checksumCacheDir;
+            this.checksums = checksums;
+        }
+
+        public Void invoke(File f, VirtualChannel channel) throws IOException {
+            LocalChecksumCache.get(checksumCacheDir).put(f, checksums);
+            return null;
+        }
+    }
+
+    private static class FlushChecksumCacheCallable extends MasterToSlaveFileCallable<Void> {
+        private String checksumCacheDir;
+
+        public FlushChecksumCacheCallable(String checksumCacheDir) {
+            this.checksumCacheDir = checksumCacheDir;
+        }
+
+        public Void invoke(File f, VirtualChannel channel) throws IOException {
+            LocalChecksumCache.flush(checksumCacheDir);
+            return null;
+        }
+    }
 }
@@ -1,5 +1,6 @@
 package org.jfrog.hudson.generic;
 
+import hudson.FilePath;
 import hudson.remoting.VirtualChannel;
 import jenkins.MasterToSlaveFileCallable;
 import org.apache.commons.lang3.StringUtils;
@@ -8,7 +9,9 @@ import org.jfrog.build.api.util.Log;
 import org.jfrog.build.client.ProxyConfiguration;
 import org.jfrog.build.extractor.clientConfiguration.client.artifactory.ArtifactoryManager;
 import org.jfrog.build.extractor.clientConfiguration.util.spec.SpecsHelper;
+import org.jfrog.filespecs.FileSpec;
 import org.jfrog.hudson.util.Credentials;
+import org.jfrog.hudson.util.ProxyUtils;
 
 import java.io.File;
 import java.io.IOException;
@@ -19,6 +22,11 @@ import java.util.List;
  * Created by diman on 21/06/2017.
  */
 public class FilesResolverCallable extends MasterToSlaveFileCallable<List<Dependency>> {
+    /**
+     * Files of at least this size are downloaded in parallel byte ranges. 0 disables the segmented download.
+     */
+    private static final long SEGMENTED_THRESHOLD_MB = Long.getLong(SegmentedDownloader.class.getName() + ".thresholdMb", 0);
+    private static final int SEGMENTS = Integer.getInteger(SegmentedDownloader.class.getName() + ".segments", 8);
     private Log log;
     private String username;
     private String password;
@@ -26,9 +34,23 @@ public class FilesResolverCallable extends MasterToSlaveFileCallable<List<Depend
     private String serverUrl;
     private String downloadSpec;
     private ProxyConfiguration proxyConfig;
+    private String noProxyHost;
+    private int threads;
+    private int timeout;
+    private long segmentedThresholdMb = SEGMENTED_THRESHOLD_MB;
+    private int segments = SEGMENTS;
 
     public FilesResolverCallable(Log log, Credentials credentials, String serverUrl,
                                  String downloadSpec, ProxyConfiguration proxyConfig) {
+        this(log, credentials, serverUrl, downloadSpec, proxyConfig, 1, 0);
+    }
+
+    /**
+     * @param threads - Number of threads downloading the artifacts.
+     * @param timeout - Connection and read timeout in seconds, as configured for the server. 0 keeps the default.
+     */
+    public FilesResolverCallable(Log log, Credentials credentials, String serverUrl,
+                                 String downloadSpec, ProxyConfiguration proxyConfig, int threads, int timeout) {
         this.log = log;
         this.username = credentials.getUsername();
         this.password = credentials.getPassword();
@@ -36,21 +58,42 @@ public class FilesResolverCallable extends MasterToSlaveFileCallable<List<Depend
         this.serverUrl = serverUrl;
         this.downloadSpec = downloadSpec;
         this.proxyConfig = proxyConfig;
+        this.noProxyHost = proxyConfig != null ? ProxyUtils.getNoProxyHost() : null;
+        this.threads = threads;
+        this.timeout = timeout;
     }
 
     public List<Dependency> invoke(File file, VirtualChannel channel) throws IOException {
         if (StringUtils.isEmpty(downloadSpec)) {
             return new ArrayList<>();
         }
-        SpecsHelper specsHelper = new SpecsHelper(log);
         ArtifactoryManager artifactoryManager = new ArtifactoryManager(serverUrl, username, password, accessToken, log);
         if (proxyConfig != null) {
             artifactoryManager.setProxyConfiguration(proxyConfig);
         }
+        if (timeout > 0) {
+            artifactoryManager.setConnectionTimeout(timeout);
+        }
+        SegmentedDownloader segmentedDownloader = null;
+        if (segmentedThresholdMb > 0 && segments > 1) {
+            segmentedDownloader = new SegmentedDownloader(username, password, accessToken, proxyConfig, noProxyHost, timeout, segments, segmentedThresholdMb * 1024 * 1024);
+        }
+        DependenciesDownloaderImpl downloader = null;
         try {
-            return specsHelper.downloadArtifactsBySpec(downloadSpec, artifactoryManager, file.getCanonicalPath());
+            if (threads <= 1 && segmentedDownloader == null) {
+                return new SpecsHelper(log).downloadArtifactsBySpec(downloadSpec, artifactoryManager, file.getCanonicalPath());
+            }
+            downloader = new DependenciesDownloaderImpl(artifactoryManager, new FilePath(file.getCanonicalFile()), log);
+            ParallelDependenciesDownloaderHelper helper = new ParallelDependenciesDownloaderHelper(downloader, serverUrl, threads, segmentedDownloader, log);
+            return helper.downloadDependencies(FileSpec.fromString(downloadSpec));
         } finally {
-            artifactoryManager.close();
+            try {
+                if (downloader != null) {
+                    downloader.flushChecksumCache();
+                }
+            } finally {
+                artifactoryManager.close();
+            }
         }
     }
 }
\ No newline at end of file
@@ -89,7 +89,7 @@ public class GenericArtifactsDeployer {
             String repositoryKey = Util.replaceMacro(configurator.getRepositoryKey(), env);
             artifactsToDeploy = workingDir.act(new FilesDeployerCallable(listener, pairs, artifactoryServer,
                     credentialsConfig.provideCredentials(build.getParent()), repositoryKey, propertiesToAdd,
-                    createProxyConfiguration()));
+                    createProxyConfiguration(), artifactoryServer.getDeploymentThreads()));
         }
     }
 
@@ -116,11 +116,12 @@ public class GenericArtifactsDeployer {
         private PatternType patternType = PatternType.ANT;
         private String spec;
         private int threads;
+        private boolean checksumDeployFirst = ChecksumDeployUploader.isChecksumDeployFirst();
 
         // Generic deploy by pattern pairs
         public FilesDeployerCallable(TaskListener listener, Multimap<String, String> patternPairs,
                                      ArtifactoryServer server, Credentials credentials, String repositoryKey,
-                                     Multimap<String, String> buildProperties, ProxyConfiguration proxyConfiguration) {
+                                     Multimap<String, String> buildProperties, ProxyConfiguration proxyConfiguration, int threads) {
             this.listener = listener;
             this.patternPairs = patternPairs;
             this.server = server;
@@ -128,6 +129,7 @@ public class GenericArtifactsDeployer {
             this.repositoryKey = repositoryKey;
             this.buildProperties = buildProperties;
             this.proxyConfiguration = proxyConfiguration;
+            this.threads = threads;
         }
 
         // Generic deploy by spec
@@ -143,7 +145,7 @@ public class GenericArtifactsDeployer {
             this.threads = threads;
         }
 
-        public List<Artifact> invoke(File workspace, VirtualChannel channel) throws IOException {
+        public List<Artifact> invoke(File workspace, VirtualChannel channel) throws IOException, InterruptedException {
             Log log = new JenkinsBuildInfoLog(listener);
 
             // Create ArtifactoryManagerBuilder
@@ -160,18 +162,25 @@ public class GenericArtifactsDeployer {
             }
 
             // Option 2. Generic deploy - Fetch the artifacts details from workspace by using 'patternPairs'.
-            Set<DeployDetails> artifactsToDeploy = new HashSet<>();
+            Map<String, File> artifactsToDeploy = new TreeMap<>();
             Multimap<String, File> targetPathToFilesMap = buildTargetPathToFiles(workspace);
             for (Map.Entry<String, File> entry : targetPathToFilesMap.entries()) {
-                artifactsToDeploy.addAll(buildDeployDetailsFromFileEntry(entry));
+                String artifactPath = calculateArtifactPath(entry.getKey(), entry.getValue());
+                File deployedFile = artifactsToDeploy.putIfAbsent(artifactPath, entry.getValue());
+                if (deployedFile != null && !deployedFile.equals(entry.getValue())) {
+                    log.warn("Skipping the deployment of '" + entry.getValue().getPath() + "' to '" + artifactPath +
+                            "', since '" + deployedFile.getPath() + "' is deployed to the same path.");
+                }
             }
+            // The uploads are retried by the deploy pipeline, which doesn't retry 4xx responses
+            artifactoryManagerBuilder.setConnectionRetry(0);
             try (ArtifactoryManager artifactoryManager = artifactoryManagerBuilder.build()) {
-                deploy(artifactoryManager, artifactsToDeploy);
-                return convertDeployDetailsToArtifacts(artifactsToDeploy);
+                List<DeployDetails> deployed = deploy(artifactoryManager, new ArrayList<>(artifactsToDeploy.entrySet()), log);
+                return convertDeployDetailsToArtifacts(deployed);
             }
         }
 
-        private List<Artifact> convertDeployDetailsToArtifacts(Set<DeployDetails> details) {
+        private List<Artifact> convertDeployDetailsToArtifacts(List<DeployDetails> details) {
             List<Artifact> result = new ArrayList<>();
             for (DeployDetails detail : details) {
                 String ext = FilenameUtils.getExtension(detail.getFile().getName());
@@ -182,11 +191,22 @@ public class GenericArtifactsDeployer {
             return result;
         }
 
-        public void deploy(ArtifactoryManager artifactoryManager, Set<DeployDetails> artifactsToDeploy)
-                throws IOException {
-            for (DeployDetails deployDetail : artifactsToDeploy) {
-                artifactoryManager.upload(deployDetail);
-            }
+        /**
+         * Calculate the checksums and upload the artifacts concurrently, using the deployment threads.
+         *
+         * @param artifactoryManager - The Artifactory manager.
+         * @param artifactsToDeploy  - Artifact path to the file to deploy, sorted by artifact path.
+         * @param log                - The logger.
+         * @return the deploy details of the deployed artifacts, sorted by artifact path.
+         */
+        private List<DeployDetails> deploy(ArtifactoryManager artifactoryManager, List<Map.Entry<String, File>> artifactsToDeploy, Log log)
+                throws IOException, InterruptedException {
+            ChecksumDeployUploader uploader = new ChecksumDeployUploader(artifactoryManager,
+                    ChecksumDeployUploader.createChecksumDeployer(checksumDeployFirst, server, credentials, proxyConfiguration));
+            List<DeployDetails> deployed = new DeployPipeline<Map.Entry<String, File>>(Runtime.getRuntime().availableProcessors(), threads, server.getConnectionRetry(), log)
+                    .deploy(artifactsToDeploy, entry -> createDeployDetails(entry.getKey(), entry.getValue()), uploader);
+            uploader.logSummary(log);
+            return deployed;
         }
 
         private Multimap<String, File> buildTargetPathToFiles(File workspace) throws IOException {
@@ -207,19 +227,17 @@ public class GenericArtifactsDeployer {
             return result;
         }
 
-        private Set<DeployDetails> buildDeployDetailsFromFileEntry(Map.Entry<String, File> fileEntry)
-                throws IOException {
-            Set<DeployDetails> result = new HashSet<>();
-            String targetPath = fileEntry.getKey();
-            File artifactFile = fileEntry.getValue();
+        private String calculateArtifactPath(String targetPath, File artifactFile) {
             String path;
             if (patternType == PatternType.ANT) {
                 path = PublishedItemsHelper.calculateTargetPath(targetPath, artifactFile);
             } else {
                 path = UploadSpecHelper.wildcardCalculateTargetPath(targetPath, artifactFile);
             }
-            path = StringUtils.replace(path, "//", "/");
+            return StringUtils.replace(path, "//", "/");
+        }
 
+        private DeployDetails createDeployDetails(String path, File artifactFile) throws IOException {
             // calculate the sha1 checksum that is not given by Jenkins and add it to the deploy artifactsToDeploy
             Map<String, String> checksums = new HashMap<>();
             try {
@@ -234,9 +252,7 @@ public class GenericArtifactsDeployer {
                     .md5(checksums.get(MD5)).sha1(checksums.get(SHA1))
                     .addProperties(buildProperties)
                     .packageType(DeployDetails.PackageType.GENERIC);
-            result.add(builder.build());
-
-            return result;
+            return builder.build();
         }
 
         public enum PatternType {
@@ -0,0 +1,257 @@
+package org.jfrog.hudson.generic;
+
+import org.apache.commons.lang3.StringUtils;
+import org.jfrog.build.api.util.FileChecksumCalculator;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Agent-side cache of the MD5 and SHA1 checksums of downloaded files.
+ * An entry is valid as long as the path, size, modification time and file key (inode, where available) of the file
+ * are unchanged, so that existing files are verified without reading their content.
+ * Files modified shortly before their checksums were calculated are re-hashed on their next verification, since a
+ * later modification in the same timestamp granularity would not change their modification time.
+ * The cache is loaded once per directory on the agent, shared by the downloads to it, and persisted in the workspace
+ * temp directory whenever one of these downloads ends.
+ * Downloads to the same directory may run concurrently, in this JVM or in another one, so the cache is merged with the
+ * cache file under a file lock when it is persisted, rather than overwriting the entries persisted by other downloads.
+ */
+class LocalChecksumCache {
+    static final String CACHE_FILE_NAME = "dependencies-checksums.txt";
+    private static final long RACY_MILLIS = 2000;
+    private static final String SEPARATOR = "\t";
+    private static final String LOCK_SUFFIX = ".lock";
+    private static final Map<String, LocalChecksumCache> caches = new ConcurrentHashMap<>();
+    // FileLock is held by the JVM, so the threads of the agent are serialized separately
+    private static final Object jvmLock = new Object();
+
+    private final File cacheFile;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private volatile boolean dirty;
+
+    private LocalChecksumCache(File cacheFile) {
+        this.cacheFile = cacheFile;
+    }
+
+    /**
+     * Get the checksums cache of the input directory, loading it from the disk if needed.
+     *
+     * @param cacheDir - The directory of the cache file.
+     * @return the checksums cache.
+     */
+    static LocalChecksumCache get(String cacheDir) {
+        return caches.computeIfAbsent(cacheDir, dir -> load(new File(dir, CACHE_FILE_NAME)));
+    }
+
+    /**
+     * Load a checksums cache from the disk.
+     *
+     * @param cacheFile - The cache file.
+     * @return the checksums cache.
+     */
+    static LocalChecksumCache load(File cacheFile) {
+        LocalChecksumCache cache = new LocalChecksumCache(cacheFile);
+        cache.entries.putAll(read(cacheFile));
+        return cache;
+    }
+
+    /**
+     * Persist the checksums cache of the input directory.
+     * The cache is kept in memory, since a concurrent download to the same directory may still be adding checksums to it.
+     *
+     * @param cacheDir - The directory of the cache file.
+     */
+    static void flush(String cacheDir) throws IOException {
+        LocalChecksumCache cache = caches.get(cacheDir);
+        if (cache != null) {
+            cache.save();
+        }
+    }
+
+    /**
+     * Get the MD5 and SHA1 checksums of a file. The file is read only if the cached checksums are missing or stale.
+     *
+     * @param file - The file.
+     * @return map of "md5" and "sha1" to the checksums of the file.
+     */
+    Map<String, String> getChecksums(File file) throws IOException, NoSuchAlgorithmException {
+        String path = file.getAbsolutePath();
+        BasicFileAttributes attributes = Files.readAttributes(file.toPath(), BasicFileAttributes.class);
+        Entry entry = entries.get(path);
+        if (entry != null && entry.isValid(attributes)) {
+            return entry.toChecksums();
+        }
+        return put(file, attributes);
+    }
+
+    /**
+     * Calculate the checksums of a new or modified file and cache them.
+     *
+     * @param file - The file.
+     * @return map of "md5" and "sha1" to the checksums of the file.
+     */
+    Map<String, String> put(File file) throws IOException, NoSuchAlgorithmException {
+        return put(file, Files.readAttributes(file.toPath(), BasicFileAttributes.class));
+    }
+
+    /**
+     * Cache the checksums of a file, which were calculated after it was last modified.
+     *
+     * @param file      - The file.
+     * @param checksums - Map of "md5" and "sha1" to the checksums of the file.
+     */
+    void put(File file, Map<String, String> checksums) throws IOException {
+        long recordedAt = System.currentTimeMillis();
+        BasicFileAttributes attributes = Files.readAttributes(file.toPath(), BasicFileAttributes.class);
+        String path = file.getAbsolutePath();
+        if (StringUtils.containsAny(path, '\n', '\r')) {
+            return;
+        }
+        entries.put(path, new Entry(attributes.size(), attributes.lastModifiedTime().toMillis(), getFileKey(attributes),
+                recordedAt, checksums.get("md5"), checksums.get("sha1")));
+        dirty = true;
+    }
+
+    private Map<String, String> put(File file, BasicFileAttributes attributes) throws IOException, NoSuchAlgorithmException {
+        long recordedAt = System.currentTimeMillis();
+        Map<String, String> checksums = FileChecksumCalculator.calculateChecksums(file, "md5", "sha1");
+        String path = file.getAbsolutePath();
+        if (StringUtils.containsAny(path, '\n', '\r')) {
+            return checksums;
+        }
+        entries.put(path, new Entry(attributes.size(), attributes.lastModifiedTime().toMillis(), getFileKey(attributes),
+                recordedAt, checksums.get("md5"), checksums.get("sha1")));
+        dirty = true;
+        return checksums;
+    }
+
+    /**
+     * Persist the cache, merged with the entries persisted by other caches of the same file since it was loaded.
+     * Of two entries of the same path, the more recently recorded one is kept, or this cache's one if recorded together.
+     */
+    void save() throws IOException {
+        if (!dirty) {
+            return;
+        }
+        File dir = cacheFile.getParentFile();
+        Files.createDirectories(dir.toPath());
+        synchronized (jvmLock) {
+            try (FileChannel channel = FileChannel.open(new File(dir, CACHE_FILE_NAME + LOCK_SUFFIX).toPath(),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                 FileLock ignored = channel.lock()) {
+                // Entries put from now on are persisted by the next save
+                dirty = false;
+                Map<String, Entry> merged = read(cacheFile);
+                entries.forEach((path, entry) -> merged.merge(path, entry, Entry::newer));
+                try {
+                    write(merged);
+                } catch (IOException e) {
+                    dirty = true;
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private static Map<String, Entry> read(File cacheFile) {
+        Map<String, Entry> entries = new HashMap<>();
+        if (!cacheFile.isFile()) {
+            return entries;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(cacheFile.toPath(), StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                // size, modification time, file key, recorded at, md5, sha1, path
+                String[] fields = line.split(SEPARATOR, 7);
+                if (fields.length < 7) {
+                    continue;
+                }
+                entries.put(fields[6], new Entry(Long.parseLong(fields[0]), Long.parseLong(fields[1]), fields[2],
+                        Long.parseLong(fields[3]), fields[4], fields[5]));
+            }
+        } catch (IOException | NumberFormatException e) {
+            // The cache is rebuilt from scratch
+            entries.clear();
+        }
+        return entries;
+    }
+
+    private void write(Map<String, Entry> entries) throws IOException {
+        File dir = cacheFile.getParentFile();
+        Path tempFile = Files.createTempFile(dir.toPath(), CACHE_FILE_NAME, ".tmp");
+        try {
+            try (BufferedWriter writer = Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8)) {
+                for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+                    Entry value = entry.getValue();
+                    writer.write(String.join(SEPARATOR, String.valueOf(value.size), String.valueOf(value.lastModified),
+                            value.fileKey, String.valueOf(value.recordedAt), value.md5, value.sha1, entry.getKey()));
+                    writer.newLine();
+                }
+            }
+            try {
+                Files.move(tempFile, cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile, cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    private static String getFileKey(BasicFileAttributes attributes) {
+        Object fileKey = attributes.fileKey();
+        return fileKey == null ? "" : StringUtils.replaceChars(fileKey.toString(), "\t\r\n", "   ");
+    }
+
+    private static class Entry {
+        private final long size;
+        private final long lastModified;
+        private final String fileKey;
+        private final long recordedAt;
+        private final String md5;
+        private final String sha1;
+
+        private Entry(long size, long lastModified, String fileKey, long recordedAt, String md5, String sha1) {
+            this.size = size;
+            this.lastModified = lastModified;
+            this.fileKey = fileKey;
+            this.recordedAt = recordedAt;
+            this.md5 = md5;
+            this.sha1 = sha1;
+        }
+
+        private boolean isValid(BasicFileAttributes attributes) {
+            return size == attributes.size() &&
+                    lastModified == attributes.lastModifiedTime().toMillis() &&
+                    fileKey.equals(getFileKey(attributes)) &&
+                    recordedAt - lastModified > RACY_MILLIS;
+        }
+
+        private static Entry newer(Entry a, Entry b) {
+            return a.recordedAt > b.recordedAt ? a : b;
+        }
+
+        private Map<String, String> toChecksums() {
+            Map<String, String> checksums = new HashMap<>();
+            checksums.put("md5", md5);
+            checksums.put("sha1", sha1);
+            return checksums;
+        }
+    }
+}
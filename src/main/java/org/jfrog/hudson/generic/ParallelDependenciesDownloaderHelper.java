@@ -0,0 +1,198 @@
+package org.jfrog.hudson.generic;
+
+import hudson.util.DaemonThreadFactory;
+import hudson.util.NamingThreadFactory;
+import org.jfrog.build.api.dependency.DownloadableArtifact;
+import org.apache.commons.lang3.StringUtils;
+import org.jfrog.build.api.util.Log;
+import org.jfrog.build.extractor.ci.Dependency;
+import org.jfrog.build.extractor.clientConfiguration.util.DependenciesDownloaderHelper;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+/**
+ * Downloads the artifacts found by a download spec in parallel.
+ * The artifacts of each spec file group are sorted by their path in Artifactory, and the dependencies are returned in
+ * this order regardless of the order in which the downloads complete.
+ * The ArtifactoryManager is shared by the download threads.
+ * If a segmented downloader is provided, large files are downloaded in parallel byte ranges before being passed to
+ * the regular download, which then finds them in place with the expected checksums. The sizes of the artifacts are
+ * found in batches before the download, so that only the artifacts above the segmented download threshold are
+ * requested individually.
+ */
+public class ParallelDependenciesDownloaderHelper extends DependenciesDownloaderHelper {
+    private static final int MAX_ITEMS_PER_QUERY = 200;
+    private final DependenciesDownloaderImpl downloader;
+    private final String artifactoryUrl;
+    private final int threads;
+    private final SegmentedDownloader segmentedDownloader;
+    private final Log log;
+    private volatile Map<String, Long> sizes = Collections.emptyMap();
+
+    /**
+     * @param downloader          - The dependencies downloader.
+     * @param artifactoryUrl      - The Artifactory URL.
+     * @param threads             - Number of artifacts downloaded in parallel.
+     * @param segmentedDownloader - Downloads large files in parallel byte ranges, or null to download each file in one request.
+     * @param log                 - The logger.
+     */
+    public ParallelDependenciesDownloaderHelper(DependenciesDownloaderImpl downloader, String artifactoryUrl, int threads,
+                                                SegmentedDownloader segmentedDownloader, Log log) {
+        super(downloader, log);
+        this.downloader = downloader;
+        this.artifactoryUrl = StringUtils.removeEnd(artifactoryUrl, "/");
+        this.threads = threads;
+        this.segmentedDownloader = segmentedDownloader;
+        this.log = log;
+    }
+
+    @Override
+    public List<Dependency> downloadDependencies(Set<DownloadableArtifact> downloadableArtifacts) throws IOException {
+        List<DownloadableArtifact> artifacts = new ArrayList<>(downloadableArtifacts);
+        artifacts.sort(Comparator.comparing(artifact -> artifact.getRepoUrl() + "/" + artifact.getFilePath()));
+        if (segmentedDownloader == null && (threads <= 1 || artifacts.size() <= 1)) {
+            return super.downloadDependencies(new LinkedHashSet<>(artifacts));
+        }
+        if (segmentedDownloader != null) {
+            sizes = getSizes(artifacts);
+        }
+
+        List<List<Dependency>> results = new ArrayList<>(Collections.nCopies(artifacts.size(), null));
+        AtomicInteger next = new AtomicInteger();
+        AtomicReference<IOException> failure = new AtomicReference<>();
+        int threadsCount = Math.max(1, Math.min(threads, artifacts.size()));
+        ExecutorService executor = Executors.newFixedThreadPool(threadsCount, new NamingThreadFactory(new DaemonThreadFactory(), "Artifactory download"));
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threadsCount; i++) {
+                futures.add(executor.submit(() -> {
+                    for (int index = next.getAndIncrement(); index < artifacts.size() && failure.get() == null; index = next.getAndIncrement()) {
+                        try {
+                            results.set(index, downloadDependency(artifacts.get(index)));
+                        } catch (IOException e) {
+                            failure.compareAndSet(null, e);
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while downloading artifacts", e);
+        } catch (ExecutionException e) {
+            throw new IOException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+
+        List<Dependency> dependencies = new ArrayList<>();
+        results.forEach(dependencies::addAll);
+        return dependencies;
+    }
+
+    List<Dependency> downloadDependency(DownloadableArtifact artifact) throws IOException {
+        if (segmentedDownloader != null) {
+            downloadSegmented(artifact);
+        }
+        return super.downloadDependencies(Collections.singleton(artifact));
+    }
+
+    /**
+     * Download the artifact in parallel byte ranges if it is large enough and not already in place.
+     */
+    private void downloadSegmented(DownloadableArtifact artifact) throws IOException {
+        String url = getUrl(artifact);
+        if (!segmentedDownloader.isSupported(url)) {
+            return;
+        }
+        Long size = sizes.get(getItemPath(artifact));
+        if (size != null && !segmentedDownloader.isAboveThreshold(size)) {
+            return;
+        }
+        SegmentedDownloader.Metadata metadata = segmentedDownloader.head(url);
+        if (!segmentedDownloader.isSegmentable(metadata)) {
+            return;
+        }
+        String fileDestination = downloader.getTargetDir(artifact.getTargetDirPath(), artifact.getRelativeDirPath());
+        if (fileDestination == null || downloader.isFileExistsLocally(fileDestination, metadata.getMd5(), metadata.getSha1())) {
+            return;
+        }
+        log.info("Downloading '" + url + "' in segments (" + metadata.getSize() + " bytes)...");
+        try {
+            Map<String, String> checksums = segmentedDownloader.download(url, metadata, new File(fileDestination));
+            downloader.putChecksums(fileDestination, checksums);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while downloading " + url, e);
+        }
+    }
+
+    /**
+     * Find the sizes of the artifacts in repositories of this Artifactory. Artifacts whose size is unknown are
+     * checked individually before the download.
+     *
+     * @return map of the item paths of the artifacts to their sizes.
+     */
+    private Map<String, Long> getSizes(List<DownloadableArtifact> artifacts) {
+        List<String> itemPaths = artifacts.stream()
+                .filter(artifact -> !StringUtils.startsWithAny(artifact.getRepoUrl(), "http://", "https://"))
+                .map(ParallelDependenciesDownloaderHelper::getItemPath)
+                .distinct()
+                .collect(Collectors.toList());
+        Map<String, Long> result = new HashMap<>();
+        try {
+            for (int i = 0; i < itemPaths.size(); i += MAX_ITEMS_PER_QUERY) {
+                result.putAll(segmentedDownloader.getSizes(artifactoryUrl, itemPaths.subList(i, Math.min(itemPaths.size(), i + MAX_ITEMS_PER_QUERY))));
+            }
+        } catch (IOException e) {
+            log.debug("Couldn't find the sizes of the artifacts: " + e.getMessage());
+        }
+        return result;
+    }
+
+    private static String getItemPath(DownloadableArtifact artifact) {
+        return StringUtils.removeEnd(artifact.getRepoUrl(), "/") + "/" + StringUtils.removeStart(artifact.getFilePath(), "/");
+    }
+
+    private String getUrl(DownloadableArtifact artifact) throws UnsupportedEncodingException {
+        String repoUrl = StringUtils.removeEnd(artifact.getRepoUrl(), "/");
+        if (!StringUtils.startsWithAny(repoUrl, "http://", "https://")) {
+            repoUrl = artifactoryUrl + "/" + encodePath(repoUrl);
+        }
+        return repoUrl + "/" + encodePath(StringUtils.removeStart(artifact.getFilePath(), "/"));
+    }
+
+    private static String encodePath(String path) throws UnsupportedEncodingException {
+        StringBuilder encoded = new StringBuilder();
+        for (String segment : StringUtils.splitPreserveAllTokens(path, '/')) {
+            if (encoded.length() > 0) {
+                encoded.append('/');
+            }
+            encoded.append(URLEncoder.encode(segment, "UTF-8").replace("+", "%20"));
+        }
+        return encoded.toString();
+    }
+}
@@ -0,0 +1,79 @@
+package org.jfrog.hudson.generic;
+
+import hudson.FilePath;
+import hudson.remoting.VirtualChannel;
+import jenkins.MasterToSlaveFileCallable;
+import org.jfrog.build.api.dependency.BuildDependency;
+import org.jfrog.build.api.util.Log;
+import org.jfrog.build.client.ProxyConfiguration;
+import org.jfrog.build.extractor.ci.Dependency;
+import org.jfrog.build.extractor.clientConfiguration.client.artifactory.ArtifactoryManager;
+import org.jfrog.build.extractor.clientConfiguration.util.AntPatternsDependenciesHelper;
+import org.jfrog.build.extractor.clientConfiguration.util.BuildDependenciesHelper;
+import org.jfrog.hudson.ArtifactoryServer;
+import org.jfrog.hudson.util.Credentials;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Resolves published dependencies and build dependencies by patterns, entirely on the agent.
+ * The downloader works on the local workspace, so checking, saving and deleting the downloaded files doesn't require
+ * a remoting round trip per file. Only the resolved dependencies are returned to the controller.
+ */
+public class PatternsResolverCallable extends MasterToSlaveFileCallable<PatternsResolverCallable.Result> {
+    private static final String AGENT_NATIVE_PROPERTY = PatternsResolverCallable.class.getName() + ".enabled";
+
+    private final Log log;
+    private final ArtifactoryServer server;
+    private final Credentials credentials;
+    private final ProxyConfiguration proxyConfiguration;
+    private final String resolvePattern;
+
+    public PatternsResolverCallable(Log log, ArtifactoryServer server, Credentials credentials,
+                                    ProxyConfiguration proxyConfiguration, String resolvePattern) {
+        this.log = log;
+        this.server = server;
+        this.credentials = credentials;
+        this.proxyConfiguration = proxyConfiguration;
+        this.resolvePattern = resolvePattern;
+    }
+
+    /**
+     * @return true if the generic resolution by patterns should run on the agent.
+     */
+    public static boolean isAgentNative() {
+        return Boolean.getBoolean(AGENT_NATIVE_PROPERTY);
+    }
+
+    public Result invoke(File workspace, VirtualChannel channel) throws IOException, InterruptedException {
+        try (ArtifactoryManager artifactoryManager = server.createArtifactoryManagerBuilder(credentials, proxyConfiguration, log).build()) {
+            DependenciesDownloaderImpl downloader = new DependenciesDownloaderImpl(artifactoryManager, new FilePath(workspace), log);
+            List<Dependency> publishedDependencies = new AntPatternsDependenciesHelper(downloader, log).retrievePublishedDependencies(resolvePattern);
+            List<BuildDependency> buildDependencies = new BuildDependenciesHelper(downloader, log).retrieveBuildDependencies(resolvePattern);
+            return new Result(publishedDependencies, buildDependencies);
+        }
+    }
+
+    public static class Result implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final List<Dependency> publishedDependencies;
+        private final List<BuildDependency> buildDependencies;
+
+        Result(List<Dependency> publishedDependencies, List<BuildDependency> buildDependencies) {
+            this.publishedDependencies = publishedDependencies;
+            this.buildDependencies = buildDependencies;
+        }
+
+        public List<Dependency> getPublishedDependencies() {
+            return publishedDependencies;
+        }
+
+        public List<BuildDependency> getBuildDependencies() {
+            return buildDependencies;
+        }
+    }
+}
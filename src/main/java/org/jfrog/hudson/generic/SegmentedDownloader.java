@@ -0,0 +1,391 @@
+package org.jfrog.hudson.generic;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hudson.util.DaemonThreadFactory;
+import hudson.util.NamingThreadFactory;
+import org.apache.commons.lang3.StringUtils;
+import org.jfrog.build.api.util.FileChecksumCalculator;
+import org.jfrog.build.client.ProxyConfiguration;
+import org.jfrog.hudson.util.AqlUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.MalformedURLException;
+import java.net.Proxy;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Downloads a large file from Artifactory in segments, using parallel HTTP Range requests.
+ * Each segment is written directly to its position in a temporary file next to the target, so that the segments are
+ * neither buffered in memory nor concatenated. The checksums of the complete file are verified against the checksums
+ * reported by Artifactory before the temporary file is moved to the target.
+ * Redirects are followed without the Artifactory credentials, so that they are not sent to the storage behind a
+ * direct cloud storage download. HTTPS connections use the default SSL context of the agent JVM, as the Artifactory
+ * client does.
+ * This class is used on the agent, where the file is written.
+ */
+public class SegmentedDownloader {
+    static final String SHA256 = "SHA-256";
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_REDIRECTS = 5;
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final String authorization;
+    private final ProxyConfiguration proxyConfiguration;
+    private final List<Pattern> noProxyHostPatterns;
+    private final int timeoutMillis;
+    private final int segments;
+    private final long thresholdBytes;
+
+    /**
+     * @param username           - Artifactory username.
+     * @param password           - Artifactory password.
+     * @param accessToken        - Artifactory access token. Used instead of the username and password if not blank.
+     * @param proxyConfiguration - Proxy configuration, or null.
+     * @param noProxyHost        - Hosts accessed without the proxy, in the format of the Jenkins proxy configuration, or null.
+     * @param timeout            - Connection and read timeout in seconds. 0 for no timeout.
+     * @param segments           - Number of segments downloaded in parallel.
+     * @param thresholdBytes     - Files smaller than this size are not downloaded in segments.
+     */
+    public SegmentedDownloader(String username, String password, String accessToken, ProxyConfiguration proxyConfiguration,
+                               String noProxyHost, int timeout, int segments, long thresholdBytes) {
+        if (StringUtils.isNotBlank(accessToken)) {
+            this.authorization = "Bearer " + accessToken;
+        } else if (StringUtils.isNotBlank(username)) {
+            this.authorization = basic(username, password);
+        } else {
+            this.authorization = null;
+        }
+        this.proxyConfiguration = proxyConfiguration;
+        this.noProxyHostPatterns = hudson.ProxyConfiguration.getNoProxyHostPatterns(noProxyHost);
+        this.timeoutMillis = (int) TimeUnit.SECONDS.toMillis(timeout);
+        this.segments = segments;
+        this.thresholdBytes = thresholdBytes;
+    }
+
+    /**
+     * Get the size, range support and checksums of a file.
+     * The first byte of the file is requested, so that range support is confirmed by the response itself rather than
+     * by the Accept-Ranges header.
+     *
+     * @param url - The file URL.
+     */
+    public Metadata head(String url) throws IOException {
+        HttpURLConnection connection = connect(url, "bytes=0-0");
+        try {
+            int status = connection.getResponseCode();
+            long size;
+            boolean acceptRanges;
+            if (status == HttpURLConnection.HTTP_PARTIAL) {
+                size = getTotalSize(connection.getHeaderField("Content-Range"));
+                acceptRanges = size >= 0;
+            } else {
+                checkResponse(connection, HttpURLConnection.HTTP_OK, url);
+                size = connection.getContentLengthLong();
+                acceptRanges = false;
+            }
+            return new Metadata(size, acceptRanges,
+                    connection.getHeaderField("X-Checksum-Md5"),
+                    connection.getHeaderField("X-Checksum-Sha1"),
+                    connection.getHeaderField("X-Checksum-Sha256"));
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    /**
+     * Find the sizes of files in Artifactory with a single AQL query.
+     * Files which are not found, for example because they are in remote repositories that were not cached yet, are
+     * missing from the result.
+     *
+     * @param artifactoryUrl - The Artifactory URL.
+     * @param itemPaths      - The paths of the files, starting with the repository key. For example "libs-release/org/a.jar".
+     * @return map of the item paths to the sizes of the files.
+     */
+    public Map<String, Long> getSizes(String artifactoryUrl, List<String> itemPaths) throws IOException {
+        Map<String, Long> sizes = new HashMap<>();
+        if (itemPaths.isEmpty()) {
+            return sizes;
+        }
+        String query = "items.find({\"$or\":[" + itemPaths.stream().map(AqlUtils::createItemCriteria).collect(Collectors.joining(",")) +
+                "]}).include(\"repo\",\"path\",\"name\",\"size\")";
+        String url = StringUtils.removeEnd(artifactoryUrl, "/") + "/api/search/aql";
+        HttpURLConnection connection = openConnection(new URL(url), true);
+        try {
+            connection.setRequestMethod("POST");
+            connection.setRequestProperty("Content-Type", "text/plain");
+            connection.setDoOutput(true);
+            try (OutputStream out = connection.getOutputStream()) {
+                out.write(query.getBytes(StandardCharsets.UTF_8));
+            }
+            checkResponse(connection, HttpURLConnection.HTTP_OK, url);
+            JsonNode results;
+            try (InputStream in = connection.getInputStream()) {
+                results = MAPPER.readTree(in).path("results");
+            }
+            for (JsonNode item : results) {
+                String path = item.path("path").asText();
+                String relativePath = ".".equals(path) ? item.path("name").asText() : path + "/" + item.path("name").asText();
+                sizes.put(item.path("repo").asText() + "/" + relativePath, item.path("size").asLong());
+            }
+            return sizes;
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    /**
+     * @param contentRange - Content-Range header value, for example "bytes 0-0/1024".
+     * @return the total size, or -1 if unknown.
+     */
+    private static long getTotalSize(String contentRange) {
+        String size = StringUtils.substringAfterLast(contentRange, "/");
+        return StringUtils.isNumeric(size) ? Long.parseLong(size) : -1;
+    }
+
+    /**
+     * A HTTPS download through a proxy requiring authentication is left to the Artifactory client, since the proxy
+     * credentials are not sent when tunneling.
+     *
+     * @return true if the file may be downloaded in segments.
+     */
+    public boolean isSupported(String url) {
+        return !StringUtils.startsWithIgnoreCase(url, "https://") || getProxy(url) == Proxy.NO_PROXY ||
+                StringUtils.isBlank(proxyConfiguration.username);
+    }
+
+    /**
+     * @return true if a file of this size is large enough to be downloaded in segments.
+     */
+    public boolean isAboveThreshold(long size) {
+        return size >= thresholdBytes;
+    }
+
+    /**
+     * @return true if the file is large enough to be downloaded in segments, and the server supports range requests.
+     */
+    public boolean isSegmentable(Metadata metadata) {
+        return metadata.acceptRanges && metadata.size >= thresholdBytes && metadata.size > 0 && segments > 1 &&
+                (StringUtils.isNotBlank(metadata.sha1) || StringUtils.isNotBlank(metadata.sha256));
+    }
+
+    /**
+     * Download a file in segments and verify its checksums.
+     *
+     * @param url      - The file URL.
+     * @param metadata - The file metadata, as returned by {@link #head(String)}.
+     * @param target   - The target file. Replaced if exists.
+     * @return map of "md5" and "sha1" to the checksums of the downloaded file.
+     */
+    public Map<String, String> download(String url, Metadata metadata, File target) throws IOException, InterruptedException {
+        Files.createDirectories(target.getAbsoluteFile().getParentFile().toPath());
+        File tempFile = new File(target.getAbsoluteFile().getParentFile(), "." + target.getName() + "." + UUID.randomUUID() + ".part");
+        try {
+            try (RandomAccessFile file = new RandomAccessFile(tempFile, "rw")) {
+                file.setLength(metadata.size);
+            }
+            downloadSegments(url, metadata.size, tempFile);
+            Map<String, String> checksums = verify(tempFile, metadata, url);
+            Files.move(tempFile.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            return checksums;
+        } finally {
+            Files.deleteIfExists(tempFile.toPath());
+        }
+    }
+
+    private void downloadSegments(String url, long size, File tempFile) throws IOException, InterruptedException {
+        long segmentSize = (size + segments - 1) / segments;
+        ExecutorService executor = Executors.newFixedThreadPool(segments, new NamingThreadFactory(new DaemonThreadFactory(), "Artifactory segmented download"));
+        try (FileChannel channel = FileChannel.open(tempFile.toPath(), StandardOpenOption.WRITE)) {
+            List<Future<Void>> futures = new ArrayList<>();
+            for (long start = 0; start < size; start += segmentSize) {
+                long from = start;
+                long to = Math.min(size, start + segmentSize) - 1;
+                futures.add(executor.submit(() -> {
+                    downloadSegment(url, from, to, channel);
+                    return null;
+                }));
+            }
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void downloadSegment(String url, long from, long to, FileChannel channel) throws IOException {
+        HttpURLConnection connection = connect(url, "bytes=" + from + "-" + to);
+        try {
+            checkResponse(connection, HttpURLConnection.HTTP_PARTIAL, url);
+            byte[] buffer = new byte[BUFFER_SIZE];
+            long position = from;
+            try (InputStream in = connection.getInputStream()) {
+                for (int read = in.read(buffer); read != -1; read = in.read(buffer)) {
+                    if (position + read > to + 1) {
+                        throw new IOException("Received more bytes than requested in range " + from + "-" + to + " of " + url);
+                    }
+                    ByteBuffer byteBuffer = ByteBuffer.wrap(buffer, 0, read);
+                    while (byteBuffer.hasRemaining()) {
+                        position += channel.write(byteBuffer, position);
+                    }
+                    if (Thread.interrupted()) {
+                        throw new IOException("Interrupted while downloading " + url);
+                    }
+                }
+            }
+            if (position != to + 1) {
+                throw new IOException("Received " + (position - from) + " bytes instead of " + (to + 1 - from) + " in range " + from + "-" + to + " of " + url);
+            }
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    private static Map<String, String> verify(File file, Metadata metadata, String url) throws IOException {
+        Map<String, String> checksums;
+        try {
+            checksums = FileChecksumCalculator.calculateChecksums(file, "md5", "sha1", SHA256);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException(e);
+        }
+        if (StringUtils.isNotBlank(metadata.sha256) && !metadata.sha256.equalsIgnoreCase(checksums.get(SHA256))) {
+            throw new IOException("SHA256 mismatch of the downloaded " + url + ": expected " + metadata.sha256 + " but was " + checksums.get(SHA256));
+        }
+        if (StringUtils.isNotBlank(metadata.sha1) && !metadata.sha1.equalsIgnoreCase(checksums.get("sha1"))) {
+            throw new IOException("SHA1 mismatch of the downloaded " + url + ": expected " + metadata.sha1 + " but was " + checksums.get("sha1"));
+        }
+        Map<String, String> result = new HashMap<>();
+        result.put("md5", checksums.get("md5"));
+        result.put("sha1", checksums.get("sha1"));
+        return result;
+    }
+
+    /**
+     * Send a range request, following redirects without the Artifactory credentials.
+     *
+     * @return the connection, after the response status was received.
+     */
+    private HttpURLConnection connect(String url, String range) throws IOException {
+        URL currentUrl = new URL(url);
+        for (int redirects = 0; ; redirects++) {
+            HttpURLConnection connection = openConnection(currentUrl, redirects == 0);
+            connection.setRequestProperty("Range", range);
+            int status = connection.getResponseCode();
+            String location = connection.getHeaderField("Location");
+            if (status < HttpURLConnection.HTTP_MULT_CHOICE || status >= HttpURLConnection.HTTP_BAD_REQUEST ||
+                    status == HttpURLConnection.HTTP_NOT_MODIFIED || location == null) {
+                return connection;
+            }
+            connection.disconnect();
+            if (redirects == MAX_REDIRECTS) {
+                throw new IOException("Failed to download " + url + ". Too many redirects.");
+            }
+            currentUrl = new URL(currentUrl, location);
+        }
+    }
+
+    private HttpURLConnection openConnection(URL url, boolean authenticate) throws IOException {
+        Proxy proxy = getProxy(url.toString());
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection(proxy);
+        if (proxy != Proxy.NO_PROXY && StringUtils.isNotBlank(proxyConfiguration.username)) {
+            connection.setRequestProperty("Proxy-Authorization", basic(proxyConfiguration.username, proxyConfiguration.password));
+        }
+        connection.setInstanceFollowRedirects(false);
+        connection.setConnectTimeout(timeoutMillis);
+        connection.setReadTimeout(timeoutMillis);
+        if (authenticate && authorization != null) {
+            connection.setRequestProperty("Authorization", authorization);
+        }
+        return connection;
+    }
+
+    private Proxy getProxy(String url) {
+        if (proxyConfiguration == null || StringUtils.isBlank(proxyConfiguration.host)) {
+            return Proxy.NO_PROXY;
+        }
+        String host;
+        try {
+            host = new URL(url).getHost();
+        } catch (MalformedURLException e) {
+            return Proxy.NO_PROXY;
+        }
+        for (Pattern pattern : noProxyHostPatterns) {
+            if (pattern.matcher(host).matches()) {
+                return Proxy.NO_PROXY;
+            }
+        }
+        return new Proxy(Proxy.Type.HTTP, new InetSocketAddress(proxyConfiguration.host, proxyConfiguration.port));
+    }
+
+    private static void checkResponse(HttpURLConnection connection, int expectedStatus, String url) throws IOException {
+        int status = connection.getResponseCode();
+        if (status != expectedStatus) {
+            throw new IOException("Failed to download " + url + ". Received " + status + ": " + connection.getResponseMessage());
+        }
+    }
+
+    private static String basic(String username, String password) {
+        String credentials = username + ":" + StringUtils.defaultString(password);
+        return "Basic " + Base64.getEncoder().encodeToString(credentials.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static class Metadata {
+        private final long size;
+        private final boolean acceptRanges;
+        private final String md5;
+        private final String sha1;
+        private final String sha256;
+
+        Metadata(long size, boolean acceptRanges, String md5, String sha1, String sha256) {
+            this.size = size;
+            this.acceptRanges = acceptRanges;
+            this.md5 = md5;
+            this.sha1 = sha1;
+            this.sha256 = sha256;
+        }
+
+        public long getSize() {
+            return size;
+        }
+
+        public String getMd5() {
+            return md5;
+        }
+
+        public String getSha1() {
+            return sha1;
+        }
+    }
+}
@@ -28,11 +28,16 @@ import hudson.model.BuildListener;
 import hudson.model.Cause;
 import hudson.model.Hudson;
 import hudson.model.Result;
+import hudson.model.TaskListener;
 import hudson.util.VersionNumber;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.builder.ToStringBuilder;
 import org.jfrog.build.extractor.ci.BuildInfoFields;
 import org.jfrog.build.api.util.FileChecksumCalculator;
+import org.jfrog.build.api.util.Log;
+import org.jfrog.build.api.util.NullLog;
+import org.jfrog.build.client.ArtifactoryUploadResponse;
+import org.jfrog.build.client.ProxyConfiguration;
 import org.jfrog.build.extractor.clientConfiguration.IncludeExcludePatterns;
 import org.jfrog.build.extractor.clientConfiguration.PatternMatcher;
 import org.jfrog.build.extractor.clientConfiguration.client.artifactory.ArtifactoryManager;
@@ -42,15 +47,25 @@ import org.jfrog.hudson.ArtifactoryServer;
 import org.jfrog.hudson.action.ActionableHelper;
 import org.jfrog.hudson.release.ReleaseAction;
 import org.jfrog.hudson.util.BuildUniqueIdentifierHelper;
+import org.jfrog.hudson.util.ChecksumDeployUploader;
+import org.jfrog.hudson.util.Credentials;
+import org.jfrog.hudson.util.DeployPipeline;
 import org.jfrog.hudson.util.ExtractorUtils;
 import org.jfrog.hudson.util.IncludesExcludes;
+import org.jfrog.hudson.util.JenkinsBuildInfoLog;
 import org.jfrog.hudson.util.MavenVersionHelper;
+import org.jfrog.hudson.util.ProxyUtils;
 
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 import java.util.logging.Logger;
 
 /**
@@ -65,7 +80,7 @@ public class ArtifactsDeployer {
     private final ArtifactoryServer artifactoryServer;
     private final String targetReleasesRepository;
     private final String targetSnapshotsRepository;
-    private final ArtifactoryManager artifactoryManager;
+    private final Credentials deployerCredentials;
     private final MavenModuleSetBuild mavenModuleSetBuild;
     private final BuildListener listener;
     private final IncludeExcludePatterns patterns;
@@ -75,10 +90,10 @@ public class ArtifactsDeployer {
     private final String[] deploymentProperties;
     private final AbstractBuild<?, ?> rootBuild;
 
-    public ArtifactsDeployer(ArtifactoryRedeployPublisher artifactoryPublisher, ArtifactoryManager artifactoryManager,
+    public ArtifactsDeployer(ArtifactoryRedeployPublisher artifactoryPublisher, Credentials deployerCredentials,
                              MavenModuleSetBuild mavenModuleSetBuild, BuildListener listener)
             throws IOException, InterruptedException {
-        this.artifactoryManager = artifactoryManager;
+        this.deployerCredentials = deployerCredentials;
         this.mavenModuleSetBuild = mavenModuleSetBuild;
         this.listener = listener;
         this.env = mavenModuleSetBuild.getEnvironment(listener);
@@ -116,34 +131,72 @@ public class ArtifactsDeployer {
         listener.getLogger().println("Deploying artifacts to " + artifactoryServer.getArtifactoryUrl());
         Map<MavenModule, MavenBuild> mavenBuildMap = mavenModuleSetBuild.getModuleLastBuilds();
 
+        List<ModuleArtifact> artifacts = new ArrayList<>();
         for (Map.Entry<MavenModule, MavenBuild> mavenBuildEntry : mavenBuildMap.entrySet()) {
             MavenBuild mavenBuild = mavenBuildEntry.getValue();
             Result result = mavenBuild.getResult();
+            String moduleName = mavenBuildEntry.getKey().getName();
             if (Result.NOT_BUILT.equals(result)) {
                 // HAP-52 - the module build might be skipped if using incremental build
                 listener.getLogger().println(
-                        "Module: '" + mavenBuildEntry.getKey().getName() + "' wasn't built. Skipping.");
+                        "Module: '" + moduleName + "' wasn't built. Skipping.");
                 continue;
             }
-            listener.getLogger().println("Deploying artifacts of module: " + mavenBuildEntry.getKey().getName());
             MavenArtifactRecord mar = ActionableHelper.getLatestMavenArtifactRecord(mavenBuild);
             MavenArtifact mavenArtifact = mar.mainArtifact;
 
             // deploy main artifact
-            debuggingLogger.fine("Deploying main artifact: " + artifactToString(mavenArtifact, mavenBuild));
-            deployArtifact(mavenBuild, mavenArtifact);
+            artifacts.add(new ModuleArtifact(moduleName, mavenBuild, mavenArtifact));
             if (!mar.isPOM() && mar.pomArtifact != null && mar.pomArtifact != mar.mainArtifact) {
                 // deploy the pom if the main artifact is not the pom
-                debuggingLogger.fine("Deploying pom artifact: " + artifactToString(mavenArtifact, mavenBuild));
-                deployArtifact(mavenBuild, mar.pomArtifact);
+                artifacts.add(new ModuleArtifact(moduleName, mavenBuild, mar.pomArtifact));
             }
 
             // deploy attached artifacts
             for (MavenArtifact attachedArtifact : mar.attachedArtifacts) {
-                debuggingLogger.fine("Deploying attached artifact: " + artifactToString(mavenArtifact, mavenBuild));
-                deployArtifact(mavenBuild, attachedArtifact);
+                artifacts.add(new ModuleArtifact(moduleName, mavenBuild, attachedArtifact));
             }
         }
+
+        Log log = new JenkinsBuildInfoLog(listener);
+        ProxyConfiguration proxyConfiguration = ProxyUtils.createProxyConfiguration();
+        ChecksumDeployUploader.ChecksumDeployer checksumDeployer = ChecksumDeployUploader.createChecksumDeployer(
+                ChecksumDeployUploader.isChecksumDeployFirst(), artifactoryServer, deployerCredentials, proxyConfiguration);
+        deploy(artifacts, artifact -> {
+                    DeployDetails deployDetails = createDeployDetails(artifact);
+                    if (deployDetails != null) {
+                        logDeploymentPath(deployDetails, deployDetails.getArtifactPath());
+                    }
+                    return deployDetails;
+                }, () -> artifactoryServer.createArtifactoryManager(deployerCredentials, proxyConfiguration, log),
+                checksumDeployer, artifactoryServer.getDeploymentThreads(), listener);
+    }
+
+    /**
+     * Calculate the checksums and upload the artifacts of all the modules concurrently.
+     * Checksums are calculated by all the available processors while previous artifacts are uploaded. Each upload
+     * thread uploads through its own Artifactory manager, since a manager is leased to one thread at a time.
+     * The uploads are not retried by the pipeline, since the Artifactory managers already retry them according to the
+     * connection retry of the server.
+     *
+     * @param artifacts        - The artifacts of all the modules.
+     * @param preparer         - Creates the deploy details of an artifact.
+     * @param managerFactory   - Creates the Artifactory manager of an upload thread.
+     * @param checksumDeployer - Deploys the artifacts by checksum, or null if checksum-deploy-first mode is disabled.
+     * @param threads          - Number of upload threads.
+     * @param listener         - The build listener.
+     */
+    static void deploy(List<ModuleArtifact> artifacts, DeployPipeline.Preparer<ModuleArtifact> preparer,
+                       Supplier<ArtifactoryManager> managerFactory, ChecksumDeployUploader.ChecksumDeployer checksumDeployer,
+                       int threads, TaskListener listener) throws IOException, InterruptedException {
+        Log log = new JenkinsBuildInfoLog(listener);
+        try (ThreadArtifactoryManager artifactoryManager = new ThreadArtifactoryManager(managerFactory)) {
+            ChecksumDeployUploader uploader = new ChecksumDeployUploader(artifactoryManager, checksumDeployer);
+            new DeployPipeline<ModuleArtifact>(Runtime.getRuntime().availableProcessors(), threads, 0, log)
+                    .setProgressListener(new ModulesProgressListener(artifacts, listener))
+                    .deploy(artifacts, preparer, uploader);
+            uploader.logSummary(log);
+        }
     }
 
     private String artifactToString(MavenArtifact mavenArtifact, MavenBuild mavenBuild) throws IOException {
@@ -152,14 +205,17 @@ public class ArtifactsDeployer {
                 .toString();
     }
 
-    private void deployArtifact(MavenBuild mavenBuild, MavenArtifact mavenArtifact)
+    private DeployDetails createDeployDetails(ModuleArtifact moduleArtifact)
             throws IOException, InterruptedException, NoSuchAlgorithmException {
+        MavenBuild mavenBuild = moduleArtifact.mavenBuild;
+        MavenArtifact mavenArtifact = moduleArtifact.mavenArtifact;
+        debuggingLogger.fine("Deploying artifact: " + artifactToString(mavenArtifact, mavenBuild));
         String artifactPath = buildArtifactPath(mavenArtifact);
 
         if (PatternMatcher.pathConflicts(artifactPath, patterns)) {
             listener.getLogger().println("Skipping the deployment of '" + artifactPath +
                     "' due to the defined include-exclude patterns.");
-            return;
+            return null;
         }
 
         File artifactFile = getArtifactFile(mavenBuild, mavenArtifact);
@@ -205,9 +261,7 @@ public class ArtifactsDeployer {
             builder.addProperty(BuildInfoFields.VCS_MESSAGE, message);
         }
         addDeploymentProperties(builder);
-        DeployDetails deployDetails = builder.build();
-        logDeploymentPath(deployDetails, artifactPath);
-        artifactoryManager.upload(deployDetails);
+        return builder.build();
     }
 
     private void addDeploymentProperties(DeployDetails.Builder builder) {
@@ -229,6 +283,99 @@ public class ArtifactsDeployer {
         listener.getLogger().println("Deploying artifact: " + deploymentPath);
     }
 
+    /**
+     * A Maven artifact of a module build.
+     */
+    static class ModuleArtifact {
+        private final String moduleName;
+        private final MavenBuild mavenBuild;
+        private final MavenArtifact mavenArtifact;
+
+        ModuleArtifact(String moduleName, MavenBuild mavenBuild, MavenArtifact mavenArtifact) {
+            this.moduleName = moduleName;
+            this.mavenBuild = mavenBuild;
+            this.mavenArtifact = mavenArtifact;
+        }
+
+        @Override
+        public String toString() {
+            return moduleName + ":" + mavenArtifact.canonicalName;
+        }
+    }
+
+    /**
+     * Reports the deployment progress of each module, once all of its artifacts are done.
+     */
+    private static class ModulesProgressListener implements DeployPipeline.ProgressListener<ModuleArtifact> {
+        private final Map<String, Integer> remainingByModule = new HashMap<>();
+        private final Map<String, Integer> deployedByModule = new HashMap<>();
+        private final Map<String, Integer> failedByModule = new HashMap<>();
+        private final TaskListener listener;
+
+        ModulesProgressListener(List<ModuleArtifact> artifacts, TaskListener listener) {
+            this.listener = listener;
+            for (ModuleArtifact artifact : artifacts) {
+                remainingByModule.merge(artifact.moduleName, 1, Integer::sum);
+            }
+        }
+
+        @Override
+        public synchronized void onDone(ModuleArtifact artifact, DeployDetails details, Throwable error) {
+            String moduleName = artifact.moduleName;
+            if (error != null) {
+                failedByModule.merge(moduleName, 1, Integer::sum);
+            } else if (details != null) {
+                deployedByModule.merge(moduleName, 1, Integer::sum);
+            }
+            if (remainingByModule.merge(moduleName, -1, Integer::sum) > 0) {
+                return;
+            }
+            int failed = failedByModule.getOrDefault(moduleName, 0);
+            listener.getLogger().println("Deployed " + deployedByModule.getOrDefault(moduleName, 0) + " artifacts of module: " +
+                    moduleName + (failed > 0 ? ", " + failed + " failed" : ""));
+        }
+    }
+
+    /**
+     * Uploads through an Artifactory manager per thread. The manager of a thread is created on its first upload, and
+     * all the managers are closed with this manager. Only the upload methods are delegated.
+     */
+    private static class ThreadArtifactoryManager extends ArtifactoryManager {
+        private final Supplier<ArtifactoryManager> managerFactory;
+        private final Map<Thread, ArtifactoryManager> managers = new ConcurrentHashMap<>();
+
+        ThreadArtifactoryManager(Supplier<ArtifactoryManager> managerFactory) {
+            super("", "", new NullLog());
+            this.managerFactory = managerFactory;
+        }
+
+        private ArtifactoryManager getThreadManager() {
+            return managers.computeIfAbsent(Thread.currentThread(), thread -> managerFactory.get());
+        }
+
+        @Override
+        public ArtifactoryUploadResponse upload(DeployDetails details) throws IOException {
+            return getThreadManager().upload(details);
+        }
+
+        @Override
+        public ArtifactoryUploadResponse upload(DeployDetails details, String logPrefix) throws IOException {
+            return getThreadManager().upload(details, logPrefix);
+        }
+
+        @Override
+        public ArtifactoryUploadResponse upload(DeployDetails details, String logPrefix, Integer minChecksumDeploySizeKb) throws IOException {
+            return getThreadManager().upload(details, logPrefix, minChecksumDeploySizeKb);
+        }
+
+        @Override
+        public void close() {
+            managers.values().forEach(ArtifactoryManager::close);
+            managers.clear();
+            super.close();
+        }
+    }
+
     /**
      * @return Return the target deployment repository. Either the releases repository (default) or snapshots if defined
      * and the deployed version is a snapshot.
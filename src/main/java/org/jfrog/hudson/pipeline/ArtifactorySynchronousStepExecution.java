@@ -8,6 +8,7 @@ import org.jenkinsci.plugins.workflow.job.WorkflowRun;
 import org.jenkinsci.plugins.workflow.steps.StepContext;
 import org.jenkinsci.plugins.workflow.steps.SynchronousStepExecution;
 import org.jfrog.hudson.ArtifactoryServer;
+import org.jfrog.hudson.pipeline.declarative.utils.DeclarativePipelineUtils;
 import org.jfrog.hudson.util.JenkinsBuildInfoLog;
 
 import java.io.IOException;
@@ -48,6 +49,9 @@ public abstract class ArtifactorySynchronousStepExecution<T> extends Synchronous
             if (ws != null) {
                 ws.mkdirs();
             }
+            if (rootWs != null && build != null) {
+                DeclarativePipelineUtils.bindBuildData(rootWs, build);
+            }
             ArtifactoryServer server = getUsageReportServer();
             if (server != null) {
                 new Thread(() -> server.reportUsage(getUsageReportFeatureName(), build, new JenkinsBuildInfoLog(listener))).start();
@@ -0,0 +1,52 @@
+package org.jfrog.hudson.pipeline.action;
+
+import hudson.model.InvisibleAction;
+import hudson.model.Run;
+
+/**
+ * Use this run action to save the size of the build info generated by the extractors of a build, and the largest
+ * number of bytes parsed at once while reading it.
+ */
+public class GeneratedBuildInfoAction extends InvisibleAction {
+
+    private long bytesParsed;
+    private long peakBytes;
+
+    /**
+     * Add the metrics of a generated build info to the action of the build.
+     *
+     * @param build       - The build.
+     * @param bytesParsed - The size of the generated build info.
+     * @param peakBytes   - The largest number of bytes parsed at once.
+     */
+    public static void add(Run<?, ?> build, long bytesParsed, long peakBytes) {
+        GeneratedBuildInfoAction action;
+        synchronized (build) {
+            action = build.getAction(GeneratedBuildInfoAction.class);
+            if (action == null) {
+                action = new GeneratedBuildInfoAction();
+                build.addAction(action);
+            }
+        }
+        action.add(bytesParsed, peakBytes);
+    }
+
+    private synchronized void add(long bytesParsed, long peakBytes) {
+        this.bytesParsed += bytesParsed;
+        this.peakBytes = Math.max(this.peakBytes, peakBytes);
+    }
+
+    /**
+     * @return the total size of the build info generated by the extractors of the build.
+     */
+    public synchronized long getBytesParsed() {
+        return bytesParsed;
+    }
+
+    /**
+     * @return the largest number of bytes parsed at once.
+     */
+    public synchronized long getPeakBytes() {
+        return peakBytes;
+    }
+}
@@ -0,0 +1,107 @@
+package org.jfrog.hudson.pipeline.common;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.jfrog.build.extractor.ci.BuildInfo;
+import org.jfrog.build.extractor.ci.Module;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.jfrog.hudson.util.SerializationUtils.createMapper;
+
+/**
+ * Reads the build info generated by an extractor.
+ * The JSON is read as a stream, usually from the agent's file through the remoting channel, so it is never held as a
+ * whole. The modules are deserialized one by one, so the parser never holds more than a single module, or a single
+ * top-level field, in memory. The modules may be passed one by one to a consumer, such as the build info they are
+ * appended to, rather than collected into the returned build info.
+ * The largest number of bytes parsed at once is returned with the build info, as a measure of the reader's peak memory.
+ */
+public class GeneratedBuildInfoReader {
+    private static final String MODULES = "modules";
+
+    /**
+     * @param inputStream - The generated build info JSON.
+     * @param source      - The source of the JSON, for error messages.
+     * @return the build info, including its modules.
+     */
+    public Result read(InputStream inputStream, String source) throws IOException {
+        List<Module> modules = new ArrayList<>();
+        Result result = read(inputStream, source, modules::add);
+        result.getBuildInfo().setModules(modules);
+        return result;
+    }
+
+    /**
+     * @param inputStream    - The generated build info JSON.
+     * @param source         - The source of the JSON, for error messages.
+     * @param moduleConsumer - Receives the modules, in order, as soon as each one is parsed.
+     * @return the build info, without its modules.
+     */
+    public Result read(InputStream inputStream, String source, Consumer<Module> moduleConsumer) throws IOException {
+        ObjectMapper mapper = createMapper();
+        try (JsonParser parser = mapper.getFactory().createParser(inputStream)) {
+            if (parser.nextToken() == null) {
+                return new Result(new BuildInfo(), 0, 0);
+            }
+            if (parser.currentToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Expected a JSON object in the generated build info at " + source);
+            }
+            ObjectNode header = mapper.createObjectNode();
+            long peakBytes = 0;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String fieldName = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                if (MODULES.equals(fieldName) && value == JsonToken.START_ARRAY) {
+                    while (parser.nextToken() != JsonToken.END_ARRAY) {
+                        long start = parser.getTokenLocation().getByteOffset();
+                        moduleConsumer.accept(mapper.readValue(parser, Module.class));
+                        peakBytes = Math.max(peakBytes, parser.getCurrentLocation().getByteOffset() - start);
+                    }
+                } else {
+                    long start = parser.getTokenLocation().getByteOffset();
+                    header.set(fieldName, mapper.readTree(parser));
+                    peakBytes = Math.max(peakBytes, parser.getCurrentLocation().getByteOffset() - start);
+                }
+            }
+            BuildInfo buildInfo = mapper.treeToValue(header, BuildInfo.class);
+            return new Result(buildInfo, parser.getCurrentLocation().getByteOffset(), peakBytes);
+        }
+    }
+
+    public static class Result {
+        private final BuildInfo buildInfo;
+        private final long bytesParsed;
+        private final long peakBytes;
+
+        Result(BuildInfo buildInfo, long bytesParsed, long peakBytes) {
+            this.buildInfo = buildInfo;
+            this.bytesParsed = bytesParsed;
+            this.peakBytes = peakBytes;
+        }
+
+        public BuildInfo getBuildInfo() {
+            return buildInfo;
+        }
+
+        /**
+         * @return the size of the generated build info file.
+         */
+        public long getBytesParsed() {
+            return bytesParsed;
+        }
+
+        /**
+         * @return the size of the largest module or top-level field, which was parsed at once.
+         */
+        public long getPeakBytes() {
+            return peakBytes;
+        }
+    }
+}
@@ -15,7 +15,6 @@ import jenkins.plugins.nodejs.NodeJSConstants;
 import jenkins.plugins.nodejs.tools.NodeJSInstallation;
 import jenkins.security.MasterToSlaveCallable;
 import org.apache.commons.io.FileUtils;
-import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.ObjectUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.exception.ExceptionUtils;
@@ -38,6 +37,7 @@ import org.jfrog.build.extractor.clientConfiguration.client.distribution.types.R
 import org.jfrog.build.extractor.clientConfiguration.util.GitUtils;
 import org.jfrog.hudson.CredentialsConfig;
 import org.jfrog.hudson.action.ActionableHelper;
+import org.jfrog.hudson.pipeline.action.GeneratedBuildInfoAction;
 import org.jfrog.hudson.pipeline.common.types.*;
 import org.jfrog.hudson.pipeline.common.types.buildInfo.BuildInfo;
 import org.jfrog.hudson.util.*;
@@ -45,19 +45,19 @@ import org.jfrog.hudson.util.*;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.StringWriter;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.logging.Logger;
 
 import static org.apache.commons.lang3.StringUtils.isBlank;
 import static org.apache.commons.lang3.StringUtils.isNotBlank;
 import static org.jfrog.hudson.pipeline.common.types.ArtifactoryServer.*;
-import static org.jfrog.hudson.util.SerializationUtils.createMapper;
 
 /**
  * Created by romang on 4/24/16.
  */
 public class Utils {
+    private static final Logger logger = Logger.getLogger(Utils.class.getName());
 
     public static final String CONAN_USER_HOME = "CONAN_USER_HOME"; // Conan user home environment variable name
     public static final String BUILD_INFO = "buildInfo"; // The build info argument used in pipeline
@@ -137,8 +137,10 @@ public class Utils {
         if (pipelineServer != null) {
             CredentialsConfig credentials = pipelineServer.createCredentialsConfig();
 
-            return new org.jfrog.hudson.ArtifactoryServer(null, pipelineServer.getUrl(), credentials,
+            org.jfrog.hudson.ArtifactoryServer server = new org.jfrog.hudson.ArtifactoryServer(null, pipelineServer.getUrl(), credentials,
                     credentials, pipelineServer.getConnection().getTimeout(), pipelineServer.isBypassProxy(), pipelineServer.getConnection().getRetry(), pipelineServer.getDeploymentThreads());
+            server.setDownloadThreads(pipelineServer.getDownloadThreads());
+            return server;
         }
         return RepositoriesUtils.getArtifactoryServer(artifactoryServerID);
     }
@@ -216,20 +218,44 @@ public class Utils {
         return result;
     }
 
+    /**
+     * Read the build info generated by an extractor and delete its file.
+     * The file is streamed from the agent and parsed as it is read, so its content is never held as a String.
+     *
+     * @param jsonBuildPath - Path to the generated build info file on the agent.
+     * @return the generated build info.
+     */
     public static org.jfrog.build.extractor.ci.BuildInfo getGeneratedBuildInfo(Run build, TaskListener listener, Launcher launcher, String jsonBuildPath) {
-        ObjectMapper mapper = createMapper();
+        return readGeneratedBuildInfo(build, listener, launcher, jsonBuildPath, null);
+    }
+
+    /**
+     * Read the build info generated by an extractor, append it to the build info of the pipeline and delete its file.
+     * Each module is appended as soon as it is parsed, so the generated modules are not collected in memory first.
+     *
+     * @param jsonBuildPath - Path to the generated build info file on the agent.
+     * @param buildInfo     - The build info to append to.
+     */
+    public static void appendGeneratedBuildInfo(Run build, TaskListener listener, Launcher launcher, String jsonBuildPath, BuildInfo buildInfo) {
+        buildInfo.append(readGeneratedBuildInfo(build, listener, launcher, jsonBuildPath, buildInfo));
+    }
+
+    /**
+     * @param buildInfo - If not null, the modules are appended to it one by one, and not returned.
+     */
+    private static org.jfrog.build.extractor.ci.BuildInfo readGeneratedBuildInfo(Run build, TaskListener listener, Launcher launcher,
+                                                                                 String jsonBuildPath, BuildInfo buildInfo) {
         FilePath generatedBuildInfoFilePath = null;
-        InputStream inputStream = null;
         try {
-            StringWriter writer = new StringWriter();
             generatedBuildInfoFilePath = new FilePath(launcher.getChannel(), jsonBuildPath);
-            inputStream = generatedBuildInfoFilePath.read();
-            IOUtils.copy(inputStream, writer, "UTF-8");
-            String buildInfoFileContent = writer.toString();
-            if (isBlank(buildInfoFileContent)) {
-                return new org.jfrog.build.extractor.ci.BuildInfo();
+            GeneratedBuildInfoReader.Result result;
+            try (InputStream inputStream = generatedBuildInfoFilePath.read()) {
+                GeneratedBuildInfoReader reader = new GeneratedBuildInfoReader();
+                result = buildInfo == null ? reader.read(inputStream, jsonBuildPath) : reader.read(inputStream, jsonBuildPath, buildInfo::appendModule);
             }
-            return mapper.readValue(buildInfoFileContent, org.jfrog.build.extractor.ci.BuildInfo.class);
+            GeneratedBuildInfoAction.add(build, result.getBytesParsed(), result.getPeakBytes());
+            logger.fine(String.format("Parsed %d bytes of generated build info of %s, peak %d bytes", result.getBytesParsed(), build, result.getPeakBytes()));
+            return result.getBuildInfo();
         } catch (RuntimeException e) {
             listener.error("Couldn't read generated build info at : " + jsonBuildPath);
             throw e;
@@ -237,9 +263,6 @@ public class Utils {
             listener.error("Couldn't read generated build info at : " + jsonBuildPath);
             throw new Run.RunnerAbortedException();
         } finally {
-            if (inputStream != null) {
-                IOUtils.closeQuietly(inputStream);
-            }
             deleteFilePathQuietly(generatedBuildInfoFilePath);
         }
     }
@@ -255,11 +278,27 @@ public class Utils {
     }
 
     public static String createTempJsonFile(Launcher launcher, final String name, final String dir) throws Exception {
-        return launcher.getChannel().call(new MasterToSlaveCallable<String, Exception>() {
-            public String call() throws IOException {
-                File tempFile = File.createTempFile(name, ".json", new File(dir));
-                tempFile.deleteOnExit();
-                return tempFile.getAbsolutePath();
+        return createTempJsonFiles(launcher, dir, name)[0];
+    }
+
+    /**
+     * Create temp json files on the agent in a single remote call, instead of a call per file.
+     *
+     * @param launcher - The launcher.
+     * @param dir      - The directory of the files.
+     * @param names    - The prefixes of the file names.
+     * @return the absolute paths of the files, in the order of the names.
+     */
+    public static String[] createTempJsonFiles(Launcher launcher, final String dir, final String... names) throws Exception {
+        return launcher.getChannel().call(new MasterToSlaveCallable<String[], Exception>() {
+            public String[] call() throws IOException {
+                String[] paths = new String[names.length];
+                for (int i = 0; i < names.length; i++) {
+                    File tempFile = File.createTempFile(names[i], ".json", new File(dir));
+                    tempFile.deleteOnExit();
+                    paths[i] = tempFile.getAbsolutePath();
+                }
+                return paths;
             }
         });
     }
@@ -330,6 +369,46 @@ public class Utils {
         return config;
     }
 
+    /**
+     * Create the promotion configs of a bulk promotion. Each of the builds is promoted with the common promotion
+     * arguments, overridden by its own arguments.
+     *
+     * @param promotionParams - The common promotion arguments, and the builds list.
+     * @return promotion config per build.
+     */
+    @SuppressWarnings("unchecked")
+    public static List<PromotionConfig> createBulkPromotionConfigs(Map<String, Object> promotionParams) {
+        Object builds = promotionParams.get(BUILDS);
+        if (!(builds instanceof List) || ((List<?>) builds).isEmpty()) {
+            throw new IllegalArgumentException("'" + BUILDS + "' is a mandatory argument, and should be a non empty list");
+        }
+        Map<String, Object> commonParams = new LinkedHashMap<>(promotionParams);
+        commonParams.remove(BUILDS);
+        commonParams.remove(THREADS);
+        commonParams.remove(FAILURE_POLICY);
+        List<PromotionConfig> promotionConfigs = new ArrayList<>();
+        for (Object build : (List<?>) builds) {
+            if (!(build instanceof Map)) {
+                throw new IllegalArgumentException("Each of the builds should be a map with the [" + BUILD_NAME + ", " + BUILD_NUMBER + "] arguments");
+            }
+            Map<String, Object> buildParams = new LinkedHashMap<>(commonParams);
+            buildParams.putAll((Map<String, Object>) build);
+            promotionConfigs.add(createPromotionConfig(buildParams, true));
+        }
+        return promotionConfigs;
+    }
+
+    /**
+     * @return true if all the builds of a bulk promotion should be promoted, even if some of the promotions fail.
+     */
+    public static boolean isContinueOnFailurePromotion(Map<String, Object> promotionParams) {
+        String failurePolicy = String.valueOf(promotionParams.getOrDefault(FAILURE_POLICY, STOP_ON_FAILURE_POLICY));
+        if (!STOP_ON_FAILURE_POLICY.equals(failurePolicy) && !CONTINUE_ON_FAILURE_POLICY.equals(failurePolicy)) {
+            throw new IllegalArgumentException("'" + FAILURE_POLICY + "' should be '" + STOP_ON_FAILURE_POLICY + "' or '" + CONTINUE_ON_FAILURE_POLICY + "'");
+        }
+        return CONTINUE_ON_FAILURE_POLICY.equals(failurePolicy);
+    }
+
     public static org.jfrog.hudson.release.promotion.PromotionConfig convertPromotionConfig(PromotionConfig pipelinePromotionConfig) {
         org.jfrog.hudson.release.promotion.PromotionConfig promotionConfig = new org.jfrog.hudson.release.promotion.PromotionConfig();
         promotionConfig.setBuildName(pipelinePromotionConfig.getBuildName());
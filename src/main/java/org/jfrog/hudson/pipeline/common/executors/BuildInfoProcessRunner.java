@@ -63,7 +63,7 @@ public abstract class BuildInfoProcessRunner implements Executor {
             }
         }
         String generatedBuildPath = env.get(BuildInfoFields.GENERATED_BUILD_INFO);
-        buildInfo.append(Utils.getGeneratedBuildInfo(build, listener, launcher, generatedBuildPath));
+        Utils.appendGeneratedBuildInfo(build, listener, launcher, generatedBuildPath, buildInfo);
         buildInfo.setAgentName(Utils.getAgentName(ws));
     }
 
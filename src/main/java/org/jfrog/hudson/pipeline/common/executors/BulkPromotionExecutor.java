@@ -0,0 +1,189 @@
+package org.jfrog.hudson.pipeline.common.executors;
+
+import hudson.model.Run;
+import hudson.model.TaskListener;
+import hudson.util.DaemonThreadFactory;
+import hudson.util.NamingThreadFactory;
+import hudson.util.StreamTaskListener;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.jfrog.build.client.ProxyConfiguration;
+import org.jfrog.build.extractor.clientConfiguration.client.artifactory.ArtifactoryManager;
+import org.jfrog.hudson.ArtifactoryServer;
+import org.jfrog.hudson.CredentialsConfig;
+import org.jfrog.hudson.pipeline.common.ArtifactoryConfigurator;
+import org.jfrog.hudson.pipeline.common.types.PromotionConfig;
+import org.jfrog.hudson.pipeline.common.types.PromotionReport;
+import org.jfrog.hudson.release.PromotionUtils;
+import org.jfrog.hudson.util.CredentialManager;
+import org.jfrog.hudson.util.Credentials;
+import org.jfrog.hudson.util.ProxyUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Promotes multiple builds with a bounded number of threads. Each promotion leases its own ArtifactoryManager, so
+ * that the managers are not shared between threads.
+ * The log of each promotion is printed as a whole when it ends, so that the logs of concurrent promotions are not
+ * interleaved. With the stop-on-failure policy, the promotions which did not start yet are skipped after a promotion
+ * fails. With the continue-on-failure policy, all the promotions are attempted.
+ * The number of threads is capped by the org.jfrog.hudson.pipeline.common.executors.BulkPromotionExecutor.maxThreads
+ * system property, 16 by default.
+ */
+public class BulkPromotionExecutor implements Executor {
+    public static final int DEFAULT_THREADS = 4;
+    static final int MAX_THREADS = Integer.getInteger(BulkPromotionExecutor.class.getName() + ".maxThreads", 16);
+
+    private final ArtifactoryServer server;
+    private final Run<?, ?> build;
+    private final TaskListener listener;
+    private final List<PromotionConfig> promotionConfigs;
+    private final int threads;
+    private final boolean continueOnFailure;
+    private PromotionReport promotionReport;
+
+    /**
+     * @param promotionConfigs  - The promotions, each with a build name and number.
+     * @param threads           - Max number of concurrent promotions.
+     * @param continueOnFailure - True to attempt all the promotions, false to stop after the first failure.
+     */
+    public BulkPromotionExecutor(ArtifactoryServer server, Run<?, ?> build, TaskListener listener,
+                                 List<PromotionConfig> promotionConfigs, int threads, boolean continueOnFailure) {
+        this.server = server;
+        this.build = build;
+        this.listener = listener;
+        this.promotionConfigs = promotionConfigs;
+        this.threads = threads;
+        this.continueOnFailure = continueOnFailure;
+    }
+
+    public void execute() throws IOException, InterruptedException {
+        ArtifactoryConfigurator configurator = new ArtifactoryConfigurator(server);
+        CredentialsConfig deployerConfig = CredentialManager.getPreferredDeployer(configurator, server);
+        int threadsCount = getThreadsCount(threads, promotionConfigs.size());
+        if (threads > MAX_THREADS) {
+            listener.getLogger().println("The number of promotion threads is limited to " + MAX_THREADS + ".");
+        }
+        listener.getLogger().println("Promoting " + promotionConfigs.size() + " builds with " + threadsCount + " threads" +
+                (continueOnFailure ? "." : ", stopping on the first failure."));
+
+        Credentials credentials = deployerConfig.provideCredentials(build.getParent());
+        ProxyConfiguration proxyConfiguration = ProxyUtils.createProxyConfiguration();
+        promotionReport = promoteAll(promotionConfigs, promotionConfig -> promote(promotionConfig, credentials, proxyConfiguration),
+                threadsCount, continueOnFailure);
+        listener.getLogger().println(promotionReport);
+    }
+
+    /**
+     * Promotes a single build.
+     */
+    interface Promoter {
+        /**
+         * @return the error message, or null if the promotion succeeded.
+         */
+        String promote(PromotionConfig promotionConfig);
+    }
+
+    /**
+     * Run the promotions in a thread pool.
+     *
+     * @param promotionConfigs  - The promotions.
+     * @param promoter          - Promotes a single build.
+     * @param threadsCount      - The number of threads.
+     * @param continueOnFailure - True to attempt all the promotions, false to skip the promotions which did not start
+     *                          yet after a promotion fails.
+     * @return the promotion report.
+     */
+    static PromotionReport promoteAll(List<PromotionConfig> promotionConfigs, Promoter promoter, int threadsCount,
+                                      boolean continueOnFailure) throws IOException, InterruptedException {
+        String[] errors = new String[promotionConfigs.size()];
+        boolean[] started = new boolean[promotionConfigs.size()];
+        AtomicBoolean failed = new AtomicBoolean();
+        ExecutorService executor = Executors.newFixedThreadPool(threadsCount, new NamingThreadFactory(new DaemonThreadFactory(), "Artifactory promotion"));
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < promotionConfigs.size(); i++) {
+                int index = i;
+                futures.add(executor.submit(() -> {
+                    if (!continueOnFailure && failed.get()) {
+                        return;
+                    }
+                    started[index] = true;
+                    errors[index] = promoter.promote(promotionConfigs.get(index));
+                    if (errors[index] != null) {
+                        failed.set(true);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            throw new IOException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        PromotionReport promotionReport = new PromotionReport();
+        for (int i = 0; i < promotionConfigs.size(); i++) {
+            String buildId = getBuildId(promotionConfigs.get(i));
+            if (!started[i]) {
+                promotionReport.addSkipped(buildId);
+            } else if (errors[i] != null) {
+                promotionReport.addFailed(buildId, errors[i]);
+            } else {
+                promotionReport.addPromoted(buildId);
+            }
+        }
+        return promotionReport;
+    }
+
+    /**
+     * @param threads         - The requested number of threads.
+     * @param promotionsCount - The number of promotions.
+     * @return the number of threads to use, between 1 and the max number of threads.
+     */
+    static int getThreadsCount(int threads, int promotionsCount) {
+        return Math.max(1, Math.min(Math.min(threads, MAX_THREADS), promotionsCount));
+    }
+
+    /**
+     * Promote a build and print its log.
+     *
+     * @return the error message, or null if the promotion succeeded.
+     */
+    private String promote(PromotionConfig promotionConfig, Credentials credentials, ProxyConfiguration proxyConfiguration) {
+        ByteArrayOutputStream log = new ByteArrayOutputStream();
+        TaskListener promotionListener = new StreamTaskListener(log, StandardCharsets.UTF_8);
+        String error;
+        try (ArtifactoryManager artifactoryManager = server.createArtifactoryManager(credentials, proxyConfiguration)) {
+            boolean success = PromotionUtils.promoteAndCheckResponse(PromotionExecutor.createPromotion(promotionConfig), artifactoryManager,
+                    promotionListener, promotionConfig.getBuildName(), promotionConfig.getBuildNumber(), promotionConfig.getProject());
+            error = success ? null : "Promotion failed";
+        } catch (IOException | RuntimeException e) {
+            error = ExceptionUtils.getRootCauseMessage(e);
+            promotionListener.error(error);
+        }
+        synchronized (listener) {
+            listener.getLogger().println("Promoting '" + getBuildId(promotionConfig) + "' to '" + promotionConfig.getTargetRepo() + "':");
+            listener.getLogger().print(new String(log.toByteArray(), StandardCharsets.UTF_8));
+        }
+        return error;
+    }
+
+    private static String getBuildId(PromotionConfig promotionConfig) {
+        return promotionConfig.getBuildName() + "/" + promotionConfig.getBuildNumber();
+    }
+
+    public PromotionReport getPromotionReport() {
+        return promotionReport;
+    }
+}
@@ -95,8 +95,7 @@ public class ConanExecutor implements Executor {
         persistBuildProperties(conanHomeDirectory);
         execute();
         FilePath logFilePath = collectConanBuildInfo(env);
-        org.jfrog.build.extractor.ci.BuildInfo regularBuildInfo = Utils.getGeneratedBuildInfo(build, listener, launcher, logFilePath.getRemote());
-        buildInfo.append(regularBuildInfo);
+        Utils.appendGeneratedBuildInfo(build, listener, launcher, logFilePath.getRemote(), buildInfo);
     }
 
     @Override
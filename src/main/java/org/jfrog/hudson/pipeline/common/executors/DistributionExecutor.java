@@ -41,9 +41,6 @@ public class DistributionExecutor implements Executor {
     public void execute() throws IOException {
         ArtifactoryConfigurator configurator = new ArtifactoryConfigurator(server);
         CredentialsConfig deployerConfig = CredentialManager.getPreferredDeployer(configurator, server);
-        ArtifactoryManager artifactoryManager = server.createArtifactoryManager(deployerConfig.provideCredentials(build.getParent()),
-                ProxyUtils.createProxyConfiguration());
-
         DistributionBuilder distributionBuilder = new DistributionBuilder()
                 .publish(distributionConfig.isPublish())
                 .overrideExistingFiles(distributionConfig.isOverrideExistingFiles())
@@ -55,10 +52,13 @@ public class DistributionExecutor implements Executor {
 
         logInfo();
 
-        boolean status = DistributionUtils.distributeAndCheckResponse(distributionBuilder, artifactoryManager, listener,
-                distributionConfig.getBuildName(), distributionConfig.getBuildNumber(), distributionConfig.isDryRun());
-        if (!status) {
-            context.onFailure(new Exception("Build distribution failed"));
+        try (ArtifactoryManager artifactoryManager = server.createArtifactoryManager(deployerConfig.provideCredentials(build.getParent()),
+                ProxyUtils.createProxyConfiguration())) {
+            boolean status = DistributionUtils.distributeAndCheckResponse(distributionBuilder, artifactoryManager, listener,
+                    distributionConfig.getBuildName(), distributionConfig.getBuildNumber(), distributionConfig.isDryRun());
+            if (!status) {
+                context.onFailure(new Exception("Build distribution failed"));
+            }
         }
     }
 
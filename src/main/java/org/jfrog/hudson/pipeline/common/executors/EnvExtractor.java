@@ -105,9 +105,13 @@ public abstract class EnvExtractor implements Executor {
         @Deprecated
         String backwardCompatibleDeployableArtifactsFile;
         try {
-            buildInfoTempFile = Utils.createTempJsonFile(launcher, BuildInfoFields.GENERATED_BUILD_INFO, tempDir.getRemote());
-            deployableArtifactsFile = Utils.createTempJsonFile(launcher, BuildInfoFields.DEPLOYABLE_ARTIFACTS, tempDir.getRemote());
-            backwardCompatibleDeployableArtifactsFile = Utils.createTempJsonFile(launcher, BuildInfoFields.BACKWARD_COMPATIBLE_DEPLOYABLE_ARTIFACTS, tempDir.getRemote());
+            // The extractors write their output to these paths, so the files are still needed. They are created with a
+            // single remote call rather than one call per file.
+            String[] tempFiles = Utils.createTempJsonFiles(launcher, tempDir.getRemote(), BuildInfoFields.GENERATED_BUILD_INFO,
+                    BuildInfoFields.DEPLOYABLE_ARTIFACTS, BuildInfoFields.BACKWARD_COMPATIBLE_DEPLOYABLE_ARTIFACTS);
+            buildInfoTempFile = tempFiles[0];
+            deployableArtifactsFile = tempFiles[1];
+            backwardCompatibleDeployableArtifactsFile = tempFiles[2];
         } catch (Exception e) {
             buildListener.error("Failed while generating temp file. " + e.getMessage());
             throw new Run.RunnerAbortedException();
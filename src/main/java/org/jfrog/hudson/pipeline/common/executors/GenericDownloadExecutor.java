@@ -50,7 +50,7 @@ public class GenericDownloadExecutor implements Executor {
         Credentials resolverCredentials = preferredResolver.provideCredentials(build.getParent());
         List<Dependency> resolvedDependencies =
                 ws.act(new FilesResolverCallable(new JenkinsBuildInfoLog(listener),
-                        resolverCredentials, server.getArtifactoryUrl(), spec, Utils.getProxyConfiguration(server)));
+                        resolverCredentials, server.getArtifactoryUrl(), spec, Utils.getProxyConfiguration(server), server.getDownloadThreads(), server.getTimeout()));
         if (failNoOp && resolvedDependencies.isEmpty()) {
             throw new RuntimeException(FAIL_NO_OP_ERROR_MESSAGE);
         }
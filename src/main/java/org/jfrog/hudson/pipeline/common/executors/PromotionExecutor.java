@@ -5,6 +5,7 @@ import hudson.model.TaskListener;
 import org.apache.commons.lang3.StringUtils;
 import org.jenkinsci.plugins.workflow.steps.StepContext;
 import org.jfrog.build.api.builder.PromotionBuilder;
+import org.jfrog.build.api.release.Promotion;
 import org.jfrog.build.extractor.clientConfiguration.client.artifactory.ArtifactoryManager;
 import org.jfrog.hudson.ArtifactoryServer;
 import org.jfrog.hudson.CredentialsConfig;
@@ -39,25 +40,29 @@ public class PromotionExecutor implements Executor {
     public void execute() throws IOException {
         ArtifactoryConfigurator configurator = new ArtifactoryConfigurator(server);
         CredentialsConfig deployerConfig = CredentialManager.getPreferredDeployer(configurator, server);
-        ArtifactoryManager artifactoryManager = server.createArtifactoryManager(deployerConfig.provideCredentials(build.getParent()),
-                ProxyUtils.createProxyConfiguration());
 
-        PromotionBuilder promotionBuilder = new PromotionBuilder()
+        logInfo();
+
+        try (ArtifactoryManager artifactoryManager = server.createArtifactoryManager(deployerConfig.provideCredentials(build.getParent()),
+                ProxyUtils.createProxyConfiguration())) {
+            boolean status = PromotionUtils.promoteAndCheckResponse(createPromotion(promotionConfig), artifactoryManager, listener,
+                    promotionConfig.getBuildName(), promotionConfig.getBuildNumber(), promotionConfig.getProject());
+            if (!status) {
+                context.onFailure(new Exception("Build promotion failed"));
+            }
+        }
+    }
+
+    static Promotion createPromotion(PromotionConfig promotionConfig) {
+        return new PromotionBuilder()
                 .status(promotionConfig.getStatus())
                 .comment(promotionConfig.getComment())
                 .targetRepo(promotionConfig.getTargetRepo())
                 .sourceRepo(promotionConfig.getSourceRepo())
                 .dependencies(promotionConfig.isIncludeDependencies())
                 .copy(promotionConfig.isCopy())
-                .failFast(promotionConfig.isFailFast());
-
-        logInfo();
-
-        boolean status = PromotionUtils.promoteAndCheckResponse(promotionBuilder.build(), artifactoryManager, listener,
-                promotionConfig.getBuildName(), promotionConfig.getBuildNumber(), promotionConfig.getProject());
-        if (!status) {
-            context.onFailure(new Exception("Build promotion failed"));
-        }
+                .failFast(promotionConfig.isFailFast())
+                .build();
     }
 
     private void logInfo() {
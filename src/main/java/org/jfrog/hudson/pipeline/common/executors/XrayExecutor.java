@@ -5,7 +5,6 @@ import hudson.model.Run;
 import hudson.model.TaskListener;
 import org.apache.commons.lang3.StringUtils;
 import org.jfrog.build.api.util.Log;
-import org.jfrog.build.client.ProxyConfiguration;
 import org.jfrog.build.client.artifactoryXrayResponse.ArtifactoryXrayResponse;
 import org.jfrog.build.extractor.buildScanTable.BuildScanTableHelper;
 import org.jfrog.build.extractor.clientConfiguration.client.artifactory.ArtifactoryManager;
@@ -16,6 +15,7 @@ import org.jfrog.hudson.pipeline.common.types.XrayScanConfig;
 import org.jfrog.hudson.pipeline.common.types.XrayScanResult;
 import org.jfrog.hudson.util.Credentials;
 import org.jfrog.hudson.util.JenkinsBuildInfoLog;
+import org.jfrog.hudson.util.ProxyUtils;
 
 /**
  * @author Alexei Vainshtein
@@ -40,13 +40,12 @@ public class XrayExecutor implements Executor {
     public void execute() throws Exception {
         Log log = new JenkinsBuildInfoLog(listener);
         Credentials credentials = server.createCredentialsConfig().provideCredentials(build.getParent());
-        ArtifactoryManager artifactoryManager = new ArtifactoryManager(server.getUrl(), credentials.getUsername(),
-                credentials.getPassword(), credentials.getAccessToken(), log);
-        ProxyConfiguration proxyConfiguration = Utils.getProxyConfiguration(Utils.prepareArtifactoryServer(null, server));
-        if (proxyConfiguration != null) {
-            artifactoryManager.setProxyConfiguration(proxyConfiguration);
+        ArtifactoryXrayResponse buildScanResult;
+        org.jfrog.hudson.ArtifactoryServer artifactoryServer = Utils.prepareArtifactoryServer(null, server);
+        try (ArtifactoryManager artifactoryManager = artifactoryServer.createArtifactoryManager(credentials,
+                ProxyUtils.createProxyConfiguration(), log)) {
+            buildScanResult = artifactoryManager.scanBuild(xrayScanConfig.getBuildName(), xrayScanConfig.getBuildNumber(), xrayScanConfig.getProject(), "jenkins");
         }
-        ArtifactoryXrayResponse buildScanResult = artifactoryManager.scanBuild(xrayScanConfig.getBuildName(), xrayScanConfig.getBuildNumber(), xrayScanConfig.getProject(), "jenkins");
         xrayScanResult = new XrayScanResult(buildScanResult);
 
         if (xrayScanResult.isFoundVulnerable()) {
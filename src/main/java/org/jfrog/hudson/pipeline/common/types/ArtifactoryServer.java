@@ -5,6 +5,7 @@ import org.jenkinsci.plugins.scriptsecurity.sandbox.whitelists.Whitelisted;
 import org.jenkinsci.plugins.workflow.cps.CpsScript;
 import org.jfrog.hudson.CredentialsConfig;
 import org.jfrog.hudson.pipeline.common.Utils;
+import org.jfrog.hudson.pipeline.common.executors.BulkPromotionExecutor;
 import org.jfrog.hudson.pipeline.common.types.buildInfo.BuildInfo;
 import org.jfrog.hudson.util.Credentials;
 import org.jfrog.hudson.util.plugins.PluginsUtils;
@@ -37,6 +38,11 @@ public class ArtifactoryServer implements Serializable {
     public static final String MODULE = "module";
     public static final String PROPERTIES = "props";
     public static final String EDIT_PROPERTIES_TYPE = "editType";
+    public static final String BUILDS = "builds";
+    public static final String THREADS = "threads";
+    public static final String FAILURE_POLICY = "failurePolicy";
+    public static final String STOP_ON_FAILURE_POLICY = "stopOnFailure";
+    public static final String CONTINUE_ON_FAILURE_POLICY = "continueOnFailure";
 
     private String serverName;
     private String url;
@@ -49,6 +55,7 @@ public class ArtifactoryServer implements Serializable {
     private boolean usesCredentialsId;
     private final Connection connection = new Connection();
     private int deploymentThreads;
+    private int downloadThreads;
 
     public ArtifactoryServer() {
     }
@@ -76,6 +83,7 @@ public class ArtifactoryServer implements Serializable {
         serverName = jenkinsArtifactoryServer.getServerId();
         url = jenkinsArtifactoryServer.getArtifactoryUrl();
         this.deploymentThreads = jenkinsArtifactoryServer.getDeploymentThreads();
+        this.downloadThreads = jenkinsArtifactoryServer.getDownloadThreads();
         if (PluginsUtils.isCredentialsPluginEnabled()) {
             credentialsId = jenkinsArtifactoryServer.getResolvingCredentialsConfig().getCredentialsId();
         } else {
@@ -273,6 +281,26 @@ public class ArtifactoryServer implements Serializable {
         cpsScript.invokeMethod("artifactoryPromoteBuild", stepVariables);
     }
 
+    /**
+     * Promote multiple builds concurrently.
+     * The arguments are the promotion arguments shared by all the builds, and:
+     * builds - List of maps, each with the buildName and buildNumber of a build, and optionally its own promotion arguments.
+     * threads - Max number of concurrent promotions.
+     * failurePolicy - 'stopOnFailure' (default) to stop promoting after the first failure, or 'continueOnFailure' to attempt
+     * all the promotions.
+     */
+    @Whitelisted
+    public void promoteBuilds(Map<String, Object> promotionParams) {
+        Map<String, Object> stepVariables = new LinkedHashMap<>();
+        stepVariables.put("promotionConfigs", Utils.createBulkPromotionConfigs(promotionParams));
+        stepVariables.put(THREADS, promotionParams.getOrDefault(THREADS, BulkPromotionExecutor.DEFAULT_THREADS));
+        stepVariables.put("continueOnFailure", Utils.isContinueOnFailurePromotion(promotionParams));
+        stepVariables.put(SERVER, this);
+
+        // Throws CpsCallableInvocation - Must be the last line in this method
+        cpsScript.invokeMethod("artifactoryPromoteBuilds", stepVariables);
+    }
+
     @Whitelisted
     public void distribute(Map<String, Object> distributionParams) {
         Map<String, Object> stepVariables = new LinkedHashMap<>();
@@ -383,6 +411,16 @@ public class ArtifactoryServer implements Serializable {
         this.deploymentThreads = deploymentThreads;
     }
 
+    @Whitelisted
+    public int getDownloadThreads() {
+        return downloadThreads;
+    }
+
+    @Whitelisted
+    public void setDownloadThreads(int downloadThreads) {
+        this.downloadThreads = downloadThreads;
+    }
+
     public String getPlatformUrl() {
         return platformUrl;
     }
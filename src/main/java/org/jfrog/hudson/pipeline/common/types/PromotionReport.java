@@ -0,0 +1,71 @@
+package org.jfrog.hudson.pipeline.common.types;
+
+import org.jenkinsci.plugins.scriptsecurity.sandbox.whitelists.Whitelisted;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The results of a bulk promotion. Builds are identified by "buildName/buildNumber", in the order they were requested.
+ */
+public class PromotionReport implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final List<String> promoted = new ArrayList<>();
+    private final Map<String, String> failed = new LinkedHashMap<>();
+    private final List<String> skipped = new ArrayList<>();
+
+    public void addPromoted(String build) {
+        promoted.add(build);
+    }
+
+    public void addFailed(String build, String message) {
+        failed.put(build, message);
+    }
+
+    public void addSkipped(String build) {
+        skipped.add(build);
+    }
+
+    @Whitelisted
+    public List<String> getPromoted() {
+        return new ArrayList<>(promoted);
+    }
+
+    /**
+     * @return map of the failed builds to their error message.
+     */
+    @Whitelisted
+    public Map<String, String> getFailed() {
+        return new LinkedHashMap<>(failed);
+    }
+
+    /**
+     * @return the builds which were not promoted, because a previous promotion failed.
+     */
+    @Whitelisted
+    public List<String> getSkipped() {
+        return new ArrayList<>(skipped);
+    }
+
+    @Whitelisted
+    public boolean isSuccess() {
+        return failed.isEmpty() && skipped.isEmpty();
+    }
+
+    @Whitelisted
+    public String toString() {
+        StringBuilder report = new StringBuilder()
+                .append("Promoted: ").append(promoted.size())
+                .append(", failed: ").append(failed.size())
+                .append(", skipped: ").append(skipped.size()).append(".");
+        failed.forEach((build, message) -> report.append("\n").append(build).append(" failed: ").append(message));
+        if (!skipped.isEmpty()) {
+            report.append("\nSkipped: ").append(String.join(", ", skipped));
+        }
+        return report.toString();
+    }
+}
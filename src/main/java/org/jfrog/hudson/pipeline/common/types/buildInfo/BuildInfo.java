@@ -1,5 +1,6 @@
 package org.jfrog.hudson.pipeline.common.types.buildInfo;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import hudson.EnvVars;
 import hudson.FilePath;
@@ -15,7 +16,6 @@ import org.jfrog.build.api.multiMap.ListMultimap;
 import org.jfrog.build.api.multiMap.Multimap;
 import org.jfrog.build.api.multiMap.SetMultimap;
 import org.jfrog.build.client.DeployableArtifactDetail;
-import org.jfrog.build.extractor.builder.BuildInfoBuilder;
 import org.jfrog.build.extractor.builder.ModuleBuilder;
 import org.jfrog.build.extractor.ci.*;
 import org.jfrog.build.extractor.clientConfiguration.IncludeExcludePatterns;
@@ -50,10 +50,13 @@ public class BuildInfo implements Serializable {
     // The candidates artifacts to be deployed in the 'deployArtifacts' step, sorted by module name.
     private Map<String, List<DeployDetails>> deployableArtifactsByModule = new ConcurrentHashMap<>();
     private List<Vcs> vcs = new CopyOnWriteArrayList<>();
-    private List<Module> modules = new CopyOnWriteArrayList<>();
+    // Declared as a list for compatibility with pipelines serialized by older versions. Always a ModulesList.
+    private List<Module> modules = new ModulesList();
     private Env env = new Env();
     private Issues issues = new Issues();
     private String agentName;
+    // The state of the build info when it was last loaded from, or saved to, the declarative pipeline build data
+    private transient BuildInfoCheckpoint checkpoint;
 
     // Default constructor to allow serialization
     public BuildInfo() {
@@ -146,38 +149,62 @@ public class BuildInfo implements Serializable {
     @Whitelisted
     public void append(BuildInfo other) {
         appendDeployableArtifactsByModule(other.deployableArtifactsByModule);
-        this.append(other.convertToBuild());
+        appendModules(other.modules);
+        this.issues.append(other.issues);
+        this.env.append(other.env);
     }
 
+    /**
+     * Merge a build info generated by the build-info extractors into this build info.
+     * Modules are merged by module id, and the build properties are split into environment variables and system properties.
+     *
+     * @param other - The build info to append.
+     */
     public void append(org.jfrog.build.extractor.ci.BuildInfo other) {
-        org.jfrog.build.extractor.ci.BuildInfo appendedBuild = this.convertToBuild();
-        appendedBuild.append(other);
-
-        this.setModules(appendedBuild.getModules());
-
-        /* Since we have different object to represent issues and environment vars in Build-info and Jenkins
-         *  We need to  convert the appended Build-info's inner objects to Jenkins inner objects.
-         */
-
-        Issues appendedIssues = Issues.toPipelineIssues(appendedBuild.getIssues());
-        appendedIssues.setBuildName(this.getIssues().getBuildName());
-        appendedIssues.setCpsScript(this.getIssues().getCpsScript());
-        this.setIssues(appendedIssues);
-
-        Properties properties = appendedBuild.getProperties();
-        Map<String, String> appendedEnvVar = new HashMap<>();
-        Map<String, String> appendedSysVar = new HashMap<>();
-        if (properties != null) {
-            for (String key : properties.stringPropertyNames()) {
-                boolean isEnvVar = StringUtils.startsWith(key, BuildInfoProperties.BUILD_INFO_ENVIRONMENT_PREFIX);
-                if (isEnvVar) {
-                    appendedEnvVar.put(StringUtils.substringAfter(key, BuildInfoProperties.BUILD_INFO_ENVIRONMENT_PREFIX), properties.getProperty(key));
-                } else {
-                    appendedSysVar.put(key, properties.getProperty(key));
-                }
+        appendModules(other.getModules());
+        this.issues.convertAndAppend(other.getIssues());
+        appendProperties(other.getProperties());
+    }
+
+    /**
+     * Append a module generated by the build-info extractors, merging it into the existing module with the same id.
+     *
+     * @param module - The module to append.
+     */
+    public void appendModule(Module module) {
+        getModulesList().merge(module);
+    }
+
+    /**
+     * Append modules, merging modules with the same id into the existing modules.
+     *
+     * @param modulesToAppend - The modules to append.
+     */
+    private void appendModules(List<Module> modulesToAppend) {
+        if (modulesToAppend == null) {
+            return;
+        }
+        for (Module other : modulesToAppend) {
+            getModulesList().merge(other);
+        }
+    }
+
+    /**
+     * Since we have different objects to represent environment variables in Build-info and Jenkins,
+     * properties with the environment prefix are added as environment variables, and other properties as system properties.
+     *
+     * @param properties - The build-info properties to append.
+     */
+    private void appendProperties(Properties properties) {
+        if (properties == null) {
+            return;
+        }
+        for (String key : properties.stringPropertyNames()) {
+            if (StringUtils.startsWith(key, BuildInfoProperties.BUILD_INFO_ENVIRONMENT_PREFIX)) {
+                env.getEnvVars().put(StringUtils.substringAfter(key, BuildInfoProperties.BUILD_INFO_ENVIRONMENT_PREFIX), properties.getProperty(key));
+            } else {
+                env.getSysVars().put(key, properties.getProperty(key));
             }
-            this.getEnv().setEnvVars(appendedEnvVar);
-            this.getEnv().setSysVars(appendedSysVar);
         }
     }
 
@@ -237,6 +264,15 @@ public class BuildInfo implements Serializable {
                 ));
     }
 
+    @JsonIgnore
+    public BuildInfoCheckpoint getCheckpoint() {
+        return checkpoint;
+    }
+
+    public void setCheckpoint(BuildInfoCheckpoint checkpoint) {
+        this.checkpoint = checkpoint;
+    }
+
     public String getAgentName() {
         return agentName;
     }
@@ -271,6 +307,20 @@ public class BuildInfo implements Serializable {
         return modules;
     }
 
+    private ModulesList getModulesList() {
+        return (ModulesList) modules;
+    }
+
+    /**
+     * Pipelines serialized by older versions hold the modules in a regular list.
+     */
+    private Object readResolve() {
+        if (!(modules instanceof ModulesList)) {
+            modules = new ModulesList(modules);
+        }
+        return this;
+    }
+
     @SuppressWarnings("unused") // For serialization/deserialization
     public void setRetention(BuildRetention retention) {
         this.retention = retention;
@@ -283,7 +333,7 @@ public class BuildInfo implements Serializable {
 
     @SuppressWarnings("unused") // For serialization/deserialization
     public void setModules(List<Module> modules) {
-        this.modules = modules;
+        this.modules = new ModulesList(modules);
     }
 
     @SuppressWarnings("unused") // For serialization/deserialization
@@ -296,28 +346,12 @@ public class BuildInfo implements Serializable {
         this.issues = issues;
     }
 
-    private void addModule(Module other) {
-        List<Module> modules = getModules();
-        Module currentModule = modules.stream()
-                // Check if there's already a module with the same name.
-                .filter(module -> StringUtils.equals(module.getId(), other.getId()))
-                .findAny()
-                .orElse(null);
-        if (currentModule == null) {
-            // Append new module.
-            modules.add(other);
-        } else {
-            // Append the other module into the existing module with the same name.
-            currentModule.append(other);
-        }
-    }
-
     public void appendDependencies(List<Dependency> dependencies, String moduleId) {
         Module defaultModule = new ModuleBuilder()
                 .id(moduleId)
                 .dependencies(dependencies)
                 .build();
-        addDefaultModule(defaultModule, moduleId);
+        getModulesList().merge(defaultModule);
     }
 
     public void appendArtifacts(List<Artifact> artifacts, String moduleId) {
@@ -325,20 +359,7 @@ public class BuildInfo implements Serializable {
                 .id(moduleId)
                 .artifacts(artifacts)
                 .build();
-        addDefaultModule(defaultModule, moduleId);
-    }
-
-    private void addDefaultModule(Module defaultModule, String moduleId) {
-        Module currentModule = this.getModules().stream()
-                // Check if the default module already exists.
-                .filter(module -> StringUtils.equals(module.getId(), moduleId))
-                .findAny()
-                .orElse(null);
-        if (currentModule != null) {
-            currentModule.append(defaultModule);
-        } else {
-            this.getModules().add(defaultModule);
-        }
+        getModulesList().merge(defaultModule);
     }
 
     public void filterVariables() {
@@ -439,15 +460,4 @@ public class BuildInfo implements Serializable {
     public List<Vcs> getVcs() {
         return vcs;
     }
-
-    private org.jfrog.build.extractor.ci.BuildInfo convertToBuild() {
-        BuildInfoBuilder builder = new BuildInfoBuilder(name)
-                .number(number)
-                .started(Long.toString(startDate.getTime()))
-                .modules(modules)
-                .issues(getConvertedIssues())
-                .properties(env.toProperties());
-
-        return builder.build();
-    }
 }
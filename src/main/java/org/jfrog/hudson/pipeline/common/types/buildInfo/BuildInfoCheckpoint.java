@@ -0,0 +1,131 @@
+package org.jfrog.hudson.pipeline.common.types.buildInfo;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The state of a pipeline build info as it was last loaded from, or saved to, the declarative pipeline build data.
+ * Allows saving only the build info fields and environment variables changed since then, and the modules, artifacts
+ * and dependencies added since then.
+ */
+public class BuildInfoCheckpoint {
+    private final String buildInfoId;
+    private final String generation;
+    private final JsonNode header;
+    private final Map<String, ModuleState> modules;
+    private final long baseBytes;
+    private final int deltasCount;
+    private final long deltasBytes;
+
+    /**
+     * @param buildInfoId - The build info id, as created by DeclarativePipelineUtils#createBuildInfoId.
+     * @param generation  - The generation of the saved build info snapshot. Deltas of other generations are ignored.
+     * @param header      - The build info fields, except the modules.
+     * @param modules     - The state of the build info modules by module id.
+     * @param baseBytes   - The size of the saved build info snapshot.
+     * @param deltasCount - The number of deltas saved since the snapshot.
+     * @param deltasBytes - The total size of the deltas saved since the snapshot.
+     */
+    public BuildInfoCheckpoint(String buildInfoId, String generation, JsonNode header, Map<String, ModuleState> modules,
+                               long baseBytes, int deltasCount, long deltasBytes) {
+        this.buildInfoId = buildInfoId;
+        this.generation = generation;
+        this.header = header;
+        this.modules = modules;
+        this.baseBytes = baseBytes;
+        this.deltasCount = deltasCount;
+        this.deltasBytes = deltasBytes;
+    }
+
+    public String getBuildInfoId() {
+        return buildInfoId;
+    }
+
+    public String getGeneration() {
+        return generation;
+    }
+
+    public JsonNode getHeader() {
+        return header;
+    }
+
+    public Map<String, ModuleState> getModules() {
+        return modules;
+    }
+
+    public long getBaseBytes() {
+        return baseBytes;
+    }
+
+    public int getDeltasCount() {
+        return deltasCount;
+    }
+
+    public long getDeltasBytes() {
+        return deltasBytes;
+    }
+
+    /**
+     * The state of a single module - the module fields, and the state of its artifacts and dependencies lists.
+     */
+    public static class ModuleState {
+        private final JsonNode header;
+        private final ListState artifacts;
+        private final ListState dependencies;
+        private final ListState excludedArtifacts;
+
+        public ModuleState(JsonNode header, ListState artifacts, ListState dependencies, ListState excludedArtifacts) {
+            this.header = header;
+            this.artifacts = artifacts;
+            this.dependencies = dependencies;
+            this.excludedArtifacts = excludedArtifacts;
+        }
+
+        public JsonNode getHeader() {
+            return header;
+        }
+
+        public ListState getArtifacts() {
+            return artifacts;
+        }
+
+        public ListState getDependencies() {
+            return dependencies;
+        }
+
+        public ListState getExcludedArtifacts() {
+            return excludedArtifacts;
+        }
+    }
+
+    /**
+     * The items of a module list as JSON, which allow detecting changes to the existing items of the list.
+     */
+    public static class ListState {
+        private final List<?> list;
+        private final JsonNode items;
+
+        /**
+         * @param list  - The list as it was loaded or saved. May be null.
+         * @param items - The items of the list as a JSON array.
+         */
+        public ListState(List<?> list, JsonNode items) {
+            this.list = list;
+            this.items = items;
+        }
+
+        public List<?> getList() {
+            return list;
+        }
+
+        public JsonNode getItems() {
+            return items;
+        }
+
+        public int getSize() {
+            return items.size();
+        }
+    }
+}
@@ -9,6 +9,7 @@ import java.io.Serializable;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 
 @SuppressWarnings("unused")
@@ -229,5 +230,26 @@ public class Issues implements Serializable {
         public void setAggregated(boolean aggregated) {
             this.aggregated = aggregated;
         }
+
+        /**
+         * Issues are equal by key, URL and summary, like the build-info issues, so that appending the same issue
+         * twice keeps a single copy.
+         */
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Issue issue = (Issue) o;
+            return Objects.equals(key, issue.key) && Objects.equals(url, issue.url) && Objects.equals(summary, issue.summary);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(key, url, summary);
+        }
     }
 }
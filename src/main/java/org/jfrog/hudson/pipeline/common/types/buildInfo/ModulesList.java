@@ -0,0 +1,126 @@
+package org.jfrog.hudson.pipeline.common.types.buildInfo;
+
+import org.jfrog.build.extractor.ci.Module;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.util.*;
+
+/**
+ * Thread safe list of build info modules, indexed by module id.
+ * Adding a module or finding a module by its id doesn't copy the list, unlike a CopyOnWriteArrayList.
+ * Iterators and streams work on a snapshot of the list, so the modules can be iterated while parallel branches append
+ * to them.
+ * Serialized as a regular list.
+ */
+public class ModulesList extends AbstractList<Module> implements RandomAccess, Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final List<Module> modules = new ArrayList<>();
+    // Module id to the first module with this id
+    private transient Map<String, Module> modulesById = new HashMap<>();
+
+    public ModulesList() {
+    }
+
+    public ModulesList(Collection<Module> modules) {
+        if (modules != null) {
+            addAll(modules);
+        }
+    }
+
+    /**
+     * Get the first module with the input id.
+     *
+     * @param moduleId - The module id.
+     * @return the module or null if no such module exists.
+     */
+    public synchronized Module getModule(String moduleId) {
+        return modulesById.get(moduleId);
+    }
+
+    /**
+     * Append the module into the existing module with the same id, or add it if no such module exists.
+     *
+     * @param other - The module to merge.
+     */
+    public synchronized void merge(Module other) {
+        Module currentModule = modulesById.get(other.getId());
+        if (currentModule == null) {
+            add(other);
+        } else {
+            currentModule.append(other);
+        }
+    }
+
+    @Override
+    public synchronized Module get(int index) {
+        return modules.get(index);
+    }
+
+    @Override
+    public synchronized int size() {
+        return modules.size();
+    }
+
+    @Override
+    public synchronized void add(int index, Module module) {
+        modules.add(index, module);
+        if (index == modules.size() - 1) {
+            modulesById.putIfAbsent(module.getId(), module);
+        } else {
+            reindex();
+        }
+        modCount++;
+    }
+
+    @Override
+    public synchronized Module set(int index, Module module) {
+        Module previous = modules.set(index, module);
+        reindex();
+        return previous;
+    }
+
+    @Override
+    public synchronized Module remove(int index) {
+        Module removed = modules.remove(index);
+        reindex();
+        modCount++;
+        return removed;
+    }
+
+    @Override
+    public synchronized void clear() {
+        modules.clear();
+        modulesById.clear();
+        modCount++;
+    }
+
+    @Override
+    public Iterator<Module> iterator() {
+        return snapshot().iterator();
+    }
+
+    @Override
+    public Spliterator<Module> spliterator() {
+        return snapshot().spliterator();
+    }
+
+    private synchronized List<Module> snapshot() {
+        return Collections.unmodifiableList(new ArrayList<>(modules));
+    }
+
+    private void reindex() {
+        modulesById.clear();
+        for (Module module : modules) {
+            modulesById.putIfAbsent(module.getId(), module);
+        }
+    }
+
+    private void readObject(ObjectInputStream stream) throws IOException, ClassNotFoundException {
+        stream.defaultReadObject();
+        modulesById = new HashMap<>();
+        reindex();
+    }
+}
@@ -5,19 +5,23 @@ import hudson.FilePath;
 import hudson.model.Run;
 import hudson.model.TaskListener;
 import hudson.remoting.VirtualChannel;
+import hudson.util.DaemonThreadFactory;
+import hudson.util.NamingThreadFactory;
 import jenkins.MasterToSlaveFileCallable;
 import org.apache.commons.io.FilenameUtils;
+import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.jenkinsci.plugins.scriptsecurity.sandbox.whitelists.Whitelisted;
 import org.jenkinsci.plugins.workflow.cps.CpsScript;
 import org.jfrog.build.api.multiMap.ListMultimap;
 import org.jfrog.build.api.multiMap.Multimap;
 import org.jfrog.build.api.util.FileChecksumCalculator;
 import org.jfrog.build.api.util.Log;
+import org.jfrog.build.api.util.NullLog;
+import org.jfrog.build.client.ArtifactoryUploadResponse;
 import org.jfrog.build.client.ProxyConfiguration;
-import org.jfrog.build.extractor.ModuleParallelDeployHelper;
 import org.jfrog.build.extractor.ci.Artifact;
+import org.jfrog.build.extractor.ModuleParallelDeployHelper;
 import org.jfrog.build.extractor.ci.Module;
-import org.jfrog.build.extractor.clientConfiguration.ArtifactoryManagerBuilder;
 import org.jfrog.build.extractor.clientConfiguration.PatternMatcher;
 import org.jfrog.build.extractor.clientConfiguration.client.artifactory.ArtifactoryManager;
 import org.jfrog.build.extractor.clientConfiguration.deploy.DeployDetails;
@@ -30,7 +34,9 @@ import org.jfrog.hudson.pipeline.common.types.ArtifactoryServer;
 import org.jfrog.hudson.pipeline.common.types.Filter;
 import org.jfrog.hudson.pipeline.common.types.buildInfo.BuildInfo;
 import org.jfrog.hudson.pipeline.common.types.buildInfo.Env;
+import org.jfrog.hudson.util.ChecksumDeployUploader;
 import org.jfrog.hudson.util.Credentials;
+import org.jfrog.hudson.util.DeployPipeline;
 import org.jfrog.hudson.util.IncludesExcludes;
 import org.jfrog.hudson.util.JenkinsBuildInfoLog;
 import org.jfrog.hudson.util.ProxyUtils;
@@ -41,6 +47,12 @@ import java.io.IOException;
 import java.io.Serializable;
 import java.security.NoSuchAlgorithmException;
 import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import static org.jfrog.build.extractor.ModuleParallelDeployHelper.DEFAULT_DEPLOYMENT_THREADS;
 import static org.jfrog.hudson.pipeline.common.types.deployers.GradleDeployer.addDeployedGradleArtifactsToAction;
@@ -211,13 +223,14 @@ public abstract class Deployer implements DeployerOverrider, Serializable {
                         getDeployerCredentialsConfig().getCredentialsId()));
             }
             ProxyConfiguration proxy = ProxyUtils.createProxyConfiguration();
-            Map<String, Set<DeployDetails>> deployableArtifactsByModule = ws.act(new DeployDetailsCallable(buildInfo.getDeployableArtifactsByModule(), listener, this));
-            if (deployableArtifactsByModule == null) {
-                throw new RuntimeException("Deployment failed");
+            DeployResult result = ws.act(new DeployArtifactsCallable(listener,
+                    buildInfo.getDeployableArtifactsByModule(), this, artifactoryServer, credentials, proxy));
+            // Record the artifacts which were deployed, also when other artifacts failed
+            if (!result.getDeployed().isEmpty()) {
+                addDeployedArtifactsActionFromDetails(build, artifactoryServer.getArtifactoryUrl(), result.getDeployed());
             }
-            if (!deployableArtifactsByModule.isEmpty()) {
-                ws.act(new LateDeployCallable(listener, deployableArtifactsByModule, artifactoryServer, credentials, proxy, getThreads()));
-                addDeployedArtifactsActionFromDetails(build, artifactoryServer.getArtifactoryUrl(), deployableArtifactsByModule);
+            if (result.getError() != null) {
+                throw new RuntimeException(result.getError());
             }
         } else {
             throw new RuntimeException("Cannot deploy the files from agent: " + agentName + " since they were built on agent: " + buildInfo.getAgentName());
@@ -274,9 +287,359 @@ public abstract class Deployer implements DeployerOverrider, Serializable {
         }
     }
 
-    public static class DeployDetailsCallable extends MasterToSlaveFileCallable<Map<String, Set<DeployDetails>>> {
+
+    /**
+     * Late deploy for build tools' deployable artifacts.
+     * Artifacts that were not deployed during the build phase (deployArtifacts set to false at the deployer), can
+     * be deployed in a later stage using this callable through the dedicated step.
+     * The SHA1 of each artifact is verified against the SHA1 recorded during the build, and the artifacts are verified
+     * and deployed in one pass: the artifacts are verified in parallel in the order of the modules, and each module is
+     * deployed by ModuleParallelDeployHelper as soon as all its artifacts are verified, while the next modules are
+     * still being verified. A module with an artifact that doesn't match its recorded SHA1 is not deployed, and no
+     * module starts deploying after that.
+     */
+    public static class DeployArtifactsCallable extends MasterToSlaveFileCallable<DeployResult> {
         private static final String SHA1 = "SHA1";
         private static final String MD5 = "MD5";
+        private final TaskListener listener;
+        private final Map<String, List<DeployDetails>> deployableArtifactsByModule;
+        private final Deployer deployer;
+        private final org.jfrog.hudson.ArtifactoryServer server;
+        private final Credentials credentials;
+        private final ProxyConfiguration proxyConfiguration;
+        private final boolean checksumDeployFirst = ChecksumDeployUploader.isChecksumDeployFirst();
+
+        public DeployArtifactsCallable(TaskListener listener, Map<String, List<DeployDetails>> deployableArtifactsByModule,
+                                       Deployer deployer, org.jfrog.hudson.ArtifactoryServer server, Credentials credentials,
+                                       ProxyConfiguration proxyConfiguration) {
+            this.listener = listener;
+            this.deployableArtifactsByModule = deployableArtifactsByModule;
+            this.deployer = deployer;
+            this.server = server;
+            this.credentials = credentials;
+            this.proxyConfiguration = proxyConfiguration;
+        }
+
+        public DeployResult invoke(File workspace, VirtualChannel channel) throws IOException, InterruptedException {
+            Log log = new JenkinsBuildInfoLog(listener);
+            Map<String, Set<DeployDetails>> deployed = new LinkedHashMap<>();
+            String error;
+            try (ArtifactoryManager artifactoryManager = server.createArtifactoryManagerBuilder(credentials, proxyConfiguration, log).build()) {
+                ChecksumDeployUploader uploader = new ChecksumDeployUploader(artifactoryManager,
+                        ChecksumDeployUploader.createChecksumDeployer(checksumDeployFirst, server, credentials, proxyConfiguration));
+                error = verifyAndDeploy(deployableArtifactsByModule, artifact -> createDeployDetails(artifact, listener, deployer),
+                        uploader, deployer.getThreads(), listener, deployed);
+                uploader.logSummary(log);
+            }
+            return new DeployResult(deployed, error);
+        }
+
+        /**
+         * Verifies a deployable artifact and creates its deploy details.
+         */
+        interface Verifier {
+            /**
+             * @return the deploy details, or null if the artifact should not be deployed.
+             * @throws IOException if the artifact doesn't match its recorded SHA1.
+             */
+            DeployDetails verify(DeployDetails artifact) throws IOException, NoSuchAlgorithmException;
+        }
+
+        /**
+         * Verify the artifacts and deploy each module as soon as its artifacts are verified.
+         *
+         * @param deployed - Populated with the deployed artifacts by module, including when the deployment failed.
+         * @return the error, or null if all the artifacts were deployed.
+         */
+        static String verifyAndDeploy(Map<String, List<DeployDetails>> deployableArtifactsByModule, Verifier verifier,
+                                      DeployPipeline.Uploader uploader, int threads, TaskListener listener,
+                                      Map<String, Set<DeployDetails>> deployed) throws InterruptedException {
+            List<String> errors = Collections.synchronizedList(new ArrayList<>());
+            Set<DeployDetails> uploaded = Collections.newSetFromMap(Collections.synchronizedMap(new IdentityHashMap<>()));
+            ExecutorService executor = createChecksumExecutor();
+            Map<String, VerifiedModule> verifiedModules = verify(deployableArtifactsByModule, verifier, listener, errors, executor);
+            try {
+                deploy(new LinkedHashMap<>(verifiedModules), uploader, threads, errors, uploaded);
+            } finally {
+                executor.shutdownNow();
+                executor.awaitTermination(1, TimeUnit.MINUTES);
+                verifiedModules.forEach((module, verifiedModule) -> {
+                    Set<DeployDetails> moduleDeployed = verifiedModule.getUploaded(uploaded);
+                    if (!moduleDeployed.isEmpty()) {
+                        deployed.put(module, moduleDeployed);
+                    }
+                });
+            }
+            return getError(errors);
+        }
+
+        private static ExecutorService createChecksumExecutor() {
+            return Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(),
+                    new NamingThreadFactory(new DaemonThreadFactory(), "Artifactory checksum"));
+        }
+
+        /**
+         * Start verifying the artifacts in parallel. The artifacts are submitted in the order of the modules, so that
+         * the first modules are verified first.
+         *
+         * @param errors - Populated with the errors of the artifacts which failed the verification.
+         * @return the modules by name, in the input order.
+         */
+        private static Map<String, VerifiedModule> verify(Map<String, List<DeployDetails>> deployableArtifactsByModule,
+                                                          Verifier verifier, TaskListener listener, List<String> errors,
+                                                          ExecutorService executor) {
+            Map<String, VerifiedModule> verifiedModules = new LinkedHashMap<>();
+            deployableArtifactsByModule.forEach((module, artifacts) -> {
+                List<CompletableFuture<DeployDetails>> futures = new ArrayList<>();
+                for (DeployDetails artifact : artifacts) {
+                    futures.add(CompletableFuture.supplyAsync(() -> verify(verifier, artifact, listener, errors), executor));
+                }
+                verifiedModules.put(module, new VerifiedModule(module, futures, errors));
+            });
+            return verifiedModules;
+        }
+
+        private static DeployDetails verify(Verifier verifier, DeployDetails artifact, TaskListener listener, List<String> errors) {
+            try {
+                return verifier.verify(artifact);
+            } catch (NoSuchAlgorithmException e) {
+                String error = "Could not find checksum algorithm for " + SHA1 + " or " + MD5;
+                listener.error(error);
+                errors.add(error);
+                throw new CompletionException(e);
+            } catch (IOException e) {
+                listener.error(e.getMessage());
+                errors.add(e.getMessage());
+                throw new CompletionException(e);
+            }
+        }
+
+        /**
+         * Deploy the modules with ModuleParallelDeployHelper. The modules are deployed in parallel, the artifacts of
+         * each module are deployed in order, and a module stops deploying after its first failure.
+         *
+         * @param errors   - Populated with the errors of the failed artifacts.
+         * @param uploaded - Populated with the uploaded artifacts.
+         */
+        static void deploy(Map<String, Set<DeployDetails>> deployableArtifactsByModule, DeployPipeline.Uploader uploader,
+                           int threads, List<String> errors, Set<DeployDetails> uploaded) {
+            try (UploaderArtifactoryManager artifactoryManager = new UploaderArtifactoryManager(uploader, errors, uploaded)) {
+                new ModuleParallelDeployHelper().deployArtifacts(artifactoryManager, deployableArtifactsByModule, threads);
+            } catch (RuntimeException e) {
+                // The failed artifacts are already in the errors
+                if (errors.isEmpty()) {
+                    errors.add(ExceptionUtils.getRootCauseMessage(e));
+                }
+            }
+        }
+
+        /**
+         * @return the error of the deployment, or null if there are no errors.
+         */
+        static String getError(List<String> errors) {
+            if (errors.isEmpty()) {
+                return null;
+            }
+            return errors.size() == 1 ? errors.get(0) : "Failed deploying " + errors.size() + " artifacts:\n" + String.join("\n", errors);
+        }
+
+        /**
+         * Verify the SHA1 of the deployable artifacts in parallel, and create their deploy details.
+         *
+         * @return the deploy details by module, or null if the SHA1 of any artifact doesn't match.
+         */
+        static Map<String, Set<DeployDetails>> verifyChecksums(Map<String, List<DeployDetails>> deployableArtifactsByModule,
+                                                               TaskListener listener, Deployer deployer) throws InterruptedException {
+            List<String> errors = Collections.synchronizedList(new ArrayList<>());
+            ExecutorService executor = createChecksumExecutor();
+            try {
+                Map<String, VerifiedModule> verifiedModules = verify(deployableArtifactsByModule,
+                        artifact -> createDeployDetails(artifact, listener, deployer), listener, errors, executor);
+                Map<String, Set<DeployDetails>> results = new LinkedHashMap<>();
+                for (Map.Entry<String, VerifiedModule> entry : verifiedModules.entrySet()) {
+                    results.put(entry.getKey(), new LinkedHashSet<>(entry.getValue().await()));
+                }
+                return errors.isEmpty() ? results : null;
+            } catch (IllegalStateException e) {
+                return null;
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+
+        /**
+         * Verify the artifact's SHA1 and create its deploy details.
+         *
+         * @param artifact - The deployable artifact recorded during the build.
+         * @return the deploy details, or null if the artifact should not be deployed.
+         * @throws IOException if the SHA1 doesn't match.
+         */
+        private static DeployDetails createDeployDetails(DeployDetails artifact, TaskListener listener, Deployer deployer) throws IOException, NoSuchAlgorithmException {
+            String artifactPath = artifact.getArtifactPath();
+            if (PatternMatcher.pathConflicts(artifactPath, deployer.getArtifactDeploymentPatterns().getPatternFilter())) {
+                listener.getLogger().println("Artifactory Deployer: Skipping the deployment of '" + artifactPath + "' due to the defined include-exclude patterns.");
+                return null;
+            }
+            Map<String, String> checksums = FileChecksumCalculator.calculateChecksums(artifact.getFile(), SHA1, MD5);
+            if (!checksums.get(SHA1).equals(artifact.getSha1())) {
+                throw new IOException("SHA1 mismatch at '" + artifactPath + "' expected: " + artifact.getSha1() + ", got " + checksums.get(SHA1)
+                        + ". Make sure that the same artifacts were not built more than once.");
+            }
+            return new DeployDetails.Builder()
+                    .file(artifact.getFile())
+                    .artifactPath(artifactPath)
+                    .targetRepository(deployer.getTargetRepository(artifactPath))
+                    .md5(checksums.get(MD5)).sha1(artifact.getSha1())
+                    .addProperties(artifact.getProperties()).addProperties(deployer.getProperties())
+                    .packageType(artifact.getPackageType())
+                    .build();
+        }
+    }
+
+    /**
+     * The deploy details of a module, which are available once all the artifacts of the module are verified.
+     * ModuleParallelDeployHelper iterates the module in the thread deploying it, so the thread waits for the module to
+     * be verified, while the other modules are verified and deployed.
+     * Iterating the module fails if any of its artifacts failed the verification, or if any artifact of another module
+     * failed the verification before this module started deploying.
+     */
+    private static class VerifiedModule extends AbstractSet<DeployDetails> {
+        private final String module;
+        private final List<CompletableFuture<DeployDetails>> artifacts;
+        private final List<String> errors;
+        private List<DeployDetails> verified;
+
+        VerifiedModule(String module, List<CompletableFuture<DeployDetails>> artifacts, List<String> errors) {
+            this.module = module;
+            this.artifacts = artifacts;
+            this.errors = errors;
+        }
+
+        /**
+         * Wait for the artifacts of the module to be verified.
+         *
+         * @return the deploy details of the module.
+         * @throws IllegalStateException if the verification of any artifact failed.
+         */
+        synchronized List<DeployDetails> await() {
+            if (verified == null) {
+                List<DeployDetails> deployDetails = new ArrayList<>();
+                for (CompletableFuture<DeployDetails> artifact : artifacts) {
+                    try {
+                        DeployDetails details = artifact.join();
+                        if (details != null) {
+                            deployDetails.add(details);
+                        }
+                    } catch (CompletionException | CancellationException e) {
+                        throw new IllegalStateException("Skipping the deployment of module '" + module + "' since the verification of its artifacts failed");
+                    }
+                }
+                verified = deployDetails;
+            }
+            return verified;
+        }
+
+        @Override
+        public Iterator<DeployDetails> iterator() {
+            List<DeployDetails> deployDetails = await();
+            if (!errors.isEmpty()) {
+                throw new IllegalStateException("Skipping the deployment of module '" + module + "' due to previous failures");
+            }
+            return Collections.unmodifiableList(deployDetails).iterator();
+        }
+
+        @Override
+        public int size() {
+            return await().size();
+        }
+
+        /**
+         * @param uploaded - The uploaded artifacts of all the modules.
+         * @return the uploaded artifacts of this module, in order.
+         */
+        synchronized Set<DeployDetails> getUploaded(Set<DeployDetails> uploaded) {
+            Set<DeployDetails> result = new LinkedHashSet<>();
+            if (verified != null) {
+                verified.stream().filter(uploaded::contains).forEach(result::add);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Passes the uploads of ModuleParallelDeployHelper to an uploader, such as a {@link ChecksumDeployUploader}, and
+     * records the uploaded and failed artifacts. Only the upload methods are used, so the manager itself never
+     * connects to Artifactory.
+     */
+    private static class UploaderArtifactoryManager extends ArtifactoryManager {
+        private final DeployPipeline.Uploader uploader;
+        private final List<String> errors;
+        private final Set<DeployDetails> uploaded;
+
+        UploaderArtifactoryManager(DeployPipeline.Uploader uploader, List<String> errors, Set<DeployDetails> uploaded) {
+            super("", "", new NullLog());
+            this.uploader = uploader;
+            this.errors = errors;
+            this.uploaded = uploaded;
+        }
+
+        @Override
+        public ArtifactoryUploadResponse upload(DeployDetails details) throws IOException {
+            return upload(details, null, null);
+        }
+
+        @Override
+        public ArtifactoryUploadResponse upload(DeployDetails details, String logPrefix) throws IOException {
+            return upload(details, logPrefix, null);
+        }
+
+        @Override
+        public ArtifactoryUploadResponse upload(DeployDetails details, String logPrefix, Integer minChecksumDeploySizeKb) throws IOException {
+            try {
+                uploader.upload(details);
+            } catch (IOException | RuntimeException e) {
+                errors.add(details.getArtifactPath() + ": " + e.getMessage());
+                throw e;
+            }
+            uploaded.add(details);
+            return null;
+        }
+    }
+
+    /**
+     * The result of a late deploy, sent from the agent to the controller.
+     */
+    public static class DeployResult implements Serializable {
+        private static final long serialVersionUID = 1L;
+        private final Map<String, Set<DeployDetails>> deployed;
+        private final String error;
+
+        public DeployResult(Map<String, Set<DeployDetails>> deployed, String error) {
+            this.deployed = deployed;
+            this.error = error;
+        }
+
+        /**
+         * @return the deployed artifacts by module. If the deployment failed, contains the artifacts which were
+         * deployed before the failure.
+         */
+        public Map<String, Set<DeployDetails>> getDeployed() {
+            return deployed;
+        }
+
+        /**
+         * @return the error, or null if the deployment succeeded.
+         */
+        public String getError() {
+            return error;
+        }
+    }
+
+    /**
+     * Verifies the SHA1 of the deployable artifacts and creates their deploy details.
+     * Returns null if the SHA1 of any artifact doesn't match.
+     */
+    public static class DeployDetailsCallable extends MasterToSlaveFileCallable<Map<String, Set<DeployDetails>>> {
         private Map<String, List<DeployDetails>> deployableArtifactsPaths;
         private TaskListener listener;
         private Deployer deployer;
@@ -287,46 +650,14 @@ public abstract class Deployer implements DeployerOverrider, Serializable {
             this.deployer = deployer;
         }
 
-        public Map<String, Set<DeployDetails>> invoke(File file, VirtualChannel virtualChannel) throws IOException {
-            boolean isSuccess = true;
-            Map<String, Set<DeployDetails>> results = new LinkedHashMap<>();
-            for (Map.Entry<String, List<DeployDetails>> entry : deployableArtifactsPaths.entrySet()) {
-                String module = entry.getKey();
-                List<DeployDetails> paths = entry.getValue();
-                try {
-                    Set<DeployDetails> deployDetails = new LinkedHashSet<>();
-                    for (DeployDetails artifact : paths) {
-                        String artifactPath = artifact.getArtifactPath();
-                        if (PatternMatcher.pathConflicts(artifactPath, deployer.getArtifactDeploymentPatterns().getPatternFilter())) {
-                            listener.getLogger().println("Artifactory Deployer: Skipping the deployment of '" + artifactPath + "' due to the defined include-exclude patterns.");
-                            continue;
-                        }
-                        Map<String, String> checksums = FileChecksumCalculator.calculateChecksums(artifact.getFile(), SHA1, MD5);
-                        if (!checksums.get(SHA1).equals(artifact.getSha1())) {
-                            listener.error("SHA1 mismatch at '" + artifactPath + "' expected: " + artifact.getSha1() + ", got " + checksums.get(SHA1)
-                                    + ". Make sure that the same artifacts were not built more than once.");
-                            isSuccess = false;
-                        } else {
-                            DeployDetails.Builder builder = new DeployDetails.Builder()
-                                    .file(artifact.getFile())
-                                    .artifactPath(artifactPath)
-                                    .targetRepository(deployer.getTargetRepository(artifactPath))
-                                    .md5(checksums.get(MD5)).sha1(artifact.getSha1())
-                                    .addProperties(artifact.getProperties()).addProperties(deployer.getProperties())
-                                    .packageType(artifact.getPackageType());
-                            deployDetails.add(builder.build());
-                        }
-                    }
-                    results.put(module, deployDetails);
-                } catch (NoSuchAlgorithmException e) {
-                    listener.error("Could not find checksum algorithm for " + SHA1 + " or " + MD5);
-                    isSuccess = false;
-                }
-            }
-            return isSuccess ? results : null;
+        public Map<String, Set<DeployDetails>> invoke(File file, VirtualChannel virtualChannel) throws IOException, InterruptedException {
+            return DeployArtifactsCallable.verifyChecksums(deployableArtifactsPaths, listener, deployer);
         }
     }
 
+    /**
+     * Deploys artifacts whose deploy details were already created by {@link DeployDetailsCallable}.
+     */
     public static class LateDeployCallable extends MasterToSlaveFileCallable<Void> {
         private final TaskListener listener;
         private final org.jfrog.hudson.ArtifactoryServer server;
@@ -334,12 +665,8 @@ public abstract class Deployer implements DeployerOverrider, Serializable {
         private final ProxyConfiguration proxyConfiguration;
         private final Map<String, Set<DeployDetails>> deployableArtifactsByModule;
         private final int threads;
+        private final boolean checksumDeployFirst = ChecksumDeployUploader.isChecksumDeployFirst();
 
-        /**
-         * Late deploy for build tools' deployable artifacts.
-         * Artifacts that were not deployed during the build phase (deployArtifacts set to false at the deployer), can
-         * be deployed in a later stage using this callable through the dedicated step.
-         */
         public LateDeployCallable(TaskListener listener, Map<String, Set<DeployDetails>> deployableArtifactsByModule,
                                   org.jfrog.hudson.ArtifactoryServer server, Credentials credentials,
                                   ProxyConfiguration proxyConfiguration, int threads) {
@@ -353,10 +680,17 @@ public abstract class Deployer implements DeployerOverrider, Serializable {
 
         public Void invoke(File workspace, VirtualChannel channel) throws IOException, InterruptedException {
             Log log = new JenkinsBuildInfoLog(listener);
-            ArtifactoryManagerBuilder artifactoryManagerBuilder = server.createArtifactoryManagerBuilder(credentials, proxyConfiguration, log);
-
-            try (ArtifactoryManager artifactoryManager = artifactoryManagerBuilder.build()) {
-                new ModuleParallelDeployHelper().deployArtifacts(artifactoryManager, deployableArtifactsByModule, threads);
+            List<String> errors = Collections.synchronizedList(new ArrayList<>());
+            try (ArtifactoryManager artifactoryManager = server.createArtifactoryManagerBuilder(credentials, proxyConfiguration, log).build()) {
+                ChecksumDeployUploader uploader = new ChecksumDeployUploader(artifactoryManager,
+                        ChecksumDeployUploader.createChecksumDeployer(checksumDeployFirst, server, credentials, proxyConfiguration));
+                DeployArtifactsCallable.deploy(deployableArtifactsByModule, uploader, threads, errors,
+                        Collections.newSetFromMap(new IdentityHashMap<>()));
+                uploader.logSummary(log);
+            }
+            String error = DeployArtifactsCallable.getError(errors);
+            if (error != null) {
+                throw new IOException(error);
             }
             return null;
         }
@@ -27,6 +27,29 @@ public class BuildDataFile implements Serializable {
         jsonObject.put("stepName", stepName).put("stepId", stepId);
     }
 
+    private BuildDataFile(ObjectNode jsonObject) {
+        this.jsonObject = jsonObject;
+    }
+
+    /**
+     * Create a build data file from its compact JSON representation.
+     *
+     * @param content - The bytes created by {@link #toBytes()}.
+     * @return the build data file.
+     */
+    public static BuildDataFile fromBytes(byte[] content) throws IOException {
+        return new BuildDataFile(createMapper().readValue(content, ObjectNode.class));
+    }
+
+    /**
+     * Serialize the build data to compact JSON.
+     *
+     * @return the build data as UTF-8 JSON bytes.
+     */
+    public byte[] toBytes() throws IOException {
+        return createMapper().writeValueAsBytes(jsonObject);
+    }
+
     public BuildDataFile put(String key, String value) {
         jsonObject.put(key, value);
         return this;
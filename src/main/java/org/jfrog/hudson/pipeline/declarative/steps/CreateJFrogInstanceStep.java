@@ -27,6 +27,7 @@ public class CreateJFrogInstanceStep extends AbstractStepImpl {
     private final String id;
 
     private Integer deploymentThreads;
+    private Integer downloadThreads;
     private String distributionUrl;
     private String artifactoryUrl;
     private String credentialsId;
@@ -92,6 +93,11 @@ public class CreateJFrogInstanceStep extends AbstractStepImpl {
         this.deploymentThreads = deploymentThreads;
     }
 
+    @DataBoundSetter
+    public void setDownloadThreads(int downloadThreads) {
+        this.downloadThreads = downloadThreads;
+    }
+
     public static class Execution extends ArtifactorySynchronousStepExecution<Void> {
         protected static final long serialVersionUID = 1L;
         private transient final CreateJFrogInstanceStep step;
@@ -187,6 +193,9 @@ public class CreateJFrogInstanceStep extends AbstractStepImpl {
             if (step.deploymentThreads != null) {
                 server.getArtifactory().setDeploymentThreads(step.deploymentThreads);
             }
+            if (step.downloadThreads != null) {
+                server.getArtifactory().setDownloadThreads(step.downloadThreads);
+            }
             if (step.bypassProxy != null) {
                 server.getArtifactory().setBypassProxy(step.bypassProxy);
             }
@@ -26,6 +26,7 @@ public class CreateServerStep extends AbstractStepImpl {
     private final String id;
 
     private Integer deploymentThreads;
+    private Integer downloadThreads;
     private String credentialsId;
     private Boolean bypassProxy;
     private String username;
@@ -80,6 +81,11 @@ public class CreateServerStep extends AbstractStepImpl {
         this.deploymentThreads = deploymentThreads;
     }
 
+    @DataBoundSetter
+    public void setDownloadThreads(int downloadThreads) {
+        this.downloadThreads = downloadThreads;
+    }
+
     public static class Execution extends ArtifactorySynchronousStepExecution<Void> {
         protected static final long serialVersionUID = 1L;
         private transient final CreateServerStep step;
@@ -160,6 +166,9 @@ public class CreateServerStep extends AbstractStepImpl {
             if (step.deploymentThreads != null) {
                 server.setDeploymentThreads(step.deploymentThreads);
             }
+            if (step.downloadThreads != null) {
+                server.setDownloadThreads(step.downloadThreads);
+            }
             if (step.bypassProxy != null) {
                 server.setBypassProxy(step.bypassProxy);
             }
@@ -0,0 +1,38 @@
+package org.jfrog.hudson.pipeline.declarative.utils;
+
+import hudson.remoting.VirtualChannel;
+import jenkins.MasterToSlaveFileCallable;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Append content to pipeline build data in @tmp/artifactory-pipeline-cache/build-number directory.
+ * Used to save the build info changes made by declarative pipeline steps.
+ * Returns true if the file existed before the append.
+ */
+public class AppendBuildDataFileCallable extends MasterToSlaveFileCallable<Boolean> {
+
+    private final String buildNumber;
+    private final String fileName;
+    private final byte[] content;
+
+    AppendBuildDataFileCallable(String buildNumber, String fileName, byte[] content) {
+        this.buildNumber = buildNumber;
+        this.fileName = fileName;
+        this.content = content;
+    }
+
+    @Override
+    public Boolean invoke(File tmpDir, VirtualChannel virtualChannel) throws IOException {
+        Path buildDataDirPath = Files.createDirectories(tmpDir.toPath().resolve(DeclarativePipelineUtils.PIPELINE_CACHE_DIR_NAME).resolve(buildNumber));
+        Path buildDataFile = buildDataDirPath.resolve(fileName);
+        boolean existed = Files.exists(buildDataFile);
+        Files.write(buildDataFile, content, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        BuildDataDirsJanitor.touch(buildDataDirPath.toFile());
+        return existed;
+    }
+}
@@ -0,0 +1,144 @@
+package org.jfrog.hudson.pipeline.declarative.utils;
+
+import hudson.util.DaemonThreadFactory;
+import hudson.util.NamingThreadFactory;
+import org.apache.commons.io.FileUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Delete old @tmp/artifactory-pipeline-cache/build-number directories in the background.
+ * Runs in the JVM of the agent holding the directories. Each directory is swept at most once per sweep interval,
+ * so writing build data never waits for a directory listing.
+ * Appending to a build data file doesn't update the modification time of its directory, so every access to the build
+ * data touches the directory, and a directory is only deleted if neither it nor any of its files were modified
+ * during the retention. This keeps the build data of long-running builds.
+ */
+public class BuildDataDirsJanitor {
+    private static final Logger logger = Logger.getLogger(BuildDataDirsJanitor.class.getName());
+
+    static final long SWEEP_INTERVAL_MILLIS = TimeUnit.HOURS.toMillis(1);
+    static final long DEFAULT_RETENTION_MILLIS = TimeUnit.DAYS.toMillis(1);
+
+    private static final ExecutorService executor = Executors.newSingleThreadExecutor(
+            new NamingThreadFactory(new DaemonThreadFactory(), "Artifactory build data janitor"));
+    // Pipeline cache directory to the time it was last swept
+    private static final Map<String, Long> lastSweepTimes = new ConcurrentHashMap<>();
+    private static volatile long lastSweepDurationMillis;
+    private static volatile long lastReclaimedBytes;
+    private static volatile long totalReclaimedBytes;
+
+    private BuildDataDirsJanitor() {
+    }
+
+    /**
+     * Get the build data retention, in milliseconds.
+     * Configurable on the controller using the 'org.jfrog.hudson.pipeline.declarative.utils.BuildDataDirsJanitor.retentionHours' system property.
+     *
+     * @return the build data retention.
+     */
+    static long getRetentionMillis() {
+        Long retentionHours = Long.getLong(BuildDataDirsJanitor.class.getName() + ".retentionHours");
+        return retentionHours != null ? TimeUnit.HOURS.toMillis(retentionHours) : DEFAULT_RETENTION_MILLIS;
+    }
+
+    /**
+     * Schedule a sweep of the pipeline cache directory, unless it was swept in the last sweep interval.
+     *
+     * @param pipelineCacheDir - The @tmp/artifactory-pipeline-cache directory.
+     * @param retentionMillis  - Delete build data directories which were not modified for this time.
+     */
+    static void schedule(File pipelineCacheDir, long retentionMillis) {
+        long now = System.currentTimeMillis();
+        String key = pipelineCacheDir.getAbsolutePath();
+        Long lastSweepTime = lastSweepTimes.get(key);
+        if (lastSweepTime != null && now - lastSweepTime < SWEEP_INTERVAL_MILLIS) {
+            return;
+        }
+        if (lastSweepTime == null ? lastSweepTimes.putIfAbsent(key, now) != null : !lastSweepTimes.replace(key, lastSweepTime, now)) {
+            // Another thread scheduled this sweep
+            return;
+        }
+        executor.submit(() -> sweep(pipelineCacheDir, retentionMillis));
+    }
+
+    /**
+     * Delete the build data directories in the pipeline cache directory older than the retention.
+     *
+     * @param pipelineCacheDir - The @tmp/artifactory-pipeline-cache directory.
+     * @param retentionMillis  - The build data retention.
+     * @return the number of bytes reclaimed.
+     */
+    static long sweep(File pipelineCacheDir, long retentionMillis) {
+        long start = System.currentTimeMillis();
+        File[] buildDataDirs = pipelineCacheDir.listFiles(buildDataDir -> start - getLastModified(buildDataDir) > retentionMillis);
+        if (buildDataDirs == null) {
+            // Before creation of the directory
+            return 0;
+        }
+        long reclaimedBytes = 0;
+        for (File buildDataDir : buildDataDirs) {
+            try {
+                long size = FileUtils.sizeOf(buildDataDir);
+                FileUtils.deleteDirectory(buildDataDir);
+                reclaimedBytes += size;
+                logger.fine(buildDataDir.getAbsolutePath() + " deleted");
+            } catch (IOException | IllegalArgumentException e) {
+                logger.log(Level.WARNING, "Failed while attempting to delete old build data dir: " + buildDataDir, e);
+            }
+        }
+        lastSweepDurationMillis = System.currentTimeMillis() - start;
+        lastReclaimedBytes = reclaimedBytes;
+        totalReclaimedBytes += reclaimedBytes;
+        logger.fine(String.format("Swept %s in %d ms, reclaimed %d bytes", pipelineCacheDir, lastSweepDurationMillis, reclaimedBytes));
+        return reclaimedBytes;
+    }
+
+    /**
+     * Mark the build data directory as used by a running build.
+     *
+     * @param buildDataDir - The @tmp/artifactory-pipeline-cache/build-number directory.
+     */
+    static void touch(File buildDataDir) {
+        if (!buildDataDir.setLastModified(System.currentTimeMillis()) && buildDataDir.exists()) {
+            logger.fine("Could not update the modification time of " + buildDataDir);
+        }
+    }
+
+    /**
+     * @return the last modification time of the build data directory or any of its files.
+     */
+    private static long getLastModified(File buildDataDir) {
+        long lastModified = buildDataDir.lastModified();
+        File[] files = buildDataDir.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                lastModified = Math.max(lastModified, file.lastModified());
+            }
+        }
+        return lastModified;
+    }
+
+    /**
+     * The sweep counters below are shown on the Artifactory diagnostics page.
+     */
+    public static long getLastSweepDurationMillis() {
+        return lastSweepDurationMillis;
+    }
+
+    public static long getLastReclaimedBytes() {
+        return lastReclaimedBytes;
+    }
+
+    public static long getTotalReclaimedBytes() {
+        return totalReclaimedBytes;
+    }
+}
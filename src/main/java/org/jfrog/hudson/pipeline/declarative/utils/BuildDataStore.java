@@ -0,0 +1,56 @@
+package org.jfrog.hudson.pipeline.declarative.utils;
+
+import hudson.FilePath;
+import org.jfrog.build.api.util.Log;
+
+import java.io.IOException;
+
+/**
+ * Storage of the data transferred between different steps in declarative pipelines.
+ * Entries are identified by the step's root workspace, the build number and the build data file name.
+ */
+public interface BuildDataStore {
+
+    /**
+     * Store a build data entry, replacing the existing entry if exists.
+     *
+     * @param rootWs      - Step's root workspace.
+     * @param buildNumber - The build number.
+     * @param fileName    - The build data file name, as created by {@link DeclarativePipelineUtils#getBuildDataFileName}.
+     * @param content     - The serialized build data.
+     * @param logger      - The logger.
+     * @return false if the build data directory didn't exist, i.e. it was created by this write.
+     */
+    boolean write(FilePath rootWs, String buildNumber, String fileName, byte[] content, Log logger) throws IOException, InterruptedException;
+
+    /**
+     * Append content to a build data entry, creating the entry if it does not exist.
+     *
+     * @param rootWs      - Step's root workspace.
+     * @param buildNumber - The build number.
+     * @param fileName    - The build data file name.
+     * @param content     - The content to append.
+     * @param logger      - The logger.
+     * @return false if the entry didn't exist, i.e. it was created by this append.
+     */
+    boolean append(FilePath rootWs, String buildNumber, String fileName, byte[] content, Log logger) throws IOException, InterruptedException;
+
+    /**
+     * Read a build data entry.
+     *
+     * @param rootWs      - Step's root workspace.
+     * @param buildNumber - The build number.
+     * @param fileName    - The build data file name.
+     * @return the serialized build data or null if the entry does not exist.
+     */
+    byte[] read(FilePath rootWs, String buildNumber, String fileName) throws IOException, InterruptedException;
+
+    /**
+     * Delete all build data entries of the build number.
+     *
+     * @param rootWs      - Step's root workspace.
+     * @param buildNumber - The build number.
+     * @param logger      - The logger.
+     */
+    void delete(FilePath rootWs, String buildNumber, Log logger) throws IOException, InterruptedException;
+}
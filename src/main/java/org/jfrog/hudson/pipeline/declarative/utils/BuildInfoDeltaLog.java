@@ -0,0 +1,305 @@
+package org.jfrog.hudson.pipeline.declarative.utils;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.apache.commons.lang3.StringUtils;
+import org.jfrog.build.extractor.ci.Artifact;
+import org.jfrog.build.extractor.ci.Dependency;
+import org.jfrog.build.extractor.ci.Module;
+import org.jfrog.hudson.pipeline.common.types.buildInfo.BuildInfo;
+import org.jfrog.hudson.pipeline.common.types.buildInfo.BuildInfoCheckpoint;
+import org.jfrog.hudson.pipeline.common.types.buildInfo.BuildInfoCheckpoint.ListState;
+import org.jfrog.hudson.pipeline.common.types.buildInfo.BuildInfoCheckpoint.ModuleState;
+
+import java.io.IOException;
+import java.util.*;
+
+import static org.jfrog.hudson.util.SerializationUtils.createMapper;
+
+/**
+ * Incremental persistence of the pipeline build info between declarative pipeline steps.
+ * The build info is saved as a snapshot, followed by a log of deltas. Each delta is a JSON line containing a merge
+ * patch of the build info fields except the modules, so that only the changed fields and environment variables are
+ * written, and only the modules, artifacts and dependencies added since the previous save.
+ * A delta is only created if the existing artifacts and dependencies are unchanged. Otherwise, the build info is saved
+ * as a new snapshot.
+ * The build info node is assembled from the snapshot and the deltas when it is read. The artifacts and dependencies
+ * lists of the modules are deserialized only when used, and the checkpoint keeps their JSON, so that lists which were
+ * not used by the step are neither deserialized nor compared when the build info is saved.
+ */
+class BuildInfoDeltaLog {
+    static final String DELTA_FILE_SUFFIX = ".delta";
+    static final String GENERATION_KEY = "generation";
+    // After too many deltas, the next save writes a new snapshot
+    static final int MAX_DELTAS = 64;
+
+    private static final String HEADER_PATCH_KEY = "headerPatch";
+    private static final String MODULES_KEY = "modules";
+    private static final List<String> MODULE_LISTS = Arrays.asList("artifacts", "dependencies", "excludedArtifacts");
+    private static final ObjectMapper deltaMapper = createMapper()
+            .addMixIn(BuildInfo.class, BuildInfoHeaderMixIn.class)
+            .addMixIn(Module.class, ModuleHeaderMixIn.class);
+
+    @JsonIgnoreProperties({"modules", "artifacts", "dependencies"})
+    private abstract static class BuildInfoHeaderMixIn {
+    }
+
+    @JsonIgnoreProperties({"artifacts", "dependencies", "excludedArtifacts"})
+    private abstract static class ModuleHeaderMixIn {
+    }
+
+    /**
+     * Return true if the build info should be saved as a new snapshot rather than as a delta.
+     *
+     * @param checkpoint  - The build info checkpoint, may be null.
+     * @param buildInfoId - The id of the build info to save.
+     */
+    static boolean isSnapshotRequired(BuildInfoCheckpoint checkpoint, String buildInfoId) {
+        return checkpoint == null || !StringUtils.equals(checkpoint.getBuildInfoId(), buildInfoId) ||
+                checkpoint.getDeltasCount() >= MAX_DELTAS || checkpoint.getDeltasBytes() > checkpoint.getBaseBytes();
+    }
+
+    /**
+     * Create the delta of the build info since the checkpoint.
+     *
+     * @param buildInfo  - The build info to save.
+     * @param checkpoint - The build info checkpoint.
+     * @return the delta as a JSON line or null if the changes can't be represented as a delta, e.g. modules were removed
+     * or existing artifacts were changed.
+     */
+    static byte[] createDelta(BuildInfo buildInfo, BuildInfoCheckpoint checkpoint) throws IOException {
+        ObjectNode delta = deltaMapper.createObjectNode();
+        delta.put(GENERATION_KEY, checkpoint.getGeneration());
+        delta.set(HEADER_PATCH_KEY, createPatch(checkpoint.getHeader(), deltaMapper.valueToTree(buildInfo)));
+        ArrayNode modulesNode = delta.putArray(MODULES_KEY);
+        Set<String> moduleIds = new HashSet<>();
+        for (Module module : buildInfo.getModules()) {
+            String moduleId = StringUtils.defaultString(module.getId());
+            if (!moduleIds.add(moduleId)) {
+                return null;
+            }
+            ModuleState state = checkpoint.getModules().get(moduleId);
+            if (state != null && (isChanged(module.getArtifacts(), state.getArtifacts()) ||
+                    isChanged(module.getDependencies(), state.getDependencies()) ||
+                    isChanged(module.getExcludedArtifacts(), state.getExcludedArtifacts()))) {
+                return null;
+            }
+            ObjectNode moduleNode = deltaMapper.valueToTree(module);
+            boolean changed = state == null || !moduleNode.equals(state.getHeader());
+            changed |= appendNewItems(moduleNode, "artifacts", module.getArtifacts(), state == null ? 0 : state.getArtifacts().getSize());
+            changed |= appendNewItems(moduleNode, "dependencies", module.getDependencies(), state == null ? 0 : state.getDependencies().getSize());
+            changed |= appendNewItems(moduleNode, "excludedArtifacts", module.getExcludedArtifacts(), state == null ? 0 : state.getExcludedArtifacts().getSize());
+            if (changed) {
+                modulesNode.add(moduleNode);
+            }
+        }
+        if (!moduleIds.containsAll(checkpoint.getModules().keySet())) {
+            // Modules were removed
+            return null;
+        }
+        byte[] json = deltaMapper.writeValueAsBytes(delta);
+        byte[] line = Arrays.copyOf(json, json.length + 1);
+        line[json.length] = '\n';
+        return line;
+    }
+
+    /**
+     * Apply the deltas on the build info snapshot.
+     *
+     * @param buildInfoNode - The build info snapshot node.
+     * @param deltas        - The deltas JSON lines. May be null.
+     * @param generation    - The generation of the snapshot. Deltas of other generations are ignored.
+     * @return the number of applied deltas.
+     */
+    static int applyDeltas(ObjectNode buildInfoNode, byte[] deltas, String generation) throws IOException {
+        if (deltas == null || deltas.length == 0 || generation == null) {
+            return 0;
+        }
+        ArrayNode modulesNode = buildInfoNode.has(MODULES_KEY) && buildInfoNode.get(MODULES_KEY).isArray() ?
+                (ArrayNode) buildInfoNode.get(MODULES_KEY) : buildInfoNode.putArray(MODULES_KEY);
+        Map<String, ObjectNode> modulesById = new HashMap<>();
+        for (JsonNode moduleNode : modulesNode) {
+            modulesById.put(moduleNode.path("id").asText(""), (ObjectNode) moduleNode);
+        }
+        int applied = 0;
+        try (MappingIterator<ObjectNode> iterator = deltaMapper.readerFor(ObjectNode.class).readValues(deltas)) {
+            while (iterator.hasNext()) {
+                ObjectNode delta = iterator.next();
+                if (!generation.equals(delta.path(GENERATION_KEY).asText())) {
+                    continue;
+                }
+                applyPatch(buildInfoNode, (ObjectNode) delta.get(HEADER_PATCH_KEY));
+                for (JsonNode moduleDelta : delta.path(MODULES_KEY)) {
+                    String moduleId = moduleDelta.path("id").asText("");
+                    ObjectNode moduleNode = modulesById.get(moduleId);
+                    if (moduleNode == null) {
+                        moduleNode = modulesNode.addObject();
+                        modulesById.put(moduleId, moduleNode);
+                    }
+                    mergeModule(moduleNode, (ObjectNode) moduleDelta);
+                }
+                applied++;
+            }
+        }
+        return applied;
+    }
+
+    /**
+     * Deserialize the build info from its node. The artifacts and dependencies of the modules are deserialized when
+     * first used, see {@link LazyJsonList}.
+     *
+     * @param buildInfoNode - The build info node, after the deltas were applied. Must not be modified afterwards.
+     * @return the build info.
+     */
+    static BuildInfo readBuildInfo(ObjectNode buildInfoNode) throws IOException {
+        BuildInfo buildInfo = deltaMapper.treeToValue(buildInfoNode, BuildInfo.class);
+        List<Module> modules = new ArrayList<>();
+        for (JsonNode moduleNode : buildInfoNode.path(MODULES_KEY)) {
+            Module module = deltaMapper.treeToValue(moduleNode, Module.class);
+            module.setArtifacts(createLazyList(moduleNode.get("artifacts"), Artifact.class));
+            module.setDependencies(createLazyList(moduleNode.get("dependencies"), Dependency.class));
+            module.setExcludedArtifacts(createLazyList(moduleNode.get("excludedArtifacts"), Artifact.class));
+            modules.add(module);
+        }
+        buildInfo.setModules(modules);
+        return buildInfo;
+    }
+
+    private static <T> List<T> createLazyList(JsonNode items, Class<T> type) {
+        return items != null && items.isArray() ? new LazyJsonList<>(deltaMapper, (ArrayNode) items, type) : null;
+    }
+
+    /**
+     * Create a checkpoint of the build info.
+     *
+     * @param buildInfo   - The build info.
+     * @param buildInfoId - The build info id.
+     * @param generation  - The generation of the snapshot.
+     * @param baseBytes   - The size of the snapshot.
+     * @param deltasCount - The number of deltas saved since the snapshot.
+     * @param deltasBytes - The total size of the deltas saved since the snapshot.
+     * @return the checkpoint.
+     */
+    static BuildInfoCheckpoint createCheckpoint(BuildInfo buildInfo, String buildInfoId, String generation, long baseBytes, int deltasCount, long deltasBytes) {
+        Map<String, ModuleState> modules = new HashMap<>();
+        for (Module module : buildInfo.getModules()) {
+            modules.put(StringUtils.defaultString(module.getId()), new ModuleState(deltaMapper.valueToTree(module),
+                    createListState(module.getArtifacts()), createListState(module.getDependencies()), createListState(module.getExcludedArtifacts())));
+        }
+        return new BuildInfoCheckpoint(buildInfoId, generation, deltaMapper.valueToTree(buildInfo), modules, baseBytes, deltasCount, deltasBytes);
+    }
+
+    static String getDeltaFileName(String buildDataFileName) {
+        return buildDataFileName + DELTA_FILE_SUFFIX;
+    }
+
+    private static boolean appendNewItems(ObjectNode moduleNode, String key, List<?> items, int previousSize) {
+        if (items == null || items.size() <= previousSize) {
+            return false;
+        }
+        moduleNode.set(key, deltaMapper.valueToTree(items.subList(previousSize, items.size())));
+        return true;
+    }
+
+    private static ListState createListState(List<?> items) {
+        if (isUnused(items)) {
+            return new ListState(items, ((LazyJsonList<?>) items).getSource());
+        }
+        return new ListState(items, items == null ? deltaMapper.createArrayNode() : deltaMapper.valueToTree(items));
+    }
+
+    /**
+     * @return true if items were removed from the list or if the existing items were changed since the checkpoint.
+     */
+    private static boolean isChanged(List<?> items, ListState state) {
+        if (items == state.getList() && isUnused(items)) {
+            return false;
+        }
+        if (size(items) < state.getSize()) {
+            return true;
+        }
+        return state.getSize() > 0 && !deltaMapper.valueToTree(items.subList(0, state.getSize())).equals(state.getItems());
+    }
+
+    /**
+     * @return true if the list was read from the build data and was not used since.
+     */
+    private static boolean isUnused(List<?> items) {
+        return items instanceof LazyJsonList && !((LazyJsonList<?>) items).isMaterialized();
+    }
+
+    /**
+     * Create a JSON merge patch (RFC 7386) from the previous node to the current node. Objects are compared field by
+     * field, so that only the changed entries of the environment variables maps are written. Removed fields are set
+     * to null. The build info is serialized without null fields, so null always means a removed field.
+     */
+    static ObjectNode createPatch(JsonNode previous, ObjectNode current) {
+        ObjectNode patch = deltaMapper.createObjectNode();
+        if (previous == null || !previous.isObject()) {
+            return current;
+        }
+        Iterator<Map.Entry<String, JsonNode>> fields = current.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            JsonNode previousValue = previous.get(field.getKey());
+            if (field.getValue().equals(previousValue)) {
+                continue;
+            }
+            if (field.getValue().isObject() && previousValue != null && previousValue.isObject()) {
+                patch.set(field.getKey(), createPatch(previousValue, (ObjectNode) field.getValue()));
+            } else {
+                patch.set(field.getKey(), field.getValue());
+            }
+        }
+        Iterator<String> previousFields = previous.fieldNames();
+        while (previousFields.hasNext()) {
+            String name = previousFields.next();
+            if (!current.has(name)) {
+                patch.putNull(name);
+            }
+        }
+        return patch;
+    }
+
+    /**
+     * Apply a JSON merge patch, as created by {@link #createPatch(JsonNode, ObjectNode)}.
+     */
+    static void applyPatch(ObjectNode target, ObjectNode patch) {
+        Iterator<Map.Entry<String, JsonNode>> fields = patch.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            JsonNode current = target.get(field.getKey());
+            if (field.getValue().isNull()) {
+                target.remove(field.getKey());
+            } else if (field.getValue().isObject() && current != null && current.isObject()) {
+                applyPatch((ObjectNode) current, (ObjectNode) field.getValue());
+            } else {
+                target.set(field.getKey(), field.getValue());
+            }
+        }
+    }
+
+    /**
+     * Merge a module delta into an existing module node. Lists are appended, other fields are replaced.
+     */
+    private static void mergeModule(ObjectNode moduleNode, ObjectNode moduleDelta) {
+        Iterator<Map.Entry<String, JsonNode>> fields = moduleDelta.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            JsonNode current = moduleNode.get(field.getKey());
+            if (MODULE_LISTS.contains(field.getKey()) && current != null && current.isArray()) {
+                ((ArrayNode) current).addAll((ArrayNode) field.getValue());
+            } else {
+                moduleNode.set(field.getKey(), field.getValue());
+            }
+        }
+    }
+
+    private static int size(List<?> list) {
+        return list == null ? 0 : list.size();
+    }
+}
@@ -0,0 +1,270 @@
+package org.jfrog.hudson.pipeline.declarative.utils;
+
+import hudson.FilePath;
+import org.apache.commons.lang3.StringUtils;
+import org.jfrog.build.api.util.Log;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Controller side write-through cache of build data entries.
+ * Reading an entry written by a previous step of the same build does not require a remote call to the agent.
+ * The cache is bounded by the total size of the cached entries and evicts the least recently used entries first.
+ * <p>
+ * The root workspace and build number don't identify a build - a recreated job, or another job using the same
+ * workspace, may have the same build number. The steps therefore bind the root workspace and build number to a token
+ * of the running build, made of the job full name and the build start time, which is part of the cache keys. Entries
+ * of builds which were not bound are not cached. Entries of the build are invalidated when a write finds that the
+ * build data directory or the appended file are missing on disk, e.g. after the workspace was deleted.
+ */
+public class CachedBuildDataStore implements BuildDataStore {
+
+    static final long DEFAULT_MAX_CACHE_BYTES = 64L * 1024 * 1024;
+    private static final int LOCKS_COUNT = 64;
+    private static final int MAX_BOUND_BUILDS = 1024;
+
+    private final BuildDataStore delegate;
+    private final long maxCacheBytes;
+    // Access ordered map to allow LRU eviction
+    private final LinkedHashMap<CacheKey, byte[]> cache = new LinkedHashMap<>(16, 0.75f, true);
+    // Writes of the same entry are serialized, so that the cache and the underlying store always agree on the last write
+    private final Object[] locks = new Object[LOCKS_COUNT];
+    // Root workspace and build number to the token of the running build. Guarded by the cache lock.
+    private final LinkedHashMap<BuildKey, String> buildTokens = new LinkedHashMap<BuildKey, String>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<BuildKey, String> eldest) {
+            return size() > MAX_BOUND_BUILDS;
+        }
+    };
+    private long cacheBytes;
+
+    public CachedBuildDataStore(BuildDataStore delegate) {
+        this(delegate, Long.getLong(CachedBuildDataStore.class.getName() + ".maxBytes", DEFAULT_MAX_CACHE_BYTES));
+    }
+
+    CachedBuildDataStore(BuildDataStore delegate, long maxCacheBytes) {
+        this.delegate = delegate;
+        this.maxCacheBytes = maxCacheBytes;
+        for (int i = 0; i < LOCKS_COUNT; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    /**
+     * Bind the root workspace and build number to the running build. Cached entries of another build with the same
+     * root workspace and build number are invalidated.
+     *
+     * @param rootWs      - Step's root workspace.
+     * @param buildNumber - The build number.
+     * @param buildToken  - A token identifying the running build.
+     */
+    public void bind(FilePath rootWs, String buildNumber, String buildToken) {
+        synchronized (cache) {
+            String previousToken = buildTokens.put(new BuildKey(rootWs, buildNumber), buildToken);
+            if (previousToken != null && !previousToken.equals(buildToken)) {
+                removeBuildEntries(rootWs, buildNumber);
+            }
+        }
+    }
+
+    @Override
+    public boolean write(FilePath rootWs, String buildNumber, String fileName, byte[] content, Log logger) throws IOException, InterruptedException {
+        CacheKey key = createKey(rootWs, buildNumber, fileName);
+        if (key == null) {
+            return delegate.write(rootWs, buildNumber, fileName, content, logger);
+        }
+        synchronized (getLock(key)) {
+            invalidate(key);
+            boolean existed = delegate.write(rootWs, buildNumber, fileName, content, logger);
+            if (!existed) {
+                // The build data directory was deleted, so were the other cached entries
+                invalidateBuild(rootWs, buildNumber);
+            }
+            put(key, content);
+            return existed;
+        }
+    }
+
+    @Override
+    public boolean append(FilePath rootWs, String buildNumber, String fileName, byte[] content, Log logger) throws IOException, InterruptedException {
+        CacheKey key = createKey(rootWs, buildNumber, fileName);
+        if (key == null) {
+            return delegate.append(rootWs, buildNumber, fileName, content, logger);
+        }
+        synchronized (getLock(key)) {
+            byte[] cached = get(key);
+            invalidate(key);
+            boolean existed = delegate.append(rootWs, buildNumber, fileName, content, logger);
+            if (!existed) {
+                // The file was deleted, so the cached content is stale
+                put(key, content);
+            } else if (cached != null) {
+                byte[] appended = Arrays.copyOf(cached, cached.length + content.length);
+                System.arraycopy(content, 0, appended, cached.length, content.length);
+                put(key, appended);
+            }
+            return existed;
+        }
+    }
+
+    @Override
+    public byte[] read(FilePath rootWs, String buildNumber, String fileName) throws IOException, InterruptedException {
+        CacheKey key = createKey(rootWs, buildNumber, fileName);
+        if (key == null) {
+            return delegate.read(rootWs, buildNumber, fileName);
+        }
+        byte[] content = get(key);
+        if (content != null) {
+            return content;
+        }
+        synchronized (getLock(key)) {
+            content = get(key);
+            if (content == null) {
+                content = delegate.read(rootWs, buildNumber, fileName);
+                if (content != null) {
+                    put(key, content);
+                }
+            }
+            return content;
+        }
+    }
+
+    @Override
+    public void delete(FilePath rootWs, String buildNumber, Log logger) throws IOException, InterruptedException {
+        synchronized (cache) {
+            removeBuildEntries(rootWs, buildNumber);
+            buildTokens.remove(new BuildKey(rootWs, buildNumber));
+        }
+        delegate.delete(rootWs, buildNumber, logger);
+    }
+
+    /**
+     * @return the cache key, or null if the root workspace and build number are not bound to a build.
+     */
+    private CacheKey createKey(FilePath rootWs, String buildNumber, String fileName) {
+        String buildToken;
+        synchronized (cache) {
+            buildToken = buildTokens.get(new BuildKey(rootWs, buildNumber));
+        }
+        return buildToken == null ? null : new CacheKey(new BuildKey(rootWs, buildNumber), buildToken, fileName);
+    }
+
+    private void invalidateBuild(FilePath rootWs, String buildNumber) {
+        synchronized (cache) {
+            removeBuildEntries(rootWs, buildNumber);
+        }
+    }
+
+    private void removeBuildEntries(FilePath rootWs, String buildNumber) {
+        BuildKey buildKey = new BuildKey(rootWs, buildNumber);
+        cache.entrySet().removeIf(entry -> {
+            boolean remove = entry.getKey().buildKey.equals(buildKey);
+            if (remove) {
+                cacheBytes -= entry.getValue().length;
+            }
+            return remove;
+        });
+    }
+
+    long getCacheBytes() {
+        synchronized (cache) {
+            return cacheBytes;
+        }
+    }
+
+    private Object getLock(CacheKey key) {
+        return locks[Math.floorMod(key.hashCode(), LOCKS_COUNT)];
+    }
+
+    private byte[] get(CacheKey key) {
+        synchronized (cache) {
+            return cache.get(key);
+        }
+    }
+
+    private void invalidate(CacheKey key) {
+        synchronized (cache) {
+            byte[] removed = cache.remove(key);
+            if (removed != null) {
+                cacheBytes -= removed.length;
+            }
+        }
+    }
+
+    private void put(CacheKey key, byte[] content) {
+        if (content.length > maxCacheBytes) {
+            return;
+        }
+        synchronized (cache) {
+            byte[] replaced = cache.put(key, content);
+            cacheBytes += content.length - (replaced != null ? replaced.length : 0);
+            // Evict the least recently used entries
+            Iterator<Map.Entry<CacheKey, byte[]>> iterator = cache.entrySet().iterator();
+            while (cacheBytes > maxCacheBytes && iterator.hasNext()) {
+                cacheBytes -= iterator.next().getValue().length;
+                iterator.remove();
+            }
+        }
+    }
+
+    private static class BuildKey {
+        private final FilePath rootWs;
+        private final String buildNumber;
+
+        BuildKey(FilePath rootWs, String buildNumber) {
+            this.rootWs = rootWs;
+            this.buildNumber = buildNumber;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            BuildKey other = (BuildKey) o;
+            return Objects.equals(rootWs, other.rootWs) && StringUtils.equals(buildNumber, other.buildNumber);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(rootWs, buildNumber);
+        }
+    }
+
+    private static class CacheKey {
+        private final BuildKey buildKey;
+        private final String buildToken;
+        private final String fileName;
+
+        CacheKey(BuildKey buildKey, String buildToken, String fileName) {
+            this.buildKey = buildKey;
+            this.buildToken = buildToken;
+            this.fileName = fileName;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            CacheKey other = (CacheKey) o;
+            return buildKey.equals(other.buildKey) && buildToken.equals(other.buildToken) && StringUtils.equals(fileName, other.fileName);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(buildKey, buildToken, fileName);
+        }
+    }
+}
@@ -3,47 +3,56 @@ package org.jfrog.hudson.pipeline.declarative.utils;
 import hudson.remoting.VirtualChannel;
 import jenkins.MasterToSlaveFileCallable;
 import org.jfrog.build.api.util.Log;
-import org.jfrog.hudson.pipeline.declarative.BuildDataFile;
 
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.ObjectOutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-
-import static org.jfrog.hudson.pipeline.declarative.utils.DeclarativePipelineUtils.getBuildDataFileName;
+import java.nio.file.StandardCopyOption;
 
 /**
  * Create pipeline build data in @tmp/artifactory-pipeline-cache/build-number directory.
  * Used to transfer data between different steps in declarative pipelines.
+ * Returns true if the build data directory existed before the write.
  */
-public class CreateBuildDataFileCallable extends MasterToSlaveFileCallable<Void> {
+public class CreateBuildDataFileCallable extends MasterToSlaveFileCallable<Boolean> {
 
-    private BuildDataFile buildDataFile;
-    private String buildNumber;
-    private Log logger;
+    private final String buildNumber;
+    private final String fileName;
+    private final byte[] content;
+    private final Log logger;
+    private final long retentionMillis = BuildDataDirsJanitor.getRetentionMillis();
 
-    CreateBuildDataFileCallable(String buildNumber, BuildDataFile buildDataFile, Log logger) {
+    CreateBuildDataFileCallable(String buildNumber, String fileName, byte[] content, Log logger) {
         this.buildNumber = buildNumber;
-        this.buildDataFile = buildDataFile;
+        this.fileName = fileName;
+        this.content = content;
         this.logger = logger;
     }
 
     @Override
-    public Void invoke(File tmpDir, VirtualChannel virtualChannel) throws IOException {
+    public Boolean invoke(File tmpDir, VirtualChannel virtualChannel) throws IOException {
         Path artifactoryPipelineCacheDir = tmpDir.toPath().resolve(DeclarativePipelineUtils.PIPELINE_CACHE_DIR_NAME);
-        DeclarativePipelineUtils.deleteOldBuildDataDirs(artifactoryPipelineCacheDir.toFile(), logger);
+        BuildDataDirsJanitor.schedule(artifactoryPipelineCacheDir.toFile(), retentionMillis);
+        boolean existed = Files.isDirectory(artifactoryPipelineCacheDir.resolve(buildNumber));
         Path buildDataDirPath = Files.createDirectories(artifactoryPipelineCacheDir.resolve(buildNumber));
-        File buildDataFile = buildDataDirPath.resolve(getBuildDataFileName(this.buildDataFile.getStepName(), this.buildDataFile.getId())).toFile();
-        if (buildDataFile.createNewFile()) {
-            logger.debug(buildDataFile.getAbsolutePath() + " created");
-            buildDataFile.deleteOnExit();
-        }
-        try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(buildDataFile))
-        ) {
-            oos.writeObject(this.buildDataFile);
+        Path buildDataFile = buildDataDirPath.resolve(fileName);
+        // Write to a temporary file and move it, so that concurrent readers never see a partially written file
+        Path tmpBuildDataFile = Files.createTempFile(buildDataDirPath, fileName, ".tmp");
+        try {
+            Files.write(tmpBuildDataFile, content);
+            try {
+                Files.move(tmpBuildDataFile, buildDataFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmpBuildDataFile, buildDataFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tmpBuildDataFile);
         }
-        return null;
+        BuildDataDirsJanitor.touch(buildDataDirPath.toFile());
+        logger.debug(buildDataFile + " written");
+        buildDataFile.toFile().deleteOnExit();
+        return existed;
     }
 }
@@ -1,6 +1,7 @@
 package org.jfrog.hudson.pipeline.declarative.utils;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import hudson.EnvVars;
 import hudson.FilePath;
 import hudson.Launcher;
@@ -16,6 +17,7 @@ import org.jfrog.hudson.pipeline.common.types.ConanClient;
 import org.jfrog.hudson.pipeline.common.types.DistributionServer;
 import org.jfrog.hudson.pipeline.common.types.JFrogPlatformInstance;
 import org.jfrog.hudson.pipeline.common.types.buildInfo.BuildInfo;
+import org.jfrog.hudson.pipeline.common.types.buildInfo.BuildInfoCheckpoint;
 import org.jfrog.hudson.pipeline.declarative.BuildDataFile;
 import org.jfrog.hudson.pipeline.declarative.steps.BuildInfoStep;
 import org.jfrog.hudson.pipeline.declarative.steps.CreateJFrogInstanceStep;
@@ -25,16 +27,27 @@ import java.io.File;
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.nio.charset.StandardCharsets;
-import java.util.Arrays;
-import java.util.Date;
-import java.util.concurrent.TimeUnit;
+import java.util.UUID;
 
-import static org.jfrog.hudson.util.ExtractorUtils.createAndGetTempDir;
 import static org.jfrog.hudson.util.SerializationUtils.createMapper;
 
 public class DeclarativePipelineUtils {
 
     static final String PIPELINE_CACHE_DIR_NAME = "artifactory-pipeline-cache";
+    private static final CachedBuildDataStore buildDataStore = new CachedBuildDataStore(new FileBuildDataStore());
+
+    /**
+     * Bind the step's root workspace and the build number to the running build, so that the build data of the build
+     * may be cached on the controller. Build data of another build using the same root workspace and build number,
+     * e.g. of a recreated job, is not read from the cache.
+     *
+     * @param rootWs - Step's root workspace.
+     * @param build  - The running build.
+     */
+    public static void bindBuildData(FilePath rootWs, Run<?, ?> build) {
+        String buildToken = build.getParent().getFullName() + "#" + build.getNumber() + "@" + build.getStartTimeInMillis();
+        buildDataStore.bind(rootWs, BuildUniqueIdentifierHelper.getBuildNumber(build), buildToken);
+    }
 
     /**
      * Create pipeline build data in @tmp/artifactory-pipeline-cache/build-number directory.
@@ -46,7 +59,8 @@ public class DeclarativePipelineUtils {
      * @throws Exception - In case of no write permissions.
      */
     public static void writeBuildDataFile(FilePath rootWs, String buildNumber, BuildDataFile buildDataFile, Log logger) throws Exception {
-        createAndGetTempDir(rootWs).act(new CreateBuildDataFileCallable(buildNumber, buildDataFile, logger));
+        String fileName = getBuildDataFileName(buildDataFile.getStepName(), buildDataFile.getId());
+        buildDataStore.write(rootWs, buildNumber, fileName, buildDataFile.toBytes(), logger);
     }
 
     /**
@@ -60,7 +74,8 @@ public class DeclarativePipelineUtils {
      * @throws IOException - In case of no read permissions.
      */
     public static BuildDataFile readBuildDataFile(FilePath rootWs, final String buildNumber, final String stepName, final String stepId) throws IOException, InterruptedException {
-        return createAndGetTempDir(rootWs).act(new ReadBuildDataFileCallable(buildNumber, stepName, stepId));
+        byte[] content = buildDataStore.read(rootWs, buildNumber, getBuildDataFileName(stepName, stepId));
+        return content == null ? null : BuildDataFile.fromBytes(content);
     }
 
     static String getBuildDataFileName(String stepName, String stepId) throws UnsupportedEncodingException {
@@ -196,8 +211,9 @@ public class DeclarativePipelineUtils {
         String jobBuildNumber = BuildUniqueIdentifierHelper.getBuildNumber(build);
         String buildInfoId = createBuildInfoId(build, customBuildName, customBuildNumber, project);
 
-        BuildDataFile buildDataFile = readBuildDataFile(rootWs, jobBuildNumber, BuildInfoStep.STEP_NAME, buildInfoId);
-        if (buildDataFile == null) {
+        String fileName = getBuildDataFileName(BuildInfoStep.STEP_NAME, buildInfoId);
+        byte[] content = buildDataStore.read(rootWs, jobBuildNumber, fileName);
+        if (content == null) {
             BuildInfo buildInfo = new BuildInfo(build);
             if (StringUtils.isNotBlank(customBuildName)) {
                 buildInfo.setName(customBuildName);
@@ -208,11 +224,25 @@ public class DeclarativePipelineUtils {
             buildInfo.setProject(project);
             return buildInfo;
         }
-        return createMapper().treeToValue(buildDataFile.get(BuildInfoStep.STEP_NAME), BuildInfo.class);
+        BuildDataFile buildDataFile = BuildDataFile.fromBytes(content);
+        ObjectNode buildInfoNode = (ObjectNode) buildDataFile.get(BuildInfoStep.STEP_NAME);
+        JsonNode generationNode = buildDataFile.get(BuildInfoDeltaLog.GENERATION_KEY);
+        if (generationNode == null) {
+            // Saved by a previous version of the plugin, without deltas
+            return createMapper().treeToValue(buildInfoNode, BuildInfo.class);
+        }
+        String generation = generationNode.asText();
+        byte[] deltas = buildDataStore.read(rootWs, jobBuildNumber, BuildInfoDeltaLog.getDeltaFileName(fileName));
+        int deltasCount = BuildInfoDeltaLog.applyDeltas(buildInfoNode, deltas, generation);
+        BuildInfo buildInfo = BuildInfoDeltaLog.readBuildInfo(buildInfoNode);
+        buildInfo.setCheckpoint(BuildInfoDeltaLog.createCheckpoint(buildInfo, buildInfoId, generation, content.length, deltasCount, deltas == null ? 0 : deltas.length));
+        return buildInfo;
     }
 
     /**
      * Save build info in @tmp/artifactory-pipeline-cache/build-number folder.
+     * If the build info was loaded by {@link #getBuildInfo}, only the changes since then are appended to the build info
+     * deltas log. Otherwise, or after many deltas, a new snapshot of the build info is written.
      *
      * @param buildInfo - The build info object to save.
      * @param rootWs    - Step's root workspace.
@@ -221,30 +251,28 @@ public class DeclarativePipelineUtils {
     public static void saveBuildInfo(BuildInfo buildInfo, FilePath rootWs, Run<?, ?> build, Log logger) throws Exception {
         String jobBuildNumber = BuildUniqueIdentifierHelper.getBuildNumber(build);
         String buildInfoId = createBuildInfoId(build, buildInfo.getName(), buildInfo.getNumber(), buildInfo.getProject());
+        String fileName = getBuildDataFileName(BuildInfoStep.STEP_NAME, buildInfoId);
 
-        BuildDataFile buildDataFile = new BuildDataFile(BuildInfoStep.STEP_NAME, buildInfoId);
-        buildDataFile.putPOJO(buildInfo);
-        writeBuildDataFile(rootWs, jobBuildNumber, buildDataFile, logger);
-    }
-
-    /**
-     * Delete @tmp/artifactory-pipeline-cache/build-number directories older than 1 day.
-     */
-    static void deleteOldBuildDataDirs(File tmpDir, Log logger) {
-        if (!tmpDir.exists()) {
-            // Before creation of the @tmp directory
-            return;
-        }
-        File[] buildDataDirs = tmpDir.listFiles(buildDataDir -> {
-            long ageInMilliseconds = new Date().getTime() - buildDataDir.lastModified();
-            return ageInMilliseconds > TimeUnit.DAYS.toMillis(1);
-        });
-        if (buildDataDirs == null) {
-            logger.error("Failed while attempting to delete old build data dirs. Could not list files in " + tmpDir);
-            return;
+        BuildInfoCheckpoint checkpoint = buildInfo.getCheckpoint();
+        if (!BuildInfoDeltaLog.isSnapshotRequired(checkpoint, buildInfoId)) {
+            byte[] delta = BuildInfoDeltaLog.createDelta(buildInfo, checkpoint);
+            if (delta != null) {
+                buildDataStore.append(rootWs, jobBuildNumber, BuildInfoDeltaLog.getDeltaFileName(fileName), delta, logger);
+                buildInfo.setCheckpoint(BuildInfoDeltaLog.createCheckpoint(buildInfo, buildInfoId, checkpoint.getGeneration(),
+                        checkpoint.getBaseBytes(), checkpoint.getDeltasCount() + 1, checkpoint.getDeltasBytes() + delta.length));
+                return;
+            }
         }
 
-        Arrays.stream(buildDataDirs).forEach(buildDataDir -> deleteBuildDataDir(buildDataDir, logger));
+        // Write a new snapshot. Deltas of previous snapshots are ignored since they have a different generation.
+        String generation = UUID.randomUUID().toString();
+        BuildDataFile buildDataFile = new BuildDataFile(BuildInfoStep.STEP_NAME, buildInfoId);
+        buildDataFile.put(BuildInfoDeltaLog.GENERATION_KEY, generation);
+        buildDataFile.putPOJO(buildInfo);
+        byte[] content = buildDataFile.toBytes();
+        buildDataStore.write(rootWs, jobBuildNumber, fileName, content, logger);
+        buildDataStore.write(rootWs, jobBuildNumber, BuildInfoDeltaLog.getDeltaFileName(fileName), new byte[0], logger);
+        buildInfo.setCheckpoint(BuildInfoDeltaLog.createCheckpoint(buildInfo, buildInfoId, generation, content.length, 0, 0));
     }
 
     /**
@@ -252,7 +280,9 @@ public class DeclarativePipelineUtils {
      *
      * @param buildDataDir - The directory to delete
      * @param logger       - The logger
+     * @deprecated Old build data dirs are deleted by {@link BuildDataDirsJanitor}.
      */
+    @Deprecated
     public static void deleteBuildDataDir(File buildDataDir, Log logger) {
         try {
             FileUtils.deleteDirectory(buildDataDir);
@@ -271,9 +301,7 @@ public class DeclarativePipelineUtils {
      */
     public static void deleteBuildDataDir(FilePath ws, String buildNumber, Log logger) {
         try {
-            FilePath buildDataDir = createAndGetTempDir(ws).child(PIPELINE_CACHE_DIR_NAME).child(buildNumber);
-            buildDataDir.deleteRecursive();
-            logger.debug(buildDataDir.getRemote() + " deleted");
+            buildDataStore.delete(ws, buildNumber, logger);
         } catch (IOException | InterruptedException e) {
             logger.error("Failed while attempting to delete build data dir for build number " + buildNumber, e);
         }
@@ -0,0 +1,37 @@
+package org.jfrog.hudson.pipeline.declarative.utils;
+
+import hudson.FilePath;
+import org.jfrog.build.api.util.Log;
+
+import java.io.IOException;
+
+import static org.jfrog.hudson.util.ExtractorUtils.createAndGetTempDir;
+
+/**
+ * Store the build data in @tmp/artifactory-pipeline-cache/build-number directory of the step's root workspace.
+ * Each entry is written as a compact JSON file, in a single remote call.
+ */
+public class FileBuildDataStore implements BuildDataStore {
+
+    @Override
+    public boolean write(FilePath rootWs, String buildNumber, String fileName, byte[] content, Log logger) throws IOException, InterruptedException {
+        return createAndGetTempDir(rootWs).act(new CreateBuildDataFileCallable(buildNumber, fileName, content, logger));
+    }
+
+    @Override
+    public boolean append(FilePath rootWs, String buildNumber, String fileName, byte[] content, Log logger) throws IOException, InterruptedException {
+        return createAndGetTempDir(rootWs).act(new AppendBuildDataFileCallable(buildNumber, fileName, content));
+    }
+
+    @Override
+    public byte[] read(FilePath rootWs, String buildNumber, String fileName) throws IOException, InterruptedException {
+        return createAndGetTempDir(rootWs).act(new ReadBuildDataFileCallable(buildNumber, fileName));
+    }
+
+    @Override
+    public void delete(FilePath rootWs, String buildNumber, Log logger) throws IOException, InterruptedException {
+        FilePath buildDataDir = createAndGetTempDir(rootWs).child(DeclarativePipelineUtils.PIPELINE_CACHE_DIR_NAME).child(buildNumber);
+        buildDataDir.deleteRecursive();
+        logger.debug(buildDataDir.getRemote() + " deleted");
+    }
+}
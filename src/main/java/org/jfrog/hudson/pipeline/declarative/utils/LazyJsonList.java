@@ -0,0 +1,98 @@
+package org.jfrog.hudson.pipeline.declarative.utils;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * A list which is deserialized from its JSON array on first access.
+ * Holds the artifacts and dependencies of the build info modules read from the declarative pipeline build data, so
+ * that a step deserializes only the lists it uses, and saving the build info skips the lists which were not used.
+ * The JSON array is never modified.
+ * Serialized as a regular list.
+ *
+ * @param <T> - The type of the items.
+ */
+class LazyJsonList<T> extends AbstractList<T> implements RandomAccess, Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final transient ObjectMapper mapper;
+    private final transient ArrayNode source;
+    private final transient Class<T> type;
+    private transient List<T> items;
+
+    LazyJsonList(ObjectMapper mapper, ArrayNode source, Class<T> type) {
+        this.mapper = mapper;
+        this.source = source;
+        this.type = type;
+    }
+
+    /**
+     * @return the JSON array the list was created from.
+     */
+    ArrayNode getSource() {
+        return source;
+    }
+
+    /**
+     * @return true if the items were deserialized, in which case they may have been changed.
+     */
+    synchronized boolean isMaterialized() {
+        return items != null;
+    }
+
+    private synchronized List<T> materialize() {
+        if (items == null) {
+            List<T> list = new ArrayList<>(source.size());
+            for (JsonNode node : source) {
+                try {
+                    list.add(mapper.treeToValue(node, type));
+                } catch (JsonProcessingException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            items = list;
+        }
+        return items;
+    }
+
+    @Override
+    public T get(int index) {
+        return materialize().get(index);
+    }
+
+    @Override
+    public synchronized int size() {
+        return items == null ? source.size() : items.size();
+    }
+
+    @Override
+    public T set(int index, T element) {
+        return materialize().set(index, element);
+    }
+
+    @Override
+    public void add(int index, T element) {
+        materialize().add(index, element);
+        modCount++;
+    }
+
+    @Override
+    public T remove(int index) {
+        T removed = materialize().remove(index);
+        modCount++;
+        return removed;
+    }
+
+    private Object writeReplace() {
+        return new ArrayList<>(this);
+    }
+}
@@ -4,44 +4,57 @@ import hudson.remoting.VirtualChannel;
 import jenkins.MasterToSlaveFileCallable;
 import org.jfrog.hudson.pipeline.declarative.BuildDataFile;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.ObjectInputStream;
+import java.io.ObjectStreamConstants;
+import java.nio.file.Files;
 import java.nio.file.Path;
 
-import static org.jfrog.hudson.pipeline.declarative.utils.DeclarativePipelineUtils.getBuildDataFileName;
-
 /**
  * Read pipeline build data from @tmp/artifactory-pipeline-cache/build-number directory.
  * Used to transfer data between different steps in declarative pipelines.
  */
-public class ReadBuildDataFileCallable extends MasterToSlaveFileCallable<BuildDataFile> {
+public class ReadBuildDataFileCallable extends MasterToSlaveFileCallable<byte[]> {
 
-    private String buildNumber;
-    private String stepName;
-    private String stepId;
+    private final String buildNumber;
+    private final String fileName;
 
-    ReadBuildDataFileCallable(String buildNumber, String stepName, String stepId) {
+    ReadBuildDataFileCallable(String buildNumber, String fileName) {
         this.buildNumber = buildNumber;
-        this.stepName = stepName;
-        this.stepId = stepId;
+        this.fileName = fileName;
     }
 
     @Override
-    public BuildDataFile invoke(File tmpDir, VirtualChannel virtualChannel) throws IOException {
+    public byte[] invoke(File tmpDir, VirtualChannel virtualChannel) throws IOException {
         Path artifactoryPipelineCacheDir = tmpDir.toPath().resolve(DeclarativePipelineUtils.PIPELINE_CACHE_DIR_NAME);
-        Path buildDataDirPath = artifactoryPipelineCacheDir.resolve(buildNumber);
-        File buildDataFile = buildDataDirPath.resolve(getBuildDataFileName(stepName, stepId)).toFile();
-        if (!buildDataFile.exists()) {
+        Path buildDataFile = artifactoryPipelineCacheDir.resolve(buildNumber).resolve(fileName);
+        if (!Files.exists(buildDataFile)) {
             return null;
         }
-        try (FileInputStream fos = new FileInputStream(buildDataFile);
-             ObjectInputStream oos = new ObjectInputStream(fos)
-        ) {
-            return (BuildDataFile) oos.readObject();
+        byte[] content = Files.readAllBytes(buildDataFile);
+        BuildDataDirsJanitor.touch(buildDataFile.getParent().toFile());
+        return isJavaSerialized(content) ? readJavaSerialized(content) : content;
+    }
+
+    private static boolean isJavaSerialized(byte[] content) {
+        return content.length > 1 &&
+                content[0] == (byte) (ObjectStreamConstants.STREAM_MAGIC >>> 8) &&
+                content[1] == (byte) ObjectStreamConstants.STREAM_MAGIC;
+    }
+
+    /**
+     * Build data files created by previous versions of the plugin were serialized using Java serialization.
+     *
+     * @param content - The file content.
+     * @return the build data file in the current format.
+     */
+    private static byte[] readJavaSerialized(byte[] content) throws IOException {
+        try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(content))) {
+            return ((BuildDataFile) ois.readObject()).toBytes();
         } catch (ClassNotFoundException e) {
-            throw new RuntimeException(e);
+            throw new IOException(e);
         }
     }
 }
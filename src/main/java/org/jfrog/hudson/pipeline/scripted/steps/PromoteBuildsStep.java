@@ -0,0 +1,107 @@
+package org.jfrog.hudson.pipeline.scripted.steps;
+
+import com.google.inject.Inject;
+import hudson.Extension;
+import org.jenkinsci.plugins.workflow.steps.AbstractStepDescriptorImpl;
+import org.jenkinsci.plugins.workflow.steps.AbstractStepImpl;
+import org.jenkinsci.plugins.workflow.steps.StepContext;
+import org.jfrog.hudson.pipeline.ArtifactorySynchronousNonBlockingStepExecution;
+import org.jfrog.hudson.pipeline.common.Utils;
+import org.jfrog.hudson.pipeline.common.executors.BulkPromotionExecutor;
+import org.jfrog.hudson.pipeline.common.types.ArtifactoryServer;
+import org.jfrog.hudson.pipeline.common.types.PromotionConfig;
+import org.jfrog.hudson.pipeline.common.types.PromotionReport;
+import org.kohsuke.stapler.DataBoundConstructor;
+
+import java.io.IOException;
+import java.util.List;
+
+@SuppressWarnings("unused")
+public class PromoteBuildsStep extends AbstractStepImpl {
+    static final String STEP_NAME = "artifactoryPromoteBuilds";
+    private ArtifactoryServer server;
+    private List<PromotionConfig> promotionConfigs;
+    private int threads;
+    private boolean continueOnFailure;
+
+    @DataBoundConstructor
+    public PromoteBuildsStep(List<PromotionConfig> promotionConfigs, int threads, boolean continueOnFailure, ArtifactoryServer server) {
+        this.promotionConfigs = promotionConfigs;
+        this.threads = threads;
+        this.continueOnFailure = continueOnFailure;
+        this.server = server;
+    }
+
+    public ArtifactoryServer getServer() {
+        return server;
+    }
+
+    public List<PromotionConfig> getPromotionConfigs() {
+        return promotionConfigs;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public boolean isContinueOnFailure() {
+        return continueOnFailure;
+    }
+
+    public static class Execution extends ArtifactorySynchronousNonBlockingStepExecution<PromotionReport> {
+        protected static final long serialVersionUID = 1L;
+        private transient PromoteBuildsStep step;
+
+        @Inject
+        public Execution(PromoteBuildsStep step, StepContext context) throws IOException, InterruptedException {
+            super(context);
+            this.step = step;
+        }
+
+        @Override
+        protected PromotionReport runStep() throws Exception {
+            BulkPromotionExecutor bulkPromotionExecutor = new BulkPromotionExecutor(Utils.prepareArtifactoryServer(null, step.getServer()),
+                    build, listener, step.getPromotionConfigs(), step.getThreads(), step.isContinueOnFailure());
+            bulkPromotionExecutor.execute();
+            PromotionReport promotionReport = bulkPromotionExecutor.getPromotionReport();
+            if (!step.isContinueOnFailure() && !promotionReport.isSuccess()) {
+                throw new IOException("Build promotion failed. " + promotionReport);
+            }
+            return promotionReport;
+        }
+
+        @Override
+        public org.jfrog.hudson.ArtifactoryServer getUsageReportServer() {
+            return Utils.prepareArtifactoryServer(null, step.getServer());
+        }
+
+        @Override
+        public String getUsageReportFeatureName() {
+            return STEP_NAME;
+        }
+    }
+
+    @Extension
+    public static final class DescriptorImpl extends AbstractStepDescriptorImpl {
+
+        public DescriptorImpl() {
+            super(PromoteBuildsStep.Execution.class);
+        }
+
+        @Override
+        // The step is invoked by ArtifactoryServer by the step name
+        public String getFunctionName() {
+            return STEP_NAME;
+        }
+
+        @Override
+        public String getDisplayName() {
+            return "Promote builds";
+        }
+
+        @Override
+        public boolean isAdvanced() {
+            return true;
+        }
+    }
+}
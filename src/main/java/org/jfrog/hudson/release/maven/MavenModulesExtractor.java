@@ -8,18 +8,37 @@ import org.apache.maven.project.MavenProject;
 
 import java.io.*;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * @author Alexei Vainshtein
  */
 public class MavenModulesExtractor extends MasterToSlaveFileCallable<List<String>> {
+    static final int MAX_CACHED_POMS = 256;
+    // The modules of recently parsed poms on this agent, by the pom path, size and modification time
+    private static final Map<String, List<String>> modulesCache = Collections.synchronizedMap(
+            new LinkedHashMap<String, List<String>>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, List<String>> eldest) {
+                    return size() > MAX_CACHED_POMS;
+                }
+            });
 
     // This method is invoked by the FilePath object on the server that this job runs on.
     // This is needed when running on slaves.
     public List<String> invoke(File f, VirtualChannel channel) throws IOException, InterruptedException {
-        MavenProject mavenProject = getMavenProject(f.getAbsolutePath());
-        return mavenProject.getModel().getModules();
+        String cacheKey = f.getAbsolutePath() + ":" + f.length() + ":" + f.lastModified();
+        List<String> modules = modulesCache.get(cacheKey);
+        if (modules == null) {
+            MavenProject mavenProject = getMavenProject(f.getAbsolutePath());
+            modules = Collections.unmodifiableList(new ArrayList<>(mavenProject.getModel().getModules()));
+            modulesCache.put(cacheKey, modules);
+        }
+        return new ArrayList<>(modules);
     }
 
     private MavenProject getMavenProject(String pomFile) throws IOException {
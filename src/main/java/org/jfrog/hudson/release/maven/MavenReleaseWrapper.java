@@ -256,15 +256,18 @@ public class MavenReleaseWrapper extends BuildWrapper {
             modulesByName.put(module.getModuleName(), version);
         }
 
-        boolean modified = false;
+        Map<String, ModuleName> modulesByPomPath = new LinkedHashMap<>();
         for (MavenModule mavenModule : modules) {
-            FilePath pomPath = new FilePath(moduleRoot, getRelativePomPath(mavenModule, mavenBuild));
+            String relativePomPath = getRelativePomPath(mavenModule, mavenBuild);
+            FilePath pomPath = new FilePath(moduleRoot, relativePomPath);
             debuggingLogger.fine("Changing version of pom: " + pomPath);
             scmCoordinator.edit(pomPath);
-            modified |= pomPath.act(
-                    new PomTransformer(mavenModule.getModuleName(), modulesByName, scmUrl, releaseVersion));
+            modulesByPomPath.put(relativePomPath, mavenModule.getModuleName());
         }
-        return modified;
+        // Transform all the poms in a single call to the agent
+        PomsTransformer.Report report = moduleRoot.act(new PomsTransformer(modulesByPomPath, modulesByName, scmUrl, releaseVersion));
+        debuggingLogger.fine("Modified poms: " + report.getModifiedPoms());
+        return report.isModified();
     }
 
     /**
@@ -59,20 +59,38 @@ public class PomTransformer extends MasterToSlaveFileCallable<Boolean> {
      * @return True if the file was modified.
      */
     public Boolean invoke(File pomFile, VirtualChannel channel) throws IOException, InterruptedException {
+        return transform(pomFile, currentModule, toExtractorModules(versionsByModule), scmUrl, failOnSnapshot);
+    }
 
-        org.jfrog.build.extractor.maven.reader.ModuleName current = new org.jfrog.build.extractor.maven.reader.ModuleName(
-                currentModule.groupId, currentModule.artifactId);
+    /**
+     * Transforms single pom file, using the modules versions converted by {@link #toExtractorModules(Map)}.
+     * Allows transforming multiple poms with a single conversion of the versions map.
+     *
+     * @param pomFile        The pom file to transform
+     * @param currentModule  The module of the pom file
+     * @param modules        Map of module names to module version
+     * @param scmUrl         Scm url to use if scm element exists in the pom file
+     * @param failOnSnapshot If true, fail with IllegalStateException if the pom contains snapshot version after the version changes
+     * @return True if the file was modified.
+     */
+    static boolean transform(File pomFile, ModuleName currentModule,
+                             Map<org.jfrog.build.extractor.maven.reader.ModuleName, String> modules, String scmUrl,
+                             boolean failOnSnapshot) throws IOException {
+        org.jfrog.build.extractor.maven.transformer.PomTransformer transformer =
+                new org.jfrog.build.extractor.maven.transformer.PomTransformer(toExtractorModuleName(currentModule),
+                        modules, scmUrl, failOnSnapshot);
+        return transformer.transform(pomFile);
+    }
 
+    static Map<org.jfrog.build.extractor.maven.reader.ModuleName, String> toExtractorModules(Map<ModuleName, String> versionsByModule) {
         Map<org.jfrog.build.extractor.maven.reader.ModuleName, String> modules = new LinkedHashMap<>();
         for (Map.Entry<ModuleName, String> entry : versionsByModule.entrySet()) {
-            modules.put(new org.jfrog.build.extractor.maven.reader.ModuleName(
-                    entry.getKey().groupId, entry.getKey().artifactId), entry.getValue());
+            modules.put(toExtractorModuleName(entry.getKey()), entry.getValue());
         }
+        return modules;
+    }
 
-        org.jfrog.build.extractor.maven.transformer.PomTransformer transformer =
-                new org.jfrog.build.extractor.maven.transformer.PomTransformer(current, modules, scmUrl,
-                        failOnSnapshot);
-
-        return transformer.transform(pomFile);
+    private static org.jfrog.build.extractor.maven.reader.ModuleName toExtractorModuleName(ModuleName moduleName) {
+        return new org.jfrog.build.extractor.maven.reader.ModuleName(moduleName.groupId, moduleName.artifactId);
     }
 }
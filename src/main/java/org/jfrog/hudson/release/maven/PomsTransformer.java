@@ -0,0 +1,115 @@
+package org.jfrog.hudson.release.maven;
+
+import hudson.maven.ModuleName;
+import hudson.remoting.VirtualChannel;
+import jenkins.MasterToSlaveFileCallable;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Rewrites the project versions in the poms of all the modules, in parallel on the agent.
+ * The versions map is transferred once for all the poms, and a single report of the modified poms is returned.
+ * If a pom fails to transform, for example due to a snapshot version left after the version changes, no more poms are
+ * transformed and the failure is thrown.
+ *
+ * @see PomTransformer
+ */
+public class PomsTransformer extends MasterToSlaveFileCallable<PomsTransformer.Report> {
+
+    private final Map<String, ModuleName> modulesByPomPath;
+    private final Map<ModuleName, String> versionsByModule;
+    private final String scmUrl;
+    private final boolean failOnSnapshot;
+
+    /**
+     * @param modulesByPomPath Map of the poms paths, relative to the module root, to their modules
+     * @param versionsByModule Map of module names to module version
+     * @param scmUrl           Scm url to use if scm element exists in the pom file
+     * @param failOnSnapshot   If true, fail with IllegalStateException if a pom contains snapshot version after the version changes
+     */
+    public PomsTransformer(Map<String, ModuleName> modulesByPomPath, Map<ModuleName, String> versionsByModule,
+                           String scmUrl, boolean failOnSnapshot) {
+        this.modulesByPomPath = modulesByPomPath;
+        this.versionsByModule = versionsByModule;
+        this.scmUrl = scmUrl;
+        this.failOnSnapshot = failOnSnapshot;
+    }
+
+    /**
+     * Performs the transformation.
+     *
+     * @param moduleRoot The module root directory
+     * @return The report of the modified poms.
+     */
+    public Report invoke(File moduleRoot, VirtualChannel channel) throws IOException, InterruptedException {
+        // Converted once, and shared by the transformations of all the poms
+        Map<org.jfrog.build.extractor.maven.reader.ModuleName, String> modules = PomTransformer.toExtractorModules(versionsByModule);
+
+        List<String> modifiedPoms = Collections.synchronizedList(new ArrayList<>());
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        try {
+            pool.submit(() -> modulesByPomPath.entrySet().parallelStream().forEach(entry -> {
+                if (failure.get() != null) {
+                    return;
+                }
+                try {
+                    File pomFile = new File(entry.getKey());
+                    if (PomTransformer.transform(pomFile.isAbsolute() ? pomFile : new File(moduleRoot, entry.getKey()),
+                            entry.getValue(), modules, scmUrl, failOnSnapshot)) {
+                        modifiedPoms.add(entry.getKey());
+                    }
+                } catch (Exception e) {
+                    failure.compareAndSet(null, e);
+                }
+            })).get();
+        } catch (ExecutionException e) {
+            throw new IOException(e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+
+        Exception e = failure.get();
+        if (e instanceof RuntimeException) {
+            throw (RuntimeException) e;
+        }
+        if (e instanceof IOException) {
+            throw (IOException) e;
+        }
+        if (e != null) {
+            throw new IOException(e);
+        }
+        Collections.sort(modifiedPoms);
+        return new Report(modifiedPoms);
+    }
+
+    public static class Report implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final List<String> modifiedPoms;
+
+        Report(List<String> modifiedPoms) {
+            this.modifiedPoms = new ArrayList<>(modifiedPoms);
+        }
+
+        /**
+         * @return The paths of the modified poms, relative to the module root, sorted.
+         */
+        public List<String> getModifiedPoms() {
+            return modifiedPoms;
+        }
+
+        public boolean isModified() {
+            return !modifiedPoms.isEmpty();
+        }
+    }
+}
@@ -31,11 +31,15 @@ import org.jfrog.hudson.util.CredentialManager;
 import org.jfrog.hudson.util.ProxyUtils;
 import org.kohsuke.stapler.StaplerRequest;
 import org.kohsuke.stapler.StaplerResponse;
+import org.kohsuke.stapler.bind.JavaScriptMethod;
 import org.kohsuke.stapler.interceptor.RequirePOST;
 
 import javax.servlet.ServletException;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
 
 import static org.jfrog.hudson.util.SerializationUtils.createMapper;
@@ -82,35 +86,53 @@ public class UnifiedPromoteBuildAction extends TaskAction implements BuildBadgeA
         return promotionCandidates.get("0").getConfigurator();
     }
 
+    private PromotionInfo getFirstPromotionCandidate() {
+        return promotionCandidates.get("0");
+    }
+
     private PromotionInfo getPromotionCandidate(String id) {
         return promotionCandidates.get(id);
     }
 
-    private String getDefaultPromotionTargetRepository() {
-        BuildInfoAwareConfigurator configurator = getFirstConfigurator();
+    private String getDefaultPromotionTargetRepository(BuildInfoAwareConfigurator configurator) {
         return configurator != null ? configurator.getDefaultPromotionTargetRepository() : "";
     }
 
     /**
-     * @return List of promote infos for deployment. Called from the UI.
+     * @return List of promote infos for deployment, in the order they were added. Called from the UI.
      */
     @SuppressWarnings({"UnusedDeclaration"})
     public List<PromotionInfo> getPromotionCandidates() {
-        return new ArrayList<>(promotionCandidates.values());
+        List<PromotionInfo> candidates = new ArrayList<>(promotionCandidates.values());
+        candidates.sort(Comparator.comparingInt(candidate -> Integer.parseInt(candidate.getId())));
+        return candidates;
     }
 
     /**
-     * Load the related repositories, plugins and a promotion config associated to all builds
-     * relevant for this build promotion action.
+     * Load the related repositories, plugins and promotion config of the build selected when the page is opened.
      * Called from the UI.
      *
      * @return JSON string representation of the LoadBuildsResponse class.
      */
     @SuppressWarnings({"UnusedDeclaration"})
-    @SuppressFBWarnings(value = "INFORMATION_EXPOSURE_THROUGH_AN_ERROR_MESSAGE")
     public String getBuildsData() {
+        return getBuildData(getFirstPromotionCandidate().getId());
+    }
+
+    /**
+     * Load the related repositories, plugins and promotion config of a build. The data of the other builds is loaded
+     * only when they are selected in the page.
+     * Called from the UI.
+     *
+     * @param id - The ID of the promotion candidate.
+     * @return JSON string representation of the LoadBuildsResponse class.
+     */
+    @JavaScriptMethod
+    @SuppressFBWarnings(value = "INFORMATION_EXPOSURE_THROUGH_AN_ERROR_MESSAGE")
+    public String getBuildData(String id) {
+        getACL().checkPermission(getPermission());
         try {
-            return createMapper().writeValueAsString(loadBuilds());
+            return createMapper().writeValueAsString(loadBuild(getPromotionCandidate(id)));
         } catch (Exception e) {
             e.printStackTrace();
             return e.getMessage();
@@ -118,28 +140,38 @@ public class UnifiedPromoteBuildAction extends TaskAction implements BuildBadgeA
     }
 
     /**
-     * Load the related repositories, plugins and a promotion config associated to the buildId.
-     * Called from the UI.
+     * Load the related repositories, plugins and a promotion config associated to the promotion candidate.
+     * The repositories and plugins are loaded concurrently.
      *
      * @return LoadBuildsResponse e.g. list of repositories, plugins and a promotion config.
      */
-    @SuppressWarnings({"UnusedDeclaration"})
-    private LoadBuildsResponse loadBuilds() {
+    private LoadBuildsResponse loadBuild(PromotionInfo promotionCandidate) {
         LoadBuildsResponse response = new LoadBuildsResponse();
         // When we load a new build we need also to reset the promotion plugin.
         // The null plugin is related to 'None' plugin.
         setPromotionPlugin(null);
         try {
-            List<String> repositoryKeys = getRepositoryKeys();
-            List<UserPluginInfo> plugins = getPromotionsUserPluginInfo();
+            if (promotionCandidate == null) {
+                throw new IOException("Build not found");
+            }
+            BuildInfoAwareConfigurator configurator = promotionCandidate.getConfigurator();
+            CompletableFuture<List<String>> repositoryKeysFuture = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return getRepositoryKeys(configurator);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, Computer.threadPoolForRemoting);
+            List<UserPluginInfo> plugins = getPromotionsUserPluginInfo(configurator);
+            List<String> repositoryKeys = getResult(repositoryKeysFuture);
             response.addRepositories(repositoryKeys);
             response.setPlugins(plugins);
-            response.setPromotionConfigs(getPromotionConfigs(repositoryKeys));
+            response.setPromotionConfigs(Collections.singletonList(getPromotionConfig(promotionCandidate, repositoryKeys)));
             response.setSuccess(true);
         } catch (Exception e) {
             // Set error message to display in the promotion page.
             // The error message should not contain new lines and double quotes.
-            String message = e.getMessage()
+            String message = StringUtils.defaultString(e.getMessage())
                     .replace("\n", " ")
                     .replace("\"", "");
             response.setResponseMessage(message);
@@ -147,6 +179,18 @@ public class UnifiedPromoteBuildAction extends TaskAction implements BuildBadgeA
         return response;
     }
 
+    private static <T> T getResult(CompletableFuture<T> future) throws IOException {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() instanceof UncheckedIOException ? e.getCause().getCause() : e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw e;
+        }
+    }
+
     @Override
     protected Permission getPermission() {
         return ArtifactoryPlugin.PROMOTE;
@@ -237,7 +281,10 @@ public class UnifiedPromoteBuildAction extends TaskAction implements BuildBadgeA
      * @return List of target repositories for deployment (release repositories first). Called from the UI.
      */
     public List<String> getRepositoryKeys() throws IOException {
-        final BuildInfoAwareConfigurator configurator = getFirstConfigurator();
+        return getRepositoryKeys(getFirstConfigurator());
+    }
+
+    private List<String> getRepositoryKeys(BuildInfoAwareConfigurator configurator) throws IOException {
         if (configurator == null) {
             return new ArrayList<>();
         }
@@ -253,21 +300,23 @@ public class UnifiedPromoteBuildAction extends TaskAction implements BuildBadgeA
     }
 
     public List<PromotionConfig> getPromotionConfigs(List<String> repoKeys) {
-        String defaultTargetRepo = getDefaultPromotionTargetRepository();
-        boolean setTargetRepo = StringUtils.isNotBlank(defaultTargetRepo) && repoKeys.contains(defaultTargetRepo);
-
         List<PromotionConfig> configs = new ArrayList<>();
         for (PromotionInfo info : getPromotionCandidates()) {
-            PromotionConfig config = info.getPromotionConfig();
-            config.setId(info.getId());
-            if (setTargetRepo) {
-                config.setTargetRepo(defaultTargetRepo);
-            }
-            configs.add(config);
+            configs.add(getPromotionConfig(info, repoKeys));
         }
         return configs;
     }
 
+    private PromotionConfig getPromotionConfig(PromotionInfo info, List<String> repoKeys) {
+        String defaultTargetRepo = getDefaultPromotionTargetRepository(info.getConfigurator());
+        PromotionConfig config = info.getPromotionConfig();
+        config.setId(info.getId());
+        if (StringUtils.isNotBlank(defaultTargetRepo) && repoKeys.contains(defaultTargetRepo)) {
+            config.setTargetRepo(defaultTargetRepo);
+        }
+        return config;
+    }
+
     @SuppressWarnings({"UnusedDeclaration"})
     public int getPromoteInfoListSize() {
         return promotionCandidates.size();
@@ -347,8 +396,7 @@ public class UnifiedPromoteBuildAction extends TaskAction implements BuildBadgeA
         }
     }
 
-    private List<UserPluginInfo> getPromotionsUserPluginInfo() {
-        final BuildInfoAwareConfigurator configurator = getFirstConfigurator();
+    private List<UserPluginInfo> getPromotionsUserPluginInfo(BuildInfoAwareConfigurator configurator) {
         if (configurator == null) {
             List<UserPluginInfo> infosToReturn = new ArrayList<>();
             infosToReturn.add(UserPluginInfo.NO_PLUGIN);
@@ -0,0 +1,189 @@
+package org.jfrog.hudson.trigger;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import hudson.Extension;
+import hudson.model.UnprotectedRootAction;
+import hudson.security.csrf.CrumbExclusion;
+import hudson.util.Secret;
+import jenkins.model.Jenkins;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.jfrog.hudson.ArtifactoryBuilder;
+import org.kohsuke.stapler.StaplerRequest;
+import org.kohsuke.stapler.StaplerResponse;
+import org.kohsuke.stapler.interceptor.RequirePOST;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Set;
+import java.util.logging.Logger;
+
+import static org.jfrog.hudson.util.SerializationUtils.createMapper;
+
+/**
+ * Receives Artifactory webhook events and triggers the jobs with an Artifactory trigger watching the deployed,
+ * copied or moved items, without waiting for the triggers to poll.
+ * The webhook is enabled by setting the webhook secret in the global configuration of the plugin. The Artifactory
+ * webhook should be configured with the same secret and with the URL JENKINS_URL/artifactory-webhook/,
+ * optionally followed by ?serverId=SERVER_ID to trigger only the jobs configured with this server ID.
+ * When the webhook is used, the trigger schedule may be left empty, or used as a fallback for missed events.
+ */
+@Extension
+public class ArtifactoryWebhook implements UnprotectedRootAction {
+    static final String URL_NAME = "artifactory-webhook";
+    static final String SECRET_HEADER = "X-JFrog-Event-Auth";
+    private static final Logger logger = Logger.getLogger(ArtifactoryWebhook.class.getName());
+    private static final WatchedPathsIndex index = new WatchedPathsIndex();
+
+    static void register(BaseTrigger<?> trigger, List<String> paths) {
+        index.register(trigger, paths);
+    }
+
+    static void unregister(BaseTrigger<?> trigger) {
+        index.unregister(trigger);
+    }
+
+    @Override
+    public String getIconFileName() {
+        return null;
+    }
+
+    @Override
+    public String getDisplayName() {
+        return null;
+    }
+
+    @Override
+    public String getUrlName() {
+        return URL_NAME;
+    }
+
+    @RequirePOST
+    public void doIndex(StaplerRequest req, StaplerResponse rsp) throws IOException {
+        String secret = getSecret();
+        if (StringUtils.isBlank(secret)) {
+            rsp.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        String requestSecret = StringUtils.defaultString(req.getHeader(SECRET_HEADER));
+        if (!MessageDigest.isEqual(secret.getBytes(StandardCharsets.UTF_8), requestSecret.getBytes(StandardCharsets.UTF_8))) {
+            rsp.sendError(HttpServletResponse.SC_UNAUTHORIZED);
+            return;
+        }
+        JsonNode event;
+        try {
+            event = createMapper().readTree(req.getInputStream());
+        } catch (IOException e) {
+            rsp.sendError(HttpServletResponse.SC_BAD_REQUEST, "Could not parse the event: " + ExceptionUtils.getRootCauseMessage(e));
+            return;
+        }
+        String itemPath = getItemPath(event);
+        int triggered = 0;
+        if (itemPath != null) {
+            triggered = trigger(itemPath, getEventTime(event), req.getParameter("serverId"));
+        }
+        rsp.setContentType("text/plain;charset=UTF-8");
+        rsp.getWriter().print("Triggered " + triggered + " Artifactory triggers");
+    }
+
+    private static String getSecret() {
+        ArtifactoryBuilder.DescriptorImpl descriptor = (ArtifactoryBuilder.DescriptorImpl) Jenkins.get().getDescriptor(ArtifactoryBuilder.class);
+        Secret secret = descriptor == null ? null : descriptor.getWebhookSecret();
+        return secret == null ? null : secret.getPlainText();
+    }
+
+    /**
+     * @return the time of the event in milliseconds, or the current time if the event has no valid timestamp.
+     */
+    static long getEventTime(JsonNode event) {
+        JsonNode timestamp = event.path("timestamp");
+        if (timestamp.isNumber()) {
+            return timestamp.asLong();
+        }
+        if (timestamp.isTextual()) {
+            try {
+                return OffsetDateTime.parse(timestamp.asText()).toInstant().toEpochMilli();
+            } catch (DateTimeParseException e) {
+                logger.fine("Could not parse the Artifactory webhook event timestamp: " + timestamp.asText());
+            }
+        }
+        return System.currentTimeMillis();
+    }
+
+    /**
+     * @return the path of the deployed, copied or moved item, starting with the repository key, or null for other events.
+     */
+    static String getItemPath(JsonNode event) {
+        if (event == null || !"artifact".equals(event.path("domain").asText())) {
+            return null;
+        }
+        JsonNode data = event.path("data");
+        switch (event.path("event_type").asText()) {
+            case "deployed":
+                return getPath(data.path("repo_key").asText(), data.path("path").asText());
+            case "copied":
+            case "moved":
+                return getPath(data.path("target_repo_key").asText(), data.path("target_path").asText());
+            default:
+                return null;
+        }
+    }
+
+    private static String getPath(String repoKey, String path) {
+        if (StringUtils.isBlank(repoKey)) {
+            return null;
+        }
+        return StringUtils.isBlank(path) ? repoKey : repoKey + "/" + StringUtils.strip(path, "/");
+    }
+
+    /**
+     * Trigger the jobs watching the item.
+     *
+     * @param itemPath  - The item path, starting with the repository key.
+     * @param eventTime - The time of the event in milliseconds.
+     * @param serverId  - If not blank, trigger only the triggers configured with this server ID.
+     * @return the number of triggers which triggered their jobs.
+     */
+    static int trigger(String itemPath, long eventTime, String serverId) {
+        Set<BaseTrigger<?>> triggers = index.getTriggers(itemPath);
+        int triggered = 0;
+        for (BaseTrigger<?> trigger : triggers) {
+            if (StringUtils.isNotBlank(serverId) && !StringUtils.equals(serverId, trigger.getSelectedServerId())) {
+                continue;
+            }
+            try {
+                if (trigger.onItemDeployed(itemPath, eventTime)) {
+                    triggered++;
+                }
+            } catch (RuntimeException e) {
+                logger.severe("Artifactory Trigger encountered an unexpected error:" + ExceptionUtils.getRootCauseMessage(e));
+            }
+        }
+        logger.fine("Artifactory webhook event on " + itemPath + " triggered " + triggered + " of " + triggers.size() + " triggers");
+        return triggered;
+    }
+
+    /**
+     * Allow Artifactory to post events without a crumb. The requests are authenticated by the webhook secret.
+     */
+    @Extension
+    public static class CrumbExclusionImpl extends CrumbExclusion {
+        @Override
+        public boolean process(HttpServletRequest req, HttpServletResponse resp, FilterChain chain) throws IOException, ServletException {
+            String pathInfo = req.getPathInfo();
+            if (pathInfo != null && (pathInfo.equals("/" + URL_NAME) || pathInfo.startsWith("/" + URL_NAME + "/"))) {
+                chain.doFilter(req, resp);
+                return true;
+            }
+            return false;
+        }
+    }
+}
@@ -6,15 +6,12 @@ import hudson.model.BuildableItem;
 import hudson.triggers.Trigger;
 import hudson.triggers.TriggerDescriptor;
 import org.apache.commons.lang3.StringUtils;
-import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.jenkinsci.plugins.workflow.job.WorkflowJob;
 import org.jfrog.build.client.ItemLastModified;
-import org.jfrog.build.extractor.clientConfiguration.client.artifactory.ArtifactoryManager;
 import org.jfrog.hudson.ArtifactoryServer;
 import org.jfrog.hudson.JFrogPlatformInstance;
 import org.jfrog.hudson.ServerDetails;
 import org.jfrog.hudson.util.JenkinsBuildInfoLog;
-import org.jfrog.hudson.util.ProxyUtils;
 import org.jfrog.hudson.util.RepositoriesUtils;
 
 import javax.annotation.Nonnull;
@@ -22,6 +19,7 @@ import java.io.IOException;
 import java.text.ParseException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 import java.util.logging.Logger;
 
 /**
@@ -29,7 +27,10 @@ import java.util.logging.Logger;
  **/
 public abstract class BaseTrigger<JobType extends BuildableItem> extends Trigger<JobType> {
     static final Logger logger = Logger.getLogger(JenkinsBuildInfoLog.class.getName());
-    private long lastModified = System.currentTimeMillis();
+    @SuppressWarnings("rawtypes")
+    private static final AtomicLongFieldUpdater<BaseTrigger> LAST_MODIFIED = AtomicLongFieldUpdater.newUpdater(BaseTrigger.class, "lastModified");
+    // Updated by the polling coordinator and by the webhook threads
+    private volatile long lastModified = System.currentTimeMillis();
     ServerDetails details;
     String branches;
     String paths;
@@ -57,34 +58,113 @@ public abstract class BaseTrigger<JobType extends BuildableItem> extends Trigger
         return this.paths;
     }
 
+    /**
+     * Request a poll of the watched paths. The paths are polled in a batch with the paths of the other triggers by
+     * the {@link TriggerPollingCoordinator}.
+     */
     @SuppressFBWarnings(value = "NP_NULL_ON_SOME_PATH", justification = "job will be set by jenkins")
     public void run() {
         if (job == null) {
             return;
         }
         ArtifactoryServer server = getArtifactoryServer();
-        try (ArtifactoryManager artifactoryManager = server.createArtifactoryManager(server.getDeployerCredentialsConfig().provideCredentials(job), ProxyUtils.createProxyConfiguration())) {
-            String[] paths = this.paths.split(";");
-            for (String path : paths) {
-                ItemLastModified itemLastModified = artifactoryManager.getItemLastModified(StringUtils.trimToEmpty(path));
-                long responseLastModified = itemLastModified.getLastModified();
-                if (responseLastModified > lastModified) {
-                    this.lastModified = responseLastModified;
-                    for (BuildableItem jobToTrigger : getJobsToTrigger()) {
-                        logger.fine("Updating " + jobToTrigger.getName());
-                        jobToTrigger.save();
-                        jobToTrigger.scheduleBuild(new ArtifactoryCause(itemLastModified.getUri()));
-                    }
-                } else {
-                    logger.fine(String.format("Artifactory Trigger did not trigger job %s, since last modified time: %d is earlier or equal than %d for path %s", job.getName(), responseLastModified, lastModified, path));
-                }
+        List<String> paths = getWatchedPaths();
+        if (paths.isEmpty()) {
+            return;
+        }
+        TriggerPollingCoordinator.get().poll(this, server, server.getDeployerCredentialsConfig().provideCredentials(job), paths);
+    }
+
+    /**
+     * @return the watched paths, starting with the repository key.
+     */
+    List<String> getWatchedPaths() {
+        List<String> paths = new ArrayList<>();
+        for (String path : this.paths.split(";")) {
+            path = StringUtils.strip(StringUtils.trimToEmpty(path), "/");
+            if (!path.isEmpty()) {
+                paths.add(path);
+            }
+        }
+        return paths;
+    }
+
+    long getLastModified() {
+        return lastModified;
+    }
+
+    /**
+     * Trigger the jobs if the path was modified after the last modified time of this trigger.
+     * Called by the {@link TriggerPollingCoordinator} for the paths which have modified items.
+     *
+     * @param path             - The watched path.
+     * @param itemLastModified - The last modified item under the path.
+     */
+    void onItemLastModified(String path, ItemLastModified itemLastModified) throws IOException, ParseException {
+        long responseLastModified = itemLastModified.getLastModified();
+        if (advanceLastModified(responseLastModified)) {
+            for (BuildableItem jobToTrigger : getJobsToTrigger()) {
+                logger.fine("Updating " + jobToTrigger.getName());
+                jobToTrigger.save();
+                jobToTrigger.scheduleBuild(new ArtifactoryCause(itemLastModified.getUri()));
             }
-        } catch (IOException | ParseException e) {
-            logger.severe("Artifactory Trigger encountered an unexpected error:" + ExceptionUtils.getRootCauseMessage(e));
+        } else {
+            logger.fine(String.format("Artifactory Trigger did not trigger job %s, since last modified time: %d is earlier or equal than %d for path %s", job.getName(), responseLastModified, lastModified, path));
         }
     }
 
+    /**
+     * Trigger the jobs following an Artifactory webhook event on a watched item, if the event is later than the last
+     * modified time of this trigger.
+     *
+     * @param itemPath  - The deployed item path, starting with the repository key.
+     * @param eventTime - The time of the event in milliseconds.
+     * @return true if the jobs were triggered.
+     */
+    boolean onItemDeployed(String itemPath, long eventTime) {
+        // Avoid triggering again when the item is polled, and when the item was already polled
+        if (!advanceLastModified(eventTime)) {
+            logger.fine(String.format("Artifactory Trigger did not trigger job %s, since the event time: %d is earlier or equal than %d for path %s", job.getName(), eventTime, lastModified, itemPath));
+            return false;
+        }
+        for (BuildableItem jobToTrigger : getJobsToTrigger()) {
+            logger.fine("Triggering " + jobToTrigger.getName());
+            try {
+                jobToTrigger.save();
+            } catch (IOException e) {
+                logger.warning("Could not save the Artifactory trigger state of " + jobToTrigger.getName() + ": " + e.getMessage());
+            }
+            jobToTrigger.scheduleBuild(new ArtifactoryCause(itemPath));
+        }
+        return true;
+    }
+
+    /**
+     * Set the last modified time of this trigger, if it is later than the current one.
+     *
+     * @param newLastModified - The new last modified time.
+     * @return true if the last modified time was updated.
+     */
+    boolean advanceLastModified(long newLastModified) {
+        while (true) {
+            long current = lastModified;
+            if (newLastModified <= current) {
+                return false;
+            }
+            if (LAST_MODIFIED.compareAndSet(this, current, newLastModified)) {
+                return true;
+            }
+        }
+    }
+
+    @Override
+    public void start(JobType project, boolean newInstance) {
+        super.start(project, newInstance);
+        ArtifactoryWebhook.register(this, getWatchedPaths());
+    }
+
     public void stop() {
+        ArtifactoryWebhook.unregister(this);
         if (job == null) {
             return;
         }
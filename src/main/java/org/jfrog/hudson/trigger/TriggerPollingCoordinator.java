@@ -0,0 +1,270 @@
+package org.jfrog.hudson.trigger;
+
+import hudson.util.DaemonThreadFactory;
+import hudson.util.NamingThreadFactory;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.jfrog.build.client.ItemLastModified;
+import org.jfrog.build.extractor.clientConfiguration.client.artifactory.ArtifactoryManager;
+import org.jfrog.build.extractor.search.AqlSearchResult;
+import org.jfrog.hudson.ArtifactoryServer;
+import org.jfrog.hudson.util.AqlUtils;
+import org.jfrog.hudson.util.ArtifactoryManagerPool;
+import org.jfrog.hudson.util.Credentials;
+import org.jfrog.hudson.util.ProxyUtils;
+
+import java.io.IOException;
+import java.text.ParseException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+/**
+ * Polls Artifactory on behalf of all the Artifactory triggers.
+ * The polls requested by the triggers within a short window are batched. The watched paths are deduplicated per
+ * server and credentials, and a single AQL query per server finds the paths which have items changed since the oldest
+ * last modified time of the triggers watching each path. Only those paths are then checked, once each, and the
+ * result is passed to all the triggers watching them. The servers are polled in parallel, so that a slow server
+ * doesn't delay the others.
+ */
+public class TriggerPollingCoordinator {
+    private static final Logger logger = Logger.getLogger(TriggerPollingCoordinator.class.getName());
+    private static final long BATCH_WINDOW_MILLIS = Long.getLong(TriggerPollingCoordinator.class.getName() + ".batchWindowMillis", 5000);
+    private static final int POLL_THREADS = Integer.getInteger(TriggerPollingCoordinator.class.getName() + ".threads", 4);
+    private static final int MAX_PATHS_PER_QUERY = 200;
+    private static final TriggerPollingCoordinator INSTANCE = new TriggerPollingCoordinator();
+
+    private final BlockingQueue<PollRequest> queue = new LinkedBlockingQueue<>();
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(
+            new NamingThreadFactory(new DaemonThreadFactory(), "Artifactory trigger batching"));
+    private final ExecutorService pollExecutor = Executors.newFixedThreadPool(Math.max(1, POLL_THREADS),
+            new NamingThreadFactory(new DaemonThreadFactory(), "Artifactory trigger polling"));
+    private final AtomicLong polls = new AtomicLong();
+    private final AtomicLong queries = new AtomicLong();
+    private final AtomicLong lastLatencyMillis = new AtomicLong();
+    private final AtomicLong maxLatencyMillis = new AtomicLong();
+
+    public static TriggerPollingCoordinator get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Request a poll of the paths of a trigger. The trigger is notified of the modified paths later, on the polling
+     * thread.
+     *
+     * @param trigger     - The trigger.
+     * @param server      - The Artifactory server of the trigger.
+     * @param credentials - The credentials of the trigger's job.
+     * @param paths       - The paths watched by the trigger.
+     */
+    void poll(BaseTrigger<?> trigger, ArtifactoryServer server, Credentials credentials, List<String> paths) {
+        queue.add(new PollRequest(trigger, server, credentials, paths));
+        if (drainScheduled.compareAndSet(false, true)) {
+            executor.schedule(this::drain, BATCH_WINDOW_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void drain() {
+        drainScheduled.set(false);
+        List<PollRequest> requests = new ArrayList<>();
+        queue.drainTo(requests);
+        if (requests.isEmpty()) {
+            return;
+        }
+        Map<String, List<PollRequest>> requestsByServer = new LinkedHashMap<>();
+        for (PollRequest request : requests) {
+            requestsByServer.computeIfAbsent(request.getServerKey(), key -> new ArrayList<>()).add(request);
+        }
+        for (List<PollRequest> serverRequests : requestsByServer.values()) {
+            pollExecutor.execute(() -> {
+                try {
+                    pollServer(serverRequests);
+                } catch (IOException | ParseException | RuntimeException e) {
+                    logger.severe("Artifactory Trigger encountered an unexpected error:" + ExceptionUtils.getRootCauseMessage(e));
+                }
+                long now = System.currentTimeMillis();
+                for (PollRequest request : serverRequests) {
+                    long latency = now - request.requestedAt;
+                    lastLatencyMillis.set(latency);
+                    maxLatencyMillis.accumulateAndGet(latency, Math::max);
+                }
+                polls.addAndGet(serverRequests.size());
+                logger.fine(String.format("Artifactory triggers polled %d jobs on %s. Backlog: %d, latency: %d ms",
+                        serverRequests.size(), serverRequests.get(0).server.getArtifactoryUrl(), getBacklog(), lastLatencyMillis.get()));
+            });
+        }
+    }
+
+    private void pollServer(List<PollRequest> requests) throws IOException, ParseException {
+        PollRequest first = requests.get(0);
+        Map<String, Long> sinceByPath = new LinkedHashMap<>();
+        for (PollRequest request : requests) {
+            addPaths(sinceByPath, request.paths, request.trigger.getLastModified());
+        }
+        try (ArtifactoryManager artifactoryManager = first.server.createArtifactoryManager(first.credentials, ProxyUtils.createProxyConfiguration())) {
+            Set<String> modifiedPaths = new LinkedHashSet<>();
+            List<String> pathsList = new ArrayList<>(sinceByPath.keySet());
+            for (int i = 0; i < pathsList.size(); i += MAX_PATHS_PER_QUERY) {
+                List<String> chunk = pathsList.subList(i, Math.min(pathsList.size(), i + MAX_PATHS_PER_QUERY));
+                AqlSearchResult result = artifactoryManager.searchArtifactsByAql(createAql(chunk, sinceByPath));
+                queries.incrementAndGet();
+                if (result != null && result.getResults() != null) {
+                    for (AqlSearchResult.SearchEntry entry : result.getResults()) {
+                        chunk.stream().filter(path -> contains(path, entry)).forEach(modifiedPaths::add);
+                    }
+                }
+            }
+            Map<String, ItemLastModified> lastModifiedByPath = new HashMap<>();
+            for (String path : modifiedPaths) {
+                lastModifiedByPath.put(path, artifactoryManager.getItemLastModified(path));
+            }
+            for (PollRequest request : requests) {
+                for (String path : request.paths) {
+                    ItemLastModified itemLastModified = lastModifiedByPath.get(path);
+                    if (itemLastModified == null) {
+                        continue;
+                    }
+                    try {
+                        request.trigger.onItemLastModified(path, itemLastModified);
+                    } catch (IOException | ParseException e) {
+                        logger.severe("Artifactory Trigger encountered an unexpected error:" + ExceptionUtils.getRootCauseMessage(e));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Add the paths watched by a trigger. A path watched by several triggers is checked since the oldest last modified
+     * time of these triggers, so that a trigger which wasn't triggered for long doesn't widen the queries of the others.
+     *
+     * @param sinceByPath  - Map of the paths to the time from which they are checked.
+     * @param paths        - The paths watched by the trigger.
+     * @param lastModified - The last modified time of the trigger.
+     */
+    static void addPaths(Map<String, Long> sinceByPath, List<String> paths, long lastModified) {
+        for (String path : paths) {
+            sinceByPath.merge(path, lastModified, Math::min);
+        }
+    }
+
+    /**
+     * Create an AQL query of the items changed after the given time under any of the paths.
+     * A path is a repository key, optionally followed by a folder or a file path.
+     * The last modified time returned by the storage API isn't necessarily the AQL "modified" field of the item, so
+     * an item matches if any of its created, modified or updated times is after the given time. The triggers compare
+     * the last modified time of the matching paths themselves, so an extra match doesn't trigger a job.
+     *
+     * @param paths       - The paths.
+     * @param sinceByPath - Map of the paths to the time from which they are checked.
+     */
+    static String createAql(List<String> paths, Map<String, Long> sinceByPath) {
+        StringBuilder pathsQuery = new StringBuilder();
+        for (String path : paths) {
+            String repo = StringUtils.substringBefore(path, "/");
+            String relativePath = AqlUtils.escape(StringUtils.substringAfter(path, "/"));
+            String since = Instant.ofEpochMilli(sinceByPath.get(path)).toString();
+            if (pathsQuery.length() > 0) {
+                pathsQuery.append(',');
+            }
+            pathsQuery.append("{\"repo\":\"").append(AqlUtils.escape(repo)).append('"')
+                    .append(",\"$and\":[{\"$or\":[{\"created\":{\"$gt\":\"").append(since).append("\"}},")
+                    .append("{\"modified\":{\"$gt\":\"").append(since).append("\"}},")
+                    .append("{\"updated\":{\"$gt\":\"").append(since).append("\"}}]}");
+            if (!relativePath.isEmpty()) {
+                String parent = relativePath.contains("/") ? StringUtils.substringBeforeLast(relativePath, "/") : ".";
+                String name = StringUtils.substringAfterLast("/" + relativePath, "/");
+                pathsQuery.append(",{\"$or\":[{\"path\":\"").append(relativePath).append("\"},")
+                        .append("{\"path\":{\"$match\":\"").append(relativePath).append("/*\"}},")
+                        .append("{\"path\":\"").append(parent).append("\",\"name\":\"").append(name).append("\"}]}");
+            }
+            pathsQuery.append("]}");
+        }
+        return "items.find({\"$or\":[" + pathsQuery + "]}).include(\"repo\",\"path\",\"name\")";
+    }
+
+    /**
+     * @return true if the item of the search entry is under the path, or is the path.
+     */
+    static boolean contains(String path, AqlSearchResult.SearchEntry entry) {
+        String itemPath = entry.getRepo() + "/" + (".".equals(entry.getPath()) ? "" : entry.getPath() + "/") + entry.getName();
+        return itemPath.equals(path) || itemPath.startsWith(path + "/");
+    }
+
+    /**
+     * @return the number of polls waiting for the next batch.
+     */
+    public int getBacklog() {
+        return queue.size();
+    }
+
+    /**
+     * @return the number of polls done.
+     */
+    public long getPolls() {
+        return polls.get();
+    }
+
+    /**
+     * @return the number of AQL queries sent.
+     */
+    public long getQueries() {
+        return queries.get();
+    }
+
+    /**
+     * @return the time from the last poll request until it was done.
+     */
+    public long getLastLatencyMillis() {
+        return lastLatencyMillis.get();
+    }
+
+    public long getMaxLatencyMillis() {
+        return maxLatencyMillis.get();
+    }
+
+    private static class PollRequest {
+        private final BaseTrigger<?> trigger;
+        private final ArtifactoryServer server;
+        private final Credentials credentials;
+        private final List<String> paths;
+        private final long requestedAt = System.currentTimeMillis();
+
+        PollRequest(BaseTrigger<?> trigger, ArtifactoryServer server, Credentials credentials, List<String> paths) {
+            this.trigger = trigger;
+            this.server = server;
+            this.credentials = credentials;
+            this.paths = paths;
+        }
+
+        /**
+         * Requests with the same key are polled together.
+         */
+        String getServerKey() {
+            return TriggerPollingCoordinator.getServerKey(server, credentials);
+        }
+    }
+
+    /**
+     * @return the key of the server and credentials, hashed as the keys of the Artifactory managers pool.
+     */
+    static String getServerKey(ArtifactoryServer server, Credentials credentials) {
+        return ArtifactoryManagerPool.getKey(server.getArtifactoryUrl() + "\n" + server.isBypassProxy(), credentials, null,
+                server.getTimeout(), server.getConnectionRetry());
+    }
+}
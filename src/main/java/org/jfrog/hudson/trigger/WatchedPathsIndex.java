@@ -0,0 +1,71 @@
+package org.jfrog.hudson.trigger;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Index of the started Artifactory triggers by their watched paths.
+ * A path is matched by the triggers watching it or any of its parent folders, so finding the triggers of a path takes
+ * one lookup per path segment, regardless of the number of triggers.
+ */
+class WatchedPathsIndex {
+    private final Map<String, Set<BaseTrigger<?>>> triggersByPath = new ConcurrentHashMap<>();
+    private final Map<BaseTrigger<?>, List<String>> pathsByTrigger = new ConcurrentHashMap<>();
+
+    synchronized void register(BaseTrigger<?> trigger, List<String> paths) {
+        unregister(trigger);
+        pathsByTrigger.put(trigger, paths);
+        for (String path : paths) {
+            triggersByPath.computeIfAbsent(path, key -> ConcurrentHashMap.newKeySet()).add(trigger);
+        }
+    }
+
+    synchronized void unregister(BaseTrigger<?> trigger) {
+        List<String> paths = pathsByTrigger.remove(trigger);
+        if (paths == null) {
+            return;
+        }
+        for (String path : paths) {
+            Set<BaseTrigger<?>> triggers = triggersByPath.get(path);
+            if (triggers != null) {
+                triggers.remove(trigger);
+                if (triggers.isEmpty()) {
+                    triggersByPath.remove(path);
+                }
+            }
+        }
+    }
+
+    /**
+     * @param itemPath - An item path, starting with the repository key.
+     * @return the triggers watching the item or any of its parent folders.
+     */
+    Set<BaseTrigger<?>> getTriggers(String itemPath) {
+        String path = StringUtils.strip(itemPath, "/");
+        if (StringUtils.isEmpty(path)) {
+            return Collections.emptySet();
+        }
+        Set<BaseTrigger<?>> triggers = new LinkedHashSet<>();
+        int end = path.indexOf('/');
+        while (true) {
+            Set<BaseTrigger<?>> pathTriggers = triggersByPath.get(end < 0 ? path : path.substring(0, end));
+            if (pathTriggers != null) {
+                triggers.addAll(pathTriggers);
+            }
+            if (end < 0) {
+                return triggers;
+            }
+            end = path.indexOf('/', end + 1);
+        }
+    }
+
+    int size() {
+        return pathsByTrigger.size();
+    }
+}
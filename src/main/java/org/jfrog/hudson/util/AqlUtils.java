@@ -0,0 +1,62 @@
+package org.jfrog.hudson.util;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Helpers for building AQL queries.
+ */
+public class AqlUtils {
+
+    private AqlUtils() {
+    }
+
+    /**
+     * Escape a value to be placed in a JSON string of an AQL query.
+     *
+     * @param value - The value.
+     * @return the escaped value, without the surrounding quotes.
+     */
+    public static String escape(String value) {
+        StringBuilder escaped = new StringBuilder(value.length());
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '"':
+                    escaped.append("\\\"");
+                    break;
+                case '\\':
+                    escaped.append("\\\\");
+                    break;
+                case '\n':
+                    escaped.append("\\n");
+                    break;
+                case '\r':
+                    escaped.append("\\r");
+                    break;
+                case '\t':
+                    escaped.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        escaped.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        escaped.append(c);
+                    }
+            }
+        }
+        return escaped.toString();
+    }
+
+    /**
+     * Create the AQL criteria of a single item.
+     *
+     * @param itemPath - The item path, starting with the repository key. For example "libs-release/org/a.jar".
+     * @return the criteria, for example {"repo":"libs-release","path":"org","name":"a.jar"}.
+     */
+    public static String createItemCriteria(String itemPath) {
+        String repo = StringUtils.substringBefore(itemPath, "/");
+        String relativePath = StringUtils.substringAfter(itemPath, "/");
+        String path = relativePath.contains("/") ? StringUtils.substringBeforeLast(relativePath, "/") : ".";
+        String name = StringUtils.substringAfterLast("/" + relativePath, "/");
+        return "{\"repo\":\"" + escape(repo) + "\",\"path\":\"" + escape(path) + "\",\"name\":\"" + escape(name) + "\"}";
+    }
+}
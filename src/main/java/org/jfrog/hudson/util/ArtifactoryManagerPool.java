@@ -0,0 +1,272 @@
+package org.jfrog.hudson.util;
+
+import org.apache.commons.lang3.StringUtils;
+import org.jfrog.build.api.util.Log;
+import org.jfrog.build.api.util.NullLog;
+import org.jfrog.build.client.ProxyConfiguration;
+import org.jfrog.build.extractor.clientConfiguration.client.artifactory.ArtifactoryManager;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Controller-side pool of ArtifactoryManagers, keyed by the server URL, credentials, proxy and connection settings.
+ * Closing a pooled manager returns it to the pool, so that its HTTP client and keep-alive connections are reused by
+ * the next operation on the same server, instead of opening new connections and doing a new TLS handshake.
+ * A manager is leased to one caller at a time, since its log is replaced by the log of the caller. Callers which work
+ * from several threads lease a manager per thread.
+ * The number of idle managers is bounded, and managers that were idle for too long are closed.
+ */
+public class ArtifactoryManagerPool {
+    private static final Logger logger = Logger.getLogger(ArtifactoryManagerPool.class.getName());
+    private static final int DEFAULT_MAX_IDLE = 20;
+    private static final long DEFAULT_IDLE_SECONDS = 300;
+    private static final ArtifactoryManagerPool INSTANCE = new ArtifactoryManagerPool(
+            Integer.getInteger(ArtifactoryManagerPool.class.getName() + ".maxIdle", DEFAULT_MAX_IDLE),
+            TimeUnit.SECONDS.toMillis(Long.getLong(ArtifactoryManagerPool.class.getName() + ".idleSeconds", DEFAULT_IDLE_SECONDS)));
+
+    private final int maxIdle;
+    private final long idleMillis;
+    // Idle managers by key. The most recently released manager is first.
+    private final Map<String, Deque<PooledArtifactoryManager>> idleManagers = new HashMap<>();
+    private int idleCount;
+    private long created;
+    private long reused;
+    private long evicted;
+    private int leased;
+
+    ArtifactoryManagerPool(int maxIdle, long idleMillis) {
+        this.maxIdle = maxIdle;
+        this.idleMillis = idleMillis;
+    }
+
+    public static ArtifactoryManagerPool get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Lease a manager. The manager must be closed by the caller to return it to the pool.
+     *
+     * @param url                - Artifactory URL.
+     * @param credentials        - Artifactory credentials.
+     * @param proxyConfiguration - Proxy configuration, or null if the proxy should not be used.
+     * @param connectionTimeout  - Connection timeout in seconds.
+     * @param connectionRetry    - Max number of connection retries.
+     * @param log                - The log of the caller.
+     * @return a manager for the server.
+     */
+    public ArtifactoryManager acquire(String url, Credentials credentials, ProxyConfiguration proxyConfiguration,
+                                      int connectionTimeout, int connectionRetry, Log log) {
+        String key = getKey(url, credentials, proxyConfiguration, connectionTimeout, connectionRetry);
+        PooledArtifactoryManager artifactoryManager = null;
+        synchronized (this) {
+            evictIdle(System.currentTimeMillis());
+            Deque<PooledArtifactoryManager> managers = idleManagers.get(key);
+            if (managers != null) {
+                artifactoryManager = managers.pollFirst();
+                if (managers.isEmpty()) {
+                    idleManagers.remove(key);
+                }
+            }
+            if (artifactoryManager != null) {
+                artifactoryManager.released = false;
+                idleCount--;
+                reused++;
+            } else {
+                created++;
+            }
+            leased++;
+        }
+        if (artifactoryManager == null) {
+            artifactoryManager = new PooledArtifactoryManager(this, key, url, credentials, log);
+            artifactoryManager.setConnectionTimeout(connectionTimeout);
+            RepositoriesUtils.setRetryParams(connectionRetry, artifactoryManager);
+            if (proxyConfiguration != null) {
+                artifactoryManager.setProxyConfiguration(proxyConfiguration);
+            }
+        } else {
+            artifactoryManager.setLog(log);
+        }
+        return artifactoryManager;
+    }
+
+    private void release(PooledArtifactoryManager artifactoryManager) {
+        artifactoryManager.setLog(new NullLog());
+        synchronized (this) {
+            leased--;
+            if (maxIdle > 0) {
+                artifactoryManager.releasedAt = System.currentTimeMillis();
+                idleManagers.computeIfAbsent(artifactoryManager.key, key -> new ArrayDeque<>()).addFirst(artifactoryManager);
+                idleCount++;
+                evictIdle(artifactoryManager.releasedAt);
+                return;
+            }
+        }
+        artifactoryManager.closeConnections();
+    }
+
+    /**
+     * Close the managers that were idle for too long, and the least recently released managers above the max idle.
+     * Must be called while holding the pool lock.
+     */
+    private void evictIdle(long now) {
+        while (idleCount > 0) {
+            PooledArtifactoryManager eldest = null;
+            for (Deque<PooledArtifactoryManager> managers : idleManagers.values()) {
+                PooledArtifactoryManager candidate = managers.peekLast();
+                if (eldest == null || candidate.releasedAt < eldest.releasedAt) {
+                    eldest = candidate;
+                }
+            }
+            if (eldest == null || (idleCount <= maxIdle && now - eldest.releasedAt < idleMillis)) {
+                return;
+            }
+            Deque<PooledArtifactoryManager> managers = idleManagers.get(eldest.key);
+            managers.pollLast();
+            if (managers.isEmpty()) {
+                idleManagers.remove(eldest.key);
+            }
+            idleCount--;
+            evicted++;
+            logger.fine("Closing idle Artifactory manager of " + eldest.url);
+            eldest.closeConnections();
+        }
+    }
+
+    /**
+     * Close all the idle managers.
+     */
+    public synchronized void clear() {
+        for (Iterator<Deque<PooledArtifactoryManager>> iterator = idleManagers.values().iterator(); iterator.hasNext(); ) {
+            for (PooledArtifactoryManager artifactoryManager : iterator.next()) {
+                artifactoryManager.closeConnections();
+                evicted++;
+            }
+            iterator.remove();
+        }
+        idleCount = 0;
+    }
+
+    /**
+     * @return the counters of the pool, shown on the Artifactory diagnostics page.
+     */
+    public synchronized Stats getStats() {
+        return new Stats(created, reused, evicted, idleCount, leased);
+    }
+
+    public static String getKey(String url, Credentials credentials, ProxyConfiguration proxyConfiguration,
+                                   int connectionTimeout, int connectionRetry) {
+        StringBuilder key = new StringBuilder(StringUtils.defaultString(url))
+                .append('\n').append(StringUtils.defaultString(credentials.getUsername()))
+                .append('\n').append(StringUtils.defaultString(credentials.getPassword()))
+                .append('\n').append(StringUtils.defaultString(credentials.getAccessToken()))
+                .append('\n').append(connectionTimeout).append('\n').append(connectionRetry);
+        if (proxyConfiguration != null) {
+            key.append('\n').append(proxyConfiguration.host).append(':').append(proxyConfiguration.port)
+                    .append('\n').append(StringUtils.defaultString(proxyConfiguration.username))
+                    .append('\n').append(StringUtils.defaultString(proxyConfiguration.password));
+        }
+        // The key is also used by the caches of the server responses, so it is hashed to keep the credentials out of
+        // the keys of all these maps. The pooled managers themselves still hold the credentials, as any manager does.
+        try {
+            StringBuilder hex = new StringBuilder();
+            for (byte b : MessageDigest.getInstance("SHA-256").digest(key.toString().getBytes(StandardCharsets.UTF_8))) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * A manager which is returned to the pool when closed.
+     */
+    private static class PooledArtifactoryManager extends ArtifactoryManager {
+        private final ArtifactoryManagerPool pool;
+        private final String key;
+        private final String url;
+        private long releasedAt;
+        private boolean released;
+
+        PooledArtifactoryManager(ArtifactoryManagerPool pool, String key, String url, Credentials credentials, Log log) {
+            super(url, credentials.getUsername(), credentials.getPassword(), credentials.getAccessToken(), log);
+            this.pool = pool;
+            this.key = key;
+            this.url = url;
+        }
+
+        @Override
+        public void close() {
+            synchronized (pool) {
+                if (released) {
+                    return;
+                }
+                released = true;
+            }
+            pool.release(this);
+        }
+
+        void closeConnections() {
+            super.close();
+        }
+    }
+
+    public static class Stats {
+        private final long created;
+        private final long reused;
+        private final long evicted;
+        private final int idle;
+        private final int leased;
+
+        Stats(long created, long reused, long evicted, int idle, int leased) {
+            this.created = created;
+            this.reused = reused;
+            this.evicted = evicted;
+            this.idle = idle;
+            this.leased = leased;
+        }
+
+        /**
+         * @return the number of managers created, each with a new HTTP client.
+         */
+        public long getCreated() {
+            return created;
+        }
+
+        /**
+         * @return the number of leases served by an idle manager.
+         */
+        public long getReused() {
+            return reused;
+        }
+
+        /**
+         * @return the number of idle managers closed.
+         */
+        public long getEvicted() {
+            return evicted;
+        }
+
+        public int getIdle() {
+            return idle;
+        }
+
+        public int getLeased() {
+            return leased;
+        }
+
+        @Override
+        public String toString() {
+            return "created: " + created + ", reused: " + reused + ", evicted: " + evicted + ", idle: " + idle + ", leased: " + leased;
+        }
+    }
+}
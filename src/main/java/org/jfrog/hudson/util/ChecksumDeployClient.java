@@ -0,0 +1,110 @@
+package org.jfrog.hudson.util;
+
+import org.apache.commons.lang3.StringUtils;
+import org.jfrog.build.client.ProxyConfiguration;
+import org.jfrog.build.extractor.clientConfiguration.deploy.DeployDetails;
+import org.jfrog.build.extractor.clientConfiguration.util.DeploymentUrlUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.net.URL;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deploys artifacts by their checksums, without uploading their content.
+ * Artifactory creates the artifact if it already stores content with the same checksums, and responds with 404 if it
+ * doesn't, in which case the artifact should be uploaded as usual.
+ */
+public class ChecksumDeployClient implements ChecksumDeployUploader.ChecksumDeployer {
+    private final String artifactoryUrl;
+    private final String authorization;
+    private final ProxyConfiguration proxyConfiguration;
+    private final int timeoutMillis;
+
+    /**
+     * @param artifactoryUrl     - Artifactory URL.
+     * @param credentials        - The deployer credentials.
+     * @param proxyConfiguration - Proxy configuration, or null.
+     * @param timeout            - Connection and read timeout in seconds. 0 for no timeout.
+     */
+    public ChecksumDeployClient(String artifactoryUrl, Credentials credentials, ProxyConfiguration proxyConfiguration, int timeout) {
+        this.artifactoryUrl = StringUtils.removeEnd(artifactoryUrl, "/");
+        if (StringUtils.isNotBlank(credentials.getAccessToken())) {
+            this.authorization = "Bearer " + credentials.getAccessToken();
+        } else if (StringUtils.isNotBlank(credentials.getUsername())) {
+            this.authorization = basic(credentials.getUsername(), credentials.getPassword());
+        } else {
+            this.authorization = null;
+        }
+        this.proxyConfiguration = proxyConfiguration;
+        this.timeoutMillis = (int) TimeUnit.SECONDS.toMillis(timeout);
+    }
+
+    @Override
+    public boolean deploy(DeployDetails details) throws IOException {
+        URL url = new URL(artifactoryUrl + "/" + encodePath(details.getTargetRepository()) + "/" +
+                encodePath(details.getArtifactPath()) + DeploymentUrlUtils.buildMatrixParamsString(details.getProperties(), true));
+        HttpURLConnection connection = openConnection(url);
+        try {
+            connection.setRequestMethod("PUT");
+            connection.setRequestProperty("X-Checksum-Deploy", "true");
+            connection.setRequestProperty("X-Checksum-Sha1", details.getSha1());
+            if (StringUtils.isNotBlank(details.getMd5())) {
+                connection.setRequestProperty("X-Checksum", details.getMd5());
+            }
+            connection.setDoOutput(true);
+            connection.setFixedLengthStreamingMode(0);
+            try (OutputStream ignored = connection.getOutputStream()) {
+                // The request has no body
+            }
+            int status = connection.getResponseCode();
+            if (status == HttpURLConnection.HTTP_OK || status == HttpURLConnection.HTTP_CREATED) {
+                return true;
+            }
+            if (status == HttpURLConnection.HTTP_NOT_FOUND) {
+                return false;
+            }
+            throw new IOException("Failed to deploy " + details.getArtifactPath() + " by checksum. Received " + status + ": " +
+                    connection.getResponseMessage());
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    private HttpURLConnection openConnection(URL url) throws IOException {
+        Proxy proxy = proxyConfiguration == null || StringUtils.isBlank(proxyConfiguration.host) ? Proxy.NO_PROXY :
+                new Proxy(Proxy.Type.HTTP, new InetSocketAddress(proxyConfiguration.host, proxyConfiguration.port));
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection(proxy);
+        if (proxy != Proxy.NO_PROXY && StringUtils.isNotBlank(proxyConfiguration.username)) {
+            connection.setRequestProperty("Proxy-Authorization", basic(proxyConfiguration.username, proxyConfiguration.password));
+        }
+        connection.setConnectTimeout(timeoutMillis);
+        connection.setReadTimeout(timeoutMillis);
+        if (authorization != null) {
+            connection.setRequestProperty("Authorization", authorization);
+        }
+        return connection;
+    }
+
+    private static String encodePath(String path) throws IOException {
+        StringBuilder encoded = new StringBuilder();
+        for (String segment : StringUtils.splitPreserveAllTokens(StringUtils.removeStart(path, "/"), '/')) {
+            if (encoded.length() > 0) {
+                encoded.append('/');
+            }
+            encoded.append(URLEncoder.encode(segment, "UTF-8").replace("+", "%20"));
+        }
+        return encoded.toString();
+    }
+
+    private static String basic(String username, String password) {
+        String credentials = username + ":" + StringUtils.defaultString(password);
+        return "Basic " + Base64.getEncoder().encodeToString(credentials.getBytes(StandardCharsets.UTF_8));
+    }
+}
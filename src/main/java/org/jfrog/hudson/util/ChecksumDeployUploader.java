@@ -0,0 +1,113 @@
+package org.jfrog.hudson.util;
+
+import org.apache.commons.lang3.StringUtils;
+import org.jfrog.build.api.util.Log;
+import org.jfrog.build.client.ProxyConfiguration;
+import org.jfrog.build.extractor.clientConfiguration.client.artifactory.ArtifactoryManager;
+import org.jfrog.build.extractor.clientConfiguration.deploy.DeployDetails;
+import org.jfrog.hudson.ArtifactoryServer;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Uploads artifacts in checksum-deploy-first mode.
+ * Artifacts from the configured minimum size are first deployed by checksum, and their bytes are only uploaded if
+ * Artifactory doesn't have their content. Smaller artifacts, and all the artifacts when the mode is disabled, are
+ * uploaded as usual.
+ * The mode is enabled by setting the org.jfrog.hudson.util.ChecksumDeployUploader.enabled system property to true.
+ * The minimum size is set by the org.jfrog.hudson.util.ChecksumDeployUploader.minSizeKb system property (default 10KB).
+ */
+public class ChecksumDeployUploader implements DeployPipeline.Uploader {
+    private static final String ENABLED_PROPERTY = ChecksumDeployUploader.class.getName() + ".enabled";
+    private static final long MIN_SIZE_BYTES = Long.getLong(ChecksumDeployUploader.class.getName() + ".minSizeKb", 10) * 1024;
+    // Disables the checksum deploy attempt of build-info, after our own attempt missed
+    private static final int NO_CHECKSUM_DEPLOY_KB = Integer.MAX_VALUE / 1024;
+
+    private final ArtifactoryManager artifactoryManager;
+    private final ChecksumDeployer checksumDeployer;
+    private final long minSizeBytes;
+    private final AtomicInteger attempted = new AtomicInteger();
+    private final AtomicInteger hits = new AtomicInteger();
+    private final AtomicLong bytesAvoided = new AtomicLong();
+
+    /**
+     * Deploys an artifact by its checksums only.
+     */
+    public interface ChecksumDeployer {
+        /**
+         * @return true if the artifact was deployed, or false if Artifactory doesn't have its content.
+         */
+        boolean deploy(DeployDetails details) throws IOException;
+    }
+
+    /**
+     * @param artifactoryManager - The Artifactory manager.
+     * @param checksumDeployer   - Deploys the artifacts by checksum, or null if the mode is disabled.
+     */
+    public ChecksumDeployUploader(ArtifactoryManager artifactoryManager, ChecksumDeployer checksumDeployer) {
+        this(artifactoryManager, checksumDeployer, MIN_SIZE_BYTES);
+    }
+
+    ChecksumDeployUploader(ArtifactoryManager artifactoryManager, ChecksumDeployer checksumDeployer, long minSizeBytes) {
+        this.artifactoryManager = artifactoryManager;
+        this.checksumDeployer = checksumDeployer;
+        this.minSizeBytes = minSizeBytes;
+    }
+
+    /**
+     * Should be called on the Jenkins controller, so that the mode is configured in a single place.
+     *
+     * @return true if checksum-deploy-first mode is enabled.
+     */
+    public static boolean isChecksumDeployFirst() {
+        return Boolean.getBoolean(ENABLED_PROPERTY);
+    }
+
+    /**
+     * @param checksumDeployFirst - True if checksum-deploy-first mode is enabled.
+     * @param server              - The Artifactory server.
+     * @param credentials         - The deployer credentials.
+     * @param proxyConfiguration  - The proxy configuration, or null.
+     * @return the checksum deployer to the server, or null if the mode is disabled.
+     */
+    public static ChecksumDeployer createChecksumDeployer(boolean checksumDeployFirst, ArtifactoryServer server,
+                                                         Credentials credentials, ProxyConfiguration proxyConfiguration) {
+        if (!checksumDeployFirst) {
+            return null;
+        }
+        return new ChecksumDeployClient(server.getArtifactoryUrl(), credentials, server.isBypassProxy() ? null : proxyConfiguration,
+                server.getTimeout());
+    }
+
+    @Override
+    public void upload(DeployDetails details) throws IOException {
+        long size = details.getFile().length();
+        if (checksumDeployer == null || size < minSizeBytes || StringUtils.isBlank(details.getSha1())) {
+            artifactoryManager.upload(details);
+            return;
+        }
+        attempted.incrementAndGet();
+        if (checksumDeployer.deploy(details)) {
+            hits.incrementAndGet();
+            bytesAvoided.addAndGet(size);
+            return;
+        }
+        artifactoryManager.upload(details, null, NO_CHECKSUM_DEPLOY_KB);
+    }
+
+    /**
+     * Log the number of artifacts whose content already existed in Artifactory, and the bytes which were therefore
+     * not uploaded.
+     *
+     * @param log - The logger.
+     */
+    public void logSummary(Log log) {
+        if (checksumDeployer == null) {
+            return;
+        }
+        log.info(String.format("Checksum deploy: %d of %d attempted artifacts already existed in Artifactory. %d bytes were not uploaded.",
+                hits.get(), attempted.get(), bytesAvoided.get()));
+    }
+}
@@ -0,0 +1,191 @@
+package org.jfrog.hudson.util;
+
+import hudson.util.DaemonThreadFactory;
+import hudson.util.NamingThreadFactory;
+import org.apache.http.client.HttpResponseException;
+import org.jfrog.build.api.util.Log;
+import org.jfrog.build.extractor.clientConfiguration.deploy.DeployDetails;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Calculates checksums and deploys artifacts concurrently.
+ * The deploy details of each artifact, including its checksums, are prepared by a pool of checksum threads, and the
+ * artifact is uploaded by a pool of upload threads as soon as its deploy details are ready.
+ * The number of artifacts being prepared or waiting for upload is bounded, so the checksum calculation never runs
+ * too far ahead of the uploads.
+ * Failed uploads are retried on IO errors and on 5xx responses only. Other responses, such as 4xx, won't succeed on a
+ * retry. Since the Artifactory manager may retry requests itself, the number of retries should be configured on one of
+ * them only.
+ *
+ * @param <T> - The type of the items to deploy, such as files.
+ */
+public class DeployPipeline<T> {
+    private final int checksumThreads;
+    private final int uploadThreads;
+    private final int retries;
+    private final Log log;
+    private ProgressListener<T> progressListener;
+
+    /**
+     * Prepares the deploy details of an item, usually by calculating its checksums.
+     */
+    @FunctionalInterface
+    public interface Preparer<T> {
+        /**
+         * @param item - The item to deploy.
+         * @return the deploy details, or null to skip the item.
+         */
+        DeployDetails prepare(T item) throws Exception;
+    }
+
+    /**
+     * Uploads a single artifact. Called concurrently by the upload threads.
+     */
+    @FunctionalInterface
+    public interface Uploader {
+        void upload(DeployDetails details) throws IOException;
+    }
+
+    /**
+     * Notified when the deployment of an item is done. Called concurrently by the pipeline threads.
+     */
+    @FunctionalInterface
+    public interface ProgressListener<T> {
+        /**
+         * @param item    - The item.
+         * @param details - The deploy details, or null if the item was skipped or could not be prepared.
+         * @param error   - The error, or null if the item was deployed or skipped successfully.
+         */
+        void onDone(T item, DeployDetails details, Throwable error);
+    }
+
+    /**
+     * @param checksumThreads - Number of threads preparing deploy details.
+     * @param uploadThreads   - Number of threads uploading artifacts.
+     * @param retries         - Number of times to retry an upload which failed with an IO error or a 5xx response.
+     * @param log             - The logger.
+     */
+    public DeployPipeline(int checksumThreads, int uploadThreads, int retries, Log log) {
+        this.checksumThreads = Math.max(1, checksumThreads);
+        this.uploadThreads = Math.max(1, uploadThreads);
+        this.retries = Math.max(0, retries);
+        this.log = log;
+    }
+
+    public DeployPipeline<T> setProgressListener(ProgressListener<T> progressListener) {
+        this.progressListener = progressListener;
+        return this;
+    }
+
+    /**
+     * Prepare and upload the items.
+     *
+     * @param items    - The items to deploy.
+     * @param preparer - Creates the deploy details of an item.
+     * @param uploader - Uploads an artifact.
+     * @return the deploy details of the deployed items, in the order of the input items.
+     * @throws IOException if any item failed. The message lists all the failures, in the order of the input items.
+     */
+    public List<DeployDetails> deploy(List<T> items, Preparer<T> preparer, Uploader uploader) throws IOException, InterruptedException {
+        int size = items.size();
+        DeployDetails[] deployed = new DeployDetails[size];
+        Throwable[] errors = new Throwable[size];
+        // Bound the number of items which are being prepared or waiting for upload
+        Semaphore pending = new Semaphore(checksumThreads + uploadThreads * 2);
+        CountDownLatch done = new CountDownLatch(size);
+        ExecutorService checksumExecutor = Executors.newFixedThreadPool(checksumThreads, new NamingThreadFactory(new DaemonThreadFactory(), "Artifactory checksum"));
+        ExecutorService uploadExecutor = Executors.newFixedThreadPool(uploadThreads, new NamingThreadFactory(new DaemonThreadFactory(), "Artifactory upload"));
+        try {
+            for (int i = 0; i < size; i++) {
+                pending.acquire();
+                int index = i;
+                T item = items.get(i);
+                checksumExecutor.execute(() -> {
+                    DeployDetails details;
+                    try {
+                        details = preparer.prepare(item);
+                    } catch (Throwable e) {
+                        complete(index, item, null, e, deployed, errors, pending, done);
+                        return;
+                    }
+                    if (details == null) {
+                        complete(index, item, null, null, deployed, errors, pending, done);
+                        return;
+                    }
+                    uploadExecutor.execute(() -> {
+                        try {
+                            upload(uploader, details);
+                            complete(index, item, details, null, deployed, errors, pending, done);
+                        } catch (Throwable e) {
+                            complete(index, item, details, e, deployed, errors, pending, done);
+                        }
+                    });
+                });
+            }
+            done.await();
+        } finally {
+            checksumExecutor.shutdownNow();
+            uploadExecutor.shutdownNow();
+        }
+
+        List<DeployDetails> results = new ArrayList<>();
+        StringBuilder failures = new StringBuilder();
+        int failuresCount = 0;
+        for (int i = 0; i < size; i++) {
+            if (errors[i] != null) {
+                failuresCount++;
+                failures.append("\n").append(deployed[i] != null ? deployed[i].getArtifactPath() : String.valueOf(items.get(i)))
+                        .append(": ").append(errors[i].getMessage());
+            } else if (deployed[i] != null) {
+                results.add(deployed[i]);
+            }
+        }
+        if (failuresCount > 0) {
+            throw new IOException("Failed deploying " + failuresCount + " out of " + size + " artifacts:" + failures);
+        }
+        return results;
+    }
+
+    private void complete(int index, T item, DeployDetails details, Throwable error, DeployDetails[] deployed,
+                          Throwable[] errors, Semaphore pending, CountDownLatch done) {
+        deployed[index] = details;
+        errors[index] = error;
+        try {
+            if (progressListener != null) {
+                progressListener.onDone(item, details, error);
+            }
+        } finally {
+            pending.release();
+            done.countDown();
+        }
+    }
+
+    private void upload(Uploader uploader, DeployDetails details) throws IOException {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                uploader.upload(details);
+                return;
+            } catch (IOException e) {
+                if (attempt > retries || !isRetryable(e)) {
+                    throw e;
+                }
+                log.warn("Failed deploying '" + details.getArtifactPath() + "': " + e.getMessage() + ". Retrying (" + attempt + "/" + retries + ")...");
+            }
+        }
+    }
+
+    /**
+     * @param e - The upload error.
+     * @return true if the error is an IO error or a 5xx response.
+     */
+    static boolean isRetryable(IOException e) {
+        return !(e instanceof HttpResponseException) || ((HttpResponseException) e).getStatusCode() >= 500;
+    }
+}
@@ -0,0 +1,285 @@
+package org.jfrog.hudson.util;
+
+import hudson.FilePath;
+import hudson.model.Computer;
+import hudson.model.Node;
+import hudson.remoting.VirtualChannel;
+import jenkins.MasterToSlaveFileCallable;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.jfrog.build.api.util.FileChecksumCalculator;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Per-agent cache of the extractor jars, shared by all the workspaces and executors of the agent.
+ * Each set of jars is stored in a directory named after the SHA-256 of its content, so that a new plugin version,
+ * including a snapshot, is cached separately and an unchanged set of jars is never transferred twice.
+ * The jars are transferred as a single tar stream to a staging directory, verified on the agent and atomically
+ * renamed to their cache directory. The least recently used sets of jars are evicted.
+ * Every use of an entry bumps the modification time of its marker file, next to the entry directory. The builds use
+ * the jars long after they were looked up, so an entry is considered in use, and is never evicted, until its marker
+ * wasn't bumped for the configured number of hours. The cache may therefore temporarily
+ * hold more than the maximum number of entries. The cache directory is locked while entries are marked, committed
+ * or evicted, so that an entry isn't evicted between its lookup and the marking of its use.
+ */
+public class ExtractorJarsCache {
+    private static final Logger logger = Logger.getLogger(ExtractorJarsCache.class.getName());
+    static final String CACHE_PATH = "cache/artifactory-plugin/extractors";
+    private static final String SHA256 = "SHA-256";
+    private static final String STAGING_SUFFIX = ".staging-";
+    static final String USED_SUFFIX = ".used";
+    private static final String LOCK_FILE = ".lock";
+    private static final long STALE_STAGING_MILLIS = 24 * 60 * 60 * 1000L;
+    private static final int DEFAULT_MAX_ENTRIES = 5;
+    private static final int MAX_ENTRIES = Integer.getInteger(ExtractorJarsCache.class.getName() + ".maxEntries", DEFAULT_MAX_ENTRIES);
+    private static final long IN_USE_MILLIS = TimeUnit.HOURS.toMillis(Long.getLong(ExtractorJarsCache.class.getName() + ".inUseHours", 24));
+    // FileLock is held by the JVM, so the threads of the agent are serialized separately
+    private static final Object jvmLock = new Object();
+    // Checksums of the local jars by path, size and modification time
+    private static final Map<String, String> localChecksums = new ConcurrentHashMap<>();
+
+    /**
+     * Get the directory of the extractor jars on the agent, transferring the jars if they are not cached yet.
+     *
+     * @param localDependencyDir - Directory of the extractor jars on the controller.
+     * @param rootPath           - A path on the agent. The cache is created under the root of the agent.
+     * @return the directory of the extractor jars on the agent.
+     */
+    public static FilePath getDependencyDirectory(File localDependencyDir, FilePath rootPath) throws IOException, InterruptedException {
+        Map<String, String> checksums = getLocalChecksums(localDependencyDir);
+        String cacheKey = getCacheKey(checksums);
+        FilePath cacheDir = new FilePath(getAgentRootPath(rootPath), CACHE_PATH);
+        FilePath dependencyDir = cacheDir.child(cacheKey);
+        if (cacheDir.act(new UseEntryCallable(cacheKey, MAX_ENTRIES, IN_USE_MILLIS))) {
+            return dependencyDir;
+        }
+
+        FilePath stagingDir = cacheDir.child(cacheKey + STAGING_SUFFIX + UUID.randomUUID());
+        try {
+            new FilePath(localDependencyDir).copyRecursiveTo(String.join(",", checksums.keySet()), stagingDir);
+            cacheDir.act(new CommitEntryCallable(stagingDir.getName(), cacheKey, checksums));
+        } finally {
+            stagingDir.deleteRecursive();
+        }
+        return dependencyDir;
+    }
+
+    private static FilePath getAgentRootPath(FilePath rootPath) {
+        Computer computer = rootPath.toComputer();
+        Node node = computer == null ? null : computer.getNode();
+        FilePath agentRootPath = node == null ? null : node.getRootPath();
+        return agentRootPath == null ? rootPath : agentRootPath;
+    }
+
+    /**
+     * @param localDependencyDir - Directory of the extractor jars on the controller.
+     * @return map of the jar names to their SHA-256, sorted by name.
+     */
+    private static Map<String, String> getLocalChecksums(File localDependencyDir) throws IOException {
+        File[] localDependencies = localDependencyDir.listFiles(File::isFile);
+        if (localDependencies == null) {
+            throw new IOException("Could not list the extractor jars in " + localDependencyDir);
+        }
+        Map<String, String> checksums = new TreeMap<>();
+        for (File localDependency : localDependencies) {
+            if (localDependency.getName().equals("classes.jar")) {
+                // skip classes in this plugin source tree.
+                // TODO: for a proper long term fix, see my comment in JENKINS-18401
+                continue;
+            }
+            String key = localDependency.getAbsolutePath() + ":" + localDependency.length() + ":" + localDependency.lastModified();
+            String checksum = localChecksums.get(key);
+            if (checksum == null) {
+                checksum = calculateSha256(localDependency);
+                localChecksums.put(key, checksum);
+            }
+            checksums.put(localDependency.getName(), checksum);
+        }
+        return checksums;
+    }
+
+    static String getCacheKey(Map<String, String> checksums) throws IOException {
+        try {
+            MessageDigest digest = MessageDigest.getInstance(SHA256);
+            checksums.forEach((name, checksum) -> digest.update((name + ":" + checksum + "\n").getBytes(StandardCharsets.UTF_8)));
+            StringBuilder cacheKey = new StringBuilder();
+            for (byte b : digest.digest()) {
+                cacheKey.append(String.format("%02x", b));
+            }
+            return cacheKey.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException(e);
+        }
+    }
+
+    private static String calculateSha256(File file) throws IOException {
+        try {
+            return FileChecksumCalculator.calculateChecksums(file, SHA256).get(SHA256);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException(e);
+        }
+    }
+
+    /**
+     * Mark a cache entry as recently used and evict the least recently used entries.
+     * Returns true if the entry exists.
+     */
+    private static class UseEntryCallable extends MasterToSlaveFileCallable<Boolean> {
+        private final String cacheKey;
+        private final int maxEntries;
+        private final long inUseMillis;
+
+        UseEntryCallable(String cacheKey, int maxEntries, long inUseMillis) {
+            this.cacheKey = cacheKey;
+            this.maxEntries = maxEntries;
+            this.inUseMillis = inUseMillis;
+        }
+
+        public Boolean invoke(File cacheDir, VirtualChannel channel) throws IOException {
+            return useEntry(cacheDir, cacheKey, maxEntries, inUseMillis);
+        }
+    }
+
+    /**
+     * Verify the jars in the staging directory and atomically rename it to the cache entry directory.
+     */
+    private static class CommitEntryCallable extends MasterToSlaveFileCallable<Void> {
+        private final String stagingDirName;
+        private final String cacheKey;
+        private final Map<String, String> checksums;
+
+        CommitEntryCallable(String stagingDirName, String cacheKey, Map<String, String> checksums) {
+            this.stagingDirName = stagingDirName;
+            this.cacheKey = cacheKey;
+            this.checksums = checksums;
+        }
+
+        public Void invoke(File cacheDir, VirtualChannel channel) throws IOException {
+            File stagingDir = new File(cacheDir, stagingDirName);
+            for (Map.Entry<String, String> jar : checksums.entrySet()) {
+                File file = new File(stagingDir, jar.getKey());
+                if (!file.isFile() || !StringUtils.equals(jar.getValue(), calculateSha256(file))) {
+                    throw new IOException("Checksum verification of the extractor jar " + jar.getKey() + " failed");
+                }
+            }
+            File entry = new File(cacheDir, cacheKey);
+            withLock(cacheDir, () -> {
+                commit(stagingDir, entry);
+                markUsed(cacheDir, cacheKey);
+                return null;
+            });
+            return null;
+        }
+
+        private static void commit(File stagingDir, File entry) throws IOException {
+            try {
+                Files.move(stagingDir.toPath(), entry.toPath(), StandardCopyOption.ATOMIC_MOVE);
+            } catch (FileAlreadyExistsException e) {
+                // The same jars were cached concurrently by another executor
+            } catch (AtomicMoveNotSupportedException e) {
+                throw new IOException("Could not move the extractor jars to " + entry, e);
+            } catch (IOException e) {
+                if (!entry.isDirectory()) {
+                    throw e;
+                }
+                // The same jars were cached concurrently by another executor
+            }
+        }
+    }
+
+    /**
+     * Mark a cache entry as used and evict the least recently used entries which are not in use.
+     *
+     * @return true if the entry exists.
+     */
+    static boolean useEntry(File cacheDir, String cacheKey, int maxEntries, long inUseMillis) throws IOException {
+        Files.createDirectories(cacheDir.toPath());
+        return withLock(cacheDir, () -> {
+            boolean exists = new File(cacheDir, cacheKey).isDirectory();
+            if (exists) {
+                markUsed(cacheDir, cacheKey);
+            }
+            evict(cacheDir, cacheKey, maxEntries, inUseMillis);
+            return exists;
+        });
+    }
+
+    private static void markUsed(File cacheDir, String cacheKey) throws IOException {
+        File marker = new File(cacheDir, cacheKey + USED_SUFFIX);
+        if (!marker.createNewFile()) {
+            marker.setLastModified(System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * @return the last time the entry was used, or the time it was created if it has no marker.
+     */
+    private static long getLastUsed(File entry) {
+        File marker = new File(entry.getPath() + USED_SUFFIX);
+        return marker.exists() ? marker.lastModified() : entry.lastModified();
+    }
+
+    private static <T> T withLock(File cacheDir, Callable<T> callable) throws IOException {
+        synchronized (jvmLock) {
+            try (FileChannel channel = FileChannel.open(new File(cacheDir, LOCK_FILE).toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                 FileLock ignored = channel.lock()) {
+                return callable.call();
+            } catch (IOException | RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IOException(e);
+            }
+        }
+    }
+
+    private static void evict(File cacheDir, String cacheKey, int maxEntries, long inUseMillis) {
+        File[] entries = cacheDir.listFiles(File::isDirectory);
+        if (entries == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        Map<File, Long> lastUsed = new HashMap<>();
+        for (File entry : entries) {
+            lastUsed.put(entry, getLastUsed(entry));
+        }
+        // Most recently used first
+        Arrays.sort(entries, Comparator.comparing(lastUsed::get, Comparator.reverseOrder()));
+        int count = 0;
+        for (File entry : entries) {
+            if (entry.getName().contains(STAGING_SUFFIX)) {
+                if (now - entry.lastModified() > STALE_STAGING_MILLIS) {
+                    FileUtils.deleteQuietly(entry);
+                }
+                continue;
+            }
+            if (entry.getName().equals(cacheKey) || ++count < maxEntries || now - lastUsed.get(entry) < inUseMillis) {
+                continue;
+            }
+            logger.fine("Evicting extractor jars cache entry " + entry);
+            FileUtils.deleteQuietly(entry);
+            FileUtils.deleteQuietly(new File(entry.getPath() + USED_SUFFIX));
+        }
+    }
+}
@@ -3,12 +3,10 @@ package org.jfrog.hudson.util;
 import hudson.EnvVars;
 import hudson.FilePath;
 import hudson.remoting.Which;
-import jenkins.model.Jenkins;
 import org.apache.commons.io.filefilter.WildcardFileFilter;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.jfrog.build.extractor.BuildInfoExtractor;
-import org.jfrog.hudson.action.ActionableHelper;
 
 import java.io.File;
 import java.io.FileFilter;
@@ -19,49 +17,17 @@ import java.io.IOException;
  */
 public class PluginDependencyHelper {
 
+    /**
+     * Get the directory of the extractor jars on the agent of the input path.
+     * The jars are cached per agent by their content, see {@link ExtractorJarsCache}.
+     *
+     * @param localDependencyFile - One of the extractor jars on the controller.
+     * @param rootPath            - A path on the agent.
+     * @return the directory of the extractor jars on the agent.
+     */
     public static FilePath getActualDependencyDirectory(File localDependencyFile, FilePath rootPath)
             throws IOException, InterruptedException {
-        long currentTime = System.currentTimeMillis();
-        File localDependencyDir = localDependencyFile.getParentFile();
-        String pluginVersion = Jenkins.get().getPluginManager().getPlugin("artifactory").getVersion();
-        boolean isSnapshot = pluginVersion.contains(" ");
-        if (isSnapshot) {
-            // Trim the plugin version in case we're working on a snapshot version (contains illegal chars)
-            pluginVersion = StringUtils.split(pluginVersion, " ")[0];
-            // Add timestamp suffix to ensure using the latest build-info jars during development.
-            // This suffix practically disables the cache in snapshots.
-            pluginVersion += "-" + currentTime;
-        }
-
-        FilePath remoteDependencyDir = new FilePath(rootPath, "cache/artifactory-plugin/" + pluginVersion);
-        if (!remoteDependencyDir.exists()) {
-            remoteDependencyDir.mkdirs();
-        }
-
-        //Check if the dependencies have already been transferred successfully
-        FilePath remoteDependencyMark = new FilePath(remoteDependencyDir, "done");
-        if (!remoteDependencyMark.exists()) {
-
-            File[] localDependencies = localDependencyDir.listFiles();
-            for (File localDependency : localDependencies) {
-                if (localDependency.getName().equals("classes.jar"))
-                    // skip classes in this plugin source tree.
-                    // TODO: for a proper long term fix, see my comment in JENKINS-18401
-                    continue;
-                FilePath remoteDependencyFilePath = new FilePath(remoteDependencyDir, localDependency.getName());
-                if (!remoteDependencyFilePath.exists()) {
-                    FilePath localDependencyFilePath = new FilePath(localDependency);
-                    localDependencyFilePath.copyTo(remoteDependencyFilePath);
-                }
-            }
-
-            //Mark that all the dependencies have been transferred successfully for future references
-            remoteDependencyMark.touch(currentTime);
-        }
-        if (isSnapshot) {
-            ActionableHelper.deleteFilePathOnExit(remoteDependencyDir);
-        }
-        return remoteDependencyDir;
+        return ExtractorJarsCache.getDependencyDirectory(localDependencyFile.getParentFile(), rootPath);
     }
 
     public static File getExtractorJar(EnvVars env) throws IOException {
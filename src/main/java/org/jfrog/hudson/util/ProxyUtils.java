@@ -18,4 +18,12 @@ public class ProxyUtils {
         return proxyConfiguration;
     }
 
+    /**
+     * @return the hosts which are accessed without the Jenkins proxy, as configured in Jenkins, or null.
+     */
+    public static String getNoProxyHost() {
+        hudson.ProxyConfiguration proxy = Jenkins.get().proxy;
+        return proxy == null ? null : proxy.getNoProxyHost();
+    }
+
 }
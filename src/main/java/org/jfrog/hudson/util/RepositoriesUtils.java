@@ -4,15 +4,20 @@ import hudson.model.AbstractBuild;
 import hudson.model.BuildListener;
 import hudson.model.Hudson;
 import hudson.model.Item;
-import jenkins.model.Jenkins;
 import org.apache.commons.lang3.StringUtils;
 import org.jfrog.build.api.util.NullLog;
+import org.jfrog.build.client.ProxyConfiguration;
 import org.jfrog.build.extractor.clientConfiguration.client.artifactory.ArtifactoryManager;
 import org.jfrog.hudson.*;
+import org.jfrog.hudson.util.RepositoryKeysCache.RepositoryKeys;
+import org.jfrog.hudson.util.RepositoryKeysCache.RepositoryType;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import static org.jfrog.hudson.util.ProxyUtils.createProxyConfiguration;
@@ -21,6 +26,8 @@ import static org.jfrog.hudson.util.ProxyUtils.createProxyConfiguration;
  * @author Shay Yaakov
  */
 public abstract class RepositoriesUtils {
+    private static final Set<RepositoryType> RESOLUTION_TYPES = Collections.unmodifiableSet(EnumSet.of(RepositoryType.REMOTE, RepositoryType.VIRTUAL));
+    private static final Set<RepositoryType> DEPLOYMENT_TYPES = Collections.unmodifiableSet(EnumSet.of(RepositoryType.LOCAL, RepositoryType.VIRTUAL, RepositoryType.FEDERATED));
 
     public static List<String> getReleaseRepositoryKeysFirst(DeployerOverrider deployer, ArtifactoryServer server) throws IOException {
         if (server == null) {
@@ -62,6 +69,19 @@ public abstract class RepositoriesUtils {
         return resolutionRepoKeys.stream().map(repoKey -> new ResolutionRepository(repoKey, repoKey)).collect(Collectors.toList());
     }
 
+    public static List<ResolutionRepository> generateResolutionRepos(RepositoryKeys repositoryKeys) {
+        List<String> resolutionRepoKeys = new ArrayList<>(repositoryKeys.getKeys(RepositoryType.REMOTE));
+        resolutionRepoKeys.addAll(repositoryKeys.getKeys(RepositoryType.VIRTUAL));
+        return resolutionRepoKeys.stream().map(repoKey -> new ResolutionRepository(repoKey, repoKey)).collect(Collectors.toList());
+    }
+
+    public static List<Repository> generateDeploymentRepos(RepositoryKeys repositoryKeys) {
+        List<String> deploymentRepoKeys = new ArrayList<>(repositoryKeys.getKeys(RepositoryType.LOCAL));
+        deploymentRepoKeys.addAll(repositoryKeys.getKeys(RepositoryType.VIRTUAL));
+        deploymentRepoKeys.addAll(repositoryKeys.getKeys(RepositoryType.FEDERATED));
+        return deploymentRepoKeys.stream().map(Repository::new).collect(Collectors.toList());
+    }
+
     public static List<Repository> generateDeploymentRepos(ArtifactoryManager artifactoryManager) throws IOException {
         List<String> deploymentRepoKeys = artifactoryManager.getLocalRepositoriesKeys();
         if (deploymentRepoKeys == null) {
@@ -83,38 +103,92 @@ public abstract class RepositoriesUtils {
     public static List<ResolutionRepository> getResolutionRepositoryKeys(String url, CredentialsConfig credentialsConfig,
                                                                          ArtifactoryServer artifactoryServer, Item item)
             throws IOException {
+        return getResolutionRepositoryKeys(url, credentialsConfig, artifactoryServer, item, false);
+    }
+
+    /**
+     * @param refresh - True to fetch the keys from Artifactory rather than from the cache, following a "Refresh" press.
+     */
+    public static List<ResolutionRepository> getResolutionRepositoryKeys(String url, CredentialsConfig credentialsConfig,
+                                                                         ArtifactoryServer artifactoryServer, Item item,
+                                                                         boolean refresh) throws IOException {
         CredentialsConfig preferredResolver = CredentialManager.getPreferredResolver(credentialsConfig, artifactoryServer);
         Credentials resolverCredentials = preferredResolver.provideCredentials(item);
-
-        try (ArtifactoryManager artifactoryManager = createArtifactoryManager(url, resolverCredentials, artifactoryServer)) {
-            return RepositoriesUtils.generateResolutionRepos(artifactoryManager);
-        }
+        return generateResolutionRepos(getRepositoryKeys(url, resolverCredentials, artifactoryServer, RESOLUTION_TYPES, refresh));
     }
 
     public static List<Repository> getDeploymentRepositories(String url, CredentialsConfig credentialsConfig,
                                                              ArtifactoryServer artifactoryServer, Item item) throws IOException {
+        return getDeploymentRepositories(url, credentialsConfig, artifactoryServer, item, false);
+    }
+
+    /**
+     * @param refresh - True to fetch the keys from Artifactory rather than from the cache, following a "Refresh" press.
+     */
+    public static List<Repository> getDeploymentRepositories(String url, CredentialsConfig credentialsConfig,
+                                                             ArtifactoryServer artifactoryServer, Item item,
+                                                             boolean refresh) throws IOException {
         CredentialsConfig preferredDeployer = CredentialManager.getPreferredDeployer(credentialsConfig, artifactoryServer);
         Credentials deployerCredentials = preferredDeployer.provideCredentials(item);
+        return generateDeploymentRepos(getRepositoryKeys(url, deployerCredentials, artifactoryServer, DEPLOYMENT_TYPES, refresh));
+    }
+
+    /**
+     * Get the keys of the repositories used for resolution from the {@link RepositoryKeysCache}, fetching them if
+     * they are missing or expired.
+     *
+     * @param url               - Artifactory URL.
+     * @param credentials       - Artifactory credentials.
+     * @param artifactoryServer - The server of the URL.
+     * @return the remote and virtual repository keys.
+     */
+    public static RepositoryKeys getResolutionRepositoryKeys(String url, Credentials credentials, ArtifactoryServer artifactoryServer) throws IOException {
+        return getRepositoryKeys(url, credentials, artifactoryServer, RESOLUTION_TYPES, false);
+    }
 
-        try (ArtifactoryManager artifactoryManager = createArtifactoryManager(url, deployerCredentials, artifactoryServer)) {
-            return generateDeploymentRepos(artifactoryManager);
+    /**
+     * Get the repository keys of a server from the {@link RepositoryKeysCache}, fetching them if they are missing or expired.
+     *
+     * @param url               - Artifactory URL.
+     * @param credentials       - Artifactory credentials.
+     * @param artifactoryServer - The server of the URL.
+     * @param types             - The repository types to get.
+     * @param refresh           - True to invalidate the cached keys of the server and credentials first.
+     * @return the repository keys.
+     */
+    static RepositoryKeys getRepositoryKeys(String url, Credentials credentials, ArtifactoryServer artifactoryServer,
+                                            Set<RepositoryType> types, boolean refresh) throws IOException {
+        ProxyConfiguration proxyConfiguration = artifactoryServer.isBypassProxy() ? null : createProxyConfiguration();
+        String key = ArtifactoryManagerPool.getKey(url, credentials, proxyConfiguration, artifactoryServer.getTimeout(),
+                artifactoryServer.getConnectionRetry());
+        if (refresh) {
+            RepositoryKeysCache.get().invalidate(key);
         }
+        return RepositoryKeysCache.get().getRepositoryKeys(key, types, type -> {
+            try (ArtifactoryManager artifactoryManager = createArtifactoryManager(url, credentials, artifactoryServer)) {
+                List<String> keys;
+                switch (type) {
+                    case LOCAL:
+                        keys = artifactoryManager.getLocalRepositoriesKeys();
+                        break;
+                    case REMOTE:
+                        keys = artifactoryManager.getRemoteRepositoriesKeys();
+                        break;
+                    case VIRTUAL:
+                        keys = artifactoryManager.getVirtualRepositoriesKeys();
+                        break;
+                    default:
+                        keys = artifactoryManager.getFederatedRepositoriesKeys();
+                }
+                return keys == null ? new ArrayList<>() : keys;
+            }
+        });
     }
 
     private static ArtifactoryManager createArtifactoryManager(String url, Credentials credentials, ArtifactoryServer artifactoryServer) {
-        ArtifactoryManager artifactoryManager;
-        if (StringUtils.isNotBlank(credentials.getUsername()) || StringUtils.isNotBlank(credentials.getAccessToken())) {
-            artifactoryManager = new ArtifactoryManager(url, credentials.getUsername(), credentials.getPassword(),
-                    credentials.getAccessToken(), new NullLog());
-        } else {
-            artifactoryManager = new ArtifactoryManager(url, new NullLog());
-        }
-        artifactoryManager.setConnectionTimeout(artifactoryServer.getTimeout());
-        setRetryParams(artifactoryServer, artifactoryManager);
-        if (Jenkins.get().proxy != null && !artifactoryServer.isBypassProxy()) {
-            artifactoryManager.setProxyConfiguration(createProxyConfiguration());
-        }
-        return artifactoryManager;
+        ProxyConfiguration proxyConfiguration = artifactoryServer.isBypassProxy() ? null : createProxyConfiguration();
+        return ArtifactoryManagerPool.get().acquire(url, credentials, proxyConfiguration, artifactoryServer.getTimeout(),
+                artifactoryServer.getConnectionRetry(), new NullLog());
     }
 
     /**
@@ -0,0 +1,235 @@
+package org.jfrog.hudson.util;
+
+import hudson.util.DaemonThreadFactory;
+import hudson.util.NamingThreadFactory;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Controller-side cache of the repository keys of the Artifactory servers, used to populate the repository lists of
+ * the job configuration pages. Entries are kept per server, credentials and repository type, and expire after a TTL.
+ * The requested repository types are fetched in parallel, and concurrent requests for the same entry share a single
+ * fetch. An entry is refreshed in the background when requested after 3/4 of its TTL, so that a frequently opened
+ * page does not wait for Artifactory when the entry expires.
+ * Clearing or invalidating the cache starts a new generation. Fetches started in an older generation still complete
+ * their callers, but their results are not cached.
+ */
+public class RepositoryKeysCache {
+    private static final Logger logger = Logger.getLogger(RepositoryKeysCache.class.getName());
+    private static final long DEFAULT_TTL_SECONDS = 300;
+    private static final RepositoryKeysCache INSTANCE = new RepositoryKeysCache(
+            TimeUnit.SECONDS.toMillis(Long.getLong(RepositoryKeysCache.class.getName() + ".ttlSeconds", DEFAULT_TTL_SECONDS)),
+            Executors.newCachedThreadPool(new NamingThreadFactory(new DaemonThreadFactory(), "Artifactory repositories")),
+            System::currentTimeMillis);
+
+    private final long ttlMillis;
+    private final Executor executor;
+    private final LongSupplier clock;
+    private final AtomicLong generation = new AtomicLong();
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<List<String>>> inFlight = new ConcurrentHashMap<>();
+
+    RepositoryKeysCache(long ttlMillis, Executor executor, LongSupplier clock) {
+        this.ttlMillis = ttlMillis;
+        this.executor = executor;
+        this.clock = clock;
+    }
+
+    public static RepositoryKeysCache get() {
+        return INSTANCE;
+    }
+
+    public enum RepositoryType {
+        LOCAL, REMOTE, VIRTUAL, FEDERATED
+    }
+
+    /**
+     * Fetches the keys of one repository type from Artifactory.
+     */
+    public interface Fetcher {
+        List<String> fetch(RepositoryType type) throws IOException;
+    }
+
+    /**
+     * Get the keys of all the repository types of a server, fetching them if they are missing or expired.
+     *
+     * @param key     - The cache key, identifying the server and credentials.
+     * @param fetcher - Fetches the keys from Artifactory.
+     * @return the repository keys.
+     */
+    public RepositoryKeys getRepositoryKeys(String key, Fetcher fetcher) throws IOException {
+        return getRepositoryKeys(key, EnumSet.allOf(RepositoryType.class), fetcher);
+    }
+
+    /**
+     * Get the repository keys of a server, fetching them if they are missing or expired.
+     *
+     * @param key     - The cache key, identifying the server and credentials.
+     * @param types   - The repository types to get. The keys of the other types are empty.
+     * @param fetcher - Fetches the keys from Artifactory.
+     * @return the repository keys.
+     */
+    public RepositoryKeys getRepositoryKeys(String key, Set<RepositoryType> types, Fetcher fetcher) throws IOException {
+        long now = clock.getAsLong();
+        Map<RepositoryType, CompletableFuture<List<String>>> futures = new EnumMap<>(RepositoryType.class);
+        for (RepositoryType type : types) {
+            futures.put(type, getKeys(key, type, fetcher, now));
+        }
+        Map<RepositoryType, List<String>> keys = new EnumMap<>(RepositoryType.class);
+        for (Map.Entry<RepositoryType, CompletableFuture<List<String>>> future : futures.entrySet()) {
+            keys.put(future.getKey(), join(future.getValue()));
+        }
+        return new RepositoryKeys(keys);
+    }
+
+    /**
+     * Remove all the entries. Fetches in progress are not cached.
+     */
+    public void clear() {
+        generation.incrementAndGet();
+        inFlight.clear();
+        entries.clear();
+    }
+
+    /**
+     * Remove the entries of a server and credentials, so that they are fetched on the next request.
+     * Fetches in progress are not cached.
+     *
+     * @param key - The cache key, identifying the server and credentials.
+     */
+    public void invalidate(String key) {
+        generation.incrementAndGet();
+        for (RepositoryType type : RepositoryType.values()) {
+            String entryKey = getEntryKey(key, type);
+            inFlight.remove(entryKey);
+            entries.remove(entryKey);
+        }
+    }
+
+    private CompletableFuture<List<String>> getKeys(String key, RepositoryType type, Fetcher fetcher, long now) {
+        String entryKey = getEntryKey(key, type);
+        Entry entry = entries.get(entryKey);
+        if (entry != null) {
+            long age = now - entry.fetchedAt;
+            if (age < ttlMillis) {
+                if (age >= ttlMillis * 3 / 4) {
+                    refresh(entryKey, type, fetcher);
+                }
+                return CompletableFuture.completedFuture(entry.keys);
+            }
+            entries.remove(entryKey, entry);
+        }
+        return refresh(entryKey, type, fetcher);
+    }
+
+    /**
+     * Start fetching the keys, unless they are already being fetched.
+     */
+    private CompletableFuture<List<String>> refresh(String entryKey, RepositoryType type, Fetcher fetcher) {
+        CompletableFuture<List<String>> future = new CompletableFuture<>();
+        CompletableFuture<List<String>> existing = inFlight.putIfAbsent(entryKey, future);
+        if (existing != null) {
+            return existing;
+        }
+        long fetchGeneration = generation.get();
+        long startedAt = clock.getAsLong();
+        CompletableFuture.supplyAsync(() -> {
+            try {
+                List<String> keys = fetcher.fetch(type);
+                return keys == null ? Collections.<String>emptyList() : Collections.unmodifiableList(new ArrayList<>(keys));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, executor).whenComplete((keys, throwable) -> {
+            try {
+                if (throwable != null) {
+                    logger.log(Level.FINE, "Could not fetch the " + type + " repository keys", throwable);
+                    future.completeExceptionally(throwable);
+                    return;
+                }
+                if (ttlMillis > 0 && generation.get() == fetchGeneration) {
+                    entries.values().removeIf(entry -> startedAt - entry.fetchedAt >= ttlMillis);
+                    Entry entry = new Entry(keys, startedAt);
+                    entries.put(entryKey, entry);
+                    // The cache was cleared while the entry was added
+                    if (generation.get() != fetchGeneration) {
+                        entries.remove(entryKey, entry);
+                    }
+                }
+                future.complete(keys);
+            } finally {
+                inFlight.remove(entryKey, future);
+            }
+        });
+        return future;
+    }
+
+    private static String getEntryKey(String key, RepositoryType type) {
+        return key + "\n" + type;
+    }
+
+    private static List<String> join(CompletableFuture<List<String>> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while fetching the repository keys", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            while ((cause instanceof CompletionException || cause instanceof UncheckedIOException) && cause.getCause() != null) {
+                cause = cause.getCause();
+            }
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw new IOException(ExceptionUtils.getRootCauseMessage(cause), cause);
+        }
+    }
+
+    /**
+     * The repository keys of a server. The lists are unmodifiable.
+     */
+    public static class RepositoryKeys {
+        private final Map<RepositoryType, List<String>> keys;
+
+        RepositoryKeys(Map<RepositoryType, List<String>> keys) {
+            this.keys = new EnumMap<>(RepositoryType.class);
+            keys.forEach((type, typeKeys) -> this.keys.put(type, typeKeys == null ?
+                    Collections.emptyList() : Collections.unmodifiableList(new ArrayList<>(typeKeys))));
+        }
+
+        public List<String> getKeys(RepositoryType type) {
+            return keys.getOrDefault(type, Collections.emptyList());
+        }
+    }
+
+    private static class Entry {
+        private final List<String> keys;
+        private final long fetchedAt;
+
+        private Entry(List<String> keys, long fetchedAt) {
+            this.keys = keys;
+            this.fetchedAt = fetchedAt;
+        }
+    }
+}
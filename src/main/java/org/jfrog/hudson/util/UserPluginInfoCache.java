@@ -0,0 +1,113 @@
+package org.jfrog.hudson.util;
+
+import org.jfrog.build.client.ProxyConfiguration;
+import org.jfrog.hudson.ArtifactoryServer;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import static org.jfrog.hudson.util.ProxyUtils.createProxyConfiguration;
+
+/**
+ * Controller-side cache of the user plugins info of the Artifactory servers, used by the staging and promotion pages.
+ * Entries are kept per server and credentials, and expire after a TTL. Concurrent requests for the same entry wait
+ * for a single fetch. The expired entries are removed when a new entry is added, and failed fetches leave no entry.
+ */
+public class UserPluginInfoCache {
+    private static final long DEFAULT_TTL_SECONDS = 300;
+    private static final UserPluginInfoCache INSTANCE = new UserPluginInfoCache(
+            TimeUnit.SECONDS.toMillis(Long.getLong(UserPluginInfoCache.class.getName() + ".ttlSeconds", DEFAULT_TTL_SECONDS)),
+            System::currentTimeMillis);
+
+    private final long ttlMillis;
+    private final LongSupplier clock;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    UserPluginInfoCache(long ttlMillis, LongSupplier clock) {
+        this.ttlMillis = ttlMillis;
+        this.clock = clock;
+    }
+
+    public static UserPluginInfoCache get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Fetches the user plugins info from Artifactory.
+     */
+    public interface Fetcher {
+        Map<String, List<Map>> fetch() throws IOException;
+    }
+
+    /**
+     * Get the user plugins info of a server, fetching it if it is missing or expired.
+     *
+     * @param server      - The Artifactory server.
+     * @param credentials - The credentials used to fetch the info.
+     * @param fetcher     - Fetches the info from Artifactory.
+     * @return map of plugin type, such as "staging" or "promotions", to the info of the plugins of this type.
+     */
+    public Map<String, List<Map>> getUserPluginInfo(ArtifactoryServer server, Credentials credentials, Fetcher fetcher) throws IOException {
+        ProxyConfiguration proxyConfiguration = server.isBypassProxy() ? null : createProxyConfiguration();
+        String key = ArtifactoryManagerPool.getKey(server.getArtifactoryUrl(), credentials, proxyConfiguration,
+                server.getTimeout(), server.getConnectionRetry());
+        return getUserPluginInfo(key, fetcher);
+    }
+
+    /**
+     * @param key     - The key of the server and credentials.
+     * @param fetcher - Fetches the info from Artifactory.
+     * @return map of plugin type to the info of the plugins of this type.
+     */
+    Map<String, List<Map>> getUserPluginInfo(String key, Fetcher fetcher) throws IOException {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            long now = clock.getAsLong();
+            // Entries which were never fetched are being fetched, and are removed if the fetch fails
+            entries.values().removeIf(cached -> cached.userPluginInfo != null && now - cached.fetchedAt >= ttlMillis);
+            entry = entries.computeIfAbsent(key, k -> new Entry());
+        }
+        synchronized (entry) {
+            long now = clock.getAsLong();
+            if (entry.userPluginInfo == null || now - entry.fetchedAt >= ttlMillis) {
+                Map<String, List<Map>> userPluginInfo;
+                try {
+                    userPluginInfo = fetcher.fetch();
+                } catch (IOException | RuntimeException e) {
+                    if (entry.userPluginInfo == null) {
+                        entries.remove(key, entry);
+                    }
+                    throw e;
+                }
+                entry.fetchedAt = now;
+                entry.userPluginInfo = userPluginInfo == null ? Collections.emptyMap() : Collections.unmodifiableMap(userPluginInfo);
+            }
+            return entry.userPluginInfo;
+        }
+    }
+
+    /**
+     * @return the number of the cached entries.
+     */
+    int size() {
+        return entries.size();
+    }
+
+    /**
+     * Remove all the entries.
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    private static class Entry {
+        // Read without the entry lock when the expired entries are removed
+        private volatile Map<String, List<Map>> userPluginInfo;
+        private volatile long fetchedAt;
+    }
+}
@@ -53,5 +53,24 @@ function populateDropDownList() {
                 }
             }
         }
+
+        // Populates the downloadThreads field
+        let downloadThreadsValue = document.getElementsByName("downloadThreads");
+        for (let i = 0; i < downloadThreadsValue.length; i++) {
+            if (downloadThreadsValue[i].length === 0) {
+                // populate the selection fields and set 1 as default.
+                let index = 0;
+                for (let j = 1; j < DEFAULT_OPTIONS_NUMBER; j++) {
+                    let el = document.createElement("option");
+                    el.textContent = j;
+                    el.value = j;
+                    downloadThreadsValue[i].appendChild(el);
+                    if (j === 1) {
+                        downloadThreadsValue[i].selectedIndex = index;
+                    }
+                    index++;
+                }
+            }
+        }
     }
 }
@@ -23,14 +23,18 @@ function loadBuild(buildData) {
         var repositoryKeys = res["repositories"];
         var plugins = res["plugins"];
         var promotionConfigs = res["promotionConfigs"];
-        var promotionConfig
+        var promotionConfig;
 
         for (var i = 0; i < promotionConfigs.length; i++) {
-            promotionConfig = promotionConfigs[i];
-            if (promotionConfig["id"] == buildId) {
+            if (promotionConfigs[i]["id"] == buildId) {
+                promotionConfig = promotionConfigs[i];
                 break;
             }
         }
+        if (!promotionConfig) {
+            // The data belongs to a build which is no longer selected
+            return;
+        }
 
         var selectPlugin = document.getElementById("pluginList");
         var selectTarget = document.getElementById("targetRepositoryKey");
@@ -0,0 +1,22 @@
+package org.jfrog.hudson;
+
+import com.gargoylesoftware.htmlunit.html.HtmlPage;
+import org.junit.Rule;
+import org.junit.Test;
+import org.jvnet.hudson.test.JenkinsRule;
+
+import static org.junit.Assert.assertTrue;
+
+public class ArtifactoryDiagnosticsTest {
+    @Rule
+    public JenkinsRule jenkins = new JenkinsRule();
+
+    @Test
+    public void testPage() throws Exception {
+        HtmlPage page = jenkins.createWebClient().goTo("manage/artifactory-diagnostics");
+        String text = page.asText();
+        assertTrue(text.contains("Managers created"));
+        assertTrue(text.contains("AQL queries sent"));
+        assertTrue(text.contains("Reclaimed since startup"));
+    }
+}
@@ -0,0 +1,160 @@
+package org.jfrog.hudson.generic;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class LocalChecksumCacheTest {
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void testMergeOnSave() throws Exception {
+        File cacheFile = new File(tempFolder.newFolder("cache"), LocalChecksumCache.CACHE_FILE_NAME);
+        File a = createFile("a.jar");
+        File b = createFile("b.jar");
+        // Two downloads load the cache before any of them persists it
+        LocalChecksumCache first = LocalChecksumCache.load(cacheFile);
+        LocalChecksumCache second = LocalChecksumCache.load(cacheFile);
+        first.put(a, checksums("a"));
+        second.put(b, checksums("b"));
+        second.save();
+        first.save();
+
+        Map<String, String> md5s = readMd5s(cacheFile);
+        assertEquals(2, md5s.size());
+        assertEquals("a", md5s.get(a.getAbsolutePath()));
+        assertEquals("b", md5s.get(b.getAbsolutePath()));
+    }
+
+    @Test
+    public void testNewerEntryWins() throws Exception {
+        File cacheFile = new File(tempFolder.newFolder("cache"), LocalChecksumCache.CACHE_FILE_NAME);
+        File a = createFile("a.jar");
+        LocalChecksumCache first = LocalChecksumCache.load(cacheFile);
+        LocalChecksumCache second = LocalChecksumCache.load(cacheFile);
+        first.put(a, checksums("old"));
+        Thread.sleep(10);
+        second.put(a, checksums("new"));
+        second.save();
+        // The older entry of the first cache doesn't overwrite the newer persisted entry
+        first.save();
+        assertEquals("new", readMd5s(cacheFile).get(a.getAbsolutePath()));
+
+        LocalChecksumCache third = LocalChecksumCache.load(cacheFile);
+        Thread.sleep(10);
+        third.put(a, checksums("newest"));
+        third.save();
+        assertEquals("newest", readMd5s(cacheFile).get(a.getAbsolutePath()));
+    }
+
+    @Test
+    public void testConcurrentFlushes() throws Exception {
+        String cacheDir = tempFolder.newFolder("cache").getAbsolutePath();
+        int count = 8;
+        List<File> files = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            files.add(createFile(i + ".jar"));
+        }
+        // Each download puts a file in the shared cache of the directory and flushes it
+        List<Future<Void>> futures = new ArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(count);
+        try {
+            for (File file : files) {
+                futures.add(executor.submit((Callable<Void>) () -> {
+                    LocalChecksumCache cache = LocalChecksumCache.load(new File(cacheDir, LocalChecksumCache.CACHE_FILE_NAME));
+                    cache.put(file, checksums(file.getName()));
+                    cache.save();
+                    return null;
+                }));
+            }
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Map<String, String> md5s = readMd5s(new File(cacheDir, LocalChecksumCache.CACHE_FILE_NAME));
+        assertEquals(count, md5s.size());
+        for (File file : files) {
+            assertEquals(file.getName(), md5s.get(file.getAbsolutePath()));
+        }
+    }
+
+    @Test
+    public void testFlush() throws Exception {
+        String cacheDir = tempFolder.newFolder("cache").getAbsolutePath();
+        File a = createFile("a.jar");
+        Map<String, String> checksums = LocalChecksumCache.get(cacheDir).put(a);
+        LocalChecksumCache.flush(cacheDir);
+
+        File cacheFile = new File(cacheDir, LocalChecksumCache.CACHE_FILE_NAME);
+        assertTrue(cacheFile.isFile());
+        assertEquals(checksums.get("md5"), readMd5s(cacheFile).get(a.getAbsolutePath()));
+        assertEquals(checksums, LocalChecksumCache.get(cacheDir).getChecksums(a));
+        LocalChecksumCache.flush(cacheDir);
+    }
+
+    @Test
+    public void testFlushWhileShared() throws Exception {
+        String cacheDir = tempFolder.newFolder("cache").getAbsolutePath();
+        File a = createFile("a.jar");
+        File b = createFile("b.jar");
+        // Two concurrent downloads to the same directory share the cache
+        LocalChecksumCache.get(cacheDir).put(a);
+        LocalChecksumCache shared = LocalChecksumCache.get(cacheDir);
+        // The first download ends, while the second one still adds checksums
+        LocalChecksumCache.flush(cacheDir);
+        Map<String, String> checksums = shared.put(b);
+        LocalChecksumCache.flush(cacheDir);
+
+        assertSame(shared, LocalChecksumCache.get(cacheDir));
+        Map<String, String> md5s = readMd5s(new File(cacheDir, LocalChecksumCache.CACHE_FILE_NAME));
+        assertEquals(2, md5s.size());
+        assertEquals(checksums.get("md5"), md5s.get(b.getAbsolutePath()));
+    }
+
+    private File createFile(String name) throws IOException {
+        File file = tempFolder.newFile(name);
+        Files.write(file.toPath(), name.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    private static Map<String, String> checksums(String md5) {
+        Map<String, String> checksums = new HashMap<>();
+        checksums.put("md5", md5);
+        checksums.put("sha1", md5 + "-sha1");
+        return checksums;
+    }
+
+    /**
+     * @return map of the paths in the cache file to their MD5 checksums.
+     */
+    private static Map<String, String> readMd5s(File cacheFile) throws IOException {
+        Map<String, String> md5s = new HashMap<>();
+        for (String line : Files.readAllLines(cacheFile.toPath(), StandardCharsets.UTF_8)) {
+            // size, modification time, file key, recorded at, md5, sha1, path
+            String[] fields = line.split("\t", 7);
+            md5s.put(fields[6], fields[4]);
+        }
+        return md5s;
+    }
+}
@@ -0,0 +1,87 @@
+package org.jfrog.hudson.generic;
+
+import org.jfrog.build.api.dependency.DownloadableArtifact;
+import org.jfrog.build.api.dependency.pattern.PatternType;
+import org.jfrog.build.api.util.NullLog;
+import org.jfrog.build.extractor.builder.DependencyBuilder;
+import org.jfrog.build.extractor.ci.Dependency;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class ParallelDependenciesDownloaderHelperTest {
+    private static final List<String> PATHS = Arrays.asList("c/c.jar", "a/a.jar", "e/e.jar", "b/b.jar", "d/d.jar");
+
+    @Test
+    public void testDeterministicOrder() throws IOException {
+        List<String> sortedPaths = new ArrayList<>(PATHS);
+        Collections.sort(sortedPaths);
+        // Each download waits for the next one in the sorted order, so the downloads complete in reverse order
+        List<CountDownLatch> completed = new ArrayList<>();
+        for (int i = 0; i < PATHS.size(); i++) {
+            completed.add(new CountDownLatch(1));
+        }
+        List<String> completionOrder = Collections.synchronizedList(new ArrayList<>());
+
+        ParallelDependenciesDownloaderHelper helper = new ParallelDependenciesDownloaderHelper(null, "http://localhost:8081/artifactory",
+                PATHS.size(), null, new NullLog()) {
+            @Override
+            List<Dependency> downloadDependency(DownloadableArtifact artifact) throws IOException {
+                int index = sortedPaths.indexOf(artifact.getFilePath());
+                try {
+                    if (index < PATHS.size() - 1 && !completed.get(index + 1).await(10, TimeUnit.SECONDS)) {
+                        throw new IOException("Timed out waiting for " + sortedPaths.get(index + 1));
+                    }
+                } catch (InterruptedException e) {
+                    throw new IOException(e);
+                }
+                completionOrder.add(artifact.getFilePath());
+                completed.get(index).countDown();
+                return Collections.singletonList(new DependencyBuilder().id(artifact.getFilePath()).build());
+            }
+        };
+
+        Set<DownloadableArtifact> artifacts = new LinkedHashSet<>();
+        PATHS.forEach(path -> artifacts.add(new DownloadableArtifact("libs-release-local", "target", path, null, path, PatternType.NORMAL)));
+        List<Dependency> dependencies = helper.downloadDependencies(artifacts);
+
+        List<String> reversed = new ArrayList<>(sortedPaths);
+        Collections.reverse(reversed);
+        assertEquals(reversed, completionOrder);
+        assertEquals(sortedPaths, dependencies.stream().map(Dependency::getId).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testFailure() {
+        ParallelDependenciesDownloaderHelper helper = new ParallelDependenciesDownloaderHelper(null, "http://localhost:8081/artifactory",
+                2, null, new NullLog()) {
+            @Override
+            List<Dependency> downloadDependency(DownloadableArtifact artifact) throws IOException {
+                if (artifact.getFilePath().equals("b/b.jar")) {
+                    throw new IOException("Download failed");
+                }
+                return Collections.singletonList(new DependencyBuilder().id(artifact.getFilePath()).build());
+            }
+        };
+        Set<DownloadableArtifact> artifacts = new LinkedHashSet<>();
+        PATHS.forEach(path -> artifacts.add(new DownloadableArtifact("libs-release-local", "target", path, null, path, PatternType.NORMAL)));
+        try {
+            helper.downloadDependencies(artifacts);
+            fail("Expected the download to fail");
+        } catch (IOException e) {
+            assertEquals("Download failed", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package org.jfrog.hudson.generic;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.jfrog.build.api.util.NullLog;
+import org.jfrog.build.extractor.ci.Dependency;
+import org.jfrog.hudson.ArtifactoryServer;
+import org.jfrog.hudson.util.Credentials;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Resolve dependencies by patterns from a local HTTP server, which serves the pattern search and the artifacts.
+ */
+public class PatternsResolverCallableTest {
+    private static final String AGENT_NATIVE_PROPERTY = PatternsResolverCallable.class.getName() + ".enabled";
+    private static final byte[] CONTENT = "content of a.txt".getBytes(StandardCharsets.UTF_8);
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private HttpServer server;
+    private String baseUrl;
+
+    @Before
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/artifactory/", exchange -> sendResponse(exchange, 404, new byte[0]));
+        server.createContext("/artifactory/api/search/pattern", exchange -> sendResponse(exchange, 200,
+                ("{\"repoUri\":\"" + baseUrl + "libs-release\",\"sourcePattern\":\"libs-release:org/*.txt\"," +
+                        "\"files\":[\"org/a.txt\"]}").getBytes(StandardCharsets.UTF_8)));
+        server.createContext("/artifactory/libs-release/org/a.txt", exchange -> {
+            exchange.getResponseHeaders().set("X-Checksum-Sha1", DigestUtils.sha1Hex(CONTENT));
+            exchange.getResponseHeaders().set("X-Checksum-Md5", DigestUtils.md5Hex(CONTENT));
+            sendResponse(exchange, 200, CONTENT);
+        });
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort() + "/artifactory/";
+    }
+
+    @After
+    public void tearDown() {
+        server.stop(0);
+        System.clearProperty(AGENT_NATIVE_PROPERTY);
+    }
+
+    @Test
+    public void testIsAgentNative() {
+        assertFalse(PatternsResolverCallable.isAgentNative());
+        System.setProperty(AGENT_NATIVE_PROPERTY, "true");
+        assertTrue(PatternsResolverCallable.isAgentNative());
+    }
+
+    @Test
+    public void testResolve() throws Exception {
+        ArtifactoryServer artifactoryServer = new ArtifactoryServer("local", baseUrl, null, null, 60, true, 0, 1);
+        File workspace = temporaryFolder.getRoot();
+        PatternsResolverCallable.Result result = new PatternsResolverCallable(new NullLog(), artifactoryServer,
+                new Credentials("user", "password"), null, "libs-release:org/*.txt").invoke(workspace, null);
+
+        List<Dependency> dependencies = result.getPublishedDependencies();
+        assertEquals(1, dependencies.size());
+        Dependency dependency = dependencies.get(0);
+        assertTrue(dependency.getId(), dependency.getId().endsWith("a.txt"));
+        assertEquals(DigestUtils.sha1Hex(CONTENT), dependency.getSha1());
+        assertEquals(DigestUtils.md5Hex(CONTENT), dependency.getMd5());
+        assertArrayEquals(CONTENT, Files.readAllBytes(new File(workspace, "org/a.txt").toPath()));
+        // Build dependencies are only resolved by patterns of the form build-name#build-number
+        assertTrue(result.getBuildDependencies().isEmpty());
+    }
+
+    private static void sendResponse(HttpExchange exchange, int status, byte[] body) throws IOException {
+        if ("HEAD".equals(exchange.getRequestMethod())) {
+            exchange.getResponseHeaders().set("Content-Length", String.valueOf(body.length));
+            exchange.sendResponseHeaders(status, -1);
+            exchange.close();
+            return;
+        }
+        exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package org.jfrog.hudson.generic;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.io.IOUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Download files in segments from a local HTTP server, which serves byte ranges and Artifactory checksum headers.
+ */
+public class SegmentedDownloaderTest {
+    private static final int SIZE = 1024 * 1024 + 17;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final byte[] content = new byte[SIZE];
+    private final AtomicInteger rangeRequests = new AtomicInteger();
+    private final List<String> authorizations = Collections.synchronizedList(new ArrayList<>());
+    private final List<String> aqlQueries = Collections.synchronizedList(new ArrayList<>());
+    private HttpServer server;
+    private String baseUrl;
+
+    @Before
+    public void setUp() throws IOException {
+        new Random(7).nextBytes(content);
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/artifactory/libs-release/", exchange -> serve(exchange, true, DigestUtils.sha1Hex(content)));
+        server.createContext("/artifactory/no-ranges/", exchange -> serve(exchange, false, DigestUtils.sha1Hex(content)));
+        server.createContext("/artifactory/corrupted/", exchange -> serve(exchange, true, DigestUtils.sha1Hex("other")));
+        server.createContext("/artifactory/redirect/", exchange -> {
+            authorizations.add("redirect:" + exchange.getRequestHeaders().getFirst("Authorization"));
+            exchange.getResponseHeaders().set("Location", "/storage/a.bin?signature=1");
+            exchange.sendResponseHeaders(302, -1);
+            exchange.close();
+        });
+        server.createContext("/storage/", exchange -> {
+            authorizations.add("storage:" + exchange.getRequestHeaders().getFirst("Authorization"));
+            serve(exchange, true, DigestUtils.sha1Hex(content));
+        });
+        server.createContext("/artifactory/api/search/aql", exchange -> {
+            aqlQueries.add(IOUtils.toString(exchange.getRequestBody(), StandardCharsets.UTF_8));
+            byte[] response = ("{\"results\":[{\"repo\":\"libs-release\",\"path\":\".\",\"name\":\"a.bin\",\"size\":" + SIZE + "}," +
+                    "{\"repo\":\"libs-release\",\"path\":\"org/b\",\"name\":\"b.bin\",\"size\":10}]}").getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, response.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(response);
+            }
+        });
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort() + "/artifactory/";
+    }
+
+    @After
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    public void testDownload() throws Exception {
+        SegmentedDownloader downloader = new SegmentedDownloader("user", "password", null, null, null, 60, 4, 1024);
+        String url = baseUrl + "libs-release/a.bin";
+        SegmentedDownloader.Metadata metadata = downloader.head(url);
+        assertEquals(SIZE, metadata.getSize());
+        assertTrue(downloader.isSegmentable(metadata));
+
+        File target = new File(temporaryFolder.getRoot(), "dir/a.bin");
+        rangeRequests.set(0);
+        Map<String, String> checksums = downloader.download(url, metadata, target);
+        assertEquals(4, rangeRequests.get());
+        assertArrayEquals(content, Files.readAllBytes(target.toPath()));
+        assertEquals(DigestUtils.md5Hex(content), checksums.get("md5"));
+        assertEquals(DigestUtils.sha1Hex(content), checksums.get("sha1"));
+        assertEquals(1, target.getParentFile().list().length);
+    }
+
+    @Test
+    public void testNotSegmentable() throws Exception {
+        SegmentedDownloader downloader = new SegmentedDownloader("user", "password", null, null, null, 60, 4, 1024);
+        assertFalse(downloader.isSegmentable(downloader.head(baseUrl + "no-ranges/a.bin")));
+        SegmentedDownloader highThreshold = new SegmentedDownloader("user", "password", null, null, null, 60, 4, SIZE + 1);
+        assertFalse(highThreshold.isSegmentable(highThreshold.head(baseUrl + "libs-release/a.bin")));
+    }
+
+    @Test
+    public void testChecksumMismatch() throws Exception {
+        SegmentedDownloader downloader = new SegmentedDownloader("user", "password", null, null, null, 60, 4, 1024);
+        String url = baseUrl + "corrupted/a.bin";
+        File target = new File(temporaryFolder.getRoot(), "a.bin");
+        try {
+            downloader.download(url, downloader.head(url), target);
+            fail("Expected a checksum mismatch");
+        } catch (IOException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("SHA1 mismatch"));
+        }
+        assertFalse(target.exists());
+        assertEquals(0, temporaryFolder.getRoot().list().length);
+    }
+
+    @Test
+    public void testRedirectWithoutCredentials() throws Exception {
+        SegmentedDownloader downloader = new SegmentedDownloader("user", "password", null, null, null, 60, 4, 1024);
+        String url = baseUrl + "redirect/a.bin";
+        SegmentedDownloader.Metadata metadata = downloader.head(url);
+        assertEquals(SIZE, metadata.getSize());
+        assertTrue(downloader.isSegmentable(metadata));
+
+        File target = new File(temporaryFolder.getRoot(), "a.bin");
+        downloader.download(url, metadata, target);
+        assertArrayEquals(content, Files.readAllBytes(target.toPath()));
+        for (String authorization : authorizations) {
+            // The credentials are sent to Artifactory only
+            assertTrue(authorization, authorization.startsWith("redirect:Basic ") || authorization.equals("storage:null"));
+        }
+        assertTrue(authorizations.contains("storage:null"));
+    }
+
+    @Test
+    public void testGetSizes() throws Exception {
+        SegmentedDownloader downloader = new SegmentedDownloader("user", "password", null, null, null, 60, 4, 1024);
+        Map<String, Long> sizes = downloader.getSizes(baseUrl, Arrays.asList("libs-release/a.bin", "libs-release/org/b/b.bin", "libs-release/c\"d.bin"));
+        assertEquals(Long.valueOf(SIZE), sizes.get("libs-release/a.bin"));
+        assertEquals(Long.valueOf(10), sizes.get("libs-release/org/b/b.bin"));
+        assertFalse(downloader.isAboveThreshold(sizes.get("libs-release/org/b/b.bin")));
+        assertEquals(1, aqlQueries.size());
+        assertTrue(aqlQueries.get(0), aqlQueries.get(0).contains("{\"repo\":\"libs-release\",\"path\":\"org/b\",\"name\":\"b.bin\"}"));
+        assertTrue(aqlQueries.get(0), aqlQueries.get(0).contains("\"name\":\"c\\\"d.bin\""));
+    }
+
+    private void serve(HttpExchange exchange, boolean acceptRanges, String sha1) throws IOException {
+        exchange.getResponseHeaders().set("X-Checksum-Md5", DigestUtils.md5Hex(content));
+        exchange.getResponseHeaders().set("X-Checksum-Sha1", sha1);
+        String range = exchange.getRequestHeaders().getFirst("Range");
+        int from = 0;
+        int to = SIZE - 1;
+        int status = 200;
+        if (acceptRanges && range != null) {
+            String[] bounds = range.substring("bytes=".length()).split("-");
+            from = Integer.parseInt(bounds[0]);
+            to = Integer.parseInt(bounds[1]);
+            status = 206;
+            exchange.getResponseHeaders().set("Content-Range", "bytes " + from + "-" + to + "/" + SIZE);
+            if (to > from) {
+                rangeRequests.incrementAndGet();
+            }
+        }
+        exchange.sendResponseHeaders(status, to - from + 1);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(content, from, to - from + 1);
+        }
+    }
+}
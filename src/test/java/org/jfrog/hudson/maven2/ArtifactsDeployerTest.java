@@ -0,0 +1,119 @@
+package org.jfrog.hudson.maven2;
+
+import hudson.maven.reporters.MavenArtifact;
+import hudson.util.StreamTaskListener;
+import org.jfrog.build.api.util.NullLog;
+import org.jfrog.build.client.ArtifactoryUploadResponse;
+import org.jfrog.build.extractor.clientConfiguration.client.artifactory.ArtifactoryManager;
+import org.jfrog.build.extractor.clientConfiguration.deploy.DeployDetails;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ArtifactsDeployerTest {
+    private static final int MODULES = 3;
+    private static final int ARTIFACTS_PER_MODULE = 4;
+    private static final int THREADS = 3;
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private final List<StubArtifactoryManager> managers = new ArrayList<>();
+    private final Map<String, Thread> uploads = new ConcurrentHashMap<>();
+
+    @Test
+    public void testDeployModulesConcurrently() throws Exception {
+        List<ArtifactsDeployer.ModuleArtifact> artifacts = new ArrayList<>();
+        for (int module = 0; module < MODULES; module++) {
+            for (int i = 0; i < ARTIFACTS_PER_MODULE; i++) {
+                MavenArtifact mavenArtifact = new MavenArtifact("org.acme", "module" + module, "1.0", "c" + i, "jar",
+                        "module" + module + "-1.0-c" + i + ".jar", null);
+                artifacts.add(new ArtifactsDeployer.ModuleArtifact("module" + module, null, mavenArtifact));
+            }
+        }
+        // The first uploads of all the threads wait for each other, so all the threads upload concurrently
+        CyclicBarrier barrier = new CyclicBarrier(THREADS);
+        ByteArrayOutputStream log = new ByteArrayOutputStream();
+
+        AtomicInteger files = new AtomicInteger();
+        ArtifactsDeployer.deploy(artifacts, artifact -> {
+                    String name = "artifact" + files.incrementAndGet() + ".jar";
+                    return new DeployDetails.Builder()
+                            .file(tempFolder.newFile(name))
+                            .artifactPath(name)
+                            .targetRepository("libs-release-local")
+                            .build();
+                },
+                () -> createManager(barrier), null, THREADS, new StreamTaskListener(log, StandardCharsets.UTF_8));
+
+        // All the artifacts are deployed, each upload thread through its own manager
+        assertEquals(MODULES * ARTIFACTS_PER_MODULE, uploads.size());
+        assertEquals(THREADS, managers.size());
+        Set<Thread> threads = new HashSet<>();
+        for (StubArtifactoryManager manager : managers) {
+            assertEquals(1, manager.threads.size());
+            assertTrue(threads.addAll(manager.threads));
+            assertTrue(manager.closed);
+        }
+        assertEquals(threads, new HashSet<>(uploads.values()));
+        String output = new String(log.toByteArray(), StandardCharsets.UTF_8);
+        for (int module = 0; module < MODULES; module++) {
+            assertTrue(output, output.contains("Deployed " + ARTIFACTS_PER_MODULE + " artifacts of module: module" + module));
+        }
+    }
+
+    private synchronized ArtifactoryManager createManager(CyclicBarrier barrier) {
+        StubArtifactoryManager manager = new StubArtifactoryManager(barrier);
+        managers.add(manager);
+        return manager;
+    }
+
+    /**
+     * Records the uploads and the threads which use it.
+     */
+    private class StubArtifactoryManager extends ArtifactoryManager {
+        private final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        private final CyclicBarrier barrier;
+        private volatile boolean closed;
+
+        StubArtifactoryManager(CyclicBarrier barrier) {
+            super("", "", new NullLog());
+            this.barrier = barrier;
+        }
+
+        @Override
+        public ArtifactoryUploadResponse upload(DeployDetails details) throws IOException {
+            if (threads.add(Thread.currentThread())) {
+                try {
+                    barrier.await(10, TimeUnit.SECONDS);
+                } catch (Exception e) {
+                    throw new IOException("Not all the threads uploaded concurrently", e);
+                }
+            }
+            uploads.put(details.getArtifactPath(), Thread.currentThread());
+            return null;
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+            super.close();
+        }
+    }
+}
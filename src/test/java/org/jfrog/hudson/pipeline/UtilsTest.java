@@ -1,9 +1,23 @@
 package org.jfrog.hudson.pipeline;
 
+import org.jfrog.hudson.pipeline.common.types.PromotionConfig;
+import org.jfrog.hudson.pipeline.common.types.PromotionReport;
 import org.junit.Test;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.jfrog.hudson.pipeline.common.Utils.createBulkPromotionConfigs;
 import static org.jfrog.hudson.pipeline.common.Utils.escapeUnixArgument;
+import static org.jfrog.hudson.pipeline.common.Utils.isContinueOnFailurePromotion;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 public class UtilsTest {
 
@@ -53,6 +67,102 @@ public class UtilsTest {
         validateEscapeUnixArgument("#", "\\#");
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void createBulkPromotionConfigsTest() {
+        Map<String, Object> promotionParams = new LinkedHashMap<>();
+        promotionParams.put("targetRepo", "libs-release");
+        promotionParams.put("status", "Released");
+        promotionParams.put("threads", 2);
+        promotionParams.put("failurePolicy", "continueOnFailure");
+        promotionParams.put("builds", Arrays.asList(createBuild("a", "1"), createBuild("b", "2")));
+        ((Map<String, Object>) ((List<?>) promotionParams.get("builds")).get(1)).put("targetRepo", "libs-staging");
+
+        List<PromotionConfig> promotionConfigs = createBulkPromotionConfigs(promotionParams);
+        assertEquals(2, promotionConfigs.size());
+        assertEquals("a", promotionConfigs.get(0).getBuildName());
+        assertEquals("1", promotionConfigs.get(0).getBuildNumber());
+        assertEquals("libs-release", promotionConfigs.get(0).getTargetRepo());
+        assertEquals("Released", promotionConfigs.get(0).getStatus());
+        // The arguments of a build override the common arguments
+        assertEquals("b", promotionConfigs.get(1).getBuildName());
+        assertEquals("libs-staging", promotionConfigs.get(1).getTargetRepo());
+        assertEquals("Released", promotionConfigs.get(1).getStatus());
+    }
+
+    @Test
+    public void createBulkPromotionConfigsErrorsTest() {
+        // Missing builds
+        assertInvalidBulkPromotion(Collections.singletonMap("targetRepo", "libs-release"));
+        // Empty builds
+        Map<String, Object> promotionParams = new HashMap<>();
+        promotionParams.put("targetRepo", "libs-release");
+        promotionParams.put("builds", Collections.emptyList());
+        assertInvalidBulkPromotion(promotionParams);
+        // A build which is not a map
+        promotionParams.put("builds", Collections.singletonList("a/1"));
+        assertInvalidBulkPromotion(promotionParams);
+        // Missing target repository
+        promotionParams.remove("targetRepo");
+        promotionParams.put("builds", Collections.singletonList(createBuild("a", "1")));
+        assertInvalidBulkPromotion(promotionParams);
+        // Unknown argument
+        promotionParams.put("targetRepo", "libs-release");
+        promotionParams.put("unknown", "value");
+        assertInvalidBulkPromotion(promotionParams);
+    }
+
+    @Test
+    public void isContinueOnFailurePromotionTest() {
+        assertFalse(isContinueOnFailurePromotion(Collections.emptyMap()));
+        assertFalse(isContinueOnFailurePromotion(Collections.singletonMap("failurePolicy", "stopOnFailure")));
+        assertTrue(isContinueOnFailurePromotion(Collections.singletonMap("failurePolicy", "continueOnFailure")));
+        try {
+            isContinueOnFailurePromotion(Collections.singletonMap("failurePolicy", "ignore"));
+            fail("Expected an invalid failure policy");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("failurePolicy"));
+        }
+    }
+
+    @Test
+    public void promotionReportTest() {
+        PromotionReport promotionReport = new PromotionReport();
+        assertTrue(promotionReport.isSuccess());
+        assertEquals("Promoted: 0, failed: 0, skipped: 0.", promotionReport.toString());
+
+        promotionReport.addPromoted("a/1");
+        assertTrue(promotionReport.isSuccess());
+        promotionReport.addFailed("b/2", "Forbidden");
+        promotionReport.addSkipped("c/3");
+        promotionReport.addSkipped("d/4");
+        assertFalse(promotionReport.isSuccess());
+        assertEquals(Collections.singletonList("a/1"), promotionReport.getPromoted());
+        assertEquals(Collections.singletonMap("b/2", "Forbidden"), promotionReport.getFailed());
+        assertEquals(Arrays.asList("c/3", "d/4"), promotionReport.getSkipped());
+        assertEquals("Promoted: 1, failed: 1, skipped: 2.\nb/2 failed: Forbidden\nSkipped: c/3, d/4", promotionReport.toString());
+
+        // The getters return copies
+        promotionReport.getPromoted().clear();
+        assertEquals(1, promotionReport.getPromoted().size());
+    }
+
+    private static Map<String, Object> createBuild(String buildName, String buildNumber) {
+        Map<String, Object> build = new HashMap<>();
+        build.put("buildName", buildName);
+        build.put("buildNumber", buildNumber);
+        return build;
+    }
+
+    private static void assertInvalidBulkPromotion(Map<String, Object> promotionParams) {
+        try {
+            createBulkPromotionConfigs(promotionParams);
+            fail("Expected invalid bulk promotion arguments: " + promotionParams);
+        } catch (IllegalArgumentException e) {
+            // Expected
+        }
+    }
+
     private void validateEscapeUnixArgument(String argToTest, String expected) {
         String res = escapeUnixArgument(argToTest);
         assertTrue(expected.equals(res));
@@ -0,0 +1,71 @@
+package org.jfrog.hudson.pipeline.common;
+
+import org.jfrog.build.extractor.ci.BuildInfo;
+import org.jfrog.build.extractor.ci.Module;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class GeneratedBuildInfoReaderTest {
+    private static final String BUILD_INFO = "{\"name\":\"build\",\"modules\":[" +
+            "{\"id\":\"a\",\"artifacts\":[{\"name\":\"a.jar\",\"sha1\":\"1\"}]}," +
+            "{\"id\":\"b\",\"dependencies\":[{\"id\":\"dep\",\"sha1\":\"2\"}]}]," +
+            "\"number\":\"7\"}";
+
+    @Test
+    public void readTest() throws IOException {
+        GeneratedBuildInfoReader.Result result = new GeneratedBuildInfoReader().read(toStream(BUILD_INFO), "test");
+        BuildInfo buildInfo = result.getBuildInfo();
+        assertEquals("build", buildInfo.getName());
+        assertEquals("7", buildInfo.getNumber());
+        assertEquals(Arrays.asList("a", "b"), buildInfo.getModules().stream().map(Module::getId).collect(Collectors.toList()));
+        assertEquals("a.jar", buildInfo.getModules().get(0).getArtifacts().get(0).getName());
+        assertEquals("dep", buildInfo.getModules().get(1).getDependencies().get(0).getId());
+        assertEquals(BUILD_INFO.length(), result.getBytesParsed());
+        assertTrue(result.getPeakBytes() > 0 && result.getPeakBytes() < BUILD_INFO.length());
+    }
+
+    @Test
+    public void readModulesTest() throws IOException {
+        List<String> modules = new ArrayList<>();
+        GeneratedBuildInfoReader.Result result = new GeneratedBuildInfoReader().read(toStream(BUILD_INFO), "test",
+                module -> modules.add(module.getId()));
+        assertEquals(Arrays.asList("a", "b"), modules);
+        // The modules are passed to the consumer only
+        List<Module> buildInfoModules = result.getBuildInfo().getModules();
+        assertTrue(buildInfoModules == null || buildInfoModules.isEmpty());
+        assertEquals("7", result.getBuildInfo().getNumber());
+    }
+
+    @Test
+    public void emptyTest() throws IOException {
+        GeneratedBuildInfoReader.Result result = new GeneratedBuildInfoReader().read(toStream(""), "test");
+        assertTrue(result.getBuildInfo().getModules().isEmpty());
+        assertEquals(0, result.getBytesParsed());
+    }
+
+    @Test
+    public void invalidTest() {
+        try {
+            new GeneratedBuildInfoReader().read(toStream("[]"), "build.json");
+            fail("Expected a JSON object");
+        } catch (IOException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("build.json"));
+        }
+    }
+
+    private static InputStream toStream(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
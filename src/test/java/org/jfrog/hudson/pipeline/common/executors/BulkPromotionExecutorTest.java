@@ -0,0 +1,126 @@
+package org.jfrog.hudson.pipeline.common.executors;
+
+import org.jfrog.hudson.pipeline.common.types.PromotionConfig;
+import org.jfrog.hudson.pipeline.common.types.PromotionReport;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class BulkPromotionExecutorTest {
+    private final List<String> promoted = Collections.synchronizedList(new ArrayList<>());
+
+    @Test
+    public void testStopOnFailure() throws Exception {
+        PromotionReport promotionReport = BulkPromotionExecutor.promoteAll(createPromotionConfigs("a", "b", "c"),
+                promotionConfig -> promote(promotionConfig, "b"), 1, false);
+
+        assertEquals(Collections.singletonList("a/1"), promotionReport.getPromoted());
+        assertEquals(Collections.singletonMap("b/1", "Promotion failed"), promotionReport.getFailed());
+        assertEquals(Collections.singletonList("c/1"), promotionReport.getSkipped());
+        assertEquals(Arrays.asList("a", "b"), promoted);
+        assertFalse(promotionReport.isSuccess());
+    }
+
+    @Test
+    public void testContinueOnFailure() throws Exception {
+        PromotionReport promotionReport = BulkPromotionExecutor.promoteAll(createPromotionConfigs("a", "b", "c"),
+                promotionConfig -> promote(promotionConfig, "b"), 1, true);
+
+        assertEquals(Arrays.asList("a/1", "c/1"), promotionReport.getPromoted());
+        assertEquals(Collections.singletonMap("b/1", "Promotion failed"), promotionReport.getFailed());
+        assertTrue(promotionReport.getSkipped().isEmpty());
+        assertEquals(Arrays.asList("a", "b", "c"), promoted);
+        assertFalse(promotionReport.isSuccess());
+    }
+
+    @Test
+    public void testStopOnFailureConcurrent() throws Exception {
+        // Promotion a is in progress when b fails, and completes
+        CountDownLatch bFailed = new CountDownLatch(1);
+        PromotionReport promotionReport = BulkPromotionExecutor.promoteAll(createPromotionConfigs("a", "b"),
+                promotionConfig -> {
+                    if (promotionConfig.getBuildName().equals("a")) {
+                        await(bFailed);
+                    }
+                    String error = promote(promotionConfig, "b");
+                    if (error != null) {
+                        bFailed.countDown();
+                    }
+                    return error;
+                }, 2, false);
+
+        assertEquals(Collections.singletonList("a/1"), promotionReport.getPromoted());
+        assertEquals(Collections.singletonMap("b/1", "Promotion failed"), promotionReport.getFailed());
+        assertTrue(promotionReport.getSkipped().isEmpty());
+    }
+
+    @Test
+    public void testSuccess() throws Exception {
+        PromotionReport promotionReport = BulkPromotionExecutor.promoteAll(createPromotionConfigs("a", "b", "c"),
+                promotionConfig -> promote(promotionConfig, null), 3, false);
+
+        assertEquals(Arrays.asList("a/1", "b/1", "c/1"), promotionReport.getPromoted());
+        assertTrue(promotionReport.isSuccess());
+    }
+
+    @Test
+    public void testPromoterException() throws Exception {
+        try {
+            BulkPromotionExecutor.promoteAll(createPromotionConfigs("a"), promotionConfig -> {
+                throw new IllegalStateException("Unexpected");
+            }, 1, true);
+            fail("Expected the promoter exception");
+        } catch (IOException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+    }
+
+    @Test
+    public void testGetThreadsCount() {
+        assertEquals(1, BulkPromotionExecutor.getThreadsCount(0, 5));
+        assertEquals(2, BulkPromotionExecutor.getThreadsCount(4, 2));
+        assertEquals(4, BulkPromotionExecutor.getThreadsCount(4, 10));
+        assertEquals(BulkPromotionExecutor.MAX_THREADS, BulkPromotionExecutor.getThreadsCount(Integer.MAX_VALUE, Integer.MAX_VALUE));
+    }
+
+    /**
+     * Stub promotion, which fails for the build with the input name.
+     */
+    private String promote(PromotionConfig promotionConfig, String failingBuild) {
+        promoted.add(promotionConfig.getBuildName());
+        return promotionConfig.getBuildName().equals(failingBuild) ? "Promotion failed" : null;
+    }
+
+    private static List<PromotionConfig> createPromotionConfigs(String... buildNames) {
+        List<PromotionConfig> promotionConfigs = new ArrayList<>();
+        for (String buildName : buildNames) {
+            PromotionConfig promotionConfig = new PromotionConfig();
+            promotionConfig.setBuildName(buildName);
+            promotionConfig.setBuildNumber("1");
+            promotionConfig.setTargetRepo("libs-release");
+            promotionConfigs.add(promotionConfig);
+        }
+        return promotionConfigs;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            if (!latch.await(10, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Timed out waiting for the failed promotion");
+            }
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
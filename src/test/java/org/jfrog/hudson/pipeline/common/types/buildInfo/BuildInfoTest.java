@@ -0,0 +1,94 @@
+package org.jfrog.hudson.pipeline.common.types.buildInfo;
+
+import org.jfrog.build.extractor.builder.ArtifactBuilder;
+import org.jfrog.build.extractor.builder.ModuleBuilder;
+import org.jfrog.build.extractor.ci.Artifact;
+import org.jfrog.build.extractor.ci.BuildInfoProperties;
+import org.jfrog.build.extractor.ci.Issue;
+import org.jfrog.build.extractor.ci.IssueTracker;
+import org.jfrog.build.extractor.ci.Module;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * This class tests appending a build info generated by the build-info extractors to the pipeline build info.
+ *
+ * @see BuildInfo#append(org.jfrog.build.extractor.ci.BuildInfo)
+ */
+public class BuildInfoTest {
+
+    @Test
+    public void appendModulesTest() {
+        BuildInfo buildInfo = new BuildInfo();
+        buildInfo.appendModule(createModule("module1", "a1"));
+
+        org.jfrog.build.extractor.ci.BuildInfo other = new org.jfrog.build.extractor.ci.BuildInfo();
+        other.setModules(Arrays.asList(createModule("module2", "a2"), createModule("module1", "a3")));
+        buildInfo.append(other);
+
+        // Modules with the same id are merged, and new modules are added in order
+        assertEquals(Arrays.asList("module1", "module2"),
+                buildInfo.getModules().stream().map(Module::getId).collect(Collectors.toList()));
+        assertEquals(Arrays.asList("a1", "a3"), getArtifactNames(buildInfo.getModules().get(0)));
+        assertEquals(Collections.singletonList("a2"), getArtifactNames(buildInfo.getModules().get(1)));
+    }
+
+    @Test
+    public void appendIssuesTest() {
+        BuildInfo buildInfo = new BuildInfo();
+        Issues issues = buildInfo.getIssues();
+        issues.setTrackerName("JIRA");
+        issues.setAffectedIssues(new HashSet<>(Arrays.asList(new Issues.Issue("JIRA-1", "url1", "summary1"))));
+
+        org.jfrog.build.extractor.ci.BuildInfo other = new org.jfrog.build.extractor.ci.BuildInfo();
+        other.setIssues(new org.jfrog.build.extractor.ci.Issues(new IssueTracker("JIRA"), false, null, new HashSet<>(Arrays.asList(
+                new Issue("JIRA-1", "url1", "summary1"), new Issue("JIRA-2", "url2", "summary2")))));
+        buildInfo.append(other);
+
+        // The issue appended twice is kept once
+        assertEquals(new HashSet<>(Arrays.asList(new Issues.Issue("JIRA-1", "url1", "summary1"), new Issues.Issue("JIRA-2", "url2", "summary2"))),
+                buildInfo.getIssues().getAffectedIssues());
+        assertEquals("JIRA", buildInfo.getIssues().getTrackerName());
+    }
+
+    @Test
+    public void appendPropertiesTest() {
+        BuildInfo buildInfo = new BuildInfo();
+        buildInfo.getEnvVars().put("KEPT", "kept");
+        buildInfo.getEnvVars().put("OVERWRITTEN", "old");
+        buildInfo.getSysVars().put("sys.overwritten", "old");
+
+        org.jfrog.build.extractor.ci.BuildInfo other = new org.jfrog.build.extractor.ci.BuildInfo();
+        Properties properties = new Properties();
+        properties.setProperty(BuildInfoProperties.BUILD_INFO_ENVIRONMENT_PREFIX + "OVERWRITTEN", "new");
+        properties.setProperty(BuildInfoProperties.BUILD_INFO_ENVIRONMENT_PREFIX + "ADDED", "added");
+        properties.setProperty("sys.overwritten", "new");
+        other.setProperties(properties);
+        buildInfo.append(other);
+
+        // Environment properties are appended to the env vars without their prefix, others to the sys vars
+        assertEquals("kept", buildInfo.getEnvVars().get("KEPT"));
+        assertEquals("new", buildInfo.getEnvVars().get("OVERWRITTEN"));
+        assertEquals("added", buildInfo.getEnvVars().get("ADDED"));
+        assertEquals(3, buildInfo.getEnvVars().size());
+        assertEquals("new", buildInfo.getSysVars().get("sys.overwritten"));
+        assertEquals(1, buildInfo.getSysVars().size());
+    }
+
+    private static Module createModule(String id, String artifactName) {
+        return new ModuleBuilder().id(id).artifacts(new ArrayList<>(Collections.singletonList(new ArtifactBuilder(artifactName).build()))).build();
+    }
+
+    private static List<String> getArtifactNames(Module module) {
+        return module.getArtifacts().stream().map(Artifact::getName).collect(Collectors.toList());
+    }
+}
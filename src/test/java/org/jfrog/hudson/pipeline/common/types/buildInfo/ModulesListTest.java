@@ -0,0 +1,105 @@
+package org.jfrog.hudson.pipeline.common.types.buildInfo;
+
+import org.apache.commons.lang3.SerializationUtils;
+import org.jfrog.build.extractor.builder.ArtifactBuilder;
+import org.jfrog.build.extractor.builder.ModuleBuilder;
+import org.jfrog.build.extractor.ci.Module;
+import org.junit.Test;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.StreamSupport;
+
+import static org.jfrog.hudson.util.SerializationUtils.createMapper;
+import static org.junit.Assert.*;
+
+/**
+ * This class tests the functionality of ModulesList.
+ *
+ * @see ModulesList
+ */
+public class ModulesListTest {
+
+    @Test
+    public void mergeTest() {
+        ModulesList modules = new ModulesList();
+        modules.merge(createModule("module1", "a1"));
+        modules.merge(createModule("module2", "a2"));
+        modules.merge(createModule("module1", "a3"));
+
+        assertEquals(2, modules.size());
+        assertEquals(2, modules.getModule("module1").getArtifacts().size());
+        assertEquals(1, modules.getModule("module2").getArtifacts().size());
+        assertNull(modules.getModule("module3"));
+    }
+
+    @Test
+    public void snapshotIteratorTest() {
+        ModulesList modules = new ModulesList(Collections.singletonList(createModule("module1", "a1")));
+        Iterator<Module> iterator = modules.iterator();
+        modules.add(createModule("module2", "a2"));
+        assertEquals("module1", iterator.next().getId());
+        assertFalse(iterator.hasNext());
+        assertNotNull(modules.getModule("module2"));
+    }
+
+    @Test
+    public void snapshotStreamTest() {
+        ModulesList modules = new ModulesList(Collections.singletonList(createModule("module1", "a1")));
+        Spliterator<Module> spliterator = modules.spliterator();
+        modules.merge(createModule("module2", "a2"));
+        assertEquals(1, StreamSupport.stream(spliterator, true).count());
+        assertEquals(2, modules.parallelStream().count());
+    }
+
+    @Test
+    public void removeTest() {
+        ModulesList modules = new ModulesList();
+        modules.add(createModule("module1", "a1"));
+        modules.add(createModule("module2", "a2"));
+        modules.remove(0);
+        assertNull(modules.getModule("module1"));
+        assertNotNull(modules.getModule("module2"));
+    }
+
+    @Test
+    public void serializationTest() throws Exception {
+        BuildInfo buildInfo = new BuildInfo();
+        buildInfo.appendArtifacts(new ArrayList<>(Collections.singletonList(new ArtifactBuilder("a1").build())), "module1");
+
+        // Java serialization
+        BuildInfo copy = SerializationUtils.clone(buildInfo);
+        copy.appendArtifacts(Collections.singletonList(new ArtifactBuilder("a2").build()), "module1");
+        assertEquals(1, copy.getModules().size());
+        assertEquals(2, copy.getModules().get(0).getArtifacts().size());
+
+        // JSON serialization
+        assertTrue(createMapper().valueToTree(buildInfo).get("modules").isArray());
+        copy = createMapper().treeToValue(createMapper().valueToTree(buildInfo), BuildInfo.class);
+        copy.appendArtifacts(Collections.singletonList(new ArtifactBuilder("a2").build()), "module1");
+        assertEquals(1, copy.getModules().size());
+    }
+
+    @Test
+    public void oldSerializedFormTest() throws Exception {
+        // Older versions held the modules in a CopyOnWriteArrayList
+        BuildInfo buildInfo = new BuildInfo();
+        Field modulesField = BuildInfo.class.getDeclaredField("modules");
+        modulesField.setAccessible(true);
+        modulesField.set(buildInfo, new CopyOnWriteArrayList<>(Collections.singletonList(createModule("module1", "a1"))));
+
+        BuildInfo copy = SerializationUtils.clone(buildInfo);
+        assertTrue(copy.getModules() instanceof ModulesList);
+        copy.appendArtifacts(Collections.singletonList(new ArtifactBuilder("a2").build()), "module1");
+        assertEquals(1, copy.getModules().size());
+        assertEquals(2, copy.getModules().get(0).getArtifacts().size());
+    }
+
+    private static Module createModule(String id, String artifactName) {
+        return new ModuleBuilder().id(id).artifacts(new ArrayList<>(Collections.singletonList(new ArtifactBuilder(artifactName).build()))).build();
+    }
+}
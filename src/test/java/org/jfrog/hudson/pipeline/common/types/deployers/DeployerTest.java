@@ -0,0 +1,129 @@
+package org.jfrog.hudson.pipeline.common.types.deployers;
+
+import hudson.util.StreamTaskListener;
+import org.jfrog.build.extractor.clientConfiguration.deploy.DeployDetails;
+import org.jfrog.hudson.util.DeployPipeline;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class DeployerTest {
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private final StreamTaskListener listener = new StreamTaskListener(new ByteArrayOutputStream(), StandardCharsets.UTF_8);
+    private final List<String> uploads = Collections.synchronizedList(new ArrayList<>());
+    private final Map<String, Set<DeployDetails>> deployed = new LinkedHashMap<>();
+
+    @Test
+    public void testDeployBeforeAllVerified() throws Exception {
+        Map<String, List<DeployDetails>> modules = new LinkedHashMap<>();
+        modules.put("a", Collections.singletonList(createDeployDetails("a.jar")));
+        modules.put("b", Collections.singletonList(createDeployDetails("b.jar")));
+        // The verification of module b waits for module a to be deployed
+        CountDownLatch aUploaded = new CountDownLatch(1);
+        Deployer.DeployArtifactsCallable.Verifier verifier = artifact -> {
+            if (artifact.getArtifactPath().equals("b.jar")) {
+                await(aUploaded);
+            }
+            return artifact;
+        };
+        DeployPipeline.Uploader uploader = details -> {
+            uploads.add(details.getArtifactPath());
+            aUploaded.countDown();
+        };
+
+        assertNull(Deployer.DeployArtifactsCallable.verifyAndDeploy(modules, verifier, uploader, 1, listener, deployed));
+        assertEquals(Arrays.asList("a.jar", "b.jar"), uploads);
+        assertEquals(Arrays.asList("a", "b"), new ArrayList<>(deployed.keySet()));
+    }
+
+    @Test
+    public void testVerificationFailure() throws Exception {
+        Map<String, List<DeployDetails>> modules = new LinkedHashMap<>();
+        modules.put("a", Collections.singletonList(createDeployDetails("a.jar")));
+        modules.put("b", Arrays.asList(createDeployDetails("b1.jar"), createDeployDetails("b2.jar")));
+        modules.put("c", Collections.singletonList(createDeployDetails("c.jar")));
+        CountDownLatch aUploaded = new CountDownLatch(1);
+        Deployer.DeployArtifactsCallable.Verifier verifier = artifact -> {
+            if (artifact.getArtifactPath().equals("b2.jar")) {
+                await(aUploaded);
+                throw new IOException("SHA1 mismatch at 'b2.jar'");
+            }
+            return artifact;
+        };
+        DeployPipeline.Uploader uploader = details -> {
+            uploads.add(details.getArtifactPath());
+            aUploaded.countDown();
+        };
+
+        String error = Deployer.DeployArtifactsCallable.verifyAndDeploy(modules, verifier, uploader, 1, listener, deployed);
+        assertEquals("SHA1 mismatch at 'b2.jar'", error);
+        // Module a was deployed before the mismatch, no artifact of the modules b and c is deployed after it
+        assertEquals(Collections.singletonList("a.jar"), uploads);
+        assertEquals(Collections.singleton("a"), deployed.keySet());
+    }
+
+    @Test
+    public void testUploadFailure() throws Exception {
+        Map<String, List<DeployDetails>> modules = new LinkedHashMap<>();
+        modules.put("a", Arrays.asList(createDeployDetails("a1.jar"), createDeployDetails("a2.jar"), createDeployDetails("a3.jar")));
+        modules.put("b", Collections.singletonList(createDeployDetails("b.jar")));
+        // Module b is deployed in parallel before the failure of module a
+        CountDownLatch bUploaded = new CountDownLatch(1);
+        DeployPipeline.Uploader uploader = details -> {
+            String path = details.getArtifactPath();
+            if (path.equals("a2.jar")) {
+                await(bUploaded);
+                throw new IOException("Connection reset");
+            }
+            uploads.add(path);
+            if (path.equals("b.jar")) {
+                bUploaded.countDown();
+            }
+        };
+
+        String error = Deployer.DeployArtifactsCallable.verifyAndDeploy(modules, artifact -> artifact, uploader, 2, listener, deployed);
+        assertEquals("a2.jar: Connection reset", error);
+        assertTrue(uploads.contains("a1.jar"));
+        assertTrue(uploads.contains("b.jar"));
+        assertEquals(2, uploads.size());
+        assertEquals(Collections.singletonList("a1.jar"), getPaths(deployed.get("a")));
+        assertEquals(Collections.singletonList("b.jar"), getPaths(deployed.get("b")));
+    }
+
+    private DeployDetails createDeployDetails(String name) throws IOException {
+        return new DeployDetails.Builder()
+                .file(tempFolder.newFile(name))
+                .artifactPath(name)
+                .targetRepository("libs-release-local")
+                .build();
+    }
+
+    private static void await(CountDownLatch latch) throws IOException {
+        try {
+            if (!latch.await(10, TimeUnit.SECONDS)) {
+                throw new IOException("Timed out waiting for the upload");
+            }
+        } catch (InterruptedException e) {
+            throw new IOException(e);
+        }
+    }
+
+    private static List<String> getPaths(Set<DeployDetails> deployDetails) {
+        List<String> paths = new ArrayList<>();
+        deployDetails.forEach(details -> paths.add(details.getArtifactPath()));
+        return paths;
+    }
+}
@@ -0,0 +1,74 @@
+package org.jfrog.hudson.pipeline.declarative.utils;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test the deletion of old declarative pipeline build data directories.
+ *
+ * @see BuildDataDirsJanitor
+ */
+public class BuildDataDirsJanitorTest {
+    private static final long RETENTION_MILLIS = TimeUnit.DAYS.toMillis(1);
+    private static final long OLD = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(2);
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void sweepOldDirsTest() throws IOException {
+        File tmpDir = tempFolder.getRoot();
+        File pipelineCacheDir = new File(tmpDir, DeclarativePipelineUtils.PIPELINE_CACHE_DIR_NAME);
+        File oldDir = createBuildDataDir(pipelineCacheDir, "1", OLD);
+        File recentDir = createBuildDataDir(pipelineCacheDir, "2", System.currentTimeMillis());
+
+        assertTrue(BuildDataDirsJanitor.sweep(pipelineCacheDir, RETENTION_MILLIS) > 0);
+        assertFalse(oldDir.exists());
+        assertTrue(recentDir.exists());
+    }
+
+    @Test
+    public void keepRunningBuildTest() throws IOException {
+        File tmpDir = tempFolder.getRoot();
+        File pipelineCacheDir = new File(tmpDir, DeclarativePipelineUtils.PIPELINE_CACHE_DIR_NAME);
+        File buildDataDir = createBuildDataDir(pipelineCacheDir, "1", OLD);
+
+        // A long-running build appends to its build info deltas log
+        new AppendBuildDataFileCallable("1", "data", "delta\n".getBytes(StandardCharsets.UTF_8)).invoke(tmpDir, null);
+        assertTrue(buildDataDir.lastModified() > OLD);
+        assertEquals(0, BuildDataDirsJanitor.sweep(pipelineCacheDir, RETENTION_MILLIS));
+        assertTrue(new File(buildDataDir, "data").exists());
+    }
+
+    @Test
+    public void keepRecentlyModifiedFileTest() throws IOException {
+        File pipelineCacheDir = new File(tempFolder.getRoot(), DeclarativePipelineUtils.PIPELINE_CACHE_DIR_NAME);
+        File buildDataDir = createBuildDataDir(pipelineCacheDir, "1", OLD);
+        // Appended without touching the directory, as done by previous versions of the plugin
+        assertTrue(new File(buildDataDir, "data").setLastModified(System.currentTimeMillis()));
+
+        assertEquals(0, BuildDataDirsJanitor.sweep(pipelineCacheDir, RETENTION_MILLIS));
+        assertTrue(buildDataDir.exists());
+    }
+
+    private static File createBuildDataDir(File pipelineCacheDir, String buildNumber, long lastModified) throws IOException {
+        File buildDataDir = new File(pipelineCacheDir, buildNumber);
+        assertTrue(buildDataDir.mkdirs());
+        File file = new File(buildDataDir, "data");
+        Files.write(file.toPath(), "data".getBytes(StandardCharsets.UTF_8));
+        assertTrue(file.setLastModified(lastModified));
+        assertTrue(buildDataDir.setLastModified(lastModified));
+        return buildDataDir;
+    }
+}
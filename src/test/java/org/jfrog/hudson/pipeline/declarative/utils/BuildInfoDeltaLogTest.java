@@ -0,0 +1,163 @@
+package org.jfrog.hudson.pipeline.declarative.utils;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.jfrog.build.extractor.builder.ArtifactBuilder;
+import org.jfrog.build.extractor.builder.DependencyBuilder;
+import org.jfrog.build.extractor.ci.Module;
+import org.jfrog.hudson.pipeline.common.types.buildInfo.BuildInfo;
+import org.jfrog.hudson.pipeline.common.types.buildInfo.BuildInfoCheckpoint;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+
+import static org.jfrog.hudson.util.SerializationUtils.createMapper;
+import static org.junit.Assert.*;
+
+/**
+ * Test the incremental persistence of the pipeline build info.
+ *
+ * @see BuildInfoDeltaLog
+ */
+public class BuildInfoDeltaLogTest {
+    private static final String BUILD_INFO_ID = "build_1";
+    private static final String GENERATION = "generation-1";
+
+    private BuildInfo buildInfo;
+    private ObjectNode snapshot;
+    private BuildInfoCheckpoint checkpoint;
+
+    @Before
+    public void setUp() throws Exception {
+        buildInfo = new BuildInfo();
+        buildInfo.setName("build");
+        buildInfo.setNumber("1");
+        buildInfo.appendArtifacts(new ArrayList<>(Collections.singletonList(new ArtifactBuilder("a1").build())), "module1");
+        snapshot = createMapper().valueToTree(buildInfo);
+        checkpoint = BuildInfoDeltaLog.createCheckpoint(buildInfo, BUILD_INFO_ID, GENERATION, 1000, 0, 0);
+    }
+
+    @Test
+    public void applyDeltaTest() throws Exception {
+        buildInfo.appendArtifacts(Collections.singletonList(new ArtifactBuilder("a2").build()), "module1");
+        buildInfo.appendDependencies(Collections.singletonList(new DependencyBuilder().id("d1").build()), "module2");
+        buildInfo.setNumber("2");
+        byte[] delta = BuildInfoDeltaLog.createDelta(buildInfo, checkpoint);
+        assertNotNull(delta);
+
+        assertEquals(1, BuildInfoDeltaLog.applyDeltas(snapshot, delta, GENERATION));
+        BuildInfo materialized = createMapper().treeToValue(snapshot, BuildInfo.class);
+        assertEquals("2", materialized.getNumber());
+        assertEquals(2, materialized.getModules().size());
+        Module module1 = materialized.getModules().get(0);
+        assertEquals("module1", module1.getId());
+        assertEquals(2, module1.getArtifacts().size());
+        assertEquals("a2", module1.getArtifacts().get(1).getName());
+        Module module2 = materialized.getModules().get(1);
+        assertEquals("module2", module2.getId());
+        assertEquals(1, module2.getDependencies().size());
+    }
+
+    @Test
+    public void unchangedModulesTest() throws Exception {
+        byte[] delta = BuildInfoDeltaLog.createDelta(buildInfo, checkpoint);
+        assertNotNull(delta);
+        assertEquals(0, createMapper().readTree(delta).get("modules").size());
+    }
+
+    @Test
+    public void otherGenerationTest() throws Exception {
+        buildInfo.appendArtifacts(Collections.singletonList(new ArtifactBuilder("a2").build()), "module1");
+        byte[] delta = BuildInfoDeltaLog.createDelta(buildInfo, checkpoint);
+        assertEquals(0, BuildInfoDeltaLog.applyDeltas(snapshot, delta, "generation-2"));
+        assertEquals(1, snapshot.get("modules").get(0).get("artifacts").size());
+    }
+
+    @Test
+    public void changedArtifactTest() throws Exception {
+        // The size of the artifacts list is unchanged, but its existing item was replaced
+        buildInfo.getModules().get(0).getArtifacts().set(0, new ArtifactBuilder("a1").sha1("changed").build());
+        assertNull(BuildInfoDeltaLog.createDelta(buildInfo, checkpoint));
+    }
+
+    @Test
+    public void changedArtifactWithNewArtifactTest() throws Exception {
+        buildInfo.getModules().get(0).getArtifacts().get(0).setSha1("changed");
+        buildInfo.appendArtifacts(Collections.singletonList(new ArtifactBuilder("a2").build()), "module1");
+        assertNull(BuildInfoDeltaLog.createDelta(buildInfo, checkpoint));
+    }
+
+    @Test
+    public void envDeltaTest() throws Exception {
+        for (int i = 0; i < 100; i++) {
+            buildInfo.getEnv().getEnvVars().put("VAR" + i, "value" + i);
+        }
+        buildInfo.getEnv().getSysVars().put("removed", "value");
+        checkpoint = BuildInfoDeltaLog.createCheckpoint(buildInfo, BUILD_INFO_ID, GENERATION, 1000, 0, 0);
+        snapshot = createMapper().valueToTree(buildInfo);
+
+        buildInfo.getEnv().getEnvVars().put("VAR1", "changed");
+        buildInfo.getEnv().getEnvVars().put("NEW", "new");
+        buildInfo.getEnv().getSysVars().remove("removed");
+        byte[] delta = BuildInfoDeltaLog.createDelta(buildInfo, checkpoint);
+        assertNotNull(delta);
+        // Only the changed variables are written
+        String deltaString = new String(delta, StandardCharsets.UTF_8);
+        assertTrue(deltaString, deltaString.contains("changed"));
+        assertFalse(deltaString, deltaString.contains("VAR2"));
+
+        assertEquals(1, BuildInfoDeltaLog.applyDeltas(snapshot, delta, GENERATION));
+        BuildInfo materialized = createMapper().treeToValue(snapshot, BuildInfo.class);
+        assertEquals("changed", materialized.getEnv().getEnvVars().get("VAR1"));
+        assertEquals("value2", materialized.getEnv().getEnvVars().get("VAR2"));
+        assertEquals("new", materialized.getEnv().getEnvVars().get("NEW"));
+        assertFalse(materialized.getEnv().getSysVars().containsKey("removed"));
+    }
+
+    @Test
+    public void removedModuleTest() throws Exception {
+        buildInfo.setModules(new ArrayList<>());
+        assertNull(BuildInfoDeltaLog.createDelta(buildInfo, checkpoint));
+    }
+
+    @Test
+    public void lazyReadTest() throws Exception {
+        buildInfo.appendDependencies(Collections.singletonList(new DependencyBuilder().id("d1").build()), "module2");
+        snapshot = createMapper().valueToTree(buildInfo);
+        BuildInfo read = BuildInfoDeltaLog.readBuildInfo(snapshot);
+        checkpoint = BuildInfoDeltaLog.createCheckpoint(read, BUILD_INFO_ID, GENERATION, 1000, 0, 0);
+        LazyJsonList<?> artifacts = (LazyJsonList<?>) read.getModules().get(0).getArtifacts();
+        assertFalse(artifacts.isMaterialized());
+
+        // The unused lists are not deserialized
+        read.appendDependencies(Collections.singletonList(new DependencyBuilder().id("d2").build()), "module2");
+        byte[] delta = BuildInfoDeltaLog.createDelta(read, checkpoint);
+        assertNotNull(delta);
+        assertFalse(artifacts.isMaterialized());
+
+        assertEquals(1, BuildInfoDeltaLog.applyDeltas(snapshot, delta, GENERATION));
+        BuildInfo materialized = BuildInfoDeltaLog.readBuildInfo(snapshot);
+        assertEquals("a1", materialized.getModules().get(0).getArtifacts().get(0).getName());
+        assertEquals(2, materialized.getModules().get(1).getDependencies().size());
+        assertEquals("d2", materialized.getModules().get(1).getDependencies().get(1).getId());
+    }
+
+    @Test
+    public void lazyChangedArtifactTest() throws Exception {
+        BuildInfo read = BuildInfoDeltaLog.readBuildInfo(snapshot);
+        checkpoint = BuildInfoDeltaLog.createCheckpoint(read, BUILD_INFO_ID, GENERATION, 1000, 0, 0);
+        read.getModules().get(0).getArtifacts().get(0).setSha1("changed");
+        assertNull(BuildInfoDeltaLog.createDelta(read, checkpoint));
+    }
+
+    @Test
+    public void snapshotRequiredTest() throws Exception {
+        assertTrue(BuildInfoDeltaLog.isSnapshotRequired(null, BUILD_INFO_ID));
+        assertTrue(BuildInfoDeltaLog.isSnapshotRequired(checkpoint, "other_1"));
+        assertFalse(BuildInfoDeltaLog.isSnapshotRequired(checkpoint, BUILD_INFO_ID));
+        BuildInfoCheckpoint largeDeltas = BuildInfoDeltaLog.createCheckpoint(buildInfo, BUILD_INFO_ID, GENERATION, 1000, 3, 1001);
+        assertTrue(BuildInfoDeltaLog.isSnapshotRequired(largeDeltas, BUILD_INFO_ID));
+    }
+}
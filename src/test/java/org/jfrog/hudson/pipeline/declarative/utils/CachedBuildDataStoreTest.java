@@ -0,0 +1,162 @@
+package org.jfrog.hudson.pipeline.declarative.utils;
+
+import hudson.FilePath;
+import org.jfrog.build.api.util.Log;
+import org.jfrog.build.api.util.NullLog;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test the controller side cache of the declarative pipeline build data.
+ *
+ * @see CachedBuildDataStore
+ */
+public class CachedBuildDataStoreTest {
+    private static final FilePath ROOT_WS = new FilePath(new File("ws"));
+    private static final Log LOG = new NullLog();
+
+    private CountingBuildDataStore delegate;
+    private CachedBuildDataStore store;
+
+    @Before
+    public void setUp() {
+        delegate = new CountingBuildDataStore();
+        store = new CachedBuildDataStore(delegate, 10);
+        store.bind(ROOT_WS, "1", "job#1@1000");
+        store.bind(ROOT_WS, "2", "job#2@2000");
+    }
+
+    @Test
+    public void readAfterWriteTest() throws Exception {
+        store.write(ROOT_WS, "1", "rtBuildInfo_a", new byte[]{1, 2}, LOG);
+        assertArrayEquals(new byte[]{1, 2}, store.read(ROOT_WS, "1", "rtBuildInfo_a"));
+        assertEquals(0, delegate.reads);
+
+        // Different build number
+        assertNull(store.read(ROOT_WS, "2", "rtBuildInfo_a"));
+        assertEquals(1, delegate.reads);
+    }
+
+    @Test
+    public void appendTest() throws Exception {
+        store.write(ROOT_WS, "1", "a", new byte[]{1}, LOG);
+        store.append(ROOT_WS, "1", "a", new byte[]{2, 3}, LOG);
+        assertArrayEquals(new byte[]{1, 2, 3}, store.read(ROOT_WS, "1", "a"));
+        assertEquals(0, delegate.reads);
+
+        // Appending to an entry which doesn't exist creates it with the appended content
+        assertFalse(store.append(ROOT_WS, "1", "b", new byte[]{4}, LOG));
+        assertArrayEquals(new byte[]{4}, store.read(ROOT_WS, "1", "b"));
+        assertEquals(0, delegate.reads);
+    }
+
+    @Test
+    public void appendToDeletedFileTest() throws Exception {
+        store.write(ROOT_WS, "1", "a", new byte[]{1}, LOG);
+        // The file was deleted from the disk
+        delegate.entries.remove("1/a");
+        assertFalse(store.append(ROOT_WS, "1", "a", new byte[]{2}, LOG));
+        assertArrayEquals(new byte[]{2}, store.read(ROOT_WS, "1", "a"));
+    }
+
+    @Test
+    public void evictionTest() throws Exception {
+        store.write(ROOT_WS, "1", "a", new byte[6], LOG);
+        store.write(ROOT_WS, "1", "b", new byte[6], LOG);
+        assertEquals(6, store.getCacheBytes());
+
+        // 'a' was evicted and should be read from the underlying store
+        assertNotNull(store.read(ROOT_WS, "1", "a"));
+        assertEquals(1, delegate.reads);
+        assertEquals(6, store.getCacheBytes());
+    }
+
+    @Test
+    public void deleteTest() throws Exception {
+        store.write(ROOT_WS, "1", "a", new byte[2], LOG);
+        store.write(ROOT_WS, "2", "a", new byte[2], LOG);
+        store.delete(ROOT_WS, "1", LOG);
+        assertEquals(2, store.getCacheBytes());
+        assertNull(store.read(ROOT_WS, "1", "a"));
+        assertNotNull(store.read(ROOT_WS, "2", "a"));
+    }
+
+    @Test
+    public void otherBuildTest() throws Exception {
+        store.write(ROOT_WS, "1", "a", new byte[]{1}, LOG);
+        // Another job, or a recreated job, with the same root workspace and build number
+        store.bind(ROOT_WS, "1", "other-job#1@3000");
+        assertEquals(0, store.getCacheBytes());
+        delegate.entries.put("1/a", new byte[]{2});
+        assertArrayEquals(new byte[]{2}, store.read(ROOT_WS, "1", "a"));
+        assertEquals(1, delegate.reads);
+    }
+
+    @Test
+    public void unboundBuildTest() throws Exception {
+        store.write(ROOT_WS, "3", "a", new byte[]{1}, LOG);
+        assertEquals(0, store.getCacheBytes());
+        assertArrayEquals(new byte[]{1}, store.read(ROOT_WS, "3", "a"));
+        assertEquals(1, delegate.reads);
+    }
+
+    @Test
+    public void recreatedBuildDataDirTest() throws Exception {
+        assertFalse(store.write(ROOT_WS, "1", "a", new byte[]{1}, LOG));
+        assertTrue(store.write(ROOT_WS, "1", "b", new byte[]{2}, LOG));
+        store.write(ROOT_WS, "2", "a", new byte[]{3}, LOG);
+
+        // The build data directory of build 1 was deleted from the disk
+        delegate.entries.keySet().removeIf(key -> key.startsWith("1/"));
+        assertFalse(store.write(ROOT_WS, "1", "c", new byte[]{4}, LOG));
+        assertNull(store.read(ROOT_WS, "1", "a"));
+        assertNull(store.read(ROOT_WS, "1", "b"));
+        assertEquals(2, delegate.reads);
+
+        // Other builds are not affected
+        assertArrayEquals(new byte[]{4}, store.read(ROOT_WS, "1", "c"));
+        assertArrayEquals(new byte[]{3}, store.read(ROOT_WS, "2", "a"));
+        assertEquals(2, delegate.reads);
+    }
+
+    private static class CountingBuildDataStore implements BuildDataStore {
+        private final Map<String, byte[]> entries = new HashMap<>();
+        private int reads;
+
+        @Override
+        public boolean write(FilePath rootWs, String buildNumber, String fileName, byte[] content, Log logger) {
+            boolean existed = entries.keySet().stream().anyMatch(key -> key.startsWith(buildNumber + "/"));
+            entries.put(buildNumber + "/" + fileName, content);
+            return existed;
+        }
+
+        @Override
+        public boolean append(FilePath rootWs, String buildNumber, String fileName, byte[] content, Log logger) {
+            boolean existed = entries.containsKey(buildNumber + "/" + fileName);
+            entries.merge(buildNumber + "/" + fileName, content, (current, appended) -> {
+                byte[] result = Arrays.copyOf(current, current.length + appended.length);
+                System.arraycopy(appended, 0, result, current.length, appended.length);
+                return result;
+            });
+            return existed;
+        }
+
+        @Override
+        public byte[] read(FilePath rootWs, String buildNumber, String fileName) {
+            reads++;
+            return entries.get(buildNumber + "/" + fileName);
+        }
+
+        @Override
+        public void delete(FilePath rootWs, String buildNumber, Log logger) {
+            entries.keySet().removeIf(key -> key.startsWith(buildNumber + "/"));
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package org.jfrog.hudson.release.maven;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests the cache of the pom modules read by {@link MavenModulesExtractor}.
+ */
+public class MavenModulesExtractorTest {
+    private static final long MODIFIED = 1600000000000L;
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private final MavenModulesExtractor extractor = new MavenModulesExtractor();
+
+    @Test
+    public void testCached() throws Exception {
+        File pom = writePom(tempFolder.newFile("pom.xml"), "m1", MODIFIED);
+        assertEquals(Collections.singletonList("m1"), extractor.invoke(pom, null));
+
+        // Same path, size and modification time - the cached modules are returned
+        writePom(pom, "m2", MODIFIED);
+        assertEquals(Collections.singletonList("m1"), extractor.invoke(pom, null));
+    }
+
+    @Test
+    public void testReparsedAfterChange() throws Exception {
+        File pom = writePom(tempFolder.newFile("pom.xml"), "m1", MODIFIED);
+        assertEquals(Collections.singletonList("m1"), extractor.invoke(pom, null));
+
+        writePom(pom, "m2", MODIFIED + 1000);
+        assertEquals(Collections.singletonList("m2"), extractor.invoke(pom, null));
+
+        writePom(pom, "module3", MODIFIED + 1000);
+        assertEquals(Collections.singletonList("module3"), extractor.invoke(pom, null));
+    }
+
+    @Test
+    public void testBounded() throws Exception {
+        File first = writePom(tempFolder.newFile("first.xml"), "m1", MODIFIED);
+        File recent = writePom(tempFolder.newFile("recent.xml"), "m1", MODIFIED);
+        extractor.invoke(first, null);
+        extractor.invoke(recent, null);
+        for (int i = 0; i < MavenModulesExtractor.MAX_CACHED_POMS - 1; i++) {
+            extractor.invoke(writePom(tempFolder.newFile("pom" + i + ".xml"), "m1", MODIFIED), null);
+        }
+        // Keeps the pom read most recently
+        extractor.invoke(recent, null);
+        extractor.invoke(writePom(tempFolder.newFile("last.xml"), "m1", MODIFIED), null);
+
+        // Change the content without changing the cache key
+        writePom(first, "m2", MODIFIED);
+        writePom(recent, "m2", MODIFIED);
+        assertEquals("The eldest pom should have been evicted", Collections.singletonList("m2"), extractor.invoke(first, null));
+        assertEquals(Collections.singletonList("m1"), extractor.invoke(recent, null));
+    }
+
+    @Test
+    public void testReturnsCopy() throws Exception {
+        File pom = writePom(tempFolder.newFile("pom.xml"), "m1", MODIFIED);
+        List<String> modules = extractor.invoke(pom, null);
+        modules.add("m2");
+        assertEquals(Collections.singletonList("m1"), extractor.invoke(pom, null));
+    }
+
+    private static File writePom(File pom, String module, long lastModified) throws IOException {
+        String content = "<project>\n" +
+                "  <modelVersion>4.0.0</modelVersion>\n" +
+                "  <groupId>org.jfrog.test</groupId>\n" +
+                "  <artifactId>parent</artifactId>\n" +
+                "  <version>1.0</version>\n" +
+                "  <packaging>pom</packaging>\n" +
+                "  <modules>\n" +
+                "    <module>" + module + "</module>\n" +
+                "  </modules>\n" +
+                "</project>\n";
+        Files.write(pom.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        if (!pom.setLastModified(lastModified)) {
+            throw new IOException("Failed to set the modification time of " + pom);
+        }
+        return pom;
+    }
+}
@@ -0,0 +1,100 @@
+package org.jfrog.hudson.release.maven;
+
+import hudson.maven.ModuleName;
+import org.jfrog.build.extractor.maven.transformer.SnapshotNotAllowedException;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests the transformation of multiple poms, sharing the modules versions, in a single call.
+ */
+public class PomsTransformerTest {
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void transformPoms() throws Exception {
+        File moduleRoot = tempFolder.getRoot();
+        copyResource("/poms/multi/pom.xml", new File(moduleRoot, "a/pom.xml"));
+        copyResource("/poms/multi/pom.xml", new File(moduleRoot, "b/pom.xml"));
+        copyResource("/poms/parentonly/pom.xml", new File(moduleRoot, "c/pom.xml"));
+
+        Map<ModuleName, String> versionsByModule = new HashMap<>();
+        versionsByModule.put(new ModuleName("org.jfrog.test.nested", "nested1"), "3.6");
+        versionsByModule.put(new ModuleName("org.jfrog.test.nested", "nested2"), "3.6");
+        versionsByModule.put(new ModuleName("org.jfrog.test.nested", "two"), "3.6");
+        Map<String, ModuleName> modulesByPomPath = new LinkedHashMap<>();
+        modulesByPomPath.put("b/pom.xml", new ModuleName("org.jfrog.test.nested", "two"));
+        modulesByPomPath.put("a/pom.xml", new ModuleName("org.jfrog.test.nested", "two"));
+        modulesByPomPath.put(new File(moduleRoot, "c/pom.xml").getAbsolutePath(), new ModuleName("org.jfrog.test", "one"));
+
+        PomsTransformer.Report report = new PomsTransformer(modulesByPomPath, versionsByModule, "", false).invoke(moduleRoot, null);
+
+        // Only the modified poms are reported, sorted
+        assertTrue(report.isModified());
+        assertEquals(Arrays.asList("a/pom.xml", "b/pom.xml"), report.getModifiedPoms());
+        // Each pom is transformed as if it was transformed on its own
+        String expected = readResource("/poms/multi/pom.expected.xml");
+        assertEquals(expected, read(new File(moduleRoot, "a/pom.xml")));
+        assertEquals(expected, read(new File(moduleRoot, "b/pom.xml")));
+        assertEquals(readResource("/poms/parentonly/pom.xml"), read(new File(moduleRoot, "c/pom.xml")));
+
+        // Transforming again doesn't modify the poms
+        report = new PomsTransformer(modulesByPomPath, versionsByModule, "", false).invoke(moduleRoot, null);
+        assertFalse(report.isModified());
+    }
+
+    @Test
+    public void snapshotFailure() throws Exception {
+        File moduleRoot = tempFolder.getRoot();
+        copyResource("/poms/snapshots/pom-snapshot.xml", new File(moduleRoot, "pom.xml"));
+        Map<ModuleName, String> versionsByModule = Collections.singletonMap(new ModuleName("org.jfrog.test", "one"), "2.2-SNAPSHOT");
+        Map<String, ModuleName> modulesByPomPath = Collections.singletonMap("pom.xml", new ModuleName("org.jfrog.test", "one"));
+        try {
+            new PomsTransformer(modulesByPomPath, versionsByModule, "", true).invoke(moduleRoot, null);
+            fail("Pom contains module with snapshot version and should fail");
+        } catch (SnapshotNotAllowedException e) {
+            assertTrue("Unexpected error message: " + e.getMessage(), e.getMessage().contains("org.jfrog.test:one:2.2-SNAPSHOT"));
+        }
+    }
+
+    private void copyResource(String path, File target) throws IOException, URISyntaxException {
+        Files.createDirectories(target.getParentFile().toPath());
+        Files.copy(Paths.get(getResource(path).toURI()), target.toPath());
+    }
+
+    private String readResource(String path) throws IOException, URISyntaxException {
+        return read(Paths.get(getResource(path).toURI()).toFile());
+    }
+
+    private URL getResource(String path) {
+        URL resource = getClass().getResource(path);
+        if (resource == null) {
+            throw new IllegalArgumentException("Resource not found: " + path);
+        }
+        return resource;
+    }
+
+    private static String read(File file) throws IOException {
+        return new String(Files.readAllBytes(file.toPath()), Charset.defaultCharset());
+    }
+}
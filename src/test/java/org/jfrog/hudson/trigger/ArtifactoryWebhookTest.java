@@ -0,0 +1,154 @@
+package org.jfrog.hudson.trigger;
+
+import com.gargoylesoftware.htmlunit.HttpMethod;
+import com.gargoylesoftware.htmlunit.Page;
+import com.gargoylesoftware.htmlunit.WebRequest;
+import hudson.model.FreeStyleBuild;
+import hudson.model.FreeStyleProject;
+import hudson.util.Secret;
+import org.jfrog.hudson.ArtifactoryBuilder;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.jvnet.hudson.test.JenkinsRule;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.jfrog.hudson.util.SerializationUtils.createMapper;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Post Artifactory webhook events to the Jenkins instance of the test, and check which jobs are triggered.
+ */
+public class ArtifactoryWebhookTest {
+    private static final String SECRET = "webhook-secret";
+
+    @ClassRule
+    public static JenkinsRule jenkins = new JenkinsRule();
+
+    @BeforeClass
+    public static void setUp() {
+        ArtifactoryBuilder.DescriptorImpl descriptor = (ArtifactoryBuilder.DescriptorImpl) jenkins.jenkins.getDescriptor(ArtifactoryBuilder.class);
+        descriptor.setWebhookSecret(Secret.fromString(SECRET));
+    }
+
+    @Test
+    public void testGetItemPath() throws IOException {
+        assertEquals("libs-release/org/acme/a.jar", ArtifactoryWebhook.getItemPath(createMapper().readTree(
+                createEvent("deployed", "libs-release", "org/acme/a.jar"))));
+        assertEquals("libs-release/org/acme/a.jar", ArtifactoryWebhook.getItemPath(createMapper().readTree(
+                "{\"domain\":\"artifact\",\"event_type\":\"moved\",\"data\":{\"repo_key\":\"libs-staging\",\"path\":\"org/acme/a.jar\"," +
+                        "\"target_repo_key\":\"libs-release\",\"target_path\":\"org/acme/a.jar\"}}")));
+        assertNull(ArtifactoryWebhook.getItemPath(createMapper().readTree(createEvent("deleted", "libs-release", "org/acme/a.jar"))));
+        assertNull(ArtifactoryWebhook.getItemPath(createMapper().readTree("{\"domain\":\"build\",\"event_type\":\"uploaded\"}")));
+    }
+
+    @Test
+    public void testGetEventTime() throws IOException {
+        assertEquals(1600000000000L, ArtifactoryWebhook.getEventTime(createMapper().readTree("{\"timestamp\":1600000000000}")));
+        assertEquals(1600000000000L, ArtifactoryWebhook.getEventTime(createMapper().readTree("{\"timestamp\":\"2020-09-13T12:26:40.000Z\"}")));
+        // Events without a valid timestamp get the current time
+        long start = System.currentTimeMillis();
+        assertTrue(ArtifactoryWebhook.getEventTime(createMapper().readTree("{\"timestamp\":\"yesterday\"}")) >= start);
+        assertTrue(ArtifactoryWebhook.getEventTime(createMapper().readTree(createEvent("deployed", "libs-release", "a.jar"))) >= start);
+    }
+
+    @Test
+    public void testTriggerWatchedPath() throws Exception {
+        FreeStyleProject watching = jenkins.createFreeStyleProject();
+        watching.addTrigger(new ArtifactoryTrigger("libs-release/org/acme", ""));
+        FreeStyleProject notWatching = jenkins.createFreeStyleProject();
+        notWatching.addTrigger(new ArtifactoryTrigger("libs-release/org/other;libs-snapshot", ""));
+
+        assertEquals(200, post(createEvent("deployed", "libs-release", "org/acme/1.0/a.jar"), SECRET).getWebResponse().getStatusCode());
+        jenkins.waitUntilNoActivity();
+
+        FreeStyleBuild build = watching.getLastBuild();
+        assertNotNull(build);
+        assertEquals("libs-release/org/acme/1.0/a.jar", build.getCause(ArtifactoryCause.class).getUrl());
+        assertNull(notWatching.getLastBuild());
+    }
+
+    @Test
+    public void testWrongSecret() throws Exception {
+        FreeStyleProject project = jenkins.createFreeStyleProject();
+        project.addTrigger(new ArtifactoryTrigger("libs-release-local", ""));
+
+        assertEquals(401, post(createEvent("deployed", "libs-release-local", "a.jar"), "wrong").getWebResponse().getStatusCode());
+        jenkins.waitUntilNoActivity();
+        assertNull(project.getLastBuild());
+    }
+
+    @Test
+    public void testLastModifiedUpdates() throws Exception {
+        FreeStyleProject project = jenkins.createFreeStyleProject();
+        ArtifactoryTrigger trigger = new ArtifactoryTrigger("libs-release-local/lastModified", "");
+        project.addTrigger(trigger);
+        trigger.start(project, true);
+        long deployed = trigger.getLastModified() + 1000;
+        assertTrue(trigger.onItemDeployed("libs-release-local/lastModified/a.jar", deployed));
+        jenkins.waitUntilNoActivity();
+        trigger.stop();
+        // The last modified time is the time of the event, and is saved with the job
+        assertEquals(deployed, trigger.getLastModified());
+        assertNotNull(project.getLastBuild());
+        assertTrue(project.getConfigFile().asString().contains("<lastModified>" + deployed + "</lastModified>"));
+
+        // An event older than the last modified time doesn't trigger again
+        assertFalse(trigger.onItemDeployed("libs-release-local/lastModified/b.jar", deployed - 1));
+        assertEquals(1, project.getBuilds().size());
+
+        // A poll of the item deployed before the webhook event doesn't trigger again
+        assertFalse(trigger.advanceLastModified(deployed));
+        assertEquals(deployed, trigger.getLastModified());
+
+        // Concurrent updates to the same time: only one of them triggers
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch ready = new CountDownLatch(1);
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(() -> {
+                    ready.await();
+                    return trigger.advanceLastModified(deployed + 1000);
+                }));
+            }
+            ready.countDown();
+            int advanced = 0;
+            for (Future<Boolean> result : results) {
+                advanced += result.get() ? 1 : 0;
+            }
+            assertEquals(1, advanced);
+            assertEquals(deployed + 1000, trigger.getLastModified());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static String createEvent(String eventType, String repoKey, String path) {
+        return "{\"domain\":\"artifact\",\"event_type\":\"" + eventType + "\",\"data\":{\"repo_key\":\"" + repoKey +
+                "\",\"path\":\"" + path + "\"}}";
+    }
+
+    private static Page post(String event, String secret) throws Exception {
+        JenkinsRule.WebClient webClient = jenkins.createWebClient();
+        webClient.setThrowExceptionOnFailingStatusCode(false);
+        WebRequest request = new WebRequest(new URL(jenkins.getURL(), ArtifactoryWebhook.URL_NAME + "/"), HttpMethod.POST);
+        request.setAdditionalHeader(ArtifactoryWebhook.SECRET_HEADER, secret);
+        request.setAdditionalHeader("Content-Type", "application/json");
+        request.setRequestBody(event);
+        return webClient.getPage(request);
+    }
+}
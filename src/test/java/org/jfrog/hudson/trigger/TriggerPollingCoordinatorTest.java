@@ -0,0 +1,68 @@
+package org.jfrog.hudson.trigger;
+
+import org.jfrog.hudson.ArtifactoryServer;
+import org.jfrog.hudson.util.Credentials;
+import org.junit.Test;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.jfrog.hudson.util.SerializationUtils.createMapper;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TriggerPollingCoordinatorTest {
+    private static final long OLD = Instant.parse("2020-01-01T00:00:00Z").toEpochMilli();
+    private static final long RECENT = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+
+    @Test
+    public void testAddPaths() {
+        Map<String, Long> sinceByPath = new LinkedHashMap<>();
+        TriggerPollingCoordinator.addPaths(sinceByPath, Arrays.asList("libs-release/a", "libs-release/b"), RECENT);
+        TriggerPollingCoordinator.addPaths(sinceByPath, Collections.singletonList("libs-release/b"), OLD);
+        TriggerPollingCoordinator.addPaths(sinceByPath, Collections.singletonList("libs-release/b"), RECENT);
+
+        // A stale trigger only widens the paths it watches
+        assertEquals(Long.valueOf(RECENT), sinceByPath.get("libs-release/a"));
+        assertEquals(Long.valueOf(OLD), sinceByPath.get("libs-release/b"));
+    }
+
+    @Test
+    public void testCreateAql() throws Exception {
+        Map<String, Long> sinceByPath = new LinkedHashMap<>();
+        sinceByPath.put("libs-release/org/acme", RECENT);
+        sinceByPath.put("libs-snapshot", OLD);
+        String aql = TriggerPollingCoordinator.createAql(Arrays.asList("libs-release/org/acme", "libs-snapshot"), sinceByPath);
+
+        assertTrue(aql, aql.startsWith("items.find("));
+        String criteria = aql.substring("items.find(".length(), aql.indexOf(").include("));
+        // The criteria must be valid JSON
+        createMapper().readTree(criteria);
+        assertTrue(aql, aql.contains("{\"repo\":\"libs-release\",\"$and\":[{\"$or\":[{\"created\":{\"$gt\":\"2024-01-01T00:00:00Z\"}},"));
+        assertTrue(aql, aql.contains("{\"updated\":{\"$gt\":\"2024-01-01T00:00:00Z\"}}"));
+        assertTrue(aql, aql.contains("{\"path\":\"org\",\"name\":\"acme\"}"));
+        assertTrue(aql, aql.contains("{\"repo\":\"libs-snapshot\",\"$and\":[{\"$or\":[{\"created\":{\"$gt\":\"2020-01-01T00:00:00Z\"}},"));
+    }
+
+    @Test
+    public void testCreateAqlEscaping() throws Exception {
+        String path = "libs-release/org/a\"b\\c";
+        String aql = TriggerPollingCoordinator.createAql(Collections.singletonList(path), Collections.singletonMap(path, RECENT));
+        String criteria = aql.substring("items.find(".length(), aql.indexOf(").include("));
+        assertEquals("org/a\"b\\c", createMapper().readTree(criteria).get("$or").get(0).get("$and").get(1).get("$or").get(0).get("path").asText());
+    }
+
+    @Test
+    public void testServerKey() {
+        ArtifactoryServer server = new ArtifactoryServer("server", "http://localhost:8081/artifactory", null, null, 300, false, 3, 3);
+        String key = TriggerPollingCoordinator.getServerKey(server, new Credentials("user", "secret-password"));
+        assertFalse(key.contains("secret-password"));
+        assertEquals(key, TriggerPollingCoordinator.getServerKey(server, new Credentials("user", "secret-password")));
+        assertNotEquals(key, TriggerPollingCoordinator.getServerKey(server, new Credentials("user", "other-password")));
+    }
+}
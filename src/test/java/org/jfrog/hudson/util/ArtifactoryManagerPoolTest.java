@@ -0,0 +1,120 @@
+package org.jfrog.hudson.util;
+
+import org.jfrog.build.api.util.NullLog;
+import org.jfrog.build.extractor.clientConfiguration.client.artifactory.ArtifactoryManager;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class ArtifactoryManagerPoolTest {
+    private static final String URL = "http://localhost:8081/artifactory";
+    private static final Credentials CREDENTIALS = new Credentials("user", "password");
+    private static final long IDLE_MILLIS = 60000;
+
+    @Test
+    public void testReuse() {
+        ArtifactoryManagerPool pool = new ArtifactoryManagerPool(2, IDLE_MILLIS);
+        ArtifactoryManager first = acquire(pool, CREDENTIALS);
+        first.close();
+        assertSame(first, acquire(pool, CREDENTIALS));
+    }
+
+    @Test
+    public void testLease() {
+        ArtifactoryManagerPool pool = new ArtifactoryManagerPool(2, IDLE_MILLIS);
+        ArtifactoryManager first = acquire(pool, CREDENTIALS);
+        // A leased manager isn't shared
+        ArtifactoryManager second = acquire(pool, CREDENTIALS);
+        assertNotSame(first, second);
+
+        // Closing a manager twice returns it to the pool once
+        first.close();
+        first.close();
+        assertSame(first, acquire(pool, CREDENTIALS));
+        assertNotSame(first, acquire(pool, CREDENTIALS));
+    }
+
+    @Test
+    public void testKey() {
+        ArtifactoryManagerPool pool = new ArtifactoryManagerPool(2, IDLE_MILLIS);
+        ArtifactoryManager first = acquire(pool, CREDENTIALS);
+        first.close();
+        // Managers of other credentials aren't reused
+        assertNotSame(first, acquire(pool, new Credentials("user", "other")));
+
+        String key = ArtifactoryManagerPool.getKey(URL, CREDENTIALS, null, 300, 3);
+        assertEquals(key, ArtifactoryManagerPool.getKey(URL, new Credentials("user", "password"), null, 300, 3));
+        assertNotEquals(key, ArtifactoryManagerPool.getKey(URL, CREDENTIALS, null, 300, 4));
+        assertNotEquals(key, ArtifactoryManagerPool.getKey(URL, new Credentials("token"), null, 300, 3));
+    }
+
+    @Test
+    public void testEvictAboveMaxIdle() {
+        ArtifactoryManagerPool pool = new ArtifactoryManagerPool(1, IDLE_MILLIS);
+        Credentials otherCredentials = new Credentials("other", "password");
+        ArtifactoryManager first = acquire(pool, CREDENTIALS);
+        ArtifactoryManager second = acquire(pool, otherCredentials);
+        first.close();
+        // The least recently released manager is evicted
+        second.close();
+        assertNotSame(first, acquire(pool, CREDENTIALS));
+        assertSame(second, acquire(pool, otherCredentials));
+    }
+
+    @Test
+    public void testEvictIdle() throws InterruptedException {
+        ArtifactoryManagerPool pool = new ArtifactoryManagerPool(2, 10);
+        ArtifactoryManager first = acquire(pool, CREDENTIALS);
+        first.close();
+        Thread.sleep(50);
+        assertNotSame(first, acquire(pool, CREDENTIALS));
+    }
+
+    @Test
+    public void testClear() {
+        ArtifactoryManagerPool pool = new ArtifactoryManagerPool(2, IDLE_MILLIS);
+        ArtifactoryManager first = acquire(pool, CREDENTIALS);
+        first.close();
+        pool.clear();
+        assertNotSame(first, acquire(pool, CREDENTIALS));
+    }
+
+    @Test
+    public void testNoIdle() {
+        ArtifactoryManagerPool pool = new ArtifactoryManagerPool(0, IDLE_MILLIS);
+        ArtifactoryManager first = acquire(pool, CREDENTIALS);
+        first.close();
+        assertNotSame(first, acquire(pool, CREDENTIALS));
+    }
+
+    @Test
+    public void testStats() {
+        ArtifactoryManagerPool pool = new ArtifactoryManagerPool(1, IDLE_MILLIS);
+        ArtifactoryManager first = acquire(pool, CREDENTIALS);
+        ArtifactoryManager second = acquire(pool, CREDENTIALS);
+        first.close();
+        assertStats(pool.getStats(), 2, 0, 0, 1, 1);
+
+        // The second manager is above the max idle, so the first one is evicted
+        second.close();
+        assertStats(pool.getStats(), 2, 0, 1, 1, 0);
+
+        acquire(pool, CREDENTIALS);
+        assertStats(pool.getStats(), 2, 1, 1, 0, 1);
+    }
+
+    private static void assertStats(ArtifactoryManagerPool.Stats stats, long created, long reused, long evicted, int idle, int leased) {
+        assertEquals(created, stats.getCreated());
+        assertEquals(reused, stats.getReused());
+        assertEquals(evicted, stats.getEvicted());
+        assertEquals(idle, stats.getIdle());
+        assertEquals(leased, stats.getLeased());
+    }
+
+    private static ArtifactoryManager acquire(ArtifactoryManagerPool pool, Credentials credentials) {
+        return pool.acquire(URL, credentials, null, 300, 3, new NullLog());
+    }
+}
@@ -0,0 +1,111 @@
+package org.jfrog.hudson.util;
+
+import org.jfrog.build.api.util.Log;
+import org.jfrog.build.api.util.NullLog;
+import org.jfrog.build.client.ArtifactoryUploadResponse;
+import org.jfrog.build.extractor.clientConfiguration.client.artifactory.ArtifactoryManager;
+import org.jfrog.build.extractor.clientConfiguration.deploy.DeployDetails;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ChecksumDeployUploaderTest {
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private final List<String> uploads = new ArrayList<>();
+    private final List<String> messages = new ArrayList<>();
+
+    @Test
+    public void testChecksumDeployFirst() throws IOException {
+        // Artifactory has the content of a.jar only
+        ChecksumDeployUploader uploader = new ChecksumDeployUploader(new StubArtifactoryManager(false),
+                details -> details.getArtifactPath().equals("a.jar"), 4);
+        uploader.upload(createDeployDetails("a.jar", "12345"));
+        uploader.upload(createDeployDetails("b.jar", "1234"));
+        uploader.upload(createDeployDetails("c.jar", "123"));
+
+        // a.jar is deployed by checksum, b.jar is uploaded after the miss without another checksum deploy attempt,
+        // and c.jar is below the minimum size
+        assertEquals(2, uploads.size());
+        assertEquals("b.jar:" + (Integer.MAX_VALUE / 1024), uploads.get(0));
+        assertEquals("c.jar:default", uploads.get(1));
+
+        uploader.logSummary(createLog());
+        assertEquals(1, messages.size());
+        assertTrue(messages.get(0), messages.get(0).contains("1 of 2 attempted artifacts already existed in Artifactory. 5 bytes were not uploaded."));
+    }
+
+    @Test
+    public void testDisabled() throws IOException {
+        ChecksumDeployUploader uploader = new ChecksumDeployUploader(new StubArtifactoryManager(false), null);
+        uploader.upload(createDeployDetails("a.jar", "12345"));
+        assertEquals(1, uploads.size());
+        assertEquals("a.jar:default", uploads.get(0));
+
+        uploader.logSummary(createLog());
+        assertTrue(messages.isEmpty());
+    }
+
+    @Test
+    public void testFailure() throws IOException {
+        ChecksumDeployUploader uploader = new ChecksumDeployUploader(new StubArtifactoryManager(true), details -> false, 0);
+        try {
+            uploader.upload(createDeployDetails("a.jar", "12345"));
+            fail("Expected the upload to fail");
+        } catch (IOException e) {
+            assertEquals("Upload failed", e.getMessage());
+        }
+        uploader.logSummary(createLog());
+        assertTrue(messages.get(0), messages.get(0).contains("0 of 1 attempted artifacts already existed in Artifactory. 0 bytes were not uploaded."));
+    }
+
+    private DeployDetails createDeployDetails(String name, String content) throws IOException {
+        File file = tempFolder.newFile(name);
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return new DeployDetails.Builder().file(file).artifactPath(name).targetRepository("libs-release-local").sha1("sha1").md5("md5").build();
+    }
+
+    private Log createLog() {
+        return new NullLog() {
+            @Override
+            public void info(String message) {
+                messages.add(message);
+            }
+        };
+    }
+
+    private class StubArtifactoryManager extends ArtifactoryManager {
+        private final boolean fail;
+
+        StubArtifactoryManager(boolean fail) {
+            super("http://localhost:8081/artifactory", "token", new NullLog());
+            this.fail = fail;
+        }
+
+        @Override
+        public ArtifactoryUploadResponse upload(DeployDetails details) throws IOException {
+            return upload(details, null, null);
+        }
+
+        @Override
+        public ArtifactoryUploadResponse upload(DeployDetails details, String logPrefix, Integer minChecksumDeploySizeKb) throws IOException {
+            if (fail) {
+                throw new IOException("Upload failed");
+            }
+            uploads.add(details.getArtifactPath() + ":" + (minChecksumDeploySizeKb == null ? "default" : minChecksumDeploySizeKb));
+            return new ArtifactoryUploadResponse();
+        }
+    }
+}
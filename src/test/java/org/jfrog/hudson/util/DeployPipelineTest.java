@@ -0,0 +1,153 @@
+package org.jfrog.hudson.util;
+
+import org.apache.http.client.HttpResponseException;
+import org.jfrog.build.api.util.NullLog;
+import org.jfrog.build.extractor.clientConfiguration.deploy.DeployDetails;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class DeployPipelineTest {
+    private static final List<String> NAMES = Arrays.asList("e.jar", "b.jar", "d.jar", "a.jar", "c.jar");
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private final Map<String, AtomicInteger> attempts = new ConcurrentHashMap<>();
+
+    @Test
+    public void testOrder() throws Exception {
+        List<String> uploaded = Collections.synchronizedList(new ArrayList<>());
+        List<DeployDetails> deployed = new DeployPipeline<String>(3, 3, 0, new NullLog())
+                .deploy(NAMES, this::createDeployDetails, details -> {
+                    // Uploads of the first items take longer, so they complete out of order
+                    sleep(10L * (NAMES.size() - NAMES.indexOf(details.getArtifactPath())));
+                    uploaded.add(details.getArtifactPath());
+                });
+
+        assertEquals(NAMES.size(), uploaded.size());
+        // The results are in the order of the input items, regardless of the completion order
+        assertEquals(NAMES, deployed.stream().map(DeployDetails::getArtifactPath).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testSkippedItems() throws Exception {
+        List<DeployDetails> deployed = new DeployPipeline<String>(2, 2, 0, new NullLog())
+                .deploy(NAMES, name -> name.startsWith("b") ? null : createDeployDetails(name), details -> {
+                });
+        assertEquals(Arrays.asList("e.jar", "d.jar", "a.jar", "c.jar"),
+                deployed.stream().map(DeployDetails::getArtifactPath).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testRetryIOError() throws Exception {
+        List<DeployDetails> deployed = new DeployPipeline<String>(1, 2, 2, new NullLog())
+                .deploy(NAMES, this::createDeployDetails, details -> {
+                    if (attempt(details) < 3 && details.getArtifactPath().equals("a.jar")) {
+                        throw new IOException("Connection reset");
+                    }
+                });
+        assertEquals(NAMES.size(), deployed.size());
+        assertEquals(3, attempts.get("a.jar").get());
+        assertEquals(1, attempts.get("b.jar").get());
+    }
+
+    @Test
+    public void testRetryServerError() throws Exception {
+        new DeployPipeline<String>(1, 1, 1, new NullLog())
+                .deploy(Collections.singletonList("a.jar"), this::createDeployDetails, details -> {
+                    if (attempt(details) == 1) {
+                        throw new HttpResponseException(503, "Service Unavailable");
+                    }
+                });
+        assertEquals(2, attempts.get("a.jar").get());
+    }
+
+    @Test
+    public void testNoRetryClientError() throws Exception {
+        try {
+            new DeployPipeline<String>(1, 1, 2, new NullLog())
+                    .deploy(Collections.singletonList("a.jar"), this::createDeployDetails, details -> {
+                        attempt(details);
+                        throw new HttpResponseException(403, "Forbidden");
+                    });
+            fail("Expected the deployment to fail");
+        } catch (IOException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("a.jar: Forbidden"));
+        }
+        assertEquals(1, attempts.get("a.jar").get());
+    }
+
+    @Test
+    public void testFailures() throws Exception {
+        List<String> done = Collections.synchronizedList(new ArrayList<>());
+        try {
+            new DeployPipeline<String>(2, 2, 1, new NullLog())
+                    .setProgressListener((item, details, error) -> done.add(item))
+                    .deploy(NAMES, name -> {
+                        if (name.equals("d.jar")) {
+                            throw new IOException("Checksum failed");
+                        }
+                        return createDeployDetails(name);
+                    }, details -> {
+                        attempt(details);
+                        if (details.getArtifactPath().equals("b.jar")) {
+                            throw new IOException("Upload failed");
+                        }
+                    });
+            fail("Expected the deployment to fail");
+        } catch (IOException e) {
+            // All the failures are reported, in the order of the input items
+            assertEquals("Failed deploying 2 out of 5 artifacts:\nb.jar: Upload failed\nd.jar: Checksum failed", e.getMessage());
+        }
+        // The other items were deployed, and the failed upload was retried
+        assertEquals(NAMES.size(), done.size());
+        assertEquals(2, attempts.get("b.jar").get());
+        assertFalse(attempts.containsKey("d.jar"));
+    }
+
+    @Test
+    public void testIsRetryable() {
+        assertTrue(DeployPipeline.isRetryable(new IOException("Connection reset")));
+        assertTrue(DeployPipeline.isRetryable(new HttpResponseException(500, "Internal Server Error")));
+        assertTrue(DeployPipeline.isRetryable(new HttpResponseException(502, "Bad Gateway")));
+        assertFalse(DeployPipeline.isRetryable(new HttpResponseException(400, "Bad Request")));
+        assertFalse(DeployPipeline.isRetryable(new HttpResponseException(409, "Conflict")));
+    }
+
+    private DeployDetails createDeployDetails(String name) throws IOException {
+        File file = new File(tempFolder.getRoot(), name);
+        if (!file.exists()) {
+            assertTrue(file.createNewFile());
+        }
+        return new DeployDetails.Builder().file(file).artifactPath(name).targetRepository("libs-release-local").sha1("sha1").md5("md5").build();
+    }
+
+    private int attempt(DeployDetails details) {
+        return attempts.computeIfAbsent(details.getArtifactPath(), key -> new AtomicInteger()).incrementAndGet();
+    }
+
+    private static void sleep(long millis) throws IOException {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            throw new IOException(e);
+        }
+    }
+}
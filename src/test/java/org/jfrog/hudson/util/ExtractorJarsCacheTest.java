@@ -0,0 +1,69 @@
+package org.jfrog.hudson.util;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ExtractorJarsCacheTest {
+    private static final long IN_USE_MILLIS = TimeUnit.HOURS.toMillis(1);
+    private static final long OLD = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(2);
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void testEvictLeastRecentlyUsed() throws IOException {
+        File cacheDir = tempFolder.newFolder("extractors");
+        createEntry(cacheDir, "a", OLD);
+        createEntry(cacheDir, "b", OLD + 1000);
+        createEntry(cacheDir, "c", System.currentTimeMillis());
+
+        assertFalse(ExtractorJarsCache.useEntry(cacheDir, "d", 2, IN_USE_MILLIS));
+        assertFalse(new File(cacheDir, "a").exists());
+        assertFalse(new File(cacheDir, "a" + ExtractorJarsCache.USED_SUFFIX).exists());
+        assertFalse(new File(cacheDir, "b").exists());
+        assertTrue(new File(cacheDir, "c").exists());
+    }
+
+    @Test
+    public void testKeepEntriesInUse() throws IOException {
+        File cacheDir = tempFolder.newFolder("extractors");
+        // Entries created long ago, but used recently by a running build
+        createEntry(cacheDir, "a", System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(30));
+        createEntry(cacheDir, "b", System.currentTimeMillis());
+        new File(cacheDir, "a").setLastModified(OLD);
+        new File(cacheDir, "b").setLastModified(OLD);
+
+        assertFalse(ExtractorJarsCache.useEntry(cacheDir, "c", 1, IN_USE_MILLIS));
+        assertTrue(new File(cacheDir, "a").exists());
+        assertTrue(new File(cacheDir, "b").exists());
+    }
+
+    @Test
+    public void testMarkUsed() throws IOException {
+        File cacheDir = tempFolder.newFolder("extractors");
+        createEntry(cacheDir, "a", OLD);
+        createEntry(cacheDir, "b", OLD + 1000);
+
+        assertTrue(ExtractorJarsCache.useEntry(cacheDir, "a", 1, IN_USE_MILLIS));
+        assertTrue(new File(cacheDir, "a" + ExtractorJarsCache.USED_SUFFIX).lastModified() > OLD + 1000);
+        assertTrue(new File(cacheDir, "a").exists());
+        assertFalse(new File(cacheDir, "b").exists());
+    }
+
+    private static void createEntry(File cacheDir, String cacheKey, long lastUsed) throws IOException {
+        File entry = new File(cacheDir, cacheKey);
+        assertTrue(entry.mkdir());
+        assertTrue(new File(entry, "extractor.jar").createNewFile());
+        File marker = new File(cacheDir, cacheKey + ExtractorJarsCache.USED_SUFFIX);
+        assertTrue(marker.createNewFile());
+        assertTrue(marker.setLastModified(lastUsed));
+    }
+}
@@ -0,0 +1,188 @@
+package org.jfrog.hudson.util;
+
+import org.jfrog.hudson.util.RepositoryKeysCache.RepositoryKeys;
+import org.jfrog.hudson.util.RepositoryKeysCache.RepositoryType;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class RepositoryKeysCacheTest {
+    private final AtomicLong now = new AtomicLong(1000);
+    private final AtomicInteger fetches = new AtomicInteger();
+
+    @Test
+    public void testTtl() throws IOException {
+        RepositoryKeysCache cache = new RepositoryKeysCache(100, Runnable::run, now::get);
+        RepositoryKeysCache.Fetcher fetcher = type -> {
+            fetches.incrementAndGet();
+            return Collections.singletonList(type.name().toLowerCase() + "-" + now.get());
+        };
+
+        RepositoryKeys repositoryKeys = cache.getRepositoryKeys("server", fetcher);
+        assertEquals(Collections.singletonList("local-1000"), repositoryKeys.getKeys(RepositoryType.LOCAL));
+        assertEquals(Collections.singletonList("federated-1000"), repositoryKeys.getKeys(RepositoryType.FEDERATED));
+        assertEquals(4, fetches.get());
+
+        // Fresh entry
+        now.addAndGet(50);
+        assertEquals(Collections.singletonList("local-1000"), cache.getRepositoryKeys("server", fetcher).getKeys(RepositoryType.LOCAL));
+        assertEquals(4, fetches.get());
+
+        // Refreshed ahead of the expiration. The current entry is returned.
+        now.addAndGet(30);
+        assertEquals(Collections.singletonList("local-1000"), cache.getRepositoryKeys("server", fetcher).getKeys(RepositoryType.LOCAL));
+        assertEquals(8, fetches.get());
+        assertEquals(Collections.singletonList("local-1080"), cache.getRepositoryKeys("server", fetcher).getKeys(RepositoryType.LOCAL));
+
+        // Expired
+        now.addAndGet(100);
+        assertEquals(Collections.singletonList("local-1180"), cache.getRepositoryKeys("server", fetcher).getKeys(RepositoryType.LOCAL));
+        assertEquals(12, fetches.get());
+
+        // Other credentials
+        cache.getRepositoryKeys("other", fetcher);
+        assertEquals(16, fetches.get());
+    }
+
+    @Test
+    public void testSingleFlight() throws Exception {
+        ExecutorService executor = Executors.newCachedThreadPool();
+        try {
+            RepositoryKeysCache cache = new RepositoryKeysCache(100, executor, now::get);
+            CountDownLatch release = new CountDownLatch(1);
+            RepositoryKeysCache.Fetcher fetcher = type -> {
+                fetches.incrementAndGet();
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    throw new IOException(e);
+                }
+                return Collections.singletonList(type.name());
+            };
+
+            List<Future<RepositoryKeys>> futures = new ArrayList<>();
+            ExecutorService callers = Executors.newFixedThreadPool(8);
+            try {
+                for (int i = 0; i < 8; i++) {
+                    futures.add(callers.submit(() -> cache.getRepositoryKeys("server", fetcher)));
+                }
+                Thread.sleep(200);
+                release.countDown();
+                for (Future<RepositoryKeys> future : futures) {
+                    assertEquals(Collections.singletonList("VIRTUAL"), future.get().getKeys(RepositoryType.VIRTUAL));
+                }
+            } finally {
+                callers.shutdownNow();
+            }
+            assertEquals(4, fetches.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testFailure() throws IOException {
+        RepositoryKeysCache cache = new RepositoryKeysCache(100, Runnable::run, now::get);
+        try {
+            cache.getRepositoryKeys("server", type -> {
+                if (type == RepositoryType.FEDERATED) {
+                    throw new IOException("Federated repositories are not supported");
+                }
+                return Collections.emptyList();
+            });
+            fail("Expected the fetch to fail");
+        } catch (IOException e) {
+            assertEquals("Federated repositories are not supported", e.getMessage());
+        }
+        // Failures are not cached
+        assertTrue(cache.getRepositoryKeys("server", type -> Collections.emptyList()).getKeys(RepositoryType.LOCAL).isEmpty());
+    }
+
+    @Test
+    public void testTypes() throws IOException {
+        RepositoryKeysCache cache = new RepositoryKeysCache(100, Runnable::run, now::get);
+        List<RepositoryType> fetched = Collections.synchronizedList(new ArrayList<>());
+        RepositoryKeysCache.Fetcher fetcher = type -> {
+            fetched.add(type);
+            return Collections.singletonList(type.name());
+        };
+
+        RepositoryKeys repositoryKeys = cache.getRepositoryKeys("server", EnumSet.of(RepositoryType.REMOTE, RepositoryType.VIRTUAL), fetcher);
+        assertEquals(Collections.singletonList("REMOTE"), repositoryKeys.getKeys(RepositoryType.REMOTE));
+        assertTrue(repositoryKeys.getKeys(RepositoryType.LOCAL).isEmpty());
+        assertEquals(EnumSet.of(RepositoryType.REMOTE, RepositoryType.VIRTUAL), EnumSet.copyOf(fetched));
+
+        // The virtual keys are shared with the resolution lists
+        fetched.clear();
+        cache.getRepositoryKeys("server", EnumSet.of(RepositoryType.LOCAL, RepositoryType.VIRTUAL, RepositoryType.FEDERATED), fetcher);
+        assertEquals(EnumSet.of(RepositoryType.LOCAL, RepositoryType.FEDERATED), EnumSet.copyOf(fetched));
+    }
+
+    @Test
+    public void testInvalidate() throws IOException {
+        RepositoryKeysCache cache = new RepositoryKeysCache(100, Runnable::run, now::get);
+        RepositoryKeysCache.Fetcher fetcher = type -> {
+            fetches.incrementAndGet();
+            return Collections.emptyList();
+        };
+        cache.getRepositoryKeys("server", fetcher);
+        cache.getRepositoryKeys("other", fetcher);
+        assertEquals(8, fetches.get());
+
+        cache.invalidate("server");
+        cache.getRepositoryKeys("server", fetcher);
+        assertEquals(12, fetches.get());
+        cache.getRepositoryKeys("other", fetcher);
+        assertEquals(12, fetches.get());
+    }
+
+    @Test
+    public void testClearDuringFetch() throws Exception {
+        ExecutorService executor = Executors.newCachedThreadPool();
+        ExecutorService callers = Executors.newSingleThreadExecutor();
+        try {
+            RepositoryKeysCache cache = new RepositoryKeysCache(100, executor, now::get);
+            CountDownLatch started = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            Future<RepositoryKeys> stale = callers.submit(() -> cache.getRepositoryKeys("server", EnumSet.of(RepositoryType.LOCAL), type -> {
+                started.countDown();
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    throw new IOException(e);
+                }
+                return Collections.singletonList("stale");
+            }));
+            assertTrue(started.await(10, TimeUnit.SECONDS));
+
+            // The fetch in progress is not shared with requests made after the cache was cleared
+            cache.clear();
+            RepositoryKeysCache.Fetcher fetcher = type -> Collections.singletonList("fresh");
+            assertEquals(Collections.singletonList("fresh"), cache.getRepositoryKeys("server", EnumSet.of(RepositoryType.LOCAL), fetcher).getKeys(RepositoryType.LOCAL));
+
+            // The fetch of the previous generation completes its callers, but is not cached
+            cache.clear();
+            release.countDown();
+            assertEquals(Collections.singletonList("stale"), stale.get().getKeys(RepositoryType.LOCAL));
+            assertEquals(Collections.singletonList("fresh"), cache.getRepositoryKeys("server", EnumSet.of(RepositoryType.LOCAL), fetcher).getKeys(RepositoryType.LOCAL));
+        } finally {
+            callers.shutdownNow();
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package org.jfrog.hudson.util;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class UserPluginInfoCacheTest {
+    private final AtomicLong now = new AtomicLong(1000);
+    private final AtomicInteger fetches = new AtomicInteger();
+    private final UserPluginInfoCache.Fetcher fetcher = () -> {
+        fetches.incrementAndGet();
+        return Collections.singletonMap("staging", Collections.singletonList(Collections.singletonMap("name", "plugin-" + now.get())));
+    };
+
+    @Test
+    public void testTtl() throws IOException {
+        UserPluginInfoCache cache = new UserPluginInfoCache(100, now::get);
+        assertEquals("plugin-1000", getPluginName(cache.getUserPluginInfo("server", fetcher)));
+        assertEquals(1, fetches.get());
+
+        // Fresh entry
+        now.addAndGet(50);
+        assertEquals("plugin-1000", getPluginName(cache.getUserPluginInfo("server", fetcher)));
+        assertEquals(1, fetches.get());
+
+        // Expired
+        now.addAndGet(50);
+        assertEquals("plugin-1100", getPluginName(cache.getUserPluginInfo("server", fetcher)));
+        assertEquals(2, fetches.get());
+
+        // Other credentials
+        cache.getUserPluginInfo("other", fetcher);
+        assertEquals(3, fetches.get());
+    }
+
+    @Test
+    public void testEvictExpired() throws IOException {
+        UserPluginInfoCache cache = new UserPluginInfoCache(100, now::get);
+        cache.getUserPluginInfo("a", fetcher);
+        now.addAndGet(50);
+        cache.getUserPluginInfo("b", fetcher);
+        assertEquals(2, cache.size());
+
+        // Adding an entry removes the expired entries only
+        now.addAndGet(60);
+        cache.getUserPluginInfo("c", fetcher);
+        assertEquals(2, cache.size());
+        cache.getUserPluginInfo("b", fetcher);
+        assertEquals(3, fetches.get());
+
+        // Reading an existing entry doesn't remove the expired entries
+        now.addAndGet(200);
+        cache.getUserPluginInfo("c", fetcher);
+        assertEquals(2, cache.size());
+        assertEquals(4, fetches.get());
+    }
+
+    @Test
+    public void testFetchFailure() throws IOException {
+        UserPluginInfoCache cache = new UserPluginInfoCache(100, now::get);
+        try {
+            cache.getUserPluginInfo("server", () -> {
+                throw new IOException("Unauthorized");
+            });
+            fail("Expected the fetch to fail");
+        } catch (IOException e) {
+            assertEquals("Unauthorized", e.getMessage());
+        }
+        assertEquals(0, cache.size());
+
+        // A failed refresh keeps the expired entry
+        cache.getUserPluginInfo("server", fetcher);
+        now.addAndGet(100);
+        try {
+            cache.getUserPluginInfo("server", () -> {
+                throw new IOException("Unavailable");
+            });
+            fail("Expected the fetch to fail");
+        } catch (IOException e) {
+            assertEquals("Unavailable", e.getMessage());
+        }
+        assertEquals(1, cache.size());
+        assertEquals("plugin-1100", getPluginName(cache.getUserPluginInfo("server", fetcher)));
+    }
+
+    @Test
+    public void testClear() throws IOException {
+        UserPluginInfoCache cache = new UserPluginInfoCache(100, now::get);
+        cache.getUserPluginInfo("server", fetcher);
+        cache.clear();
+        assertEquals(0, cache.size());
+        cache.getUserPluginInfo("server", fetcher);
+        assertEquals(2, fetches.get());
+    }
+
+    private static Object getPluginName(Map<String, List<Map>> userPluginInfo) {
+        return userPluginInfo.get("staging").get(0).get("name");
+    }
+}